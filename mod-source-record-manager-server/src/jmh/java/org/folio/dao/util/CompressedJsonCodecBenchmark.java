@@ -0,0 +1,96 @@
+package org.folio.dao.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.folio.TestUtil;
+import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.folio.rest.jaxrs.model.IncomingRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares encode/decode time of the payloads stored as json with the payloads stored by {@link CompressedJsonCodec}.
+ * Sizes of both formats are printed on setup, size of json is the size of the text sent to the database,
+ * use pg_column_size() to compare the size stored on disk, since jsonb values larger than ~2 kB are compressed by TOAST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressedJsonCodecBenchmark {
+
+  private static final String MARC_BIB_RULES_PATH = "src/test/resources/org/folio/services/marc_bib_rules.json";
+  private static final String MARC_PARAMS_PATH = "src/test/resources/org/folio/services/marc_mapping_params.json";
+  private static final String RECORD_PATH = "src/test/resources/org/folio/rest/record.json";
+
+  @Param({"rules", "params", "record"})
+  private String payload;
+
+  private Object value;
+  private Class<?> type;
+  private Buffer json;
+  private Buffer compressed;
+
+  @Setup
+  public void setUp() throws IOException {
+    switch (payload) {
+      case "rules" -> {
+        value = new JsonObject(TestUtil.readFileFromPath(MARC_BIB_RULES_PATH));
+        type = JsonObject.class;
+      }
+      case "params" -> {
+        value = new JsonObject(TestUtil.readFileFromPath(MARC_PARAMS_PATH)).mapTo(MappingParameters.class);
+        type = MappingParameters.class;
+      }
+      default -> {
+        JsonObject record = new JsonObject(TestUtil.readFileFromPath(RECORD_PATH));
+        value = new IncomingRecord()
+          .withId(UUID.randomUUID().toString())
+          .withJobExecutionId(UUID.randomUUID().toString())
+          .withRecordType(IncomingRecord.RecordType.MARC_BIB)
+          .withOrder(0)
+          .withRawRecordContent(record.getJsonObject("rawRecord").getString("content"))
+          .withParsedRecordContent(record.getJsonObject("parsedRecord").encode());
+        type = IncomingRecord.class;
+      }
+    }
+    json = JsonObject.mapFrom(value).toBuffer();
+    compressed = CompressedJsonCodec.encode(value);
+    System.out.printf("%n%s: json bytes %d, codec bytes %d, ratio %.2f%n", payload, json.length(), compressed.length(),
+      (double) json.length() / compressed.length());
+  }
+
+  @Benchmark
+  public Buffer jsonEncode() {
+    return JsonObject.mapFrom(value).toBuffer();
+  }
+
+  @Benchmark
+  public Buffer codecEncode() {
+    return CompressedJsonCodec.encode(value);
+  }
+
+  @Benchmark
+  public Object jsonDecode() {
+    return new JsonObject(json).mapTo(type);
+  }
+
+  @Benchmark
+  public Object codecDecode() {
+    return CompressedJsonCodec.decode(compressed, type);
+  }
+}
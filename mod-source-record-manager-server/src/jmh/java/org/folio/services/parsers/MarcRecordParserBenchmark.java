@@ -0,0 +1,56 @@
+package org.folio.services.parsers;
+
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.folio.TestUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing time of the MARC binary record by the single-pass {@link MarcBinaryJsonReader}
+ * with the parsing by marc4j reader and json writer, which is the fallback path of {@link MarcRecordParser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MarcRecordParserBenchmark {
+
+  private static final String RECORD_PATH = "src/test/resources/org/folio/rest/record.json";
+
+  private final MarcRecordParser parser = new MarcRecordParser();
+  private String rawRecord;
+
+  @Setup
+  public void setUp() throws IOException {
+    JsonObject record = new JsonObject(TestUtil.readFileFromPath(RECORD_PATH));
+    rawRecord = record.getJsonObject("rawRecord").getString("content");
+
+    ParsedResult singlePassResult = parser.parseRecord(rawRecord);
+    ParsedResult marc4jResult = parser.parseRecordWithMarc4j(rawRecord);
+    if (singlePassResult.isHasError() || !singlePassResult.getParsedRecord().equals(marc4jResult.getParsedRecord())) {
+      throw new IllegalStateException("Single-pass reader and marc4j produce different parsed records");
+    }
+  }
+
+  @Benchmark
+  public Object singlePass() {
+    return parser.parseRecord(rawRecord).getParsedRecord();
+  }
+
+  @Benchmark
+  public Object marc4j() {
+    return parser.parseRecordWithMarc4j(rawRecord).getParsedRecord();
+  }
+}
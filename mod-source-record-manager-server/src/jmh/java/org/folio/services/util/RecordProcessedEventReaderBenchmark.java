@@ -0,0 +1,73 @@
+package org.folio.services.util;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.folio.DataImportEventPayload;
+import org.folio.TestUtil;
+import org.folio.rest.jaxrs.model.Event;
+import org.folio.util.DataImportEventPayloadWithoutCurrentNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_COMPLETED;
+
+/**
+ * Compares reading time of the DI_COMPLETED event by {@link RecordProcessedEventReader} with the decoding
+ * of the event and its payload to objects, which was used to read the event before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordProcessedEventReaderBenchmark {
+
+  private static final String RECORD_PATH = "src/test/resources/org/folio/rest/record.json";
+
+  private byte[] event;
+
+  @Setup
+  public void setUp() throws IOException {
+    JsonObject record = new JsonObject(TestUtil.readFileFromPath(RECORD_PATH));
+    HashMap<String, String> context = new HashMap<>();
+    context.put("MARC_BIBLIOGRAPHIC", record.encode());
+    context.put("INSTANCE", new JsonObject().put("id", UUID.randomUUID().toString()).put("title", "Title").encode());
+    DataImportEventPayload payload = new DataImportEventPayload()
+      .withEventType(DI_COMPLETED.value())
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withEventsChain(List.of("DI_SRS_MARC_BIB_RECORD_CREATED", "DI_INVENTORY_INSTANCE_CREATED"))
+      .withContext(context);
+    event = Json.encode(new Event()
+      .withId(UUID.randomUUID().toString())
+      .withEventType(DI_COMPLETED.value())
+      .withEventPayload(Json.encode(payload))).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public String reader() throws IOException {
+    return RecordProcessedEventReader.readEvent(event).jobExecutionId();
+  }
+
+  @Benchmark
+  public String decode() throws IOException {
+    Event decodedEvent = DatabindCodec.mapper().readValue(event, Event.class);
+    return Json.decodeValue(decodedEvent.getEventPayload(), DataImportEventPayloadWithoutCurrentNode.class)
+      .getJobExecutionId();
+  }
+}
@@ -6,12 +6,15 @@ import org.apache.logging.log4j.Logger;
 import org.folio.dataimport.util.marc.MarcRecordAnalyzer;
 import org.folio.kafka.KafkaConfig;
 import org.folio.services.journal.JournalService;
+import org.folio.services.util.KafkaProducerRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import javax.annotation.PreDestroy;
+
 @Configuration
 @ComponentScan(basePackages = {
   "org.folio.rest.impl",
@@ -33,6 +36,10 @@ public class ApplicationConfig {
   private int maxRequestSize;
   @Value("${ENV:folio}")
   private String envId;
+  @Value("${srm.kafka.producer.linger.ms:5}")
+  private String kafkaProducerLingerMs;
+  @Value("${srm.kafka.producer.batch.size:65536}")
+  private String kafkaProducerBatchSize;
 
   @Bean(name = "newKafkaConfig")
   public KafkaConfig kafkaConfigBean() {
@@ -46,6 +53,7 @@ public class ApplicationConfig {
       .build();
 
     LOGGER.info("kafkaConfigBean:: kafkaConfig: " + kafkaConfig);
+    KafkaProducerRegistry.configure(kafkaProducerLingerMs, kafkaProducerBatchSize);
 
     return kafkaConfig;
   }
@@ -62,4 +70,13 @@ public class ApplicationConfig {
   public MarcRecordAnalyzer marcRecordAnalyzer() {
     return new MarcRecordAnalyzer();
   }
+
+  /**
+   * Closes kafka producers of the contexts that are not closed by verticle stop, e.g. contexts of REST requests
+   */
+  @PreDestroy
+  public void closeKafkaProducers() {
+    KafkaProducerRegistry.closeAll()
+      .onFailure(e -> LOGGER.warn("closeKafkaProducers:: Failed to close kafka producers", e));
+  }
 }
@@ -4,6 +4,8 @@ import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 
+import java.util.List;
+
 public interface EventProcessedDao {
 
   /**
@@ -16,4 +18,23 @@ public interface EventProcessedDao {
    */
   Future<RowSet<Row>> save(String handlerId, String eventId, String tenantId);
 
+  /**
+   * Saves eventIds and handlerId to deduplication table with a single statement, skipping events that are already saved.
+   *
+   * @param handlerId handler id
+   * @param eventIds  event ids
+   * @param tenantId  tenant id
+   * @return future with rows containing event_id of the saved events, ids of the already saved events are not returned
+   */
+  Future<RowSet<Row>> saveAll(String handlerId, List<String> eventIds, String tenantId);
+
+  /**
+   * Deletes deduplication data of the events processed more than the specified number of days ago.
+   *
+   * @param retentionDays number of days during which deduplication data is kept
+   * @param tenantId      tenant id
+   * @return future with number of deleted records
+   */
+  Future<Integer> deleteProcessedBefore(int retentionDays, String tenantId);
+
 }
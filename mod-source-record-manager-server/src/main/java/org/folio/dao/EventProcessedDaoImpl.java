@@ -7,9 +7,14 @@ import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.util.PostgresClientFactory;
+import org.folio.rest.persist.PostgresClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.UUID;
+
 import static java.lang.String.format;
 import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 
@@ -19,10 +24,18 @@ public class EventProcessedDaoImpl implements EventProcessedDao {
   private static final Logger LOGGER = LogManager.getLogger();
 
   public static final String EVENTS_PROCESSED_TABLE_NAME = "events_processed";
+  public static final String EVENT_ID_FIELD = "event_id";
   private static final String INSERT_SQL = "INSERT INTO %s.%s (handler_id, event_id) VALUES ($1, $2)";
+  private static final String INSERT_ALL_SQL = "INSERT INTO %s.%s (handler_id, event_id) SELECT $1::uuid, unnest($2::uuid[]) " +
+    "ON CONFLICT DO NOTHING RETURNING event_id";
+  private static final String DELETE_PROCESSED_BEFORE_SQL = "DELETE FROM %1$s.%2$s WHERE ctid IN " +
+    "(SELECT ctid FROM %1$s.%2$s WHERE processed_date < now() - make_interval(days => $1) LIMIT $2)";
 
   private final PostgresClientFactory pgClientFactory;
 
+  @Value("${srm.events.processed.delete.batch.size:10000}")
+  private int deleteBatchSize;
+
   @Autowired
   public EventProcessedDaoImpl(PostgresClientFactory pgClientFactory) {
     this.pgClientFactory = pgClientFactory;
@@ -34,6 +47,35 @@ public class EventProcessedDaoImpl implements EventProcessedDao {
     return makeSaveCall(query, handlerId, eventId, tenantId);
   }
 
+  @Override
+  public Future<RowSet<Row>> saveAll(String handlerId, List<String> eventIds, String tenantId) {
+    try {
+      String query = format(INSERT_ALL_SQL, convertToPsqlStandard(tenantId), EVENTS_PROCESSED_TABLE_NAME);
+      UUID[] eventUuids = eventIds.stream().map(UUID::fromString).toArray(UUID[]::new);
+      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(handlerId, eventUuids));
+    } catch (Exception e) {
+      LOGGER.warn("saveAll:: Failed to save {} events of handlerId {} to table {}", eventIds.size(), handlerId, EVENTS_PROCESSED_TABLE_NAME, e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public Future<Integer> deleteProcessedBefore(int retentionDays, String tenantId) {
+    String query = format(DELETE_PROCESSED_BEFORE_SQL, convertToPsqlStandard(tenantId), EVENTS_PROCESSED_TABLE_NAME);
+    return deleteProcessedBefore(query, retentionDays, pgClientFactory.createInstance(tenantId), 0);
+  }
+
+  /**
+   * Deletes the records in batches, each batch is deleted by a separate statement,
+   * so the delete does not hold locks and produce WAL for all expired records at once.
+   */
+  private Future<Integer> deleteProcessedBefore(String query, int retentionDays, PostgresClient pgClient, int deletedCount) {
+    return pgClient.execute(query, Tuple.of(retentionDays, deleteBatchSize))
+      .compose(rows -> rows.rowCount() < deleteBatchSize
+        ? Future.succeededFuture(deletedCount + rows.rowCount())
+        : deleteProcessedBefore(query, retentionDays, pgClient, deletedCount + rows.rowCount()));
+  }
+
  private Future<RowSet<Row>> makeSaveCall(String query, String handlerId, String eventId, String tenantId) {
     try {
       return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(handlerId, eventId));
@@ -22,11 +22,11 @@ public interface IncomingRecordDao {
   Future<Optional<IncomingRecord>> getById(String id, String tenantId);
 
   /**
-   * Saves {@link IncomingRecord} entities into DB
+   * Saves {@link IncomingRecord} entities into DB with a single statement
    *
    * @param incomingRecords {@link IncomingRecord} entities to save
    * @param tenantId        tenant id
-   * @return future with created incomingRecords entities represented as row set
+   * @return future with row set of the insert statement
    */
-  Future<List<RowSet<Row>>> saveBatch(List<IncomingRecord> incomingRecords, String tenantId);
+  Future<RowSet<Row>> saveBatch(List<IncomingRecord> incomingRecords, String tenantId);
 }
@@ -2,15 +2,18 @@ package org.folio.dao;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.CompressedJsonCodec;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.rest.jaxrs.model.IncomingRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -26,11 +29,17 @@ public class IncomingRecordDaoImpl implements IncomingRecordDao {
   private static final Logger LOGGER = LogManager.getLogger();
   public static final String INCOMING_RECORDS_TABLE = "incoming_records";
   private static final String GET_BY_ID_SQL = "SELECT * FROM %s.%s WHERE id = $1";
-  private static final String INSERT_SQL = "INSERT INTO %s.%s (id, job_execution_id, incoming_record) VALUES ($1, $2, $3)";
+  private static final String INSERT_SQL = "INSERT INTO %s.%s (id, job_execution_id, incoming_record, incoming_record_compressed) " +
+    "SELECT * FROM unnest($1::uuid[], $2::uuid[], $3::jsonb[], $4::bytea[])";
+  private static final String INCOMING_RECORD_FIELD = "incoming_record";
+  private static final String INCOMING_RECORD_COMPRESSED_FIELD = "incoming_record_compressed";
 
   @Autowired
   private PostgresClientFactory pgClientFactory;
 
+  @Value("${srm.storage.compression.enabled:false}")
+  private boolean compressionEnabled;
+
   @Override
   public Future<Optional<IncomingRecord>> getById(String id, String tenantId) {
     LOGGER.debug("getById:: Get IncomingRecord by id = {} from the {} table", id, INCOMING_RECORDS_TABLE);
@@ -47,33 +56,54 @@ public class IncomingRecordDaoImpl implements IncomingRecordDao {
   }
 
   @Override
-  public Future<List<RowSet<Row>>> saveBatch(List<IncomingRecord> incomingRecords, String tenantId) {
-    LOGGER.debug("saveBatch:: Save IncomingRecord entity to the {} table", INCOMING_RECORDS_TABLE);
-    Promise<List<RowSet<Row>>> promise = Promise.promise();
+  public Future<RowSet<Row>> saveBatch(List<IncomingRecord> incomingRecords, String tenantId) {
+    LOGGER.debug("saveBatch:: Save {} IncomingRecord entities to the {} table", incomingRecords.size(), INCOMING_RECORDS_TABLE);
     try {
       String query = format(INSERT_SQL, convertToPsqlStandard(tenantId), INCOMING_RECORDS_TABLE);
-      List<Tuple> tuples = incomingRecords.stream().map(this::prepareInsertQueryParameters).toList();
-      LOGGER.debug("IncomingRecordDaoImpl:: Save query = {}; tuples = {}", query, tuples);
-      pgClientFactory.createInstance(tenantId).execute(query, tuples, promise::handle);
+      return pgClientFactory.createInstance(tenantId).execute(query, prepareInsertQueryParameters(incomingRecords))
+        .onFailure(e -> LOGGER.warn("saveBatch:: Error saving IncomingRecord entities", e));
     } catch (Exception e) {
-      LOGGER.warn("saveBatch:: Error saving IncomingRecord entity", e);
-      promise.fail(e);
+      LOGGER.warn("saveBatch:: Error saving IncomingRecord entities", e);
+      return Future.failedFuture(e);
     }
-    return promise.future().onFailure(e -> LOGGER.warn("saveBatch:: Error saving IncomingRecord entity", e));
   }
 
   private IncomingRecord mapRowToIncomingRecord(Row row) {
-    JsonObject jsonObject = row.getJsonObject("incoming_record");
-    return new IncomingRecord().withId(String.valueOf(row.getUUID("id")))
-      .withJobExecutionId(String.valueOf(row.getUUID("job_execution_id")))
+    Buffer compressedRecord = row.getBuffer(INCOMING_RECORD_COMPRESSED_FIELD);
+    IncomingRecord incomingRecord = compressedRecord != null
+      ? CompressedJsonCodec.decode(compressedRecord, IncomingRecord.class)
+      : mapJsonToIncomingRecord(row.getJsonObject(INCOMING_RECORD_FIELD));
+    return incomingRecord.withId(String.valueOf(row.getUUID("id")))
+      .withJobExecutionId(String.valueOf(row.getUUID("job_execution_id")));
+  }
+
+  private IncomingRecord mapJsonToIncomingRecord(JsonObject jsonObject) {
+    return new IncomingRecord()
       .withRecordType(IncomingRecord.RecordType.fromValue(jsonObject.getString("recordType")))
       .withOrder(jsonObject.getInteger("order"))
       .withRawRecordContent(jsonObject.getString("rawRecordContent"))
       .withParsedRecordContent(jsonObject.getString("parsedRecordContent"));
   }
 
-  private Tuple prepareInsertQueryParameters(IncomingRecord incomingRecord) {
-    return Tuple.of(UUID.fromString(incomingRecord.getId()), UUID.fromString(incomingRecord.getJobExecutionId()),
-      JsonObject.mapFrom(incomingRecord));
+  /**
+   * Prepares column arrays of the incoming records, so all records are inserted by one statement
+   */
+  private Tuple prepareInsertQueryParameters(List<IncomingRecord> incomingRecords) {
+    int size = incomingRecords.size();
+    UUID[] ids = new UUID[size];
+    UUID[] jobExecutionIds = new UUID[size];
+    JsonObject[] records = new JsonObject[size];
+    Buffer[] compressedRecords = new Buffer[size];
+    for (int i = 0; i < size; i++) {
+      IncomingRecord incomingRecord = incomingRecords.get(i);
+      ids[i] = UUID.fromString(incomingRecord.getId());
+      jobExecutionIds[i] = UUID.fromString(incomingRecord.getJobExecutionId());
+      if (compressionEnabled) {
+        compressedRecords[i] = CompressedJsonCodec.encode(incomingRecord);
+      } else {
+        records[i] = JsonObject.mapFrom(incomingRecord);
+      }
+    }
+    return Tuple.of(ids, jobExecutionIds, records, compressedRecords);
   }
 }
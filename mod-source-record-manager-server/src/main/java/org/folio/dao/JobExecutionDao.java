@@ -3,6 +3,7 @@ package org.folio.dao;
 import io.vertx.core.Future;
 import org.folio.dao.util.JobExecutionMutator;
 import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.rest.jaxrs.model.DeleteJobExecutionsResp;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionDtoCollection;
@@ -28,13 +29,18 @@ public interface JobExecutionDao {
    * (only CHILD and PARENT_SINGLE allowed).
    *
    * @param filter     filter containing conditions by which jobExecutions should be filtered
-   * @param sortFields fields to sort jobExecutions
-   * @param offset     starting index in a list of results
-   * @param limit      maximum number of results to return
-   * @param tenantId   tenant id
+   * @param sortFields     fields to sort jobExecutions
+   * @param afterId        id of the last jobExecution of the previous page, if specified the page is selected
+   *                       by keyset pagination after this jobExecution and offset is ignored,
+   *                       sortFields must contain a single field of started_date, completed_date or hrid in this case
+   * @param offset         starting index in a list of results
+   * @param limit          maximum number of results to return
+   * @param totalCountMode defines how total number of jobExecutions is calculated
+   * @param tenantId       tenant id
    * @return future with {@link org.folio.rest.jaxrs.model.JobExecutionDtoCollection}
    */
-  Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, int offset, int limit, String tenantId);
+  Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, String afterId,
+                                                                          int offset, int limit, TotalCountMode totalCountMode, String tenantId);
 
   /**
    * Saves {@link JobExecution} to database
@@ -74,6 +80,18 @@ public interface JobExecutionDao {
    */
   Future<Optional<JobExecution>> getJobExecutionById(String id, String tenantId);
 
+  /**
+   * Searches for JobExecution by id in the in-memory cache, loads it from the db if it is not cached yet.
+   * Cached JobExecution is invalidated on updates of the JobExecution performed by this module instance
+   * and expires after a short period of time, so JobExecution updated by another module instance can be stale
+   * during this period. Every caller gets its own copy of JobExecution.
+   *
+   * @param id       JobExecution id
+   * @param tenantId tenant id
+   * @return future with optional JobExecution
+   */
+  Future<Optional<JobExecution>> getCachedJobExecutionById(String id, String tenantId);
+
   /**
    * Updates {@link JobExecution} progress by jobExecutionId from the specified {@code progress}
    * within transaction of the specified {@code connection}
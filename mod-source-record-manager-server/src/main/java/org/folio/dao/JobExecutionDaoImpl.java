@@ -2,6 +2,7 @@ package org.folio.dao;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
@@ -12,10 +13,14 @@ import org.apache.commons.lang.text.StrSubstitutor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.CompressedJsonCodec;
 import org.folio.dao.util.DbUtil;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.JobExecutionMutator;
+import org.folio.dao.util.JobExecutionTotalCountCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.rest.jaxrs.model.DeleteJobExecutionsResp;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionCompositeDetailDto;
@@ -34,6 +39,7 @@ import org.folio.rest.jaxrs.model.RunBy;
 import org.folio.rest.persist.Conn;
 import org.folio.rest.persist.PostgresClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import javax.ws.rs.BadRequestException;
@@ -49,19 +55,29 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.folio.dao.IncomingRecordDaoImpl.INCOMING_RECORDS_TABLE;
+import static org.folio.dao.MappingParamsSnapshotDaoImpl.MAPPING_PARAMS_SNAPSHOTS_TABLE;
+import static org.folio.dao.MappingParamsSnapshotDaoImpl.MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE;
+import static org.folio.dao.MappingParamsSnapshotDaoImpl.PARAMS_HASH_FIELD;
+import static org.folio.dao.MappingRulesSnapshotDaoImpl.MAPPING_RULES_SNAPSHOTS_TABLE;
+import static org.folio.dao.MappingRulesSnapshotDaoImpl.MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE;
+import static org.folio.dao.MappingRulesSnapshotDaoImpl.RULES_HASH_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.COMPLETED_DATE_FIELD;
+import static org.folio.dao.util.JobExecutionDBConstants.COUNT_JOBS_NOT_PARENT_SQL;
 import static org.folio.dao.util.JobExecutionDBConstants.CURRENTLY_PROCESSED_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.ERROR_STATUS_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.FILE_NAME_FIELD;
+import static org.folio.dao.util.JobExecutionDBConstants.FILTER_FIELDS_CHANGED_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.FIRST_NAME_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.GET_BY_ID_SQL;
 import static org.folio.dao.util.JobExecutionDBConstants.GET_CHILDREN_JOBS_BY_PARENT_ID_SQL;
+import static org.folio.dao.util.JobExecutionDBConstants.GET_JOBS_NOT_PARENT_KEYSET_CONDITION;
 import static org.folio.dao.util.JobExecutionDBConstants.GET_JOBS_NOT_PARENT_SQL;
 import static org.folio.dao.util.JobExecutionDBConstants.GET_RELATED_JOB_PROFILES_SQL;
 import static org.folio.dao.util.JobExecutionDBConstants.GET_UNIQUE_USERS;
@@ -78,6 +94,7 @@ import static org.folio.dao.util.JobExecutionDBConstants.JOB_USER_FIRST_NAME_FIE
 import static org.folio.dao.util.JobExecutionDBConstants.JOB_USER_LAST_NAME_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.LAST_NAME_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.PARENT_ID_FIELD;
+import static org.folio.dao.util.JobExecutionDBConstants.PROFILE_SNAPSHOT_WRAPPER_COMPRESSED_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.PROFILE_SNAPSHOT_WRAPPER_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.PROGRESS_CURRENT_FIELD;
 import static org.folio.dao.util.JobExecutionDBConstants.PROGRESS_TOTAL_FIELD;
@@ -114,6 +131,13 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   private static final String ORDER_BY_PROGRESS_TOTAL = "COALESCE(p.total_records_count, progress_total)";
   private static final Set<String> CASE_INSENSITIVE_SORTABLE_FIELDS =
     Set.of("file_name", "job_profile_name", "job_user_first_name", "job_user_last_name");
+  private static final String DESC_ORDER = "desc";
+  // sort keys of the keyset pagination, nulls are replaced by the greatest value to keep the default ordering
+  // of nulls (last for ascending order, first for descending one), expressions match the keyset pagination indexes
+  private static final Map<String, String> KEYSET_SORT_KEYS = Map.of(
+    STARTED_DATE_FIELD, "COALESCE(%sstarted_date, 'infinity'::timestamptz)",
+    COMPLETED_DATE_FIELD, "COALESCE(%scompleted_date, 'infinity'::timestamptz)",
+    HRID_FIELD, "COALESCE(%shrid, 9223372036854775807)");
 
   //Below constants are used for building db query related to job execution deletions
   public static final String ID = "id";
@@ -126,12 +150,31 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   public static final String TENANT_NAME = "tenantName";
   public static final String TRUE = "true";
   public static final String DB_TABLE_NAME_FIELD = "tableName";
+  private static final String JOB_EXECUTION_EXISTS_SQL = "SELECT id FROM %s WHERE id = $1";
   public static final String SELECT_IDS_FOR_DELETION = "SELECT id FROM %s.%s WHERE is_deleted = true and completed_date <= $1";
   public static final String DELETE_FROM_RELATED_TABLE = "DELETE from %s.%s where job_execution_id = ANY ($1)";
   public static final String DELETE_FROM_RELATED_TABLE_DEPRECATED_NAMING = "DELETE from %s.%s where jobexecutionid = ANY ($1)";
   public static final String DELETE_FROM_JOB_EXECUTION_TABLE = "DELETE from %s.%s where id = ANY ($1)";
+  public static final String DELETE_UNREFERENCED_SNAPSHOT_CONTENTS =
+    "DELETE from %1$s.%2$s c where c.saved_timestamp < $1 and not exists (select 1 from %1$s.%3$s s where s.%4$s = c.hash)";
   public static final String JOB_EXECUTION_SOURCE_CHUNKS_TABLE_NAME = "job_execution_source_chunks";
   public static final String JOURNAL_RECORDS_TABLE_NAME = "journal_records";
+  public static final String JOB_EXECUTION_SUMMARY_TABLE_NAME = "job_execution_summary";
+  public static final String JOB_EXECUTION_SUMMARY_INSTANCES_TABLE_NAME = "job_execution_summary_instances";
+  public static final String JOB_LOG_ENTRIES_TABLE_NAME = "job_log_entries";
+  public static final String JOB_LOG_ENTRIES_PENDING_JOBS_TABLE_NAME = "job_log_entries_pending_jobs";
+  public static final String CREATE_JOB_RECORDS_PARTITIONS_QUERY = "SELECT %s.create_job_records_partitions($1, $2, $3, $4)";
+  public static final String GET_DROPPABLE_JOB_RECORDS_PARTITIONS_QUERY =
+    "SELECT partition_name, detach_pending FROM %s.get_droppable_job_records_partitions($1, $2, $3)";
+  public static final String DETACH_PARTITION_CONCURRENTLY_SQL = "ALTER TABLE %1$s.%2$s DETACH PARTITION %1$s.%3$s CONCURRENTLY";
+  public static final String FINALIZE_DETACH_PARTITION_SQL = "ALTER TABLE %1$s.%2$s DETACH PARTITION %1$s.%3$s FINALIZE";
+  public static final String DROP_PARTITION_SQL = "DROP TABLE %s.%s";
+  private static final List<String> PARTITIONED_JOB_RECORDS_TABLES = List.of(JOURNAL_RECORDS_TABLE_NAME, INCOMING_RECORDS_TABLE);
+  /**
+   * Snapshot contents saved within this period are kept even if not referenced,
+   * so the content is not deleted while the job execution referencing it is being saved
+   */
+  private static final long UNREFERENCED_SNAPSHOT_CONTENTS_GRACE_PERIOD_HOURS = 1;
   public static final String JOB_PROFILE_COMPOSITE_DATA_STATUS = "status";
   public static final String JOB_PROFILE_COMPOSITE_DATA_TOTAL_RECORDS_COUNT = "total_records_count";
   public static final String JOB_PROFILE_COMPOSITE_DATA_CURRENTLY_PROCESSED = "currently_processed";
@@ -139,23 +182,83 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   @Autowired
   private PostgresClientFactory pgClientFactory;
 
+  @Value("${srm.jobRecords.partitions.monthsAhead:3}")
+  private int partitionsMonthsAhead;
+
+  @Value("${srm.jobRecords.partitions.lockTimeoutMs:5000}")
+  private int partitionsLockTimeoutMs;
+
+  @Value("${srm.storage.compression.enabled:false}")
+  private boolean compressionEnabled;
+
+  @Autowired
+  private JobExecutionCache jobExecutionCache;
+  private final JobExecutionTotalCountCache totalCountCache = new JobExecutionTotalCountCache();
+
   @Override
-  public Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter,
-    List<SortField> sortFields, int offset, int limit, String tenantId) {
+  public Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields,
+    String afterId, int offset, int limit, TotalCountMode totalCountMode, String tenantId) {
     Promise<RowSet<Row>> promise = Promise.promise();
+    String filterCriteria;
     try {
-      String filterCriteria = filter.buildCriteria();
-      String orderByClause = buildOrderByClause(sortFields);
+      filterCriteria = filter.buildCriteria();
       String jobTable = formatFullTableName(tenantId, TABLE_NAME);
       String progressTable = formatFullTableName(tenantId, PROGRESS_TABLE_NAME);
-      String query = format(GET_JOBS_NOT_PARENT_SQL, jobTable, filterCriteria, jobTable, progressTable, jobTable, progressTable, filterCriteria, orderByClause);
+      String orderByClause;
+      String keysetCondition;
+      Tuple queryParams;
+      if (afterId != null) {
+        SortField sortField = sortFields.get(0);
+        String sortKey = KEYSET_SORT_KEYS.get(sortField.getField());
+        boolean descending = DESC_ORDER.equalsIgnoreCase(sortField.getOrder());
+        orderByClause = format("ORDER BY %s %s, j.id %s", format(sortKey, "j."), sortField.getOrder(), sortField.getOrder());
+        keysetCondition = format(GET_JOBS_NOT_PARENT_KEYSET_CONDITION, format(sortKey, "j."), descending ? "<" : ">", format(sortKey, "a."), jobTable);
+        queryParams = Tuple.of(limit, 0, UUID.fromString(afterId));
+      } else {
+        orderByClause = buildOrderByClause(sortFields);
+        keysetCondition = EMPTY;
+        queryParams = Tuple.of(limit, offset);
+      }
+      String query = format(GET_JOBS_NOT_PARENT_SQL, orderByClause, jobTable, progressTable, filterCriteria, keysetCondition,
+        orderByClause, jobTable, progressTable);
 
-      pgClientFactory.createInstance(tenantId).selectRead(query, Tuple.of(limit, offset), promise::handle);
+      pgClientFactory.createInstance(tenantId).selectRead(query, queryParams, promise::handle);
     } catch (Exception e) {
       LOGGER.warn("getJobExecutionsWithoutParentMultiple:: Error while getting Logs", e);
-      promise.fail(e);
+      return Future.failedFuture(e);
     }
-    return promise.future().map(this::mapToJobExecutionDtoCollection);
+
+    Future<Integer> totalCount = totalCountMode == TotalCountMode.NONE ? Future.succeededFuture()
+      : totalCountCache.get(tenantId, filterCriteria, totalCountMode == TotalCountMode.CACHED,
+        () -> countJobExecutionsWithoutParentMultiple(filterCriteria, tenantId));
+    return Future.all(promise.future(), totalCount)
+      .map(v -> {
+        JobExecutionDtoCollection jobCollection = new JobExecutionDtoCollection().withTotalRecords(totalCount.result());
+        promise.future().result().forEach(row -> jobCollection.getJobExecutions().add(mapRowToJobExecutionDto(row)));
+        return jobCollection;
+      })
+      .compose(jobCollection -> afterId == null || !jobCollection.getJobExecutions().isEmpty()
+        ? Future.succeededFuture(jobCollection)
+        : verifyJobExecutionExists(afterId, tenantId).map(jobCollection));
+  }
+
+  /**
+   * The empty page is returned both after the last page and for an unknown afterId,
+   * the latter is reported as an error so the client does not consider the list ended
+   */
+  private Future<Void> verifyJobExecutionExists(String afterId, String tenantId) {
+    Promise<RowSet<Row>> promise = Promise.promise();
+    String query = format(JOB_EXECUTION_EXISTS_SQL, formatFullTableName(tenantId, TABLE_NAME));
+    pgClientFactory.createInstance(tenantId).selectRead(query, Tuple.of(UUID.fromString(afterId)), promise::handle);
+    return promise.future().compose(rowSet -> rowSet.rowCount() != 0 ? Future.succeededFuture()
+        : Future.failedFuture(new BadRequestException(format("JobExecution specified by afterId '%s' was not found", afterId))));
+  }
+
+  private Future<Integer> countJobExecutionsWithoutParentMultiple(String filterCriteria, String tenantId) {
+    Promise<RowSet<Row>> promise = Promise.promise();
+    String query = format(COUNT_JOBS_NOT_PARENT_SQL, formatFullTableName(tenantId, TABLE_NAME), filterCriteria);
+    pgClientFactory.createInstance(tenantId).selectRead(query, Tuple.tuple(), promise::handle);
+    return promise.future().map(rowSet -> rowSet.iterator().next().getInteger(TOTAL_COUNT_FIELD));
   }
 
   @Override
@@ -189,6 +292,11 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
       : Optional.of(mapRowToJobExecution(rowSet.iterator().next())));
   }
 
+  @Override
+  public Future<Optional<JobExecution>> getCachedJobExecutionById(String id, String tenantId) {
+    return jobExecutionCache.get(id, tenantId, () -> getJobExecutionById(id, tenantId));
+  }
+
   @Override
   public Future<JobProfileInfoCollection> getRelatedJobProfiles(int offset, int limit, String tenantId) {
     Promise<RowSet<Row>> promise = Promise.promise();
@@ -211,7 +319,10 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
       if (getHrIdAr.succeeded() && getHrIdAr.result().iterator().hasNext()) {
         jobExecution.setHrId(getHrIdAr.result().iterator().next().getInteger(0));
         String query = format(INSERT_SQL, convertToPsqlStandard(tenantId), TABLE_NAME);
-        pgClientFactory.createInstance(tenantId).execute(query, mapToTuple(jobExecution), promise::handle);
+        pgClientFactory.createInstance(tenantId).execute(query, mapToTuple(jobExecution), ar -> {
+          totalCountCache.invalidate(tenantId);
+          promise.handle(ar);
+        });
       } else {
         promise.fail(getHrIdAr.cause());
       }
@@ -219,6 +330,28 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
     return promise.future().map(jobExecution.getId());
   }
 
+  /**
+   * Creates partitions of the job records tables for the following months. The partitioned table is locked
+   * with the lock timeout, the months which partitions are not created because the lock was not acquired in time
+   * are created by the following run.
+   */
+  private Future<Void> createJobRecordsPartitions(PostgresClient postgresClient, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    Future<Void> partitionsCreated = Future.succeededFuture();
+    for (String tableName : PARTITIONED_JOB_RECORDS_TABLES) {
+      partitionsCreated = partitionsCreated.compose(v -> postgresClient.execute(format(CREATE_JOB_RECORDS_PARTITIONS_QUERY, schemaName),
+          Tuple.of(schemaName, tableName, partitionsMonthsAhead, partitionsLockTimeoutMs))
+        .onSuccess(rows -> {
+          if (!rows.iterator().next().getBoolean(0)) {
+            LOGGER.info("createJobRecordsPartitions:: Lock of the {} table was not acquired in {} ms for tenant {}, partitions will be created by the next run",
+              tableName, partitionsLockTimeoutMs, tenantId);
+          }
+        })
+        .mapEmpty());
+    }
+    return partitionsCreated;
+  }
+
   @Override
   public Future<JobExecution> updateJobExecution(JobExecution jobExecution, String tenantId) {
     String errorMessage = String.format("JobExecution with id '%s' was not found", jobExecution.getId());
@@ -226,6 +359,7 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
       String preparedQuery = format(UPDATE_SQL, formatFullTableName(tenantId, TABLE_NAME));
       Tuple queryParams = mapToTuple(jobExecution);
       return pgClientFactory.createInstance(tenantId).execute(preparedQuery, queryParams)
+        .onComplete(ar -> invalidateCaches(jobExecution.getId(), ar.failed() || isFilterFieldsChanged(ar.result()), tenantId))
         .compose(rowSet -> rowSet.rowCount() != 1
           ? Future.failedFuture(new NotFoundException(errorMessage)) : Future.succeededFuture(jobExecution));
     } catch (Exception e) {
@@ -253,6 +387,7 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   public Future<JobExecution> updateBlocking(String jobExecutionId, JobExecutionMutator mutator, String tenantId) {
     Promise<JobExecution> jobExecutionPromise = Promise.promise();
     LOGGER.debug("updateBlocking:: Starting transaction for jobExecutionId={}", jobExecutionId);
+    AtomicBoolean filterFieldsChanged = new AtomicBoolean(true);
 
     return pgClientFactory.createInstance(tenantId).withTrans(connection -> {
         LOGGER.debug("updateBlocking:: Transaction started for jobExecutionId={}", jobExecutionId);
@@ -278,9 +413,12 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
             LOGGER.debug("updateBlocking:: Mutated JobExecution, jobExecutionId={}", jobExecutionId);
             String preparedQuery = format(UPDATE_SQL, formatFullTableName(tenantId, TABLE_NAME));
             Tuple queryParams = mapToTuple(jobExecution);
-            return connection.execute(preparedQuery, queryParams).map(jobExecution);
+            return connection.execute(preparedQuery, queryParams)
+              .onSuccess(rowSet -> filterFieldsChanged.set(isFilterFieldsChanged(rowSet)))
+              .map(jobExecution);
           });
-      }).onSuccess(v ->
+      }).onComplete(ar -> invalidateCaches(jobExecutionId, filterFieldsChanged.get(), tenantId))
+      .onSuccess(v ->
         LOGGER.debug("updateBlocking:: Transaction completed successfully for jobExecutionId={}", jobExecutionId))
       .onFailure(e ->
         LOGGER.warn("updateBlocking:: Error updating jobExecution, jobExecutionId={}", jobExecutionId, e));
@@ -300,6 +438,7 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
       String query = StrSubstitutor.replace(UPDATE_BY_IDS_SQL, data);
 
       return pgClientFactory.createInstance(tenantId).execute(query)
+        .onComplete(ar -> ids.forEach(id -> invalidateCaches(id, true, tenantId)))
         .map(this::mapRowSetToDeleteChangeManagerJobExeResp);
     } catch (Exception e) {
       LOGGER.warn("softDeleteJobExecutionsByIds:: Error deleting jobExecution by ids {}, ", ids, e);
@@ -352,6 +491,7 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   }
 
   private Tuple mapToTuple(JobExecution jobExecution) {
+    ProfileSnapshotWrapper profileSnapshotWrapper = jobExecution.getJobProfileSnapshotWrapper();
     return Tuple.of(UUID.fromString(jobExecution.getId()),
       jobExecution.getHrId(),
       UUID.fromString(jobExecution.getParentJobId()),
@@ -372,12 +512,12 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
       jobExecution.getJobProfileInfo() == null ? null : jobExecution.getJobProfileInfo().getName(),
       nonNull(jobExecution.getJobProfileInfo()) && nonNull(jobExecution.getJobProfileInfo().getDataType())
         ? jobExecution.getJobProfileInfo().getDataType().toString() : null,
-      jobExecution.getJobProfileSnapshotWrapper() == null
-        ? null : JsonObject.mapFrom(jobExecution.getJobProfileSnapshotWrapper()),
+      profileSnapshotWrapper == null || compressionEnabled ? null : JsonObject.mapFrom(profileSnapshotWrapper),
       jobExecution.getJobProfileInfo() != null && jobExecution.getJobProfileInfo().getHidden(),
       jobExecution.getJobPartNumber(),
       jobExecution.getTotalJobParts(),
-      jobExecution.getTotalRecordsInFile());
+      jobExecution.getTotalRecordsInFile(),
+      profileSnapshotWrapper == null || !compressionEnabled ? null : CompressedJsonCodec.encode(profileSnapshotWrapper));
   }
 
   private JobExecutionDtoCollection mapToJobExecutionDtoCollection(RowSet<Row> rowSet) {
@@ -421,13 +561,21 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
         .withCurrent(row.getInteger(PROGRESS_CURRENT_FIELD))
         .withTotal(row.getInteger(PROGRESS_TOTAL_FIELD)))
       .withJobProfileInfo(mapRowToJobProfileInfo(row))
-      .withJobProfileSnapshotWrapper(row.getJsonObject(PROFILE_SNAPSHOT_WRAPPER_FIELD) == null
-        ? null : row.getJsonObject(PROFILE_SNAPSHOT_WRAPPER_FIELD).mapTo(ProfileSnapshotWrapper.class))
+      .withJobProfileSnapshotWrapper(mapRowToProfileSnapshotWrapper(row))
       .withJobPartNumber(row.getInteger(JOB_PART_NUMBER))
       .withTotalJobParts(row.getInteger(TOTAL_JOB_PARTS))
       .withTotalRecordsInFile(row.getInteger(TOTAL_RECORDS_IN_FILE));
   }
 
+  private ProfileSnapshotWrapper mapRowToProfileSnapshotWrapper(Row row) {
+    Buffer compressedWrapper = row.getBuffer(PROFILE_SNAPSHOT_WRAPPER_COMPRESSED_FIELD);
+    if (compressedWrapper != null) {
+      return CompressedJsonCodec.decode(compressedWrapper, ProfileSnapshotWrapper.class);
+    }
+    JsonObject wrapper = row.getJsonObject(PROFILE_SNAPSHOT_WRAPPER_FIELD);
+    return wrapper == null ? null : wrapper.mapTo(ProfileSnapshotWrapper.class);
+  }
+
   private JobExecutionDto mapRowToJobExecutionDto(Row row) {
     return new JobExecutionDto()
       .withId(row.getValue(ID_FIELD).toString())
@@ -553,6 +701,21 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
     return null;
   }
 
+  /**
+   * Total counts of the tenant are invalidated only if the job execution could move in or out of the filtered lists,
+   * updates of the progress and other fields not used by the filters do not change the counts
+   */
+  private void invalidateCaches(String jobExecutionId, boolean filterFieldsChanged, String tenantId) {
+    jobExecutionCache.invalidate(jobExecutionId, tenantId);
+    if (filterFieldsChanged) {
+      totalCountCache.invalidate(tenantId);
+    }
+  }
+
+  private boolean isFilterFieldsChanged(RowSet<Row> rowSet) {
+    return rowSet.rowCount() == 1 && Boolean.TRUE.equals(rowSet.iterator().next().getBoolean(FILTER_FIELDS_CHANGED_FIELD));
+  }
+
   private String formatFullTableName(String tenantId, String table) {
     return format("%s.%s", convertToPsqlStandard(tenantId), table);
   }
@@ -578,6 +741,65 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
   @Override
   public Future<Boolean> hardDeleteJobExecutions(long diffNumberOfDays, String tenantId) {
     PostgresClient postgresClient = pgClientFactory.createInstance(tenantId);
+    return maintainJobRecordsPartitions(diffNumberOfDays, postgresClient, tenantId)
+      .compose(v -> deleteJobExecutions(diffNumberOfDays, postgresClient, tenantId));
+  }
+
+  /**
+   * Creates partitions of the job records tables for the following months and drops the partitions
+   * which contain only records of the jobs considered for deleting. Partitions are detached concurrently
+   * and dropped outside the transaction deleting the remaining records, so the partitioned table is not locked
+   * for reading and writing of the records of other jobs.
+   */
+  private Future<Void> maintainJobRecordsPartitions(long diffNumberOfDays, PostgresClient postgresClient, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    return createJobRecordsPartitions(postgresClient, tenantId)
+      .compose(v -> postgresClient.execute(format(SELECT_IDS_FOR_DELETION, schemaName, TABLE_NAME),
+        Tuple.of(LocalDateTime.now().minusDays(diffNumberOfDays).atOffset(ZoneOffset.UTC))))
+      .compose(rowSet -> {
+        UUID[] uuids = new UUID[rowSet.rowCount()];
+        int i = 0;
+        for (Row row : rowSet) {
+          uuids[i++] = row.getUUID(ID);
+        }
+        if (uuids.length == 0) {
+          return Future.<Void>succeededFuture();
+        }
+        Future<Void> partitionsDropped = Future.succeededFuture();
+        for (String tableName : PARTITIONED_JOB_RECORDS_TABLES) {
+          partitionsDropped = partitionsDropped.compose(v -> postgresClient.execute(format(GET_DROPPABLE_JOB_RECORDS_PARTITIONS_QUERY, schemaName),
+              Tuple.of(schemaName, tableName, uuids))
+            .compose(rows -> dropJobRecordsPartitions(rows, tableName, postgresClient, tenantId)));
+        }
+        return partitionsDropped;
+      })
+      .recover(e -> {
+        LOGGER.warn("maintainJobRecordsPartitions:: Failed to maintain partitions of job records tables for tenant {}", tenantId, e);
+        return Future.succeededFuture();
+      });
+  }
+
+  /**
+   * Partitions are detached one by one, since detaching concurrently can not be executed in a transaction,
+   * the partition which detaching was interrupted is detached by finalizing
+   */
+  private Future<Void> dropJobRecordsPartitions(RowSet<Row> partitions, String tableName, PostgresClient postgresClient, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    Future<Void> partitionsDropped = Future.succeededFuture();
+    for (Row partition : partitions) {
+      String partitionName = partition.getString("partition_name");
+      String detachSql = partition.getBoolean("detach_pending") ? FINALIZE_DETACH_PARTITION_SQL : DETACH_PARTITION_CONCURRENTLY_SQL;
+      partitionsDropped = partitionsDropped
+        .compose(v -> postgresClient.execute(format(detachSql, schemaName, tableName, partitionName)))
+        .compose(v -> postgresClient.execute(format(DROP_PARTITION_SQL, schemaName, partitionName)))
+        .onSuccess(v -> LOGGER.info("dropJobRecordsPartitions:: Dropped partition {} of the {} table for tenant {}",
+          partitionName, tableName, tenantId))
+        .mapEmpty();
+    }
+    return partitionsDropped;
+  }
+
+  private Future<Boolean> deleteJobExecutions(long diffNumberOfDays, PostgresClient postgresClient, String tenantId) {
     return DbUtil.executeInTransaction(postgresClient, connection ->
       fetchJobExecutionIdsConsideredForDeleting(tenantId, diffNumberOfDays, connection)
         .compose(rowSet -> {
@@ -598,8 +820,18 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
             deleteFromRelatedTable(PROGRESS_TABLE_NAME, uuids, connection, tenantId),
             deleteFromRelatedTableWithDeprecatedNaming(JOB_EXECUTION_SOURCE_CHUNKS_TABLE_NAME, uuids, connection, tenantId),
             deleteFromRelatedTable(JOURNAL_RECORDS_TABLE_NAME, uuids, connection, tenantId),
-            deleteFromRelatedTable(INCOMING_RECORDS_TABLE, uuids, connection, tenantId)
+            deleteFromRelatedTable(INCOMING_RECORDS_TABLE, uuids, connection, tenantId),
+            deleteFromRelatedTable(JOB_EXECUTION_SUMMARY_TABLE_NAME, uuids, connection, tenantId),
+            deleteFromRelatedTable(JOB_EXECUTION_SUMMARY_INSTANCES_TABLE_NAME, uuids, connection, tenantId),
+            deleteFromRelatedTable(JOB_LOG_ENTRIES_TABLE_NAME, uuids, connection, tenantId),
+            deleteFromRelatedTable(JOB_LOG_ENTRIES_PENDING_JOBS_TABLE_NAME, uuids, connection, tenantId),
+            deleteFromRelatedTable(MAPPING_PARAMS_SNAPSHOTS_TABLE, uuids, connection, tenantId),
+            deleteFromRelatedTable(MAPPING_RULES_SNAPSHOTS_TABLE, uuids, connection, tenantId)
           ).compose(v -> deleteFromJobExecutionTable(uuids, connection, tenantId))
+            .compose(v -> deleteUnreferencedSnapshotContents(MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE,
+              MAPPING_PARAMS_SNAPSHOTS_TABLE, PARAMS_HASH_FIELD, connection, tenantId))
+            .compose(v -> deleteUnreferencedSnapshotContents(MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE,
+              MAPPING_RULES_SNAPSHOTS_TABLE, RULES_HASH_FIELD, connection, tenantId))
             .map(true);
         }));
   }
@@ -628,6 +860,16 @@ public class JobExecutionDaoImpl implements JobExecutionDao {
     return connection.execute(deleteQuery, queryParams);
   }
 
+  private Future<RowSet<Row>> deleteUnreferencedSnapshotContents(String contentsTableName, String snapshotsTableName,
+                                                                 String hashField, Conn connection, String tenantId) {
+    String deleteQuery = format(DELETE_UNREFERENCED_SNAPSHOT_CONTENTS, convertToPsqlStandard(tenantId),
+      contentsTableName, snapshotsTableName, hashField);
+    Tuple queryParams = Tuple.of(LocalDateTime.now().minusHours(UNREFERENCED_SNAPSHOT_CONTENTS_GRACE_PERIOD_HOURS));
+    return connection.execute(deleteQuery, queryParams)
+      .onSuccess(rows -> LOGGER.info("deleteUnreferencedSnapshotContents:: Deleted {} unreferenced rows of the {} table for tenant {}",
+        rows.rowCount(), contentsTableName, tenantId));
+  }
+
   private Future<RowSet<Row>> deleteFromJobExecutionTable(UUID[] uuids, Conn connection, String tenantId) {
     String deleteQuery = format(DELETE_FROM_JOB_EXECUTION_TABLE, convertToPsqlStandard(tenantId), TABLE_NAME);
     Tuple queryParams = Tuple.of(uuids);
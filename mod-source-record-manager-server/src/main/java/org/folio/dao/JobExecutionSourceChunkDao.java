@@ -48,6 +48,26 @@ public interface JobExecutionSourceChunkDao {
    */
   Future<JobExecutionSourceChunk> update(JobExecutionSourceChunk jobExecutionChunk, String tenantId);
 
+  /**
+   * Atomically increments the amount of processed records of the JobExecutionSourceChunk
+   *
+   * @param id       id of the JobExecutionSourceChunk
+   * @param delta    number of the records processed since the previous increment
+   * @param tenantId tenant id
+   * @return future, failed with NotFoundException if the JobExecutionSourceChunk does not exist
+   */
+  Future<Void> incrementProcessedAmount(String id, int delta, String tenantId);
+
+  /**
+   * Updates state of the JobExecutionSourceChunk without reading and rewriting the whole entity
+   *
+   * @param id       id of the JobExecutionSourceChunk
+   * @param state    new state
+   * @param tenantId tenant id
+   * @return future, failed with NotFoundException if the JobExecutionSourceChunk does not exist
+   */
+  Future<Void> updateState(String id, JobExecutionSourceChunk.State state, String tenantId);
+
   /**
    * Deletes JobExecutionSourceChunk from DB
    *
@@ -59,6 +79,7 @@ public interface JobExecutionSourceChunkDao {
   /**
    * Checks whether all related chunks (to given job execution id) are processed
    * Each chunk is considered being processed if it has ERROR or COMPLETED state.
+   * The check reads the number of unfinished chunks maintained per job execution, chunks are not counted.
    *
    * @param jobExecutionId - UUID of related JobExecution
    * @param tenantId       - tenantId
@@ -57,6 +57,8 @@ public class JobExecutionSourceChunkDaoImpl implements JobExecutionSourceChunkDa
   private static final String ARE_THERE_ANY_ERRORS_DURING_PROCESSING_QUERY = "SELECT processing_contains_error_chunks('%s');";
   private static final String INSERT_QUERY = "INSERT INTO %s.%s (id, jsonb, jobExecutionId) VALUES ($1, $2, $3)";
   private static final String SELECT_QUERY = "SELECT * FROM %s.%s WHERE jobExecutionId = $1 AND jsonb->>'last' = $2 OFFSET $3 LIMIT $4";
+  private static final String INCREMENT_PROCESSED_AMOUNT_QUERY = "UPDATE %s.%s SET processed_amount = processed_amount + $2 WHERE id = $1";
+  private static final String UPDATE_STATE_QUERY = "UPDATE %s.%s SET jsonb = jsonb_set(jsonb, '{state}', to_jsonb($2::text)) WHERE id = $1";
 
 
   @Autowired
@@ -153,6 +155,39 @@ public class JobExecutionSourceChunkDaoImpl implements JobExecutionSourceChunkDa
     return promise.future();
   }
 
+  @Override
+  public Future<Void> incrementProcessedAmount(String id, int delta, String tenantId) {
+    try {
+      String query = format(INCREMENT_PROCESSED_AMOUNT_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(UUID.fromString(id), delta))
+        .compose(rows -> ensureUpdated(rows, id));
+    } catch (Exception e) {
+      LOGGER.warn("incrementProcessedAmount:: Error incrementing processed amount of jobExecutionSourceChunk with id {}", id, e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  @Override
+  public Future<Void> updateState(String id, State state, String tenantId) {
+    try {
+      String query = format(UPDATE_STATE_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+      return pgClientFactory.createInstance(tenantId).execute(query, Tuple.of(UUID.fromString(id), state.value()))
+        .compose(rows -> ensureUpdated(rows, id));
+    } catch (Exception e) {
+      LOGGER.warn("updateState:: Error updating state of jobExecutionSourceChunk with id {}", id, e);
+      return Future.failedFuture(e);
+    }
+  }
+
+  private Future<Void> ensureUpdated(RowSet<Row> rows, String id) {
+    if (rows.rowCount() != 1) {
+      String errorMessage = format("JobExecutionSourceChunk with id '%s' was not found", id);
+      LOGGER.warn("ensureUpdated:: {}", errorMessage);
+      return Future.failedFuture(new NotFoundException(errorMessage));
+    }
+    return Future.succeededFuture();
+  }
+
   @Override
   public Future<Boolean> delete(String id, String tenantId) {
     return pgClientFactory.createInstance(tenantId).delete(TABLE_NAME, id)
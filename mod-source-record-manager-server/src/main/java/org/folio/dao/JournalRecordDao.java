@@ -87,6 +87,15 @@ public interface JournalRecordDao {
    */
   Future<Optional<JobExecutionSummaryDto>> getJobExecutionSummaryDto(String jobExecutionId, String tenantId);
 
+  /**
+   * Recalculates summary of job execution by {@code jobExecutionId} from all its journal records
+   *
+   * @param jobExecutionId job execution id
+   * @param tenantId       tenantId
+   * @return future with Void
+   */
+  Future<Void> rebuildJobExecutionSummary(String jobExecutionId, String tenantId);
+
   /**
    * Updates JournalRecords error-field by orderId and jobExecutionId
    * @param jobExecutionId job execution id
@@ -48,7 +48,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -154,12 +156,18 @@ public class JournalRecordDaoImpl implements JournalRecordDao {
     "(id, job_execution_id, source_id, source_record_order, entity_type, entity_id, entity_hrid, action_type, action_status, error, action_date, title, instance_id, holdings_id, order_id, permanent_location_id, tenant_id) " +
     "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13, $14, $15, $16, $17) "+
     "ON CONFLICT DO NOTHING";
+  private static final String BULK_INSERT_SQL = "INSERT INTO %s.%s " +
+    "(id, job_execution_id, source_id, source_record_order, entity_type, entity_id, entity_hrid, action_type, action_status, error, action_date, title, instance_id, holdings_id, order_id, permanent_location_id, tenant_id) " +
+    "SELECT * FROM unnest($1::uuid[], $2::uuid[], $3::uuid[], $4::integer[], $5::text[], $6::text[], $7::text[], $8::text[], $9::text[], " +
+    "$10::text[], $11::timestamp[], $12::text[], $13::text[], $14::text[], $15::text[], $16::text[], $17::text[]) " +
+    "ON CONFLICT DO NOTHING";
   private static final String SELECT_BY_JOB_EXECUTION_ID_QUERY = "SELECT * FROM %s.%s WHERE job_execution_id = $1";
   private static final String ORDER_BY_PATTERN = " ORDER BY %s %s";
   private static final String DELETE_BY_JOB_EXECUTION_ID_QUERY = "DELETE FROM %s.%s WHERE job_execution_id = $1";
   private static final String GET_JOB_LOG_ENTRIES_BY_JOB_EXECUTION_ID_QUERY = "SELECT * FROM get_job_log_entries('%s', '%s', '%s', %s, %s, %b, '%s')";
   private static final String GET_JOB_LOG_RECORD_PROCESSING_ENTRIES_BY_JOB_EXECUTION_AND_RECORD_ID_QUERY = "SELECT * FROM get_record_processing_log('%s', '%s')";
   private static final String GET_JOB_SUMMARY_QUERY = "SELECT * FROM get_job_execution_summary('%s')";
+  private static final String REBUILD_JOB_SUMMARY_QUERY = "SELECT rebuild_job_execution_summary($1)";
   private static final String UPDATE_ERROR_JOURNAL_RECORD_BY_ORDER_ID_AND_JOB_EXECUTION_ID = "UPDATE %s.%s SET error = $1  WHERE order_id = $2 AND job_execution_id = $3;";
   private static final int MAX_RETRIES = 5;
   private static final long INITIAL_RETRY_DELAY_MS = 100L;
@@ -188,11 +196,14 @@ public class JournalRecordDaoImpl implements JournalRecordDao {
     LOGGER.info("saveBatch:: Saving {} journal records", journalRecords.size());
 
     try {
-      List<Tuple> tupleList = prepareTupleList(journalRecords);
-      String query = format(INSERT_SQL, convertToPsqlStandard(tenantId), JOURNAL_RECORDS_TABLE);
-      LOGGER.trace("saveBatch:: query = {}; tuples = {}", query, tupleList);
+      if (journalRecords.isEmpty()) {
+        return Future.succeededFuture();
+      }
+      Tuple columnArrays = prepareColumnArrays(journalRecords);
+      String query = format(BULK_INSERT_SQL, convertToPsqlStandard(tenantId), JOURNAL_RECORDS_TABLE);
+      LOGGER.trace("saveBatch:: query = {}; records number = {}", query, journalRecords.size());
 
-      return executeWithRetry(query, tupleList, tenantId, MAX_RETRIES, INITIAL_RETRY_DELAY_MS)
+      return executeWithRetry(() -> pgClientFactory.createInstance(tenantId).execute(query, columnArrays), MAX_RETRIES, INITIAL_RETRY_DELAY_MS)
         .mapEmpty();
     } catch (Exception e) {
       LOGGER.warn("saveBatch:: Error saving journal records", e);
@@ -200,25 +211,71 @@ public class JournalRecordDaoImpl implements JournalRecordDao {
     }
   }
 
-  private List<Tuple> prepareTupleList(Collection<JournalRecord> journalRecords) {
+  /**
+   * Prepares column arrays of the records inserted by a single statement unnesting them, so the whole batch is inserted
+   * in one round trip and the statement level triggers maintaining the job summary and the job log are fired once
+   * per batch instead of once per record
+   */
+  private Tuple prepareColumnArrays(Collection<JournalRecord> journalRecords) {
+    int size = journalRecords.size();
+    UUID[] ids = new UUID[size];
+    UUID[] jobExecutionIds = new UUID[size];
+    UUID[] sourceIds = new UUID[size];
+    Integer[] sourceRecordOrders = new Integer[size];
+    String[] entityTypes = new String[size];
+    String[] entityIds = new String[size];
+    String[] entityHrIds = new String[size];
+    String[] actionTypes = new String[size];
+    String[] actionStatuses = new String[size];
+    String[] errors = new String[size];
+    LocalDateTime[] actionDates = new LocalDateTime[size];
+    String[] titles = new String[size];
+    String[] instanceIds = new String[size];
+    String[] holdingsIds = new String[size];
+    String[] orderIds = new String[size];
+    String[] permanentLocationIds = new String[size];
+    String[] tenantIds = new String[size];
+
+    List<JournalRecord> sortedRecords = sortForInsert(journalRecords).toList();
+    for (int row = 0; row < size; row++) {
+      JournalRecord journalRecord = sortedRecords.get(row);
+      ids[row] = UUID.fromString(journalRecord.getId());
+      jobExecutionIds[row] = UUID.fromString(journalRecord.getJobExecutionId());
+      sourceIds[row] = UUID.fromString(journalRecord.getSourceId());
+      sourceRecordOrders[row] = journalRecord.getSourceRecordOrder();
+      entityTypes[row] = journalRecord.getEntityType() != null ? journalRecord.getEntityType().toString() : EMPTY;
+      entityIds[row] = journalRecord.getEntityId();
+      entityHrIds[row] = journalRecord.getEntityHrId() != null ? journalRecord.getEntityHrId() : EMPTY;
+      actionTypes[row] = journalRecord.getActionType().toString();
+      actionStatuses[row] = journalRecord.getActionStatus().toString();
+      errors[row] = journalRecord.getError() != null ? journalRecord.getError() : EMPTY;
+      actionDates[row] = Timestamp.from(journalRecord.getActionDate().toInstant()).toLocalDateTime();
+      titles[row] = journalRecord.getTitle();
+      instanceIds[row] = journalRecord.getInstanceId();
+      holdingsIds[row] = journalRecord.getHoldingsId();
+      orderIds[row] = journalRecord.getOrderId();
+      permanentLocationIds[row] = journalRecord.getPermanentLocationId();
+      tenantIds[row] = journalRecord.getTenantId();
+    }
+    return Tuple.of(ids, jobExecutionIds, sourceIds, sourceRecordOrders, entityTypes, entityIds, entityHrIds, actionTypes,
+      actionStatuses, errors, actionDates, titles, instanceIds, holdingsIds, orderIds, permanentLocationIds, tenantIds);
+  }
+
+  private Stream<JournalRecord> sortForInsert(Collection<JournalRecord> journalRecords) {
+    // the same order as in the insert_journal_records function, so concurrent batches lock rows in the same order
     return journalRecords.stream()
-      .sorted(Comparator.comparing(JournalRecord::getJobExecutionId))
-      .map(this::prepareInsertQueryParameters)
-      .toList();
+      .sorted(Comparator.comparing(JournalRecord::getJobExecutionId).thenComparing(JournalRecord::getId));
   }
 
-  private Future<RowSet<Row>> executeWithRetry(String query,
-                                               List<Tuple> tupleList,
-                                               String tenantId,
+  private Future<RowSet<Row>> executeWithRetry(Supplier<Future<RowSet<Row>>> operation,
                                                int retriesLeft,
                                                long delayMs) {
-    return pgClientFactory.createInstance(tenantId)
-      .execute(query, tupleList)
+    return operation.get()
       .recover(ex -> {
         if (isDeadlock(ex) && retriesLeft > 0) {
           LOGGER.warn("executeWithRetry:: Deadlock detected. Retries left: {} - Retrying in {}ms", retriesLeft, delayMs);
           Promise<RowSet<Row>> promise = Promise.promise();
-          vertx().setTimer(delayMs, tid -> executeWithRetry(query, tupleList, tenantId, retriesLeft - 1, delayMs * 2)
+          vertx().setTimer(delayMs, tid -> executeWithRetry(operation, retriesLeft - 1, delayMs * 2)
             .onComplete(promise));
           return promise.future();
         }
@@ -318,6 +375,14 @@ public class JournalRecordDaoImpl implements JournalRecordDao {
       ? Optional.of(mapRowToJobExecutionSummaryDto(rows.iterator().next())) : Optional.empty());
   }
 
+  @Override
+  public Future<Void> rebuildJobExecutionSummary(String jobExecutionId, String tenantId) {
+    LOGGER.info("rebuildJobExecutionSummary:: Rebuilding summary of job execution with id: '{}' from the {} table", jobExecutionId, JOURNAL_RECORDS_TABLE);
+    return pgClientFactory.createInstance(tenantId).execute(REBUILD_JOB_SUMMARY_QUERY, Tuple.of(UUID.fromString(jobExecutionId)))
+      .onFailure(e -> LOGGER.warn("rebuildJobExecutionSummary:: Error rebuilding summary of job execution with id: '{}'", jobExecutionId, e))
+      .mapEmpty();
+  }
+
   @Override
   public Future<Integer> updateErrorJournalRecordsByOrderIdAndJobExecution(String jobExecutionId, String orderId, String error, String tenantId) {
     LOGGER.info("updateErrorJournalRecordsByOrderIdAndJobExecution:: Trying to update JournalRecord entities by jobExecutionId: '{}' in the {} table", jobExecutionId, JOURNAL_RECORDS_TABLE);
@@ -18,16 +18,43 @@ public interface MappingParamsSnapshotDao {
    */
   Future<Optional<MappingParameters>> getByJobExecutionId(String jobExecutionId, String tenantId);
 
+  /**
+   * Returns hash of the mapping parameters snapshot content for given JobExecution
+   *
+   * @param jobExecutionId JobExecution id
+   * @param tenantId       tenant id
+   * @return optional of snapshot content hash
+   */
+  Future<Optional<String>> getHashByJobExecutionId(String jobExecutionId, String tenantId);
+
+  /**
+   * Returns mapping parameters snapshot content by content hash
+   *
+   * @param hash     snapshot content hash
+   * @param tenantId tenant id
+   * @return optional of mapping parameters snapshot
+   */
+  Future<Optional<MappingParameters>> getByHash(String hash, String tenantId);
+
   /**
    * Saves mapping parameters snapshot
    *
    * @param params         mapping parameters snapshot
    * @param jobExecutionId JobExecution id
    * @param tenantId       tenant id
-   * @return id
+   * @return snapshot content hash
    */
   Future<String> save(MappingParameters params, String jobExecutionId, String tenantId);
 
+  /**
+   * Replaces hashes of the mapping parameters snapshot contents moved by the migration script
+   * with the hashes calculated by the module, so the moved contents are deduplicated with the saved ones
+   *
+   * @param tenantId tenant id
+   * @return future
+   */
+  Future<Void> rehashLegacyContents(String tenantId);
+
   /**
    * Deletes mapping parameters snapshot
    *
@@ -2,15 +2,20 @@ package org.folio.dao;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.CompressedJsonCodec;
+import org.folio.dao.util.ContentHashUtil;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.folio.rest.persist.PostgresClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -18,64 +23,151 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static java.lang.String.format;
+import static org.folio.dao.util.ContentHashUtil.LEGACY_HASH_PREFIX;
 import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 
+/**
+ * Mapping parameters snapshots are stored once per distinct content in the contents table,
+ * the snapshots table references the content of the JobExecution snapshot by content hash.
+ */
 @Repository
 public class MappingParamsSnapshotDaoImpl implements MappingParamsSnapshotDao {
 
   @Autowired
   private PostgresClientFactory pgClientFactory;
 
+  @Value("${srm.storage.compression.enabled:false}")
+  private boolean compressionEnabled;
+
   private static final Logger LOGGER = LogManager.getLogger();
 
-  private static final String TABLE_NAME = "mapping_params_snapshots";
-  private static final String SELECT_QUERY = "SELECT params FROM %s.%s WHERE job_execution_id = $1";
-  private static final String INSERT_SQL = "INSERT INTO %s.%s (job_execution_id, params, saved_timestamp) VALUES ($1, $2, $3) ON CONFLICT DO NOTHING";
+  public static final String MAPPING_PARAMS_SNAPSHOTS_TABLE = "mapping_params_snapshots";
+  public static final String MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE = "mapping_params_snapshot_contents";
+  public static final String PARAMS_HASH_FIELD = "params_hash";
+  private static final String SELECT_QUERY = "SELECT c.params, c.params_compressed FROM %1$s.%2$s s JOIN %1$s.%3$s c ON c.hash = s.params_hash WHERE s.job_execution_id = $1";
+  private static final String SELECT_HASH_QUERY = "SELECT params_hash FROM %s.%s WHERE job_execution_id = $1";
+  private static final String SELECT_BY_HASH_QUERY = "SELECT params, params_compressed FROM %s.%s WHERE hash = $1";
+  private static final String INSERT_SQL =
+    "WITH content AS (INSERT INTO %1$s.%3$s (hash, params, params_compressed, saved_timestamp) VALUES ($2, $3, $5, $4) " +
+    "ON CONFLICT (hash) DO UPDATE SET saved_timestamp = EXCLUDED.saved_timestamp) " +
+    "INSERT INTO %1$s.%2$s (job_execution_id, params_hash, saved_timestamp) VALUES ($1, $2, $4) ON CONFLICT DO NOTHING";
   private static final String DELETE_BY_JOB_EXECUTION_ID_QUERY = "DELETE FROM %s.%s WHERE job_execution_id = $1";
+  private static final String REFERENCE_SAVED_CONTENT_SQL =
+    "WITH content AS (UPDATE %1$s.%3$s SET saved_timestamp = $3 WHERE hash = $2 RETURNING hash), " +
+    "snapshot AS (INSERT INTO %1$s.%2$s (job_execution_id, params_hash, saved_timestamp) SELECT $1, hash, $3 FROM content ON CONFLICT DO NOTHING) " +
+    "SELECT hash FROM content";
+  private static final String SELECT_LEGACY_HASHES_QUERY = "SELECT hash FROM %s.%s WHERE hash LIKE '" + LEGACY_HASH_PREFIX + "%%'";
+  private static final String REHASH_CONTENT_SQL =
+    "WITH content AS (INSERT INTO %1$s.%3$s (hash, params, params_compressed, saved_timestamp) " +
+    "SELECT $2, params, params_compressed, saved_timestamp FROM %1$s.%3$s WHERE hash = $1 ON CONFLICT (hash) DO NOTHING), " +
+    "snapshots AS (UPDATE %1$s.%2$s SET params_hash = $2 WHERE params_hash = $1) " +
+    "DELETE FROM %1$s.%3$s WHERE hash = $1";
+  private static final String HASH_FIELD = "hash";
   private static final String PARAMS_FIELD = "params";
+  private static final String PARAMS_COMPRESSED_FIELD = "params_compressed";
 
   @Override
   public Future<Optional<MappingParameters>> getByJobExecutionId(String jobExecutionId, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    String query = format(SELECT_QUERY, schemaName, MAPPING_PARAMS_SNAPSHOTS_TABLE, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE);
+    return selectParams(query, Tuple.of(UUID.fromString(jobExecutionId)), tenantId);
+  }
+
+  @Override
+  public Future<Optional<String>> getHashByJobExecutionId(String jobExecutionId, String tenantId) {
     Promise<RowSet<Row>> promise = Promise.promise();
-    String query = format(SELECT_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+    String query = format(SELECT_HASH_QUERY, convertToPsqlStandard(tenantId), MAPPING_PARAMS_SNAPSHOTS_TABLE);
     Tuple queryParams = Tuple.of(UUID.fromString(jobExecutionId));
     pgClientFactory.createInstance(tenantId).selectRead(query, queryParams, promise::handle);
-    return promise.future().map(resultSet -> {
-      if (resultSet.rowCount() == 0 || resultSet.iterator().next().getValue(PARAMS_FIELD) == null) {
-        return Optional.empty();
-      } else {
-        MappingParameters rules = resultSet.iterator().next().getJsonObject(PARAMS_FIELD).mapTo(MappingParameters.class);
-        return Optional.of(rules);
-      }
-    });
+    return promise.future().map(resultSet -> resultSet.rowCount() == 0
+      ? Optional.empty()
+      : Optional.ofNullable(resultSet.iterator().next().getString(PARAMS_HASH_FIELD)));
+  }
+
+  @Override
+  public Future<Optional<MappingParameters>> getByHash(String hash, String tenantId) {
+    String query = format(SELECT_BY_HASH_QUERY, convertToPsqlStandard(tenantId), MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE);
+    return selectParams(query, Tuple.of(hash), tenantId);
   }
 
   @Override
   public Future<String> save(MappingParameters params, String jobExecutionId, String tenantId) {
     LOGGER.trace("save:: Saving mapping parameters for jobExecution {}", jobExecutionId);
     try {
-      String query = format(INSERT_SQL, convertToPsqlStandard(tenantId), TABLE_NAME);
-      Tuple queryParams = Tuple.of(
-        UUID.fromString(jobExecutionId),
-        JsonObject.mapFrom(params),
-        LocalDateTime.now()
-      );
-      return pgClientFactory.createInstance(tenantId).execute(query, queryParams)
+      String schemaName = convertToPsqlStandard(tenantId);
+      JsonObject content = JsonObject.mapFrom(params);
+      String hash = ContentHashUtil.sha256Hex(content);
+      UUID jobExecutionUuid = UUID.fromString(jobExecutionId);
+      LocalDateTime savedTimestamp = LocalDateTime.now();
+      PostgresClient pgClient = pgClientFactory.createInstance(tenantId);
+      // the content is sent only if it is not saved yet
+      return pgClient.execute(format(REFERENCE_SAVED_CONTENT_SQL, schemaName, MAPPING_PARAMS_SNAPSHOTS_TABLE, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE),
+          Tuple.of(jobExecutionUuid, hash, savedTimestamp))
+        .compose(rows -> rows.rowCount() > 0 ? Future.<Void>succeededFuture() : pgClient.execute(
+            format(INSERT_SQL, schemaName, MAPPING_PARAMS_SNAPSHOTS_TABLE, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE),
+            Tuple.of(jobExecutionUuid, hash, compressionEnabled ? null : content, savedTimestamp,
+              compressionEnabled ? CompressedJsonCodec.compress(content.toBuffer()) : null))
+          .<Void>mapEmpty())
         .onFailure(e ->
           LOGGER.warn("save:: Failed to save MappingParamsSnapshot entity, jobExecutionId: {}", jobExecutionId, e))
-        .map(jobExecutionId);
+        .map(hash);
     } catch (Exception e) {
       LOGGER.warn("save:: Error saving MappingParamsSnapshot entity, jobExecutionId: {}", jobExecutionId, e);
       return Future.failedFuture(e);
     }
   }
 
+  @Override
+  public Future<Void> rehashLegacyContents(String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    PostgresClient pgClient = pgClientFactory.createInstance(tenantId);
+    // only the hashes are selected at once, the contents are loaded and rehashed one by one
+    return pgClient.execute(format(SELECT_LEGACY_HASHES_QUERY, schemaName, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE))
+      .compose(rows -> {
+        LOGGER.info("rehashLegacyContents:: Rehashing {} mapping params snapshot contents for tenant {}", rows.rowCount(), tenantId);
+        Future<Void> result = Future.succeededFuture();
+        for (Row row : rows) {
+          String legacyHash = row.getString(HASH_FIELD);
+          result = result.compose(v -> rehashLegacyContent(legacyHash, pgClient, tenantId));
+        }
+        return result;
+      })
+      .onFailure(e -> LOGGER.warn("rehashLegacyContents:: Failed to rehash mapping params snapshot contents for tenant {}", tenantId, e));
+  }
+
+  private Future<Void> rehashLegacyContent(String legacyHash, PostgresClient pgClient, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    return pgClient.execute(format(SELECT_BY_HASH_QUERY, schemaName, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE), Tuple.of(legacyHash))
+      .compose(rows -> rows.rowCount() == 0
+        ? Future.<Void>succeededFuture()
+        : pgClient.execute(format(REHASH_CONTENT_SQL, schemaName, MAPPING_PARAMS_SNAPSHOTS_TABLE, MAPPING_PARAMS_SNAPSHOT_CONTENTS_TABLE),
+            Tuple.of(legacyHash, ContentHashUtil.sha256Hex(JsonObject.mapFrom(toParams(rows.iterator().next())))))
+          .<Void>mapEmpty());
+  }
+
   @Override
   public Future<Boolean> delete(String jobExecutionId, String tenantId) {
     LOGGER.trace("delete:: Deleting jobExecution {} for tenant {}", jobExecutionId, tenantId);
-    String query = format(DELETE_BY_JOB_EXECUTION_ID_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+    String query = format(DELETE_BY_JOB_EXECUTION_ID_QUERY, convertToPsqlStandard(tenantId), MAPPING_PARAMS_SNAPSHOTS_TABLE);
     Tuple queryParams = Tuple.of(UUID.fromString(jobExecutionId));
     return pgClientFactory.createInstance(tenantId).execute(query, queryParams)
       .map(updateResult -> updateResult.rowCount() == 1);
   }
+
+  private Future<Optional<MappingParameters>> selectParams(String query, Tuple queryParams, String tenantId) {
+    Promise<RowSet<Row>> promise = Promise.promise();
+    pgClientFactory.createInstance(tenantId).selectRead(query, queryParams, promise::handle);
+    return promise.future().map(resultSet -> resultSet.rowCount() == 0
+      ? Optional.empty()
+      : Optional.ofNullable(toParams(resultSet.iterator().next())));
+  }
+
+  private MappingParameters toParams(Row row) {
+    Buffer compressedParams = row.getBuffer(PARAMS_COMPRESSED_FIELD);
+    if (compressedParams != null) {
+      return CompressedJsonCodec.decode(compressedParams, MappingParameters.class);
+    }
+    JsonObject params = row.getJsonObject(PARAMS_FIELD);
+    return params == null ? null : params.mapTo(MappingParameters.class);
+  }
 }
@@ -18,16 +18,43 @@ public interface MappingRulesSnapshotDao {
    */
   Future<Optional<JsonObject>> getByJobExecutionId(String jobExecutionId, String tenantId);
 
+  /**
+   * Returns hash of the mapping rules snapshot content for given JobExecution
+   *
+   * @param jobExecutionId JobExecution id
+   * @param tenantId       tenant id
+   * @return optional of snapshot content hash
+   */
+  Future<Optional<String>> getHashByJobExecutionId(String jobExecutionId, String tenantId);
+
+  /**
+   * Returns mapping rules snapshot content by content hash
+   *
+   * @param hash     snapshot content hash
+   * @param tenantId tenant id
+   * @return optional of mapping rules snapshot
+   */
+  Future<Optional<JsonObject>> getByHash(String hash, String tenantId);
+
   /**
    * Saves rules snapshot
    *
    * @param rules          rules snapshot
    * @param jobExecutionId JobExecution id
    * @param tenantId       tenant id
-   * @return rules id
+   * @return snapshot content hash
    */
   Future<String> save(JsonObject rules, String jobExecutionId, String tenantId);
 
+  /**
+   * Replaces hashes of the rules snapshot contents moved by the migration script
+   * with the hashes calculated by the module, so the moved contents are deduplicated with the saved ones
+   *
+   * @param tenantId tenant id
+   * @return future
+   */
+  Future<Void> rehashLegacyContents(String tenantId);
+
   /**
    * Deletes rules snapshot
    *
@@ -2,14 +2,19 @@ package org.folio.dao;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.dao.util.CompressedJsonCodec;
+import org.folio.dao.util.ContentHashUtil;
 import org.folio.dao.util.PostgresClientFactory;
+import org.folio.rest.persist.PostgresClient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -17,65 +22,150 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static java.lang.String.format;
+import static org.folio.dao.util.ContentHashUtil.LEGACY_HASH_PREFIX;
 import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 
+/**
+ * Mapping rules snapshots are stored once per distinct content in the contents table,
+ * the snapshots table references the content of the JobExecution snapshot by content hash.
+ */
 @Repository
 public class MappingRulesSnapshotDaoImpl implements MappingRulesSnapshotDao {
 
   @Autowired
   private PostgresClientFactory pgClientFactory;
 
+  @Value("${srm.storage.compression.enabled:false}")
+  private boolean compressionEnabled;
+
   private static final Logger LOGGER = LogManager.getLogger();
 
-  private static final String TABLE_NAME = "mapping_rules_snapshots";
-  private static final String SELECT_QUERY = "SELECT rules FROM %s.%s WHERE job_execution_id = $1";
-  private static final String INSERT_SQL = "INSERT INTO %s.%s (job_execution_id, rules, saved_timestamp) VALUES ($1, $2, $3) ON CONFLICT DO NOTHING";
+  public static final String MAPPING_RULES_SNAPSHOTS_TABLE = "mapping_rules_snapshots";
+  public static final String MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE = "mapping_rules_snapshot_contents";
+  public static final String RULES_HASH_FIELD = "rules_hash";
+  private static final String SELECT_QUERY = "SELECT c.rules, c.rules_compressed FROM %1$s.%2$s s JOIN %1$s.%3$s c ON c.hash = s.rules_hash WHERE s.job_execution_id = $1";
+  private static final String SELECT_HASH_QUERY = "SELECT rules_hash FROM %s.%s WHERE job_execution_id = $1";
+  private static final String SELECT_BY_HASH_QUERY = "SELECT rules, rules_compressed FROM %s.%s WHERE hash = $1";
+  private static final String INSERT_SQL =
+    "WITH content AS (INSERT INTO %1$s.%3$s (hash, rules, rules_compressed, saved_timestamp) VALUES ($2, $3, $5, $4) " +
+    "ON CONFLICT (hash) DO UPDATE SET saved_timestamp = EXCLUDED.saved_timestamp) " +
+    "INSERT INTO %1$s.%2$s (job_execution_id, rules_hash, saved_timestamp) VALUES ($1, $2, $4) ON CONFLICT DO NOTHING";
   private static final String DELETE_BY_JOB_EXECUTION_ID_QUERY = "DELETE FROM %s.%s WHERE job_execution_id = $1";
+  private static final String REFERENCE_SAVED_CONTENT_SQL =
+    "WITH content AS (UPDATE %1$s.%3$s SET saved_timestamp = $3 WHERE hash = $2 RETURNING hash), " +
+    "snapshot AS (INSERT INTO %1$s.%2$s (job_execution_id, rules_hash, saved_timestamp) SELECT $1, hash, $3 FROM content ON CONFLICT DO NOTHING) " +
+    "SELECT hash FROM content";
+  private static final String SELECT_LEGACY_HASHES_QUERY = "SELECT hash FROM %s.%s WHERE hash LIKE '" + LEGACY_HASH_PREFIX + "%%'";
+  private static final String REHASH_CONTENT_SQL =
+    "WITH content AS (INSERT INTO %1$s.%3$s (hash, rules, rules_compressed, saved_timestamp) " +
+    "SELECT $2, rules, rules_compressed, saved_timestamp FROM %1$s.%3$s WHERE hash = $1 ON CONFLICT (hash) DO NOTHING), " +
+    "snapshots AS (UPDATE %1$s.%2$s SET rules_hash = $2 WHERE rules_hash = $1) " +
+    "DELETE FROM %1$s.%3$s WHERE hash = $1";
+  private static final String HASH_FIELD = "hash";
   private static final String RULES_FIELD = "rules";
+  private static final String RULES_COMPRESSED_FIELD = "rules_compressed";
 
   @Override
   public Future<Optional<JsonObject>> getByJobExecutionId(String jobExecutionId, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    String query = format(SELECT_QUERY, schemaName, MAPPING_RULES_SNAPSHOTS_TABLE, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE);
+    return selectRules(query, Tuple.of(UUID.fromString(jobExecutionId)), tenantId);
+  }
+
+  @Override
+  public Future<Optional<String>> getHashByJobExecutionId(String jobExecutionId, String tenantId) {
     Promise<RowSet<Row>> promise = Promise.promise();
-    String query = format(SELECT_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+    String query = format(SELECT_HASH_QUERY, convertToPsqlStandard(tenantId), MAPPING_RULES_SNAPSHOTS_TABLE);
     Tuple queryParams = Tuple.of(UUID.fromString(jobExecutionId));
     pgClientFactory.createInstance(tenantId).selectRead(query, queryParams, promise::handle);
-    return promise.future().map(resultSet -> {
-      if (resultSet.rowCount() == 0 || resultSet.iterator().next().getValue(RULES_FIELD) == null) {
-        return Optional.empty();
-      } else {
-        JsonObject rules = new JsonObject(resultSet.iterator().next().getValue(RULES_FIELD).toString());
-        return Optional.of(rules);
-      }
-    });
+    return promise.future().map(resultSet -> resultSet.rowCount() == 0
+      ? Optional.empty()
+      : Optional.ofNullable(resultSet.iterator().next().getString(RULES_HASH_FIELD)));
+  }
+
+  @Override
+  public Future<Optional<JsonObject>> getByHash(String hash, String tenantId) {
+    String query = format(SELECT_BY_HASH_QUERY, convertToPsqlStandard(tenantId), MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE);
+    return selectRules(query, Tuple.of(hash), tenantId);
   }
 
   @Override
   public Future<String> save(JsonObject rules, String jobExecutionId, String tenantId) {
     LOGGER.trace("save:: Saving mappingRulesSnapshot for jobExecutionId: {}, tenant: {}", jobExecutionId, tenantId);
     try {
-      String query = format(INSERT_SQL, convertToPsqlStandard(tenantId), TABLE_NAME);
-      Tuple queryParams = Tuple.of(
-        UUID.fromString(jobExecutionId),
-        rules,
-        LocalDateTime.now()
-      );
-      return pgClientFactory.createInstance(tenantId).execute(query, queryParams).map(jobExecutionId)
+      String schemaName = convertToPsqlStandard(tenantId);
+      String hash = ContentHashUtil.sha256Hex(rules);
+      UUID jobExecutionUuid = UUID.fromString(jobExecutionId);
+      LocalDateTime savedTimestamp = LocalDateTime.now();
+      PostgresClient pgClient = pgClientFactory.createInstance(tenantId);
+      // the content is sent only if it is not saved yet
+      return pgClient.execute(format(REFERENCE_SAVED_CONTENT_SQL, schemaName, MAPPING_RULES_SNAPSHOTS_TABLE, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE),
+          Tuple.of(jobExecutionUuid, hash, savedTimestamp))
+        .compose(rows -> rows.rowCount() > 0 ? Future.<Void>succeededFuture() : pgClient.execute(
+            format(INSERT_SQL, schemaName, MAPPING_RULES_SNAPSHOTS_TABLE, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE),
+            Tuple.of(jobExecutionUuid, hash, compressionEnabled ? null : rules, savedTimestamp,
+              compressionEnabled ? CompressedJsonCodec.compress(rules.toBuffer()) : null))
+          .<Void>mapEmpty())
         .onFailure(e -> LOGGER.warn("save:: Failed to save MappingRulesSnapshot entity, jobExecutionId: {}",
-          jobExecutionId, e));
+          jobExecutionId, e))
+        .map(hash);
     } catch (Exception e) {
       LOGGER.warn("save:: Error saving MappingRulesSnapshot entity, jobExecutionId: {}", jobExecutionId, e);
       return Future.failedFuture(e);
     }
   }
 
+  @Override
+  public Future<Void> rehashLegacyContents(String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    PostgresClient pgClient = pgClientFactory.createInstance(tenantId);
+    // only the hashes are selected at once, the contents are loaded and rehashed one by one
+    return pgClient.execute(format(SELECT_LEGACY_HASHES_QUERY, schemaName, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE))
+      .compose(rows -> {
+        LOGGER.info("rehashLegacyContents:: Rehashing {} mapping rules snapshot contents for tenant {}", rows.rowCount(), tenantId);
+        Future<Void> result = Future.succeededFuture();
+        for (Row row : rows) {
+          String legacyHash = row.getString(HASH_FIELD);
+          result = result.compose(v -> rehashLegacyContent(legacyHash, pgClient, tenantId));
+        }
+        return result;
+      })
+      .onFailure(e -> LOGGER.warn("rehashLegacyContents:: Failed to rehash mapping rules snapshot contents for tenant {}", tenantId, e));
+  }
+
+  private Future<Void> rehashLegacyContent(String legacyHash, PostgresClient pgClient, String tenantId) {
+    String schemaName = convertToPsqlStandard(tenantId);
+    return pgClient.execute(format(SELECT_BY_HASH_QUERY, schemaName, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE), Tuple.of(legacyHash))
+      .compose(rows -> rows.rowCount() == 0
+        ? Future.<Void>succeededFuture()
+        : pgClient.execute(format(REHASH_CONTENT_SQL, schemaName, MAPPING_RULES_SNAPSHOTS_TABLE, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE),
+            Tuple.of(legacyHash, ContentHashUtil.sha256Hex(toRules(rows.iterator().next()))))
+          .<Void>mapEmpty());
+  }
+
   @Override
   public Future<Boolean> delete(String jobExecutionId, String tenantId) {
-    String query = format(DELETE_BY_JOB_EXECUTION_ID_QUERY, convertToPsqlStandard(tenantId), TABLE_NAME);
+    String query = format(DELETE_BY_JOB_EXECUTION_ID_QUERY, convertToPsqlStandard(tenantId), MAPPING_RULES_SNAPSHOTS_TABLE);
     Tuple queryParams = Tuple.of(UUID.fromString(jobExecutionId));
     return pgClientFactory.createInstance(tenantId).execute(query, queryParams)
       .map(updateResult -> updateResult.rowCount() == 1);
   }
 
-}
+  private Future<Optional<JsonObject>> selectRules(String query, Tuple queryParams, String tenantId) {
+    Promise<RowSet<Row>> promise = Promise.promise();
+    pgClientFactory.createInstance(tenantId).selectRead(query, queryParams, promise::handle);
+    return promise.future().map(resultSet -> resultSet.rowCount() == 0
+      ? Optional.empty()
+      : Optional.ofNullable(toRules(resultSet.iterator().next())));
+  }
 
+  private JsonObject toRules(Row row) {
+    Buffer compressedRules = row.getBuffer(RULES_COMPRESSED_FIELD);
+    if (compressedRules != null) {
+      return CompressedJsonCodec.decodeJsonObject(compressedRules);
+    }
+    Object rules = row.getValue(RULES_FIELD);
+    return rules == null ? null : new JsonObject(rules.toString());
+  }
 
+}
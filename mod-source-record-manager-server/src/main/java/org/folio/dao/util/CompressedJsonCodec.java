@@ -0,0 +1,98 @@
+package org.folio.dao.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.EncodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.jackson.DatabindCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Codec for json payloads stored in bytea columns as deflate compressed json.
+ * Encoded value starts with the format byte, so the format can be changed without migration of the stored values.
+ */
+public final class CompressedJsonCodec {
+
+  private static final byte DEFLATE_JSON_FORMAT = 1;
+  private static final int BUFFER_SIZE = 8192;
+
+  private CompressedJsonCodec() {
+  }
+
+  /**
+   * Encodes the specified value to compressed json
+   *
+   * @param value value to encode
+   * @return compressed json
+   */
+  public static Buffer encode(Object value) {
+    return compress(Json.encodeToBuffer(value));
+  }
+
+  /**
+   * Compresses the specified json
+   *
+   * @param json json to compress
+   * @return compressed json
+   */
+  public static Buffer compress(Buffer json) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(json.length() / 4, 64));
+    outputStream.write(DEFLATE_JSON_FORMAT);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE)) {
+      deflaterStream.write(json.getBytes());
+    } catch (IOException e) {
+      throw new EncodeException("Failed to compress json: " + e.getMessage(), e);
+    } finally {
+      deflater.end();
+    }
+    return Buffer.buffer(outputStream.toByteArray());
+  }
+
+  /**
+   * Decodes the specified compressed json to the value of the specified type
+   *
+   * @param compressedJson compressed json
+   * @param type           type of the value
+   * @return decoded value
+   */
+  public static <T> T decode(Buffer compressedJson, Class<T> type) {
+    Inflater inflater = new Inflater();
+    try (InputStream inputStream = openStream(compressedJson, inflater)) {
+      return DatabindCodec.mapper().readValue(inputStream, type);
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode compressed json: " + e.getMessage(), e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /**
+   * Decodes the specified compressed json to JsonObject
+   *
+   * @param compressedJson compressed json
+   * @return decoded JsonObject
+   */
+  @SuppressWarnings("unchecked")
+  public static JsonObject decodeJsonObject(Buffer compressedJson) {
+    return new JsonObject(decode(compressedJson, Map.class));
+  }
+
+  private static InputStream openStream(Buffer compressedJson, Inflater inflater) {
+    byte[] bytes = compressedJson.getBytes();
+    if (bytes.length == 0 || bytes[0] != DEFLATE_JSON_FORMAT) {
+      throw new DecodeException("Unsupported compressed json format");
+    }
+    return new InflaterInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1), inflater, BUFFER_SIZE);
+  }
+}
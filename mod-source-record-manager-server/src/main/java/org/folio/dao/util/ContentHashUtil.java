@@ -0,0 +1,62 @@
+package org.folio.dao.util;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeMap;
+
+/**
+ * Util for calculating hashes which identify stored content
+ */
+public final class ContentHashUtil {
+
+  /**
+   * Prefix of the hashes of the contents stored before the hashes were calculated by the module,
+   * such contents are rehashed by the module
+   */
+  public static final String LEGACY_HASH_PREFIX = "legacy-";
+  private static final String SHA_256 = "SHA-256";
+
+  private ContentHashUtil() {
+  }
+
+  /**
+   * Calculates SHA-256 hash of the specified json content. Fields of the json objects are hashed in the order
+   * of their names, so the same content has the same hash regardless of the order of the fields,
+   * e.g. when it is read from jsonb column.
+   *
+   * @param content json content
+   * @return hex encoded SHA-256 hash
+   */
+  public static String sha256Hex(JsonObject content) {
+    return sha256Hex(((JsonObject) canonicalize(content)).toBuffer());
+  }
+
+  private static String sha256Hex(Buffer content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance(SHA_256).digest(content.getBytes()));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static Object canonicalize(Object value) {
+    if (value instanceof JsonObject jsonObject) {
+      JsonObject sortedObject = new JsonObject(new TreeMap<>());
+      jsonObject.fieldNames().forEach(name -> sortedObject.put(name, canonicalize(jsonObject.getValue(name))));
+      return sortedObject;
+    }
+    if (value instanceof JsonArray jsonArray) {
+      JsonArray canonicalArray = new JsonArray();
+      for (int i = 0; i < jsonArray.size(); i++) {
+        canonicalArray.add(canonicalize(jsonArray.getValue(i)));
+      }
+      return canonicalArray;
+    }
+    return value;
+  }
+}
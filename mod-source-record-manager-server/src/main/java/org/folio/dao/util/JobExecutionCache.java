@@ -0,0 +1,98 @@
+package org.folio.dao.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.Json;
+import org.folio.okapi.common.MetricsUtil;
+import org.folio.rest.jaxrs.model.JobExecution;
+import org.folio.services.util.CaffeineStatsCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Tenant-aware, size-bounded in-memory cache of job executions.
+ * <p>
+ * Entries are invalidated on every job execution update performed by this module instance,
+ * entries updated by other module instances are evicted after the expiration time,
+ * which bounds the staleness of cached job execution (e.g. visibility of the job cancellation).
+ * <p>
+ * Each job execution has its own version which is incremented by the invalidation, so a load racing with
+ * an invalidation of the job execution is not cached, while loads of other job executions are not affected.
+ * Job executions are cached serialized and every caller gets its own deserialized copy,
+ * so a caller modifying the returned job execution does not affect the cached one and other callers.
+ */
+@Component
+public class JobExecutionCache {
+
+  private final Cache<JobExecutionCacheKey, Buffer> cache;
+  private final Cache<JobExecutionCacheKey, AtomicLong> versions;
+
+  @Autowired
+  public JobExecutionCache(@Value("${srm.jobExecution.cache.maxSize:1000}") long maxSize,
+                           @Value("${srm.jobExecution.cache.expirationTime.seconds:5}") long expirationTime) {
+    Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS);
+    if (MetricsUtil.isEnabled()) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter("jobExecutionCache", Collections.emptyList()));
+    }
+    cache = cacheBuilder.build();
+    versions = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterAccess(expirationTime, TimeUnit.SECONDS)
+      .build();
+  }
+
+  /**
+   * Returns a copy of the cached job execution or loads it using the specified loader.
+   * Job execution is not cached if it is not found or if it was invalidated during the loading.
+   *
+   * @param jobExecutionId job execution id
+   * @param tenantId       tenant id
+   * @param loader         loads job execution from the data base
+   * @return future with optional job execution
+   */
+  public Future<Optional<JobExecution>> get(String jobExecutionId, String tenantId,
+                                            Supplier<Future<Optional<JobExecution>>> loader) {
+    JobExecutionCacheKey key = new JobExecutionCacheKey(tenantId, jobExecutionId);
+    Buffer cachedJobExecution = cache.getIfPresent(key);
+    if (cachedJobExecution != null) {
+      return Future.succeededFuture(Optional.of(Json.decodeValue(cachedJobExecution, JobExecution.class)));
+    }
+    AtomicLong version = versions.get(key, k -> new AtomicLong());
+    long versionBeforeLoad = version.get();
+    return loader.get()
+      .onSuccess(optionalJobExecution -> optionalJobExecution.ifPresent(loaded -> {
+        if (versions.getIfPresent(key) == version && version.get() == versionBeforeLoad) {
+          cache.put(key, Json.encodeToBuffer(loaded));
+        }
+      }));
+  }
+
+  /**
+   * Removes job execution from the cache
+   *
+   * @param jobExecutionId job execution id
+   * @param tenantId       tenant id
+   */
+  public void invalidate(String jobExecutionId, String tenantId) {
+    JobExecutionCacheKey key = new JobExecutionCacheKey(tenantId, jobExecutionId);
+    AtomicLong version = versions.getIfPresent(key);
+    if (version != null) {
+      version.incrementAndGet();
+    }
+    cache.invalidate(key);
+  }
+
+  private record JobExecutionCacheKey(String tenantId, String jobExecutionId) {
+  }
+}
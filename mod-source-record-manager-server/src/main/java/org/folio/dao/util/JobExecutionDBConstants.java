@@ -12,6 +12,7 @@ public final class JobExecutionDBConstants {
   public static final String JOB_PROFILE_DATA_TYPE_FIELD = "job_profile_data_type";
   public static final String JOB_PROFILE_COMPOSITE_DATA = "composite_data";
   public static final String PROFILE_SNAPSHOT_WRAPPER_FIELD = "job_profile_snapshot_wrapper";
+  public static final String PROFILE_SNAPSHOT_WRAPPER_COMPRESSED_FIELD = "job_profile_snapshot_wrapper_compressed";
   public static final String SOURCE_PATH_FIELD = "source_path";
   public static final String FILE_NAME_FIELD = "file_name";
   public static final String PROGRESS_CURRENT_FIELD = "progress_current";
@@ -30,6 +31,7 @@ public final class JobExecutionDBConstants {
   public static final String CURRENTLY_PROCESSED_FIELD = "currently_processed";
   public static final String TOTAL_FIELD = "total";
   public static final String IS_DELETED_FIELD = "is_deleted";
+  public static final String FILTER_FIELDS_CHANGED_FIELD = "filter_fields_changed";
   public static final String JOB_PART_NUMBER = "job_part_number";
   public static final String TOTAL_JOB_PARTS = "total_job_parts";
   public static final String TOTAL_RECORDS_IN_FILE = "total_records_in_file";
@@ -41,17 +43,24 @@ public final class JobExecutionDBConstants {
     "INSERT INTO %s.%s (id, hrid, parent_job_id, subordination_type, source_path, file_name, " +
     "progress_current, progress_total, started_date, completed_date, status, ui_status, error_status, job_user_first_name, " +
     "job_user_last_name, user_id, job_profile_id, job_profile_name, job_profile_data_type, job_profile_snapshot_wrapper, "
-      + "job_profile_hidden, job_part_number, total_job_parts, total_records_in_file) " +
-    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13, $14, $15, $16, $17, $18, $19, $20, $21, $22, $23, $24)";
+      + "job_profile_hidden, job_part_number, total_job_parts, total_records_in_file, job_profile_snapshot_wrapper_compressed) " +
+    "VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12, $13, $14, $15, $16, $17, $18, $19, $20, $21, $22, $23, $24, $25)";
 
+  // returns whether the columns the job executions can be filtered by were changed,
+  // the previous values are selected by the self-join locking the updated row
   public static final String UPDATE_SQL =
-    "UPDATE %s " +
+    "UPDATE %1$s j " +
     "SET id = $1, hrid = $2, parent_job_id = $3, subordination_type = $4, source_path = $5, file_name = $6, " +
     "progress_current = $7, progress_total = $8, started_date = $9, completed_date = $10, " +
     "status = $11, ui_status = $12, error_status = $13, job_user_first_name = $14, job_user_last_name = $15, " +
     "user_id = $16, job_profile_id = $17, job_profile_name = $18, job_profile_data_type = $19, " +
     "job_profile_snapshot_wrapper = $20, job_profile_hidden = $21, job_part_number = $22, total_job_parts = $23, " +
-    "total_records_in_file = $24 WHERE id = $1";
+    "total_records_in_file = $24, job_profile_snapshot_wrapper_compressed = $25 " +
+    "FROM (SELECT * FROM %1$s WHERE id = $1 FOR UPDATE) old " +
+    "WHERE j.id = old.id " +
+    "RETURNING (old.hrid, old.subordination_type, old.file_name, old.completed_date, old.status, old.ui_status, old.user_id, " +
+    "old.job_profile_id, old.job_profile_name, old.job_profile_hidden) IS DISTINCT FROM (j.hrid, j.subordination_type, j.file_name, " +
+    "j.completed_date, j.status, j.ui_status, j.user_id, j.job_profile_id, j.job_profile_name, j.job_profile_hidden) AS " + FILTER_FIELDS_CHANGED_FIELD;
 
   public static final String GET_CHILDREN_JOBS_BY_PARENT_ID_SQL =
     "WITH cte AS (SELECT count(*) AS total_count FROM %s " +
@@ -65,27 +74,38 @@ public final class JobExecutionDBConstants {
     "LIMIT $2 OFFSET $3";
 
   public static final String GET_JOBS_NOT_PARENT_SQL =
-    "WITH cte AS (SELECT count(*) AS total_count FROM %s " +
-    "WHERE subordination_type <> 'PARENT_MULTIPLE' AND %s) " +
-    "SELECT j.*, cte.*, p.total_records_count total, " +
+    "WITH page AS (SELECT j.*, p.total_records_count total, " +
     "p.succeeded_records_count + p.error_records_count currently_processed, " +
-    "(select jsonb_agg(x) composite_data " +
-    "from (select status, " +
-    "count(1)  cnt, " +
+    "row_number() OVER (%s) page_position " +
+    "FROM %s j " +
+    "LEFT JOIN %s p ON  j.id = p.job_execution_id " +
+    "WHERE subordination_type <> 'PARENT_MULTIPLE' AND %s%s " +
+    "%s " +
+    "LIMIT $1 OFFSET $2), " +
+    "composite AS (SELECT parent_job_id, jsonb_agg(jsonb_build_object('status', status, 'cnt', cnt, " +
+    "'total_records_count', total_records_count, 'currently_processed', currently_processed)) composite_data " +
+    "FROM (SELECT j1.parent_job_id, j1.status, " +
+    "count(1) cnt, " +
     "sum(p1.total_records_count) total_records_count, " +
     "sum(p1.succeeded_records_count + p1.error_records_count) currently_processed " +
     "FROM %s j1 " +
     "LEFT JOIN %s p1 ON j1.id = p1.job_execution_id " +
-    "where j1.parent_job_id = j.id " +
-    "and j1.id != j1.parent_job_id " +
-    "and j1.subordination_type = 'COMPOSITE_CHILD' " +
-    "group by status) x) composite_data " +
-    "FROM %s j " +
-    "LEFT JOIN %s p ON  j.id = p.job_execution_id " +
-    "LEFT JOIN cte ON true " +
-    "WHERE subordination_type <> 'PARENT_MULTIPLE' AND %s " +
-    "%s " +
-    "LIMIT $1 OFFSET $2";
+    "WHERE j1.parent_job_id IN (SELECT id FROM page) " +
+    "AND j1.id != j1.parent_job_id " +
+    "AND j1.subordination_type = 'COMPOSITE_CHILD' " +
+    "GROUP BY j1.parent_job_id, j1.status) x " +
+    "GROUP BY parent_job_id) " +
+    "SELECT page.*, composite.composite_data " +
+    "FROM page " +
+    "LEFT JOIN composite ON composite.parent_job_id = page.id " +
+    "ORDER BY page.page_position";
+
+  public static final String GET_JOBS_NOT_PARENT_KEYSET_CONDITION =
+    " AND (%s, j.id) %s (SELECT %s, a.id FROM %s a WHERE a.id = $3)";
+
+  public static final String COUNT_JOBS_NOT_PARENT_SQL =
+    "SELECT count(*) AS total_count FROM %s " +
+    "WHERE subordination_type <> 'PARENT_MULTIPLE' AND %s";
 
   public static final String GET_RELATED_JOB_PROFILES_SQL =
     "WITH unique_profiles AS (SELECT DISTINCT job_profile_id, job_profile_name, job_profile_data_type, job_profile_hidden " +
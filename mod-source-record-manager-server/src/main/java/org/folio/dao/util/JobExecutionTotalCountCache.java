@@ -0,0 +1,80 @@
+package org.folio.dao.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Future;
+import org.folio.okapi.common.MetricsUtil;
+import org.folio.services.util.CaffeineStatsCounter;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Tenant-aware, size-bounded in-memory cache of the total numbers of job executions matching the search criteria.
+ * <p>
+ * All entries of the tenant are invalidated on job execution creation, deletion and on the update of the fields
+ * the job executions are filtered by performed by this module instance, progress updates keep the entries.
+ * Changes performed by other module instances are reflected after the expiration time.
+ */
+public class JobExecutionTotalCountCache {
+
+  public static final String MAX_SIZE_PARAM = "srm.jobExecution.totalCount.cache.maxSize";
+  public static final String EXPIRATION_TIME_PARAM = "srm.jobExecution.totalCount.cache.expirationTime.seconds";
+  private static final String DEFAULT_MAX_SIZE = "1000";
+  private static final String DEFAULT_EXPIRATION_TIME_SECONDS = "30";
+
+  private final Cache<TotalCountCacheKey, Integer> cache;
+  private final AtomicLong invalidationCounter = new AtomicLong();
+
+  public JobExecutionTotalCountCache() {
+    long maxSize = Long.parseLong(System.getProperty(MAX_SIZE_PARAM, DEFAULT_MAX_SIZE));
+    long expirationTime = Long.parseLong(System.getProperty(EXPIRATION_TIME_PARAM, DEFAULT_EXPIRATION_TIME_SECONDS));
+    Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS);
+    if (MetricsUtil.isEnabled()) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter("jobExecutionTotalCountCache", Collections.emptyList()));
+    }
+    cache = cacheBuilder.build();
+  }
+
+  /**
+   * Returns total count calculated by the specified loader and caches it.
+   * Total count is not cached if any entry of the tenant was invalidated during the loading.
+   *
+   * @param tenantId       tenant id
+   * @param filterCriteria search criteria
+   * @param useCached      whether cached total count should be returned if it is present
+   * @param loader         calculates total count
+   * @return future with total count
+   */
+  public Future<Integer> get(String tenantId, String filterCriteria, boolean useCached, Supplier<Future<Integer>> loader) {
+    TotalCountCacheKey key = new TotalCountCacheKey(tenantId, filterCriteria);
+    Integer totalCount = useCached ? cache.getIfPresent(key) : null;
+    if (totalCount != null) {
+      return Future.succeededFuture(totalCount);
+    }
+    long invalidationsBeforeLoad = invalidationCounter.get();
+    return loader.get()
+      .onSuccess(loaded -> {
+        if (invalidationCounter.get() == invalidationsBeforeLoad) {
+          cache.put(key, loaded);
+        }
+      });
+  }
+
+  /**
+   * Removes all total counts of the tenant from the cache
+   *
+   * @param tenantId tenant id
+   */
+  public void invalidate(String tenantId) {
+    invalidationCounter.incrementAndGet();
+    cache.asMap().keySet().removeIf(key -> key.tenantId().equals(tenantId));
+  }
+
+  private record TotalCountCacheKey(String tenantId, String filterCriteria) {
+  }
+}
@@ -0,0 +1,22 @@
+package org.folio.dao.util;
+
+/**
+ * Defines how the total number of records matching the search criteria is calculated for a page of results.
+ */
+public enum TotalCountMode {
+
+  /**
+   * Total count is calculated by the query
+   */
+  EXACT,
+
+  /**
+   * Total count calculated for the same search criteria recently is reused, it is calculated by the query otherwise
+   */
+  CACHED,
+
+  /**
+   * Total count is not calculated
+   */
+  NONE
+}
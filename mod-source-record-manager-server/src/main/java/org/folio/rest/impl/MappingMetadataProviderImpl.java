@@ -13,16 +13,22 @@ import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.jaxrs.resource.MappingMetadata;
 import org.folio.rest.tools.utils.TenantTool;
 import org.folio.services.MappingMetadataService;
+import org.folio.services.entity.SerializedMappingMetadata;
 import org.folio.services.util.QueryPathUtil;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class MappingMetadataProviderImpl implements MappingMetadata {
 
   private static final Logger LOGGER = LogManager.getLogger();
+  private static final String GZIP_ENCODING = "gzip";
+  private static final Pattern ZERO_QUALITY_PATTERN = Pattern.compile("q=0(\\.0{0,3})?");
 
   private String tenantId;
 
@@ -35,15 +41,15 @@ public class MappingMetadataProviderImpl implements MappingMetadata {
   }
 
   @Override
-  public void getMappingMetadataByJobExecutionId(String jobExecutionId, Map<String, String> okapiHeaders,
+  public void getMappingMetadataByJobExecutionId(String jobExecutionId, String ifNoneMatch, String acceptEncoding,
+                                                 Map<String, String> okapiHeaders,
                                                  Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
         LOGGER.debug("getMappingMetadataByJobExecutionId:: jobExecutionId {}", jobExecutionId);
         OkapiConnectionParams params = new OkapiConnectionParams(okapiHeaders, vertxContext.owner());
-        mappingMetadataService.getMappingMetadataDto(jobExecutionId, params)
-          .map(GetMappingMetadataByJobExecutionIdResponse::respond200WithApplicationJson)
-          .map(Response.class::cast)
+        mappingMetadataService.getSerializedMappingMetadata(jobExecutionId, params)
+          .map(mappingMetadata -> buildMappingMetadataResponse(mappingMetadata, ifNoneMatch, acceptEncoding))
           .otherwise(ExceptionHelper::mapExceptionToResponse)
           .onComplete(asyncResultHandler);
       } catch (Exception e) {
@@ -75,4 +81,41 @@ public class MappingMetadataProviderImpl implements MappingMetadata {
       }
     });
   }
+
+  private Response buildMappingMetadataResponse(SerializedMappingMetadata mappingMetadata, String ifNoneMatch,
+                                                String acceptEncoding) {
+    boolean gzipAccepted = isGzipAccepted(acceptEncoding);
+    String etag = gzipAccepted ? mappingMetadata.getGzipETag() : mappingMetadata.getETag();
+    if (mappingMetadata.matches(ifNoneMatch)) {
+      return Response.notModified()
+        .header(HttpHeaders.ETAG, etag)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+        .build();
+    }
+
+    Response.ResponseBuilder responseBuilder = Response.ok()
+      .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+      .header(HttpHeaders.ETAG, etag)
+      .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzipAccepted) {
+      return responseBuilder
+        .header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING)
+        .entity(mappingMetadata.getGzippedBody())
+        .build();
+    }
+    return responseBuilder.entity(mappingMetadata.getBody()).build();
+  }
+
+  private static boolean isGzipAccepted(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String encoding : acceptEncoding.split(",")) {
+      String[] encodingParts = encoding.split(";");
+      if (GZIP_ENCODING.equalsIgnoreCase(encodingParts[0].trim())) {
+        return encodingParts.length == 1 || !ZERO_QUALITY_PATTERN.matcher(encodingParts[1].trim()).matches();
+      }
+    }
+    return false;
+  }
 }
@@ -10,6 +10,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dao.JobExecutionFilter;
 import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.dataimport.util.ExceptionHelper;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionDto;
@@ -33,6 +34,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import static java.lang.String.format;
 import static org.folio.rest.jaxrs.resource.MetadataProvider.GetMetadataProviderJobSummaryByJobExecutionIdResponse.respond404WithTextPlain;
@@ -45,6 +47,12 @@ public class MetadataProviderImpl implements MetadataProvider {
   private static final Set<String> JOB_EXECUTION_SORTABLE_FIELDS =
     Set.of("completed_date", "started_date", "progress_total", "status", "hrid", "file_name", "job_profile_name", "job_user_first_name", "job_user_last_name");
 
+  private static final Set<String> KEYSET_SORTABLE_FIELDS = Set.of("completed_date", "started_date", "hrid");
+  private static final String INVALID_KEYSET_SORT_PARAMS_MSG = "Pagination by afterId requires sorting by a single field of: %s";
+  private static final String TOTAL_RECORDS_EXACT = "exact";
+  private static final String TOTAL_RECORDS_ESTIMATED = "estimated";
+  private static final String TOTAL_RECORDS_NONE = "none";
+
   private static final String DESC = "desc";
   private static final String ASC = "asc";
 
@@ -65,15 +73,19 @@ public class MetadataProviderImpl implements MetadataProvider {
   public void getMetadataProviderJobExecutions(String excludeJobProfileName, List<String> statusAny, List<String> profileIdNotAny,
                                                String statusNot, List<String> uiStatusAny, String hrId, String fileName, List<String> fileNameNotAny,
                                                List<String> profileIdAny, List<String> subordinationTypeNotAny, String userId, Date completedAfter,
-                                               Date completedBefore, List<String> sortBy, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
+                                               Date completedBefore, List<String> sortBy, String afterId, String totalRecords, int offset, int limit, Map<String, String> okapiHeaders,
                                                Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
     vertxContext.runOnContext(v -> {
       try {
         LOGGER.debug("getMetadataProviderJobExecutions:: sortBy {}", sortBy);
         List<SortField> sortFields = mapSortQueryToSortFields(sortBy);
+        if (afterId != null) {
+          validateKeysetPaginationParams(sortFields, afterId);
+        }
         JobExecutionFilter filter = buildJobExecutionFilter(statusAny, profileIdNotAny, statusNot, uiStatusAny, hrId, fileName, fileNameNotAny, profileIdAny,
                                       subordinationTypeNotAny, userId, completedAfter, completedBefore, excludeJobProfileName);
-        jobExecutionService.getJobExecutionsWithoutParentMultiple(filter, sortFields, offset, limit, tenantId)
+        jobExecutionService.getJobExecutionsWithoutParentMultiple(filter, sortFields, afterId, offset, limit,
+            mapToTotalCountMode(totalRecords, afterId != null), tenantId)
           .map(GetMetadataProviderJobExecutionsResponse::respond200WithApplicationJson)
           .map(Response.class::cast)
           .otherwise(ExceptionHelper::mapExceptionToResponse)
@@ -271,6 +283,32 @@ public class MetadataProviderImpl implements MetadataProvider {
     return fields;
   }
 
+  private void validateKeysetPaginationParams(List<SortField> sortFields, String afterId) {
+    if (sortFields.size() != 1 || !KEYSET_SORTABLE_FIELDS.contains(sortFields.get(0).getField())) {
+      throw new BadRequestException(format(INVALID_KEYSET_SORT_PARAMS_MSG, KEYSET_SORTABLE_FIELDS));
+    }
+    try {
+      UUID.fromString(afterId);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(format("The specified afterId is not a valid UUID: '%s'", afterId));
+    }
+  }
+
+  /**
+   * Maps totalRecords parameter to the total count mode: "exact" requires the total count to be calculated,
+   * "none" omits it, "estimated" allows to reuse the total count recently calculated for the same filter.
+   * Default "auto" reuses the total count for the following pages of keyset pagination only.
+   */
+  private TotalCountMode mapToTotalCountMode(String totalRecords, boolean keysetPagination) {
+    if (TOTAL_RECORDS_NONE.equals(totalRecords)) {
+      return TotalCountMode.NONE;
+    }
+    if (TOTAL_RECORDS_ESTIMATED.equals(totalRecords) || (keysetPagination && !TOTAL_RECORDS_EXACT.equals(totalRecords))) {
+      return TotalCountMode.CACHED;
+    }
+    return TotalCountMode.EXACT;
+  }
+
   private String getOppositeSortOrder(String sortOrder) {
     if (sortOrder.equals("asc")) {
       return DESC;
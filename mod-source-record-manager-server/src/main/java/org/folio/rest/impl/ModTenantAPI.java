@@ -19,9 +19,12 @@ import org.folio.services.migration.CustomMigrationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.folio.Record;
+import org.folio.dao.MappingParamsSnapshotDao;
+import org.folio.dao.MappingRulesSnapshotDao;
 import org.folio.rest.jaxrs.model.TenantAttributes;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.services.MappingRuleService;
+import org.folio.services.mappers.processor.ReferenceDataCache;
 import org.folio.spring.SpringContextUtil;
 
 public class ModTenantAPI extends TenantAPI {
@@ -35,6 +38,12 @@ public class ModTenantAPI extends TenantAPI {
   private CustomMigrationService customMigrationService;
   @Autowired
   private SRMKafkaTopicService srmKafkaTopicService;
+  @Autowired
+  private ReferenceDataCache referenceDataCache;
+  @Autowired
+  private MappingParamsSnapshotDao mappingParamsSnapshotDao;
+  @Autowired
+  private MappingRulesSnapshotDao mappingRulesSnapshotDao;
 
   public ModTenantAPI() {
     SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
@@ -65,7 +74,10 @@ public class ModTenantAPI extends TenantAPI {
         .compose(ar -> mappingRuleService.saveDefaultRules(Record.RecordType.MARC_HOLDING, tenantId))
         .compose(ar -> mappingRuleService.saveDefaultRules(Record.RecordType.MARC_AUTHORITY, tenantId))
         .compose(ar -> customMigrationService.doCustomMigrations(tenantId))
+        .compose(ar -> mappingParamsSnapshotDao.rehashLegacyContents(tenantId))
+        .compose(ar -> mappingRulesSnapshotDao.rehashLegacyContents(tenantId))
         .compose(ar -> saveTenantId(tenantId, context))
+        .onSuccess(ar -> referenceDataCache.invalidateAll(tenantId))
         .map(num));
   }
 
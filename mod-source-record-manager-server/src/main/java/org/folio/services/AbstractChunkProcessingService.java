@@ -1,36 +1,22 @@
 package org.folio.services;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.JsonObject;
 import io.vertx.pgclient.PgException;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.MappingProfile;
-import org.folio.MatchDetail;
-import org.folio.MatchProfile;
 import org.folio.dao.JobExecutionSourceChunkDao;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.kafka.exception.DuplicateEventException;
-import org.folio.rest.jaxrs.model.EntityType;
 import org.folio.rest.jaxrs.model.InitialRecord;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionSourceChunk;
-import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
-import org.folio.rest.jaxrs.model.ProfileType;
 import org.folio.rest.jaxrs.model.RawRecordsDto;
 import org.folio.rest.jaxrs.model.StatusDto;
 import org.folio.services.exceptions.UnsupportedProfileException;
+import org.folio.services.util.JobProfilePlanCache;
 
 import javax.ws.rs.NotFoundException;
-import java.util.Collection;
 import java.util.Date;
-import java.util.List;
-import java.util.Map;
-
-import static org.folio.rest.jaxrs.model.ProfileType.ACTION_PROFILE;
-import static org.folio.rest.jaxrs.model.ProfileType.MAPPING_PROFILE;
-import static org.folio.rest.jaxrs.model.ProfileType.MATCH_PROFILE;
 
 
 public abstract class AbstractChunkProcessingService implements ChunkProcessingService {
@@ -52,7 +38,7 @@ public abstract class AbstractChunkProcessingService implements ChunkProcessingS
   public Future<Boolean> processChunk(RawRecordsDto incomingChunk, String jobExecutionId, boolean acceptInstanceId, OkapiConnectionParams params) {
     LOGGER.debug("AbstractChunkProcessingService:: processChunk for jobExecutionId: {}", jobExecutionId);
     prepareChunk(incomingChunk);
-    return jobExecutionService.getJobExecutionById(jobExecutionId, params.getTenantId())
+    return jobExecutionService.getCachedJobExecutionById(jobExecutionId, params.getTenantId())
       .compose(optionalJobExecution -> optionalJobExecution
         .map(jobExecution -> mapJobExecution(incomingChunk, jobExecution, acceptInstanceId, params))
         .orElse(Future.failedFuture(new NotFoundException(String.format("Couldn't find JobExecution with id %s", jobExecutionId)))));
@@ -87,71 +73,7 @@ public abstract class AbstractChunkProcessingService implements ChunkProcessingS
   }
 
   private boolean isNotSupportedJobProfileExists(JobExecution jobExecution) {
-    boolean isExists = false;
-    List<ProfileSnapshotWrapper> childProfiles = jobExecution.getJobProfileSnapshotWrapper().getChildSnapshotWrappers();
-    if (!CollectionUtils.isEmpty(childProfiles)) {
-      isExists = isExistsMatchProfileToInstanceWithActionUpdateMarcBib(childProfiles);
-    }
-    return isExists;
-  }
-
-  //Disabled SONAR check "Loops with at most one iteration should be refactored" for recursive code
-  private boolean isExistsMatchProfileToInstanceWithActionUpdateMarcBib(Collection<ProfileSnapshotWrapper> profileSnapshotWrapperList) { //NOSONAR
-    for (ProfileSnapshotWrapper profileSnapshotWrapper : profileSnapshotWrapperList) {
-      if ((profileSnapshotWrapper.getContentType() == MATCH_PROFILE) && (isMatchingMarcBibToInstanceRelation(profileSnapshotWrapper))) {
-        ProfileSnapshotWrapper actionProfileSnapshotWrapper = getChildSnapshotWrapperByType(profileSnapshotWrapper, ACTION_PROFILE);
-        if (actionProfileSnapshotWrapper != null) {
-          ProfileSnapshotWrapper mappingProfileSnapshotWrapper = getChildSnapshotWrapperByType(actionProfileSnapshotWrapper, MAPPING_PROFILE);
-          if ((mappingProfileSnapshotWrapper != null) && (isMappingMarcBibToMarcBibRelation(mappingProfileSnapshotWrapper))) {
-            return true;
-          }
-        }
-      }
-      if (!CollectionUtils.isEmpty(profileSnapshotWrapper.getChildSnapshotWrappers())) {
-        return isExistsMatchProfileToInstanceWithActionUpdateMarcBib(profileSnapshotWrapper.getChildSnapshotWrappers());
-      }
-    }
-    return false;
-  }
-
-  private ProfileSnapshotWrapper getChildSnapshotWrapperByType(ProfileSnapshotWrapper profileSnapshotWrapper,
-                                                               ProfileType contentType) {
-    if (!CollectionUtils.isEmpty(profileSnapshotWrapper.getChildSnapshotWrappers())) {
-      List<ProfileSnapshotWrapper> childSnapshotWrappers = profileSnapshotWrapper.getChildSnapshotWrappers();
-      for (ProfileSnapshotWrapper snapshotWrapper : childSnapshotWrappers) {
-        if (snapshotWrapper.getContentType() == contentType) {
-          return snapshotWrapper;
-        }
-      }
-    }
-    return null;
-  }
-
-  private boolean isMatchingMarcBibToInstanceRelation(ProfileSnapshotWrapper profileSnapshotWrapper) {
-    boolean isMatchingRelation = false;
-    MatchProfile matchProfile = extractProfile(profileSnapshotWrapper, MatchProfile.class);
-    if (!CollectionUtils.isEmpty(matchProfile.getMatchDetails())) {
-      MatchDetail matchDetail = matchProfile.getMatchDetails().getFirst();
-      isMatchingRelation = matchDetail.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
-        && matchDetail.getExistingRecordType() == EntityType.INSTANCE;
-    }
-    return isMatchingRelation;
-  }
-
-  private boolean isMappingMarcBibToMarcBibRelation(ProfileSnapshotWrapper profileSnapshotWrapper) {
-    MappingProfile mappingProfile = extractProfile(profileSnapshotWrapper, MappingProfile.class);
-    return mappingProfile.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
-      && mappingProfile.getExistingRecordType() == EntityType.MARC_BIBLIOGRAPHIC;
-  }
-
-  private <T> T extractProfile(ProfileSnapshotWrapper profileSnapshotWrapper, Class<T> clazz) {
-    T profile;
-    if (profileSnapshotWrapper.getContent() instanceof Map profileAsMap) {
-      profile = new JsonObject(profileAsMap).mapTo(clazz);
-    } else {
-      profile = (T) profileSnapshotWrapper.getContent();
-    }
-    return profile;
+    return JobProfilePlanCache.get(jobExecution).isMatchMarcBibToInstanceWithUpdateMarcBibExists();
   }
 
   private void prepareChunk(RawRecordsDto rawRecordsDto) {
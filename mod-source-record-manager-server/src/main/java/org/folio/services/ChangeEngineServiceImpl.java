@@ -1,7 +1,5 @@
 package org.folio.services;
 
-import static java.lang.Boolean.TRUE;
-import static java.lang.String.format;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_ERROR;
@@ -11,34 +9,25 @@ import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_INCOMING_MARC_B
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_MARC_FOR_DELETE_RECEIVED;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_MARC_FOR_UPDATE_RECEIVED;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_RAW_RECORDS_CHUNK_PARSED;
-import static org.folio.rest.jaxrs.model.ProfileType.ACTION_PROFILE;
-import static org.folio.rest.jaxrs.model.ProfileType.MATCH_PROFILE;
-import static org.folio.rest.jaxrs.model.ReactToType.NON_MATCH;
 import static org.folio.rest.jaxrs.model.Record.RecordType.MARC_AUTHORITY;
 import static org.folio.rest.jaxrs.model.Record.RecordType.MARC_BIB;
 import static org.folio.rest.jaxrs.model.Record.RecordType.MARC_HOLDING;
 import static org.folio.services.afterprocessing.AdditionalFieldsUtil.SUBFIELD_I;
 import static org.folio.services.afterprocessing.AdditionalFieldsUtil.SUBFIELD_S;
 import static org.folio.services.afterprocessing.AdditionalFieldsUtil.TAG_999;
-import static org.folio.services.afterprocessing.AdditionalFieldsUtil.addFieldToMarcRecord;
-import static org.folio.services.afterprocessing.AdditionalFieldsUtil.getControlFieldValue;
-import static org.folio.services.afterprocessing.AdditionalFieldsUtil.getValue;
-import static org.folio.services.afterprocessing.AdditionalFieldsUtil.hasIndicator;
 import static org.folio.services.journal.JournalUtil.getJournalMessageProducer;
 import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
-import static org.folio.verticle.consumers.StoredRecordChunksKafkaHandler.ACTION_FIELD;
-import static org.folio.verticle.consumers.StoredRecordChunksKafkaHandler.CREATE_ACTION;
-import static org.folio.verticle.consumers.StoredRecordChunksKafkaHandler.FOLIO_RECORD;
-import static org.folio.verticle.consumers.StoredRecordChunksKafkaHandler.ORDER_TYPE;
 
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.eventbus.MessageProducer;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
-import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.kafka.client.producer.KafkaHeader;
 import io.vertx.kafka.client.producer.impl.KafkaHeaderImpl;
 
@@ -52,19 +41,23 @@ import java.util.Optional;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
 import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.ws.rs.NotFoundException;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang.StringUtils;
-import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.MappingProfile;
+import org.folio.okapi.common.MetricsUtil;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.services.entity.ConsortiumConfiguration;
+import org.folio.services.entity.JobProfilePlan;
 import org.folio.services.exceptions.InvalidJobProfileForFileException;
 import org.folio.services.journal.BatchableJournalRecord;
 import org.folio.services.journal.JournalUtil;
@@ -76,9 +69,6 @@ import org.folio.dataimport.util.marc.RecordAnalyzer;
 import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaHeaderUtils;
 import org.folio.rest.client.SourceStorageBatchClient;
-import org.folio.rest.jaxrs.model.ActionProfile;
-import org.folio.rest.jaxrs.model.ActionProfile.Action;
-import org.folio.rest.jaxrs.model.ActionProfile.FolioRecord;
 import org.folio.rest.jaxrs.model.DataImportEventPayload;
 import org.folio.rest.jaxrs.model.DataImportEventTypes;
 import org.folio.rest.jaxrs.model.EntityType;
@@ -88,7 +78,6 @@ import org.folio.rest.jaxrs.model.InitialRecord;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionSourceChunk;
 import org.folio.rest.jaxrs.model.JobProfileInfo.DataType;
-import org.folio.rest.jaxrs.model.MatchProfile;
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
 import org.folio.rest.jaxrs.model.RawRecord;
@@ -100,8 +89,10 @@ import org.folio.rest.jaxrs.model.RecordsMetadata;
 import org.folio.rest.jaxrs.model.StatusDto;
 import org.folio.services.afterprocessing.FieldModificationService;
 import org.folio.services.afterprocessing.HrIdFieldService;
+import org.folio.services.afterprocessing.ParsedRecordHolder;
 import org.folio.services.parsers.ParsedResult;
 import org.folio.services.parsers.RecordParserBuilder;
+import org.folio.services.util.JobProfilePlanCache;
 import org.folio.services.util.RecordConversionUtil;
 import org.folio.services.validation.JobProfileSnapshotValidationService;
 import org.folio.verticle.consumers.util.JobExecutionUtils;
@@ -130,6 +121,10 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
   private static final String WRONG_JOB_PROFILE_ERROR_MESSAGE = "Chosen job profile '%s' does not support '%s' record type";
   private static final String JOB_PROFILE_HAS_NO_CHILD_PROFILES_ERROR_MESSAGE = "The '%s' job profile does not have any linked action or matching profiles";
   private static final String ACCEPT_INSTANCE_ID_KEY = "acceptInstanceId";
+  private static final String PARSING_WORKER_POOL_NAME = "srm-records-parsing";
+  private static final String PARSING_TIME_METRIC = "srm.records.parsing.time";
+  private static final String PARSING_QUEUE_TIME_METRIC = "srm.records.parsing.queueTime";
+  private static final String PARSED_RECORDS_METRIC = "srm.records.parsing.count";
 
   private final JobExecutionSourceChunkDao jobExecutionSourceChunkDao;
   private final JobExecutionService jobExecutionService;
@@ -155,6 +150,14 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
   @Value("${marc.holdings.batch.size:100}")
   private int batchSize;
 
+  @Value("${srm.records.parsing.pool.size:4}")
+  private int parsingPoolSize;
+
+  @Value("${srm.records.parsing.split.size:50}")
+  private int parsingSplitSize;
+
+  private WorkerExecutor parsingExecutor;
+
   public ChangeEngineServiceImpl(@Autowired JobExecutionSourceChunkDao jobExecutionSourceChunkDao,
                                  @Autowired JobExecutionService jobExecutionService,
                                  @Autowired MarcRecordAnalyzer marcRecordAnalyzer,
@@ -182,22 +185,38 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     this.vertx = vertx;
   }
 
+  @PostConstruct
+  public void init() {
+    if (parsingPoolSize > 0) {
+      parsingExecutor = vertx.createSharedWorkerExecutor(PARSING_WORKER_POOL_NAME, parsingPoolSize);
+      LOGGER.info("init:: Records are parsed on worker pool with size: {}, split size: {}", parsingPoolSize, parsingSplitSize);
+    } else {
+      LOGGER.info("init:: Records parsing worker pool is disabled, records are parsed on the calling thread");
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    if (parsingExecutor != null) {
+      parsingExecutor.close()
+        .onFailure(e -> LOGGER.warn("close:: Failed to close records parsing worker pool", e));
+      parsingExecutor = null;
+    }
+  }
+
   @Override
   public Future<List<Record>> parseRawRecordsChunkForJobExecution(RawRecordsDto chunk, JobExecution jobExecution,
                                                                   String sourceChunkId, boolean acceptInstanceId, OkapiConnectionParams params) {
     Promise<List<Record>> promise = Promise.promise();
-    Future<List<Record>> futureParsedRecords =
+    Future<List<ParsedRecordHolder>> futureParsedRecords =
       parseRecords(chunk.getInitialRecords(), chunk.getRecordsMetadata().getContentType(), jobExecution, sourceChunkId,
         params.getTenantId(), acceptInstanceId, params);
 
     futureParsedRecords
-      .map(parsedRecords -> {
-        saveIncomingAndJournalRecords(parsedRecords, params.getTenantId());
-        return parsedRecords;
-      })
+      .compose(parsedRecords -> saveIncomingAndJournalRecords(parsedRecords, params.getTenantId()).map(parsedRecords))
       .compose(parsedRecords -> validateJobProfile(jobExecution, parsedRecords).map(parsedRecords))
       .compose(parsedRecords -> filterParsedRecords(jobExecution, params, parsedRecords))
-      .compose(filteredParsedRecords -> ensureMappingMetaDataSnapshot(jobExecution.getId(), filteredParsedRecords, params)
+      .compose(filteredParsedRecords -> ensureMappingMetaDataSnapshot(jobExecution.getId(), toRecords(filteredParsedRecords), params)
         .map(filteredParsedRecords))
       .onSuccess(parsedRecords -> {
         fillParsedRecordsWithAdditionalFields(parsedRecords);
@@ -210,39 +229,55 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return promise.future();
   }
 
-  private Future<List<Record>> filterParsedRecords(JobExecution jobExecution, OkapiConnectionParams params, List<Record> parsedRecords) {
-    Promise<List<Record>> promiseFilteredRecords = Promise.promise();
+  private static List<Record> toRecords(List<ParsedRecordHolder> parsedRecords) {
+    return parsedRecords.stream().map(ParsedRecordHolder::getRecord).toList();
+  }
+
+  private Future<List<ParsedRecordHolder>> filterParsedRecords(JobExecution jobExecution, OkapiConnectionParams params,
+                                                               List<ParsedRecordHolder> parsedRecords) {
+    Promise<List<ParsedRecordHolder>> promiseFilteredRecords = Promise.promise();
 
     List<Future<List<String>>> listFuture = executeInBatches(parsedRecords, batch -> getInvalidMarcBibIdsForConsortium(batch, params));
     filterMarcHoldingsBy004Field(parsedRecords, listFuture, params, jobExecution, promiseFilteredRecords);
     return promiseFilteredRecords.future();
   }
 
-  private Future<Void> validateJobProfile(JobExecution jobExecution, List<Record> records) {
+  /**
+   * Records of the failed validation are completed, since they are sent in DI_ERROR events
+   */
+  private Future<Void> validateJobProfile(JobExecution jobExecution, List<ParsedRecordHolder> parsedRecords) {
     ProfileSnapshotWrapper jobProfileSnapshot = jobExecution.getJobProfileSnapshotWrapper();
-    if (CollectionUtils.isEmpty(jobProfileSnapshot.getChildSnapshotWrappers())) {
-      return Future.failedFuture(new InvalidJobProfileForFileException(
-        records, String.format(JOB_PROFILE_HAS_NO_CHILD_PROFILES_ERROR_MESSAGE, jobExecution.getJobProfileInfo().getName())));
+    if (!JobProfilePlanCache.get(jobExecution).hasChildProfiles()) {
+      return Future.failedFuture(new InvalidJobProfileForFileException(completeRecords(parsedRecords),
+        String.format(JOB_PROFILE_HAS_NO_CHILD_PROFILES_ERROR_MESSAGE, jobExecution.getJobProfileInfo().getName())));
     }
 
+    List<Record> records = toRecords(parsedRecords);
     return isJobProfileCompatibleWithRecordsType(jobProfileSnapshot, records)
       ? Future.succeededFuture()
-      : Future.failedFuture(new InvalidJobProfileForFileException(records,
+      : Future.failedFuture(new InvalidJobProfileForFileException(completeRecords(parsedRecords),
       prepareWrongJobProfileErrorMessage(jobExecution, records)));
   }
 
-  private void processRecords(List<Record> parsedRecords, JobExecution jobExecution, OkapiConnectionParams params,
-                              String sourceChunkId, boolean acceptInstanceId, Promise<List<Record>> promise) {
+  private static List<Record> completeRecords(List<ParsedRecordHolder> parsedRecords) {
+    return parsedRecords.stream().map(ParsedRecordHolder::complete).toList();
+  }
 
+  private void processRecords(List<ParsedRecordHolder> parsedRecordHolders, JobExecution jobExecution, OkapiConnectionParams params,
+                              String sourceChunkId, boolean acceptInstanceId, Promise<List<Record>> promise) {
+    ActionType action = getAction(toRecords(parsedRecordHolders), jobExecution);
     LOGGER.debug("processRecords:: Starting to process parsed records for jobExecutionId: {}, sourceChunkId: {}, action determined by job profile: {}",
-      jobExecution.getId(), sourceChunkId, getAction(parsedRecords, jobExecution));
+      jobExecution.getId(), sourceChunkId, action);
 
-    switch (getAction(parsedRecords, jobExecution)) {
-      case UPDATE_RECORD -> {
-        hrIdFieldService.move001valueTo035Field(parsedRecords);
-        updateRecords(parsedRecords, jobExecution, params)
-          .onSuccess(ar -> promise.complete(parsedRecords)).onFailure(promise::fail);
-      }
+    if (action == ActionType.UPDATE_RECORD) {
+      parsedRecordHolders.stream().parallel().forEach(hrIdFieldService::move001valueTo035Field);
+    }
+    // the records are not modified after this point, so their content is serialized once here
+    List<Record> parsedRecords = completeRecords(parsedRecordHolders);
+
+    switch (action) {
+      case UPDATE_RECORD -> updateRecords(parsedRecords, jobExecution, params)
+        .onSuccess(ar -> promise.complete(parsedRecords)).onFailure(promise::fail);
       case DELETE_RECORD -> deleteRecords(parsedRecords, jobExecution, params)
         .onSuccess(ar -> promise.complete(parsedRecords)).onFailure(promise::fail);
       case CREATE_ORDER -> sendEvents(parsedRecords, jobExecution, params, DI_INCOMING_MARC_BIB_FOR_ORDER_PARSED)
@@ -258,14 +293,16 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
   }
 
   private ActionType getAction(List<Record> parsedRecords, JobExecution jobExecution) {
-    if (updateMarcActionExists(jobExecution) || updateInstanceActionExists(jobExecution)
-      || isCreateOrUpdateItemOrHoldingsActionExists(jobExecution, parsedRecords) || isMarcAuthorityMatchProfile(jobExecution)) {
+    JobProfilePlan jobProfilePlan = JobProfilePlanCache.get(jobExecution);
+    if (jobProfilePlan.isUpdateMarcActionExists() || jobProfilePlan.isUpdateInstanceActionExists()
+      || isCreateOrUpdateItemOrHoldingsActionExists(jobProfilePlan, parsedRecords) || jobProfilePlan.isMarcAuthorityMatchProfileExists()) {
       return ActionType.UPDATE_RECORD;
     }
-    if (deleteMarcActionExists(jobExecution)) {
+    if (jobProfilePlan.isDeleteMarcActionExists()) {
       return ActionType.DELETE_RECORD;
     }
-    if (createOrderActionExists(jobExecution)) {
+    if (jobProfilePlan.isCreateOrderActionExists()) {
+      LOGGER.debug("getAction:: Event type for Order's logic set by jobExecutionId {} ", jobExecution.getId());
       return ActionType.CREATE_ORDER;
     }
     if (parsedRecords.isEmpty()) {
@@ -298,13 +335,9 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
           jobExecutionService.updateJobExecutionStatus(jobExecution.getId(), statusDto, params)
             .onFailure(e -> LOGGER.warn("parseRawRecordsChunkForJobExecution:: Error during update jobExecution with id '{}' and snapshot status",
               jobExecution.getId(), e));
-          jobExecutionSourceChunkDao.getById(sourceChunkId, params.getTenantId())
-            .compose(optional -> optional
-              .map(sourceChunk -> jobExecutionSourceChunkDao
-                .update(sourceChunk.withState(JobExecutionSourceChunk.State.ERROR), params.getTenantId()))
-              .orElseThrow(() -> new NotFoundException(String.format(
-                "Couldn't update failed jobExecutionSourceChunk status to ERROR, jobExecutionSourceChunk with id %s was not found, jobExecutionId: %s",
-                sourceChunkId, jobExecution.getId()))))
+          jobExecutionSourceChunkDao.updateState(sourceChunkId, JobExecutionSourceChunk.State.ERROR, params.getTenantId())
+            .onFailure(e -> LOGGER.warn("saveRecords:: Couldn't update failed jobExecutionSourceChunk with id '{}' status to ERROR, jobExecutionId: '{}'",
+              sourceChunkId, jobExecution.getId(), e))
             .onComplete(ar -> promise.fail(postAr.cause()));
         } else {
           promise.complete(parsedRecords);
@@ -322,38 +355,22 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return recordsPublishingService.sendEventsWithRecords(records, jobExecution.getId(), params, DI_INCOMING_MARC_BIB_RECORD_PARSED.value(), eventContext);
   }
 
-  private void saveIncomingAndJournalRecords(List<Record> parsedRecords, String tenantId) {
-    if (!parsedRecords.isEmpty()) {
-      incomingRecordService.saveBatch(JournalUtil.buildIncomingRecordsByRecords(parsedRecords), tenantId);
-      List<BatchableJournalRecord> batchableJournalRecords = JournalUtil.buildJournalRecordsByRecords(parsedRecords)
-        .stream()
-        .map(r -> new BatchableJournalRecord(r, tenantId))
-        .toList();
-      journalRecordProducer.write(batchableJournalRecords);
-    }
-  }
-
-  private boolean createOrderActionExists(JobExecution jobExecution) {
-    if (jobExecution.getJobProfileSnapshotWrapper() != null) {
-      List<ProfileSnapshotWrapper> actionProfiles = jobExecution.getJobProfileSnapshotWrapper().getChildSnapshotWrappers()
-        .stream().filter(wrapper -> wrapper.getContentType() == ACTION_PROFILE).toList();
-
-      if (!actionProfiles.isEmpty() && ifOrderCreateActionProfileExists(actionProfiles)) {
-        LOGGER.debug("createOrderActionExists:: Event type for Order's logic set by jobExecutionId {} ", jobExecution.getId());
-        return true;
-      }
-    }
-    return false;
-  }
-
-  private static boolean ifOrderCreateActionProfileExists(List<ProfileSnapshotWrapper> profiles) {
-    for (ProfileSnapshotWrapper profile : profiles) {
-      Map<String, String> content = DatabindCodec.mapper().convertValue(profile.getContent(), HashMap.class);
-      if (content.get(FOLIO_RECORD).equals(ORDER_TYPE) && content.get(ACTION_FIELD).equals(CREATE_ACTION)) {
-        return true;
-      }
+  /**
+   * Saves incoming and journal records in background, the returned future is completed when the incoming records
+   * are accepted to the queue of the records waiting to be saved
+   */
+  private Future<Void> saveIncomingAndJournalRecords(List<ParsedRecordHolder> parsedRecords, String tenantId) {
+    if (parsedRecords.isEmpty()) {
+      return Future.succeededFuture();
     }
-    return false;
+    Future<Void> incomingRecordsAccepted =
+      incomingRecordService.saveBatch(JournalUtil.buildIncomingRecordsByParsedRecords(parsedRecords), tenantId);
+    List<BatchableJournalRecord> batchableJournalRecords = JournalUtil.buildJournalRecordsByRecords(toRecords(parsedRecords))
+      .stream()
+      .map(r -> new BatchableJournalRecord(r, tenantId))
+      .toList();
+    journalRecordProducer.write(batchableJournalRecords);
+    return incomingRecordsAccepted;
   }
 
   /**
@@ -437,183 +454,149 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return throwable instanceof NotFoundException notFoundEx ? notFoundEx : null;
   }
 
-  private boolean updateMarcActionExists(JobExecution jobExecution) {
-    return containsMarcActionProfile(
-      jobExecution.getJobProfileSnapshotWrapper(),
-      List.of(FolioRecord.MARC_BIBLIOGRAPHIC, FolioRecord.MARC_AUTHORITY, FolioRecord.MARC_HOLDINGS),
-      Action.UPDATE);
-  }
-
-  private boolean updateInstanceActionExists(JobExecution jobExecution) {
-    return containsMarcActionProfile(
-      jobExecution.getJobProfileSnapshotWrapper(),
-      List.of(FolioRecord.INSTANCE),
-      Action.UPDATE);
-  }
-
-  private boolean isCreateOrUpdateItemOrHoldingsActionExists(JobExecution jobExecution, List<Record> parsedRecords) {
-    var jobProfileSnapshotWrapper = jobExecution.getJobProfileSnapshotWrapper();
-    var itemAndHoldingsList = List.of(FolioRecord.ITEM, FolioRecord.HOLDINGS);
-    return (containsMarcActionProfile(jobProfileSnapshotWrapper, itemAndHoldingsList, Action.CREATE) ||
-      containsMarcActionProfile(jobProfileSnapshotWrapper, itemAndHoldingsList, Action.UPDATE)) &&
-      !containsMarcActionProfile(jobProfileSnapshotWrapper, List.of(FolioRecord.INSTANCE), Action.CREATE) &&
+  private boolean isCreateOrUpdateItemOrHoldingsActionExists(JobProfilePlan jobProfilePlan, List<Record> parsedRecords) {
+    return jobProfilePlan.isCreateOrUpdateItemOrHoldingsWithoutCreateInstanceActionExists() &&
       !CollectionUtils.isEmpty(parsedRecords) &&
       parsedRecords.getFirst().getRecordType() == MARC_BIB;
   }
 
-  private boolean deleteMarcActionExists(JobExecution jobExecution) {
-    return containsMarcActionProfile(
-      jobExecution.getJobProfileSnapshotWrapper(),
-      List.of(FolioRecord.MARC_AUTHORITY),
-      Action.DELETE);
-  }
-
-  private boolean isCreateInstanceActionExists(JobExecution jobExecution) {
-    return containsCreateInstanceActionWithoutMarcBib(jobExecution.getJobProfileSnapshotWrapper());
-  }
-
-  private boolean containsCreateInstanceActionWithoutMarcBib(ProfileSnapshotWrapper profileSnapshot) {
-    for (ProfileSnapshotWrapper childWrapper : profileSnapshot.getChildSnapshotWrappers()) {
-      if (childWrapper.getContentType() == ACTION_PROFILE
-        && actionProfileMatches(childWrapper, List.of(FolioRecord.INSTANCE), Action.CREATE)) {
-        return childWrapper.getReactTo() != NON_MATCH && !containsMarcBibToInstanceMappingProfile(childWrapper);
-      } else if (containsCreateInstanceActionWithoutMarcBib(childWrapper)) {
-        return true;
-      }
+  /**
+   * Parse list of source records
+   *
+   * @param rawRecords       - list of raw records for parsing
+   * @param jobExecution     - job execution of record's parsing
+   * @param sourceChunkId    - id of the JobExecutionSourceChunk
+   * @param tenantId         - tenant id
+   * @param acceptInstanceId - allow the 999ff$i field to be set and also create an instance with value in 999ff$i
+   * @param okapiParams      - OkapiConnectionParams to interact with external services
+   * @return - list of records with parsed or error data
+   */
+  private Future<List<ParsedRecordHolder>> parseRecords(List<InitialRecord> rawRecords, RecordsMetadata.ContentType recordContentType,
+                                                        JobExecution jobExecution, String sourceChunkId, String tenantId,
+                                                        boolean acceptInstanceId, OkapiConnectionParams okapiParams) {
+    if (CollectionUtils.isEmpty(rawRecords)) {
+      return Future.succeededFuture(Collections.emptyList());
     }
-    return false;
-  }
-
-  private boolean containsMarcBibToInstanceMappingProfile(ProfileSnapshotWrapper actionWrapper) {
-   return actionWrapper.getChildSnapshotWrappers()
-      .stream()
-      .map(mappingWrapper -> Optional.ofNullable(mappingWrapper.getContent()))
-      .filter(Optional::isPresent)
-      .map(content -> DatabindCodec.mapper().convertValue(content.get(), MappingProfile.class))
-      .anyMatch(mappingProfile -> mappingProfile.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC);
-  }
-
-  private boolean isCreateAuthorityActionExists(JobExecution jobExecution) {
-    return containsMarcActionProfile(
-      jobExecution.getJobProfileSnapshotWrapper(),
-      List.of(FolioRecord.AUTHORITY),
-      Action.CREATE);
-  }
-
-  private boolean isCreateMarcHoldingsActionExists(JobExecution jobExecution) {
-    return containsCreateActionProfileWithMarcHoldings(
-      jobExecution.getJobProfileSnapshotWrapper());
-  }
-
-  private boolean isMarcAuthorityMatchProfile(JobExecution jobExecution) {
-    return containsMatchProfile(jobExecution.getJobProfileSnapshotWrapper());
+    return parseInitialRecordsOnWorkerPool(rawRecords, recordContentType, jobExecution, acceptInstanceId, sourceChunkId)
+      .compose(parsedRecords -> {
+        updateSourceChunkProgress(parsedRecords, sourceChunkId, tenantId);
+        return this.postProcessRecords(jobExecution, parsedRecords, okapiParams);
+      });
   }
 
-  private boolean containsMatchProfile(ProfileSnapshotWrapper profileSnapshot) {
-    var childWrappers = profileSnapshot.getChildSnapshotWrappers();
-    for (ProfileSnapshotWrapper childWrapper : childWrappers) {
-      if (childWrapper.getContentType() == MATCH_PROFILE
-        && marcAuthorityMatchProfileMatches(childWrapper)) {
-        return true;
-      } else if (containsMatchProfile(childWrapper)) {
-        return true;
+  private void updateSourceChunkProgress(List<ParsedRecordHolder> parsedRecords, String sourceChunkId, String tenantId) {
+    int total = parsedRecords.size();
+    // if number of records is more than thresholdChunkSize update the progress every 20% of processed records,
+    // otherwise update it once after all the records are processed; the last update counts the remainder of the records
+    int partition = total > thresholdChunkSize ? Math.max(total / 5, 1) : total;
+    int counted = 0;
+    for (int processed = 1; processed <= total; processed++) {
+      if (processed % partition == 0 || processed == total) {
+        LOGGER.info("updateSourceChunkProgress:: Parsed {} records out of {}", processed, total);
+        jobExecutionSourceChunkDao.incrementProcessedAmount(sourceChunkId, processed - counted, tenantId)
+          .onFailure(e -> LOGGER.warn("updateSourceChunkProgress:: Couldn't update progress of jobExecutionSourceChunk with id '{}'",
+            sourceChunkId, e));
+        counted = processed;
       }
     }
-    return false;
   }
 
-  private boolean marcAuthorityMatchProfileMatches(ProfileSnapshotWrapper matchProfileWrapper) {
-    MatchProfile matchProfile = new JsonObject((Map) matchProfileWrapper.getContent()).mapTo(MatchProfile.class);
-    return matchProfile.getExistingRecordType() == EntityType.MARC_AUTHORITY && matchProfile.getIncomingRecordType() == EntityType.MARC_AUTHORITY;
-  }
+  /**
+   * Parses initial records on the records parsing worker pool, so that the event loop is not blocked by parsing.
+   * Records are split into parts of {@code parsingSplitSize} records that are parsed in parallel,
+   * the order of the records is preserved in the result.
+   * Records are parsed on the calling thread if the worker pool is disabled.
+   * The time each part waits for a free worker thread is measured from its submission to the start of its parsing.
+   */
+  private Future<List<ParsedRecordHolder>> parseInitialRecordsOnWorkerPool(List<InitialRecord> rawRecords,
+                                                                           RecordsMetadata.ContentType recordContentType,
+                                                                           JobExecution jobExecution,
+                                                                           boolean acceptInstanceId,
+                                                                           String sourceChunkId) {
+    long startTime = System.nanoTime();
+    if (parsingExecutor == null) {
+      var parsedRecords = parseInitialRecords(rawRecords, recordContentType, jobExecution, acceptInstanceId, sourceChunkId);
+      recordParsingTime(rawRecords.size(), System.nanoTime() - startTime, 0, jobExecution.getId());
+      return Future.succeededFuture(parsedRecords);
+    }
+
+    int splitSize = parsingSplitSize > 0 ? parsingSplitSize : rawRecords.size();
+    LongAccumulator maxQueueTime = new LongAccumulator(Math::max, 0);
+    List<Future<List<ParsedRecordHolder>>> parsedSplits = Lists.partition(rawRecords, splitSize).stream()
+      .map(split -> {
+        long submissionTime = System.nanoTime();
+        return parsingExecutor.executeBlocking(() -> {
+          maxQueueTime.accumulate(System.nanoTime() - submissionTime);
+          return parseInitialRecords(split, recordContentType, jobExecution, acceptInstanceId, sourceChunkId);
+        }, false);
+      })
+      .toList();
 
-  private boolean containsMarcActionProfile(ProfileSnapshotWrapper profileSnapshot,
-                                            List<FolioRecord> entityTypes, Action action) {
-    List<ProfileSnapshotWrapper> childWrappers = profileSnapshot.getChildSnapshotWrappers();
-    for (ProfileSnapshotWrapper childWrapper : childWrappers) {
-      if (childWrapper.getContentType() == ACTION_PROFILE
-        && actionProfileMatches(childWrapper, entityTypes, action)) {
-        return true;
-      } else if (containsMarcActionProfile(childWrapper, entityTypes, action)) {
-        return true;
-      }
-    }
-    return false;
+    return Future.all(parsedSplits)
+      .map(ar -> {
+        recordParsingTime(rawRecords.size(), System.nanoTime() - startTime, maxQueueTime.get(), jobExecution.getId());
+        return parsedSplits.stream()
+          .flatMap(parsedSplit -> parsedSplit.result().stream())
+          .toList();
+      });
   }
 
-  private boolean containsCreateActionProfileWithMarcHoldings(ProfileSnapshotWrapper profileSnapshot) {
-    List<ProfileSnapshotWrapper> childWrappers = profileSnapshot.getChildSnapshotWrappers();
-    for (ProfileSnapshotWrapper childWrapper : childWrappers) {
-      if (childWrapper.getContentType() == ACTION_PROFILE
-        && actionProfileMatches(childWrapper, List.of(FolioRecord.HOLDINGS), Action.CREATE)
-        && isMarcHoldingsExists(childWrapper)) {
-        return true;
-      } else if (containsCreateActionProfileWithMarcHoldings(childWrapper)) {
-        return true;
-      }
+  /**
+   * Reports total parsing time of the chunk and the longest time a part of the chunk waited for a free worker thread
+   *
+   * @param recordsNumber  number of parsed records
+   * @param parsingTime    total parsing time in nanoseconds
+   * @param queueTime      the longest time in nanoseconds a part of the chunk waited in the worker pool queue,
+   *                       0 if records are parsed on the calling thread
+   * @param jobExecutionId job execution id
+   */
+  private void recordParsingTime(int recordsNumber, long parsingTime, long queueTime, String jobExecutionId) {
+    long parsingTimeMs = TimeUnit.NANOSECONDS.toMillis(parsingTime);
+    long queueTimeMs = TimeUnit.NANOSECONDS.toMillis(queueTime);
+    LOGGER.debug("recordParsingTime:: Parsed {} records in {} ms, waited for worker thread up to {} ms, jobExecutionId: {}",
+      recordsNumber, parsingTimeMs, queueTimeMs, jobExecutionId);
+    if (MetricsUtil.isEnabled()) {
+      recordTime(PARSING_TIME_METRIC, "Time of parsing a chunk of records", parsingTime);
+      recordTime(PARSING_QUEUE_TIME_METRIC, "The longest time a part of the chunk waited for a free worker thread", queueTime);
+      MetricsUtil.recordCounter(PARSED_RECORDS_METRIC, Collections.emptyList()).increment(recordsNumber);
     }
-    return false;
-  }
-
-  private boolean actionProfileMatches(ProfileSnapshotWrapper actionProfileWrapper,
-                                       List<FolioRecord> records, Action action) {
-    ActionProfile actionProfile = new JsonObject((Map) actionProfileWrapper.getContent()).mapTo(ActionProfile.class);
-    return (records.contains(actionProfile.getFolioRecord())) && actionProfile.getAction() == action;
   }
 
-  private boolean isMarcHoldingsExists(ProfileSnapshotWrapper actionProfileWrapper) {
-    List<ProfileSnapshotWrapper> childWrappers = actionProfileWrapper.getChildSnapshotWrappers();
-    if (childWrappers != null && !childWrappers.isEmpty() && childWrappers.getFirst() != null) {
-      MappingProfile mappingProfile = new JsonObject((Map) childWrappers.getFirst().getContent()).mapTo(MappingProfile.class);
-      return mappingProfile.getExistingRecordType() == EntityType.HOLDINGS && mappingProfile.getIncomingRecordType() == EntityType.MARC_HOLDINGS;
-    }
-    return false;
+  private static void recordTime(String metricName, String description, long timeNanos) {
+    Timer.builder(metricName)
+      .description(description)
+      .publishPercentiles(0.5, 0.95, 0.99)
+      .register(Metrics.globalRegistry)
+      .record(timeNanos, TimeUnit.NANOSECONDS);
   }
 
   /**
-   * Parse list of source records
+   * Parses initial records on the records parsing worker pool without post-processing
    *
-   * @param rawRecords       - list of raw records for parsing
-   * @param jobExecution     - job execution of record's parsing
-   * @param sourceChunkId    - id of the JobExecutionSourceChunk
-   * @param tenantId         - tenant id
-   * @param acceptInstanceId - allow the 999ff$i field to be set and also create an instance with value in 999ff$i
-   * @param okapiParams      - OkapiConnectionParams to interact with external services
-   * @return - list of records with parsed or error data
+   * @return future with list of records with parsed or error data
    */
-  private Future<List<Record>> parseRecords(List<InitialRecord> rawRecords, RecordsMetadata.ContentType recordContentType,
-                                            JobExecution jobExecution, String sourceChunkId, String tenantId,
-                                            boolean acceptInstanceId, OkapiConnectionParams okapiParams) {
+  public Future<List<Record>> getParsedRecordsFromInitialRecords(List<InitialRecord> rawRecords,
+                                                                 RecordsMetadata.ContentType recordContentType,
+                                                                 JobExecution jobExecution,
+                                                                 boolean acceptInstanceId,
+                                                                 String sourceChunkId) {
     if (CollectionUtils.isEmpty(rawRecords)) {
       return Future.succeededFuture(Collections.emptyList());
     }
-    var counter = new MutableInt();
-    // if number of records is more than thresholdChunkSize update the progress every 20% of processed records,
-    // otherwise update it once after all the records are processed
-    int partition = rawRecords.size() > thresholdChunkSize ? rawRecords.size() / 5 : rawRecords.size();
-    var records = getParsedRecordsFromInitialRecords(rawRecords, recordContentType, jobExecution, acceptInstanceId, sourceChunkId).stream()
-      .peek(stat -> { //NOSONAR
-        if (counter.incrementAndGet() % partition == 0) {
-          LOGGER.info("parseRecords:: Parsed {} records out of {}", counter.intValue(), rawRecords.size());
-          jobExecutionSourceChunkDao.getById(sourceChunkId, tenantId)
-            .compose(optional -> optional
-              .map(sourceChunk -> jobExecutionSourceChunkDao
-                .update(sourceChunk.withProcessedAmount(sourceChunk.getProcessedAmount() + counter.intValue()), tenantId))
-              .orElseThrow(() -> new NotFoundException(format(
-                "Couldn't update jobExecutionSourceChunk progress, jobExecutionSourceChunk with id %s was not found",
-                sourceChunkId))));
-        }
-      }).toList();
-
-    return this.postProcessRecords(jobExecution, records, okapiParams);
+    return parseInitialRecordsOnWorkerPool(rawRecords, recordContentType, jobExecution, acceptInstanceId, sourceChunkId)
+      .map(ChangeEngineServiceImpl::completeRecords);
   }
 
-  public List<Record> getParsedRecordsFromInitialRecords(List<InitialRecord> rawRecords,
-                                                         RecordsMetadata.ContentType recordContentType,
-                                                         JobExecution jobExecution,
-                                                         boolean acceptInstanceId,
-                                                         String sourceChunkId) {
-    LOGGER.debug("getParsedRecordsFromInitialRecords:: recordContentType: {}, jobExecutionId: {}, acceptInstanceId: {}, sourceChunkId: {}",
+  /**
+   * Parses initial records keeping parsed content in memory, so that it is serialized only once
+   * by {@link ParsedRecordHolder#complete()} after all the post-processing steps
+   */
+  private List<ParsedRecordHolder> parseInitialRecords(List<InitialRecord> rawRecords,
+                                                       RecordsMetadata.ContentType recordContentType,
+                                                       JobExecution jobExecution,
+                                                       boolean acceptInstanceId,
+                                                       String sourceChunkId) {
+    LOGGER.debug("parseInitialRecords:: recordContentType: {}, jobExecutionId: {}, acceptInstanceId: {}, sourceChunkId: {}",
       recordContentType, jobExecution.getId(), acceptInstanceId, sourceChunkId);
 
     var parser = RecordParserBuilder.buildParser(recordContentType);
@@ -625,7 +608,7 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
         if (!acceptInstanceId) {
           parsedResult = addErrorMessageWhen999ffFieldExistsOnCreateAction(jobExecution, parsedResult);
         } else {
-          LOGGER.debug("getParsedRecordsFromInitialRecords:: acceptInstanceId = true, sourceChunkId = {}, jobExecutionId = {} ",
+          LOGGER.debug("parseInitialRecords:: acceptInstanceId = true, sourceChunkId = {}, jobExecutionId = {} ",
             sourceChunkId, jobExecution.getId());
         }
 
@@ -638,32 +621,33 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
           .withState(Record.State.ACTUAL)
           .withRawRecord(new RawRecord().withContent(rawRecord.getRecord()));
         if (parsedResult.isHasError()) {
-          LOGGER.warn("getParsedRecordsFromInitialRecords:: Parsed record with order: {} contains errors: {}, jobExecutionId: {}, sourceChunkId: {}",
+          LOGGER.warn("parseInitialRecords:: Parsed record with order: {} contains errors: {}, jobExecutionId: {}, sourceChunkId: {}",
             rawRecord.getOrder(), parsedResult.getErrors().encode(), jobExecution.getId(), sourceChunkId);
           record.setErrorRecord(new ErrorRecord()
             .withContent(rawRecord)
             .withDescription(parsedResult.getErrors().encode()));
-        } else {
-          record.setParsedRecord(new ParsedRecord().withId(recordId).withContent(parsedResult.getParsedRecord().encode()));
-          if (jobExecution.getJobProfileInfo().getDataType().equals(DataType.MARC)) {
-            postProcessMarcRecord(record, rawRecord);
-          }
+          return new ParsedRecordHolder(record, null);
         }
-        return record;
+        record.setParsedRecord(new ParsedRecord().withId(recordId));
+        var parsedRecord = new ParsedRecordHolder(record, parsedResult.getParsedRecord());
+        if (jobExecution.getJobProfileInfo().getDataType().equals(DataType.MARC)) {
+          postProcessMarcRecord(parsedRecord, rawRecord);
+        }
+        return parsedRecord;
       }).toList();
   }
 
   private ParsedResult addErrorMessageWhen999ffFieldExistsOnCreateAction(JobExecution jobExecution, ParsedResult parsedResult) {
     if (jobExecution.getJobProfileInfo().getDataType().equals(DataType.MARC) && parsedResult.getParsedRecord() != null) {
-      var tmpRecord = new Record()
-        .withParsedRecord(new ParsedRecord().withContent(parsedResult.getParsedRecord().encode()));
-      if (((StringUtils.isNotBlank(getValue(tmpRecord, TAG_999, SUBFIELD_S)) && hasIndicator(tmpRecord, SUBFIELD_S))
-        || (StringUtils.isNotBlank(getValue(tmpRecord, TAG_999, SUBFIELD_I)) && hasIndicator(tmpRecord, SUBFIELD_I)))) {
-        if (isCreateInstanceActionExists(jobExecution)) {
+      var parsedRecord = new ParsedRecordHolder(null, parsedResult.getParsedRecord());
+      if (((StringUtils.isNotBlank(parsedRecord.getValue(TAG_999, SUBFIELD_S)) && parsedRecord.hasIndicator(SUBFIELD_S))
+        || (StringUtils.isNotBlank(parsedRecord.getValue(TAG_999, SUBFIELD_I)) && parsedRecord.hasIndicator(SUBFIELD_I)))) {
+        JobProfilePlan jobProfilePlan = JobProfilePlanCache.get(jobExecution);
+        if (jobProfilePlan.isCreateInstanceActionExists()) {
           return constructParsedResultWithError(parsedResult, INSTANCE_CREATION_999_ERROR_MESSAGE);
-        } else if (isCreateMarcHoldingsActionExists(jobExecution)) {
+        } else if (jobProfilePlan.isCreateMarcHoldingsActionExists()) {
           return constructParsedResultWithError(parsedResult, HOLDINGS_CREATION_999_ERROR_MESSAGE);
-        } else if (isCreateAuthorityActionExists(jobExecution)) {
+        } else if (jobProfilePlan.isCreateAuthorityActionExists()) {
           return constructParsedResultWithError(parsedResult, AUTHORITY_CREATION_999_ERROR_MESSAGE);
         }
       }
@@ -680,12 +664,12 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return result;
   }
 
-  private List<Future<List<String>>> executeInBatches(List<Record> recordList,
+  private List<Future<List<String>>> executeInBatches(List<ParsedRecordHolder> recordList,
                                         Function<List<String>, Future<List<String>>> batchOperation) {
     // filter list on MARC_HOLDINGS
     var marcHoldingsIdsToVerify = recordList.stream()
-      .filter(recordItem -> recordItem.getRecordType() == MARC_HOLDING)
-      .map(recordItem -> getControlFieldValue(recordItem, TAG_004))
+      .filter(recordItem -> recordItem.getRecord().getRecordType() == MARC_HOLDING)
+      .map(recordItem -> recordItem.getControlFieldValue(TAG_004))
       .filter(StringUtils::isNotBlank)
       .toList();
     // split on batches and create list of Futures
@@ -697,11 +681,12 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return futureList;
   }
 
-  private void filterMarcHoldingsBy004Field(List<Record> records, List<Future<List<String>>> batchList, OkapiConnectionParams okapiParams,
-                                            JobExecution jobExecution, Promise<List<Record>> promise) {
+  private void filterMarcHoldingsBy004Field(List<ParsedRecordHolder> records, List<Future<List<String>>> batchList,
+                                            OkapiConnectionParams okapiParams, JobExecution jobExecution,
+                                            Promise<List<ParsedRecordHolder>> promise) {
     Future.all(batchList)
       .onComplete(as -> {
-        if (IterableUtils.matchesAll(records, record -> record.getRecordType() == MARC_HOLDING)) {
+        if (IterableUtils.matchesAll(records, record -> record.getRecord().getRecordType() == MARC_HOLDING)) {
           var invalidMarcBibIds = batchList
             .stream()
             .map(Future<List<String>>::result)
@@ -709,9 +694,9 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
             .toList();
           LOGGER.info("filterMarcHoldingsBy004Field:: MARC_BIB invalid list ids: {}", invalidMarcBibIds);
           var validMarcBibRecords = records.stream()
-            .filter(record -> {
-              var controlFieldValue = getControlFieldValue(record, TAG_004);
-              return isValidMarcHoldings(jobExecution, okapiParams, invalidMarcBibIds, record, controlFieldValue);
+            .filter(parsedRecord -> {
+              var controlFieldValue = parsedRecord.getControlFieldValue(TAG_004);
+              return isValidMarcHoldings(jobExecution, okapiParams, invalidMarcBibIds, parsedRecord, controlFieldValue);
             }).toList();
           LOGGER.info("filterMarcHoldingsBy004Field:: Total marc holdings records: {}, invalid marc bib ids: {}, valid marc bib records: {}",
             records.size(), invalidMarcBibIds.size(), validMarcBibRecords.size());
@@ -789,8 +774,11 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
   }
 
   private boolean isValidMarcHoldings(JobExecution jobExecution, OkapiConnectionParams okapiParams,
-                                      List<String> invalidMarcBibIds, Record record, String controlFieldValue) {
+                                      List<String> invalidMarcBibIds, ParsedRecordHolder parsedRecord,
+                                      String controlFieldValue) {
     if (isBlank(controlFieldValue) || invalidMarcBibIds.contains(controlFieldValue)) {
+      // the record is sent in DI_ERROR event, so it is completed
+      Record record = parsedRecord.complete();
       // avoid populating error if there is already populated via 999ff-field error.
       if (record.getErrorRecord() != null && record.getErrorRecord().getDescription().contains("999ff")) {
         return true;
@@ -842,28 +830,30 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     return new SourceStorageBatchClient(okapiUrl, tenantId, token);
   }
 
-  private void postProcessMarcRecord(Record record, InitialRecord rawRecord) {
-    var recordType = record.getRecordType();
+  private void postProcessMarcRecord(ParsedRecordHolder parsedRecord, InitialRecord rawRecord) {
+    var recordType = parsedRecord.getRecord().getRecordType();
     if (recordType == MARC_BIB) {
-      postProcessMarcBibRecord(record);
+      postProcessMarcBibRecord(parsedRecord);
     } else if (recordType == MARC_HOLDING) {
-      postProcessMarcHoldingsRecord(record, rawRecord);
+      postProcessMarcHoldingsRecord(parsedRecord, rawRecord);
     }
   }
 
-  private void postProcessMarcBibRecord(Record record) {
-    String instanceId = getValue(record, TAG_999, SUBFIELD_I);
-    if (isNotBlank(instanceId) && hasIndicator(record, SUBFIELD_I)) {
+  private void postProcessMarcBibRecord(ParsedRecordHolder parsedRecord) {
+    String instanceId = parsedRecord.getValue(TAG_999, SUBFIELD_I);
+    if (isNotBlank(instanceId) && parsedRecord.hasIndicator(SUBFIELD_I)) {
+      Record record = parsedRecord.getRecord();
       record.setExternalIdsHolder(new ExternalIdsHolder().withInstanceId(instanceId));
-      String instanceHrid = getControlFieldValue(record, TAG_001);
+      String instanceHrid = parsedRecord.getControlFieldValue(TAG_001);
       if (isNotBlank(instanceHrid)) {
         record.getExternalIdsHolder().setInstanceHrid(instanceHrid);
       }
     }
   }
 
-  private void postProcessMarcHoldingsRecord(Record record, InitialRecord rawRecord) {
-    if (isBlank(getControlFieldValue(record, TAG_004))) {
+  private void postProcessMarcHoldingsRecord(ParsedRecordHolder parsedRecord, InitialRecord rawRecord) {
+    if (isBlank(parsedRecord.getControlFieldValue(TAG_004))) {
+      Record record = parsedRecord.getRecord();
       LOGGER.warn(HOLDINGS_004_TAG_ERROR_MESSAGE);
       record.setParsedRecord(null);
       record.setErrorRecord(new ErrorRecord()
@@ -873,28 +863,13 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     }
   }
 
-  private Future<List<Record>> postProcessRecords(JobExecution jobExecution, List<Record> folioRecords,
-                                                  OkapiConnectionParams okapiParams) {
-    if (TRUE.equals(shouldRemoveSubfield9FromRecordFieldsForProfile(jobExecution.getJobProfileSnapshotWrapper()))) {
-      return fieldModificationService.remove9Subfields(jobExecution.getId(), folioRecords, okapiParams);
+  private Future<List<ParsedRecordHolder>> postProcessRecords(JobExecution jobExecution, List<ParsedRecordHolder> parsedRecords,
+                                                              OkapiConnectionParams okapiParams) {
+    if (JobProfilePlanCache.get(jobExecution).isRemove9SubfieldsActionExists()) {
+      return fieldModificationService.remove9SubfieldsFromParsedRecords(jobExecution.getId(), parsedRecords, okapiParams);
     }
 
-    return Future.succeededFuture(folioRecords);
-  }
-
-  private Boolean shouldRemoveSubfield9FromRecordFieldsForProfile(ProfileSnapshotWrapper profileSnapshot) {
-    for (ProfileSnapshotWrapper childWrapper : profileSnapshot.getChildSnapshotWrappers()) {
-      if (childWrapper.getContentType() == ACTION_PROFILE) {
-        ActionProfile actionProfile = DatabindCodec.mapper().convertValue(childWrapper.getContent(), ActionProfile.class);
-        if (TRUE.equals(actionProfile.getRemove9Subfields())
-          || TRUE.equals(shouldRemoveSubfield9FromRecordFieldsForProfile(childWrapper))) {
-          return true;
-        }
-      } else if (TRUE.equals(shouldRemoveSubfield9FromRecordFieldsForProfile(childWrapper))) {
-        return true;
-      }
-    }
-    return false;
+    return Future.succeededFuture(parsedRecords);
   }
 
   private RecordType inferRecordType(JobExecution jobExecution, ParsedResult recordParsedResult, String recordId,
@@ -928,23 +903,25 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
    *
    * @param records list of records
    */
-  private void fillParsedRecordsWithAdditionalFields(List<Record> records) {
+  private void fillParsedRecordsWithAdditionalFields(List<ParsedRecordHolder> records) {
     if (!CollectionUtils.isEmpty(records)) {
-      Record.RecordType recordType = records.getFirst().getRecordType();
+      Record.RecordType recordType = records.getFirst().getRecord().getRecordType();
       if (MARC_BIB.equals(recordType) || MARC_HOLDING.equals(recordType)) {
-        for (Record record : records) {
+        for (ParsedRecordHolder parsedRecord : records) {
+          Record record = parsedRecord.getRecord();
           if (record.getMatchedId() != null) {
-            addFieldToMarcRecord(record, TAG_999, SUBFIELD_S, record.getMatchedId());
+            parsedRecord.add999ffSubfield(SUBFIELD_S, record.getMatchedId());
           }
         }
       } else if (MARC_AUTHORITY.equals(recordType)) {
-        for (Record record : records) {
+        for (ParsedRecordHolder parsedRecord : records) {
+          Record record = parsedRecord.getRecord();
           if (record.getParsedRecord() != null) {
             if (record.getMatchedId() != null) {
-              addFieldToMarcRecord(record, TAG_999, SUBFIELD_S, record.getMatchedId());
+              parsedRecord.add999ffSubfield(SUBFIELD_S, record.getMatchedId());
             }
-            final String authorityId = setAuthorityIdIfAbsentForRecord(record);
-            Optional.ofNullable(getControlFieldValue(record, TAG_001))
+            final String authorityId = setAuthorityIdIfAbsentForRecord(parsedRecord);
+            Optional.ofNullable(parsedRecord.getControlFieldValue(TAG_001))
               .map(String::trim)
               .ifPresentOrElse(hrId -> record.setExternalIdsHolder(new ExternalIdsHolder().withAuthorityId(authorityId).withAuthorityHrid(hrId)),
                 () -> {
@@ -957,14 +934,14 @@ public class ChangeEngineServiceImpl implements ChangeEngineService {
     }
   }
 
-  private String setAuthorityIdIfAbsentForRecord(Record record) {
-    String authorityId = getValue(record, TAG_999, SUBFIELD_I);
+  private String setAuthorityIdIfAbsentForRecord(ParsedRecordHolder parsedRecord) {
+    String authorityId = parsedRecord.getValue(TAG_999, SUBFIELD_I);
     if (isNotBlank(authorityId)) {
       return authorityId;
     }
 
     authorityId = UUID.randomUUID().toString();
-    addFieldToMarcRecord(record, TAG_999, SUBFIELD_I, authorityId);
+    parsedRecord.add999ffSubfield(SUBFIELD_I, authorityId);
     return authorityId;
   }
 
@@ -2,6 +2,7 @@ package org.folio.services;
 
 import io.vertx.core.Future;
 import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.services.util.RecordProcessedEvent;
 
 /**
  * Event handling service
@@ -16,4 +17,13 @@ public interface EventHandlingService {
    * @return future with true if the event was processed successfully
    */
   Future<Boolean> handle(String eventContent, OkapiConnectionParams params);
+
+  /**
+   * Handles event which fields were already read from the event content
+   *
+   * @param event  fields of the event to handle
+   * @param params okapi connection parameters
+   * @return future with true if the event was processed successfully
+   */
+  Future<Boolean> handle(RecordProcessedEvent event, OkapiConnectionParams params);
 }
@@ -1,35 +1,183 @@
 package org.folio.services;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tag;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.pgclient.PgException;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
 import org.folio.dao.EventProcessedDao;
 import org.folio.kafka.exception.DuplicateEventException;
+import org.folio.okapi.common.MetricsUtil;
+import org.folio.services.util.CaffeineStatsCounter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.folio.dao.EventProcessedDaoImpl.EVENT_ID_FIELD;
 import static org.folio.services.AbstractChunkProcessingService.UNIQUE_CONSTRAINT_VIOLATION_CODE;
 
+/**
+ * Deduplication of the events by the records saved to the database per handler and event.
+ * <p>
+ * Events processed recently by this module instance are remembered in memory, so their redelivery is detected without
+ * a database call. Other events are saved to the database, events received while the previous save for the same
+ * handler is in progress are saved together with a single statement.
+ */
 @Service("eventProcessedService")
 public class EventProcessedServiceImpl implements EventProcessedService {
 
+  public static final String CACHE_MAX_SIZE_PARAM = "srm.events.dedup.cache.maxSize";
+  public static final String CACHE_EXPIRATION_TIME_PARAM = "srm.events.dedup.cache.expirationTime.minutes";
+  public static final String BATCH_MAX_SIZE_PARAM = "srm.events.dedup.batch.maxSize";
+  private static final String DEFAULT_CACHE_MAX_SIZE = "100000";
+  private static final String DEFAULT_CACHE_EXPIRATION_TIME_MINUTES = "10";
+  private static final String DEFAULT_BATCH_MAX_SIZE = "500";
+  private static final String DUPLICATES_METRIC = "srm.events.dedup.duplicates";
+  private static final String TIER_TAG = "tier";
+
   private final EventProcessedDao eventProcessedDao;
+  private final Cache<ProcessedEventKey, Boolean> processedEvents;
+  private final int batchMaxSize;
+  private final ConcurrentMap<HandlerKey, PendingEvents> pendingEvents = new ConcurrentHashMap<>();
 
   @Autowired
   public EventProcessedServiceImpl(EventProcessedDao eventProcessedDao) {
     this.eventProcessedDao = eventProcessedDao;
+    this.batchMaxSize = Integer.parseInt(System.getProperty(BATCH_MAX_SIZE_PARAM, DEFAULT_BATCH_MAX_SIZE));
+    Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+      .maximumSize(Long.parseLong(System.getProperty(CACHE_MAX_SIZE_PARAM, DEFAULT_CACHE_MAX_SIZE)))
+      .expireAfterWrite(Long.parseLong(System.getProperty(CACHE_EXPIRATION_TIME_PARAM, DEFAULT_CACHE_EXPIRATION_TIME_MINUTES)), TimeUnit.MINUTES);
+    if (MetricsUtil.isEnabled()) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter("processedEventsCache", Collections.emptyList()));
+    }
+    this.processedEvents = cacheBuilder.build();
   }
 
   @Override
   public Future<RowSet<Row>> collectData(String handlerId, String eventId, String tenantId) {
-    return eventProcessedDao.save(handlerId, eventId, tenantId)
-      .recover(throwable -> handleFailures(throwable, handlerId, eventId));
+    ProcessedEventKey processedEventKey = new ProcessedEventKey(tenantId, handlerId, eventId);
+    if (processedEvents.getIfPresent(processedEventKey) != null) {
+      return duplicateEvent(handlerId, eventId, "memory");
+    }
+    try {
+      UUID.fromString(eventId);
+    } catch (Exception e) {
+      return Future.failedFuture(e);
+    }
+
+    PendingEvent pendingEvent = new PendingEvent(eventId, Promise.promise());
+    PendingEvents handlerEvents = pendingEvents.computeIfAbsent(new HandlerKey(tenantId, handlerId), k -> new PendingEvents());
+    List<PendingEvent> batch = handlerEvents.add(pendingEvent);
+    if (batch != null) {
+      save(handlerId, tenantId, handlerEvents, batch);
+    }
+    return pendingEvent.promise().future();
+  }
+
+  private void save(String handlerId, String tenantId, PendingEvents handlerEvents, List<PendingEvent> batch) {
+    Future<Set<String>> savedEventIds;
+    try {
+      savedEventIds = batch.size() == 1
+        ? eventProcessedDao.save(handlerId, batch.getFirst().eventId(), tenantId).map(rows -> Set.of(batch.getFirst().eventId()))
+        : saveAll(handlerId, tenantId, batch);
+    } catch (Exception e) {
+      savedEventIds = Future.failedFuture(e);
+    }
+
+    savedEventIds.onComplete(ar -> {
+      Set<String> completedEventIds = new HashSet<>();
+      for (PendingEvent event : batch) {
+        if (ar.failed()) {
+          event.promise().handle(handleFailures(ar.cause(), handlerId, event.eventId()));
+        } else if (ar.result().contains(event.eventId()) && completedEventIds.add(event.eventId())) {
+          processedEvents.put(new ProcessedEventKey(tenantId, handlerId, event.eventId()), Boolean.TRUE);
+          event.promise().complete();
+        } else {
+          event.promise().handle(duplicateEvent(handlerId, event.eventId(), "database"));
+        }
+      }
+      List<PendingEvent> nextBatch = handlerEvents.next();
+      if (nextBatch != null) {
+        save(handlerId, tenantId, handlerEvents, nextBatch);
+      }
+    });
+  }
+
+  private Future<Set<String>> saveAll(String handlerId, String tenantId, List<PendingEvent> batch) {
+    Set<String> distinctEventIds = new LinkedHashSet<>();
+    batch.forEach(event -> distinctEventIds.add(event.eventId()));
+    return eventProcessedDao.saveAll(handlerId, new ArrayList<>(distinctEventIds), tenantId)
+      .map(rows -> {
+        Set<String> savedEventIds = new HashSet<>();
+        rows.forEach(row -> savedEventIds.add(row.getValue(EVENT_ID_FIELD).toString()));
+        return savedEventIds;
+      });
   }
 
   private <T> Future<T> handleFailures(Throwable throwable, String handlerId, String eventId) {
     return (throwable instanceof PgException pgException && pgException.getSqlState().equals(UNIQUE_CONSTRAINT_VIOLATION_CODE))
-      ? Future.failedFuture(new DuplicateEventException(String.format("Event with eventId=%s for handlerId=%s is already processed.", eventId, handlerId)))
+      ? duplicateEvent(handlerId, eventId, "database")
       : Future.failedFuture(throwable);
   }
 
+  private <T> Future<T> duplicateEvent(String handlerId, String eventId, String tier) {
+    if (MetricsUtil.isEnabled()) {
+      MetricsUtil.recordCounter(DUPLICATES_METRIC, List.of(Tag.of(TIER_TAG, tier))).increment();
+    }
+    return Future.failedFuture(new DuplicateEventException(String.format("Event with eventId=%s for handlerId=%s is already processed.", eventId, handlerId)));
+  }
+
+  /**
+   * Events of the handler waiting to be saved. Only one batch of them is saved at a time,
+   * the following events are collected to the next batch meanwhile.
+   */
+  private class PendingEvents {
+    private final List<PendingEvent> events = new ArrayList<>();
+    private boolean saveInProgress;
+
+    synchronized List<PendingEvent> add(PendingEvent event) {
+      events.add(event);
+      if (saveInProgress) {
+        return null;
+      }
+      saveInProgress = true;
+      return take();
+    }
+
+    synchronized List<PendingEvent> next() {
+      if (events.isEmpty()) {
+        saveInProgress = false;
+        return null;
+      }
+      return take();
+    }
+
+    private List<PendingEvent> take() {
+      List<PendingEvent> batch = new ArrayList<>(events.subList(0, Math.min(events.size(), batchMaxSize)));
+      events.subList(0, batch.size()).clear();
+      return batch;
+    }
+  }
+
+  private record PendingEvent(String eventId, Promise<RowSet<Row>> promise) {
+  }
+
+  private record HandlerKey(String tenantId, String handlerId) {
+  }
+
+  private record ProcessedEventKey(String tenantId, String handlerId, String eventId) {
+  }
 }
@@ -20,10 +20,19 @@ public interface IncomingRecordService {
   Future<Optional<IncomingRecord>> getById(String id, String tenantId);
 
   /**
-   * Saves {@link IncomingRecord}s into DB
+   * Accepts {@link IncomingRecord}s to be saved into DB in background
    *
    * @param incomingRecords incoming records to be saved
    * @param tenantId        tenant
+   * @return future completed when the records are accepted, it is not completed until the queue of the records
+   * waiting to be saved has capacity for them
    */
-  void saveBatch(List<IncomingRecord> incomingRecords, String tenantId);
+  Future<Void> saveBatch(List<IncomingRecord> incomingRecords, String tenantId);
+
+  /**
+   * Saves the accepted {@link IncomingRecord}s without waiting for the batch delay
+   *
+   * @return future completed when all accepted records and records waiting for the acceptance are saved
+   */
+  Future<Void> drain();
 }
@@ -1,19 +1,88 @@
 package org.folio.services;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.dao.IncomingRecordDao;
+import org.folio.okapi.common.MetricsUtil;
 import org.folio.rest.jaxrs.model.IncomingRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
+/**
+ * Incoming records are saved in background. Records of the tenant are collected to a batch
+ * and saved with a single statement when the batch is full or when the batch delay elapses.
+ * <p>
+ * The number of records of the tenant accepted and not saved yet is limited by the queue capacity, records that do not fit
+ * are accepted when the saved batches of the tenant free the capacity, so the callers waiting for the acceptance are slowed
+ * down to the rate records of the tenant are saved with, and the tenant with a slow database does not block other tenants.
+ * Records failed to be saved after the chunk was accepted are logged and counted by the dropped records metric.
+ */
 @Service
 public class IncomingRecordServiceImpl implements IncomingRecordService {
 
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public static final String BATCH_MAX_SIZE_PARAM = "srm.incoming.records.batch.maxSize";
+  public static final String BATCH_MAX_DELAY_PARAM = "srm.incoming.records.batch.maxDelayMs";
+  public static final String QUEUE_CAPACITY_PARAM = "srm.incoming.records.queue.capacity";
+  private static final String DEFAULT_BATCH_MAX_SIZE = "500";
+  private static final String DEFAULT_BATCH_MAX_DELAY_MS = "200";
+  private static final String DEFAULT_QUEUE_CAPACITY = "5000";
+  private static final String QUEUE_DEPTH_METRIC = "srm.incoming.records.queueDepth";
+  private static final String WRITE_TIME_METRIC = "srm.incoming.records.write.time";
+  private static final String DROPPED_RECORDS_METRIC = "srm.incoming.records.dropped";
+  private static final String TENANT_TAG = "tenant";
+
   @Autowired
   private IncomingRecordDao incomingRecordDao;
+  @Autowired
+  private Vertx vertx;
+
+  private final int batchMaxSize;
+  private final long batchMaxDelayMs;
+  private final int queueCapacity;
+  private final ConcurrentMap<String, PendingRecords> pendingRecords = new ConcurrentHashMap<>();
+  /**
+   * Accepted records of all tenants, records of the tenant are waiting only while the tenant has accepted records,
+   * so no records are accepted or waiting when it is zero
+   */
+  private final AtomicInteger queuedRecords = new AtomicInteger();
+  /**
+   * Guards the numbers of accepted records and the queues of waiting records of the tenants
+   */
+  private final Object capacityLock = new Object();
+  private final List<Promise<Void>> drainPromises = new ArrayList<>();
+
+  public IncomingRecordServiceImpl() {
+    this.batchMaxSize = Integer.parseInt(System.getProperty(BATCH_MAX_SIZE_PARAM, DEFAULT_BATCH_MAX_SIZE));
+    this.batchMaxDelayMs = Long.parseLong(System.getProperty(BATCH_MAX_DELAY_PARAM, DEFAULT_BATCH_MAX_DELAY_MS));
+    this.queueCapacity = Integer.parseInt(System.getProperty(QUEUE_CAPACITY_PARAM, DEFAULT_QUEUE_CAPACITY));
+    if (MetricsUtil.isEnabled()) {
+      Gauge.builder(QUEUE_DEPTH_METRIC, queuedRecords, AtomicInteger::get)
+        .description("Number of incoming records accepted and not saved yet")
+        .register(Metrics.globalRegistry);
+    }
+  }
 
   @Override
   public Future<Optional<IncomingRecord>> getById(String id, String tenantId) {
@@ -21,7 +90,206 @@ public class IncomingRecordServiceImpl implements IncomingRecordService {
   }
 
   @Override
-  public void saveBatch(List<IncomingRecord> incomingRecords, String tenantId) {
-    incomingRecordDao.saveBatch(incomingRecords, tenantId);
+  public Future<Void> saveBatch(List<IncomingRecord> incomingRecords, String tenantId) {
+    if (incomingRecords.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    PendingRecords tenantRecords = pendingRecords.computeIfAbsent(tenantId, PendingRecords::new);
+    synchronized (capacityLock) {
+      if (!tenantRecords.waitingRecords.isEmpty() || !tenantRecords.hasCapacityFor(incomingRecords.size())) {
+        Promise<Void> promise = Promise.promise();
+        tenantRecords.waitingRecords.add(new WaitingRecords(incomingRecords, vertx.getOrCreateContext(), promise));
+        LOGGER.debug("saveBatch:: Queue of incoming records is full, {} records of tenant '{}' are waiting",
+          incomingRecords.size(), tenantId);
+        return promise.future();
+      }
+      tenantRecords.accept(incomingRecords.size());
+    }
+    handle(tenantRecords, tenantRecords.add(incomingRecords));
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public Future<Void> drain() {
+    Promise<Void> promise = Promise.promise();
+    synchronized (capacityLock) {
+      if (queuedRecords.get() == 0) {
+        return Future.succeededFuture();
+      }
+      drainPromises.add(promise);
+    }
+    LOGGER.info("drain:: Saving {} accepted incoming records", queuedRecords.get());
+    pendingRecords.values().forEach(tenantRecords -> handle(tenantRecords, tenantRecords.drain()));
+    return promise.future();
+  }
+
+  private void handle(PendingRecords tenantRecords, NextStep step) {
+    if (step.scheduleFlush()) {
+      vertx.setTimer(batchMaxDelayMs, timerId -> handle(tenantRecords, tenantRecords.flush()));
+    }
+    if (step.batch() != null) {
+      save(tenantRecords, step.batch());
+    }
+  }
+
+  private void save(PendingRecords tenantRecords, List<IncomingRecord> batch) {
+    long startTime = System.nanoTime();
+    saveRecords(batch, tenantRecords.tenantId, true).onComplete(ar -> {
+      recordWriteTime(System.nanoTime() - startTime);
+      release(tenantRecords, batch.size());
+      handle(tenantRecords, tenantRecords.saved());
+    });
+  }
+
+  /**
+   * Batch can contain records of several job executions, if saving of the batch fails,
+   * records of each job execution are saved separately, so the failure of one job execution does not affect others
+   */
+  private Future<Void> saveRecords(List<IncomingRecord> batch, String tenantId, boolean splitOnFailure) {
+    Future<Void> saved;
+    try {
+      saved = incomingRecordDao.saveBatch(batch, tenantId).mapEmpty();
+    } catch (Exception e) {
+      saved = Future.failedFuture(e);
+    }
+    return saved.recover(e -> {
+      Collection<List<IncomingRecord>> jobExecutionsRecords = batch.stream()
+        .collect(Collectors.groupingBy(IncomingRecord::getJobExecutionId)).values();
+      if (splitOnFailure && jobExecutionsRecords.size() > 1) {
+        LOGGER.warn("saveRecords:: Failed to save {} incoming records for tenant '{}', saving records per job execution",
+          batch.size(), tenantId, e);
+        return Future.join(jobExecutionsRecords.stream().map(records -> saveRecords(records, tenantId, false)).toList())
+          .mapEmpty();
+      }
+      LOGGER.warn("saveRecords:: Failed to save {} incoming records for jobExecutionId '{}' and tenant '{}'",
+        batch.size(), batch.getFirst().getJobExecutionId(), tenantId, e);
+      recordDroppedRecords(tenantId, batch.size());
+      return Future.succeededFuture();
+    });
+  }
+
+  private void release(PendingRecords tenantRecords, int recordsNumber) {
+    List<WaitingRecords> accepted = new ArrayList<>();
+    List<Promise<Void>> drained = List.of();
+    synchronized (capacityLock) {
+      tenantRecords.accept(-recordsNumber);
+      while (!tenantRecords.waitingRecords.isEmpty()
+        && tenantRecords.hasCapacityFor(tenantRecords.waitingRecords.peek().incomingRecords().size())) {
+        WaitingRecords waiting = tenantRecords.waitingRecords.poll();
+        tenantRecords.accept(waiting.incomingRecords().size());
+        accepted.add(waiting);
+      }
+      if (queuedRecords.get() == 0) {
+        drained = new ArrayList<>(drainPromises);
+        drainPromises.clear();
+      }
+    }
+    drained.forEach(Promise::complete);
+    for (WaitingRecords waiting : accepted) {
+      handle(tenantRecords, tenantRecords.add(waiting.incomingRecords()));
+      waiting.context().runOnContext(v -> waiting.promise().complete());
+    }
+  }
+
+  private void recordWriteTime(long writeTimeNanos) {
+    if (MetricsUtil.isEnabled()) {
+      Timer.builder(WRITE_TIME_METRIC)
+        .description("Time of saving a batch of incoming records")
+        .register(Metrics.globalRegistry)
+        .record(writeTimeNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private static void recordDroppedRecords(String tenantId, int recordsNumber) {
+    if (MetricsUtil.isEnabled()) {
+      MetricsUtil.recordCounter(DROPPED_RECORDS_METRIC, List.of(Tag.of(TENANT_TAG, tenantId))).increment(recordsNumber);
+    }
+  }
+
+  /**
+   * Records of the tenant waiting to be saved. Only one batch of them is saved at a time,
+   * the following records are collected to the next batch meanwhile.
+   */
+  private class PendingRecords {
+    private final String tenantId;
+    private final List<IncomingRecord> records = new ArrayList<>();
+    // guarded by the capacity lock
+    private final Deque<WaitingRecords> waitingRecords = new ArrayDeque<>();
+    private int acceptedRecords;
+    private boolean saveInProgress;
+    private boolean flushScheduled;
+    private boolean flushRequested;
+    private boolean draining;
+
+    PendingRecords(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    /**
+     * A batch larger than the queue capacity is accepted when the tenant has no accepted records, so it is not waiting forever
+     */
+    boolean hasCapacityFor(int recordsNumber) {
+      return acceptedRecords == 0 || acceptedRecords + recordsNumber <= queueCapacity;
+    }
+
+    void accept(int recordsNumber) {
+      acceptedRecords += recordsNumber;
+      queuedRecords.addAndGet(recordsNumber);
+    }
+
+    synchronized NextStep add(List<IncomingRecord> incomingRecords) {
+      records.addAll(incomingRecords);
+      return next();
+    }
+
+    synchronized NextStep flush() {
+      flushScheduled = false;
+      flushRequested = !records.isEmpty();
+      return next();
+    }
+
+    synchronized NextStep drain() {
+      draining = true;
+      return next();
+    }
+
+    synchronized NextStep saved() {
+      saveInProgress = false;
+      return next();
+    }
+
+    /**
+     * Takes the batch to save when the save is not in progress and the batch is full or the batch delay elapsed,
+     * requests scheduling of the flush of the records which do not fill the batch otherwise.
+     * While draining, the records are saved without waiting for the batch delay until all of them are saved.
+     */
+    private NextStep next() {
+      if (saveInProgress) {
+        return NextStep.NONE;
+      }
+      if (records.isEmpty()) {
+        draining = false;
+        return NextStep.NONE;
+      }
+      if (draining || flushRequested || records.size() >= batchMaxSize) {
+        List<IncomingRecord> batch = new ArrayList<>(records.subList(0, Math.min(records.size(), batchMaxSize)));
+        records.subList(0, batch.size()).clear();
+        saveInProgress = true;
+        flushRequested = false;
+        return new NextStep(batch, false);
+      }
+      if (flushScheduled) {
+        return NextStep.NONE;
+      }
+      flushScheduled = true;
+      return new NextStep(null, true);
+    }
+  }
+
+  private record NextStep(List<IncomingRecord> batch, boolean scheduleFlush) {
+    private static final NextStep NONE = new NextStep(null, false);
+  }
+
+  private record WaitingRecords(List<IncomingRecord> incomingRecords, Context context, Promise<Void> promise) {
   }
 }
@@ -4,6 +4,7 @@ import io.vertx.core.Future;
 import org.folio.dao.JobExecutionDao;
 import org.folio.dao.JobExecutionFilter;
 import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.jaxrs.model.DeleteJobExecutionsResp;
 import org.folio.rest.jaxrs.model.InitJobExecutionsRqDto;
@@ -31,13 +32,16 @@ public interface JobExecutionService {
    * Returns JobExecutionCollectionDto by the input filter
    *
    * @param filter     filter containing conditions by which jobExecutions should be filtered
-   * @param sortFields fields to sort jobExecutions
-   * @param offset     starting index in a list of results
-   * @param limit      maximum number of results to return
-   * @param tenantId   tenant id
+   * @param sortFields     fields to sort jobExecutions
+   * @param afterId        id of the last jobExecution of the previous page for keyset pagination, offset is ignored if specified
+   * @param offset         starting index in a list of results
+   * @param limit          maximum number of results to return
+   * @param totalCountMode defines how total number of jobExecutions is calculated
+   * @param tenantId       tenant id
    * @return future with JobExecutionCollectionDto
    */
-  Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, int offset, int limit, String tenantId);
+  Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, String afterId,
+                                                                          int offset, int limit, TotalCountMode totalCountMode, String tenantId);
 
   /**
    * Performs creation of JobExecution and Snapshot entities
@@ -86,6 +90,16 @@ public interface JobExecutionService {
    */
   Future<Optional<JobExecution>> getJobExecutionById(String id, String tenantId);
 
+  /**
+   * Searches for JobExecution by id using in-memory cache of JobExecutions.
+   * Intended for the hot paths of the chunks processing, returned JobExecution can be stale for a short period
+   * of time if it was updated by another module instance. Every caller gets its own copy of JobExecution.
+   *
+   * @param id JobExecution id
+   * @return future with optional JobExecution
+   */
+  Future<Optional<JobExecution>> getCachedJobExecutionById(String id, String tenantId);
+
   /**
    * Searches for children JobExecutions by parent id,
    * by default returns all existing children JobExecutions,
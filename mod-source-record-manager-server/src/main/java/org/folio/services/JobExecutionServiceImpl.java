@@ -14,6 +14,7 @@ import org.folio.HttpStatus;
 import org.folio.dao.JobExecutionDao;
 import org.folio.dao.JobExecutionFilter;
 import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.dataimport.util.RestUtil;
 import org.folio.dataimport.util.Try;
@@ -54,7 +55,6 @@ import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.function.Function;
 
 import static java.lang.String.format;
@@ -66,6 +66,7 @@ import static org.folio.rest.jaxrs.model.StatusDto.ErrorStatus.PROFILE_SNAPSHOT_
 import static org.folio.rest.jaxrs.model.StatusDto.Status.CANCELLED;
 import static org.folio.rest.jaxrs.model.StatusDto.Status.ERROR;
 import static org.folio.services.util.EventHandlingUtil.JOB_EXECUTION_ID_HEADER;
+import static org.folio.services.util.TimeOrderedUuidUtil.randomTimeOrderedUuid;
 import static org.folio.verticle.JobExecutionProgressVerticle.COMPLETED_STATUSES;
 
 /**
@@ -100,8 +101,9 @@ public class JobExecutionServiceImpl implements JobExecutionService {
   }
 
   @Override
-  public Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, int offset, int limit, String tenantId) {
-    return jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, sortFields, offset, limit, tenantId);
+  public Future<JobExecutionDtoCollection> getJobExecutionsWithoutParentMultiple(JobExecutionFilter filter, List<SortField> sortFields, String afterId,
+                                                                                 int offset, int limit, TotalCountMode totalCountMode, String tenantId) {
+    return jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, sortFields, afterId, offset, limit, totalCountMode, tenantId);
   }
 
   @Override
@@ -113,7 +115,7 @@ public class JobExecutionServiceImpl implements JobExecutionService {
       return Future.failedFuture(new BadRequestException(errorMessage));
     } else {
       String parentJobId = jobExecutionsRqDto.getParentJobId();
-      String parentJobExecutionId = StringUtils.isNotBlank(parentJobId) ? parentJobId : UUID.randomUUID().toString();
+      String parentJobExecutionId = StringUtils.isNotBlank(parentJobId) ? parentJobId : randomTimeOrderedUuid().toString();
       return lookupUser(jobExecutionsRqDto.getUserId(), params)
         .compose(userInfo -> {
           List<JobExecution> jobExecutions =
@@ -190,6 +192,11 @@ public class JobExecutionServiceImpl implements JobExecutionService {
     return jobExecutionDao.getJobExecutionById(id, tenantId);
   }
 
+  @Override
+  public Future<Optional<JobExecution>> getCachedJobExecutionById(String id, String tenantId) {
+    return jobExecutionDao.getCachedJobExecutionById(id, tenantId);
+  }
+
   @Override
   public Future<JobExecutionDtoCollection> getJobExecutionCollectionByParentId(String parentId, int offset, int limit, String tenantId) {
     return jobExecutionDao.getJobExecutionById(parentId, tenantId)
@@ -490,7 +497,7 @@ public class JobExecutionServiceImpl implements JobExecutionService {
   private JobExecution buildNewJobExecution(boolean isParent, boolean isSingle, boolean isComposite, String parentJobExecutionId, String fileName, String userId) {
     LOGGER.debug("buildNewJobExecution:: parentJobExecutionId={}, fileName {}, userId {}", parentJobExecutionId, fileName, userId);
     JobExecution job = new JobExecution()
-      .withId(isParent ? parentJobExecutionId : UUID.randomUUID().toString())
+      .withId(isParent ? parentJobExecutionId : randomTimeOrderedUuid().toString())
       .withParentJobId(parentJobExecutionId)
       .withSourcePath(fileName)
       .withFileName(FilenameUtils.getName(fileName))
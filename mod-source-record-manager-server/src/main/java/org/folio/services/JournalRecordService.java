@@ -68,6 +68,16 @@ public interface JournalRecordService {
    */
   Future<Optional<JobExecutionSummaryDto>> getJobExecutionSummaryDto(String jobExecutionId, String tenantId);
 
+  /**
+   * Recalculates summary of job execution by {@code jobExecutionId} from all its journal records.
+   * Summary is maintained incrementally while journal records are saved, this method is intended for reconciliation.
+   *
+   * @param jobExecutionId job execution id
+   * @param tenantId       tenantId
+   * @return future with Void
+   */
+  Future<Void> rebuildJobExecutionSummary(String jobExecutionId, String tenantId);
+
   /**
    * Updates  JournalRecords error-field with current error-message by the same orderId and jobExecutionId
    * @param jobExecutionId jobExecutionId
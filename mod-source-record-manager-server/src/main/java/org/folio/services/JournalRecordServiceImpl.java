@@ -52,6 +52,11 @@ public class JournalRecordServiceImpl implements JournalRecordService {
     return journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, tenantId);
   }
 
+  @Override
+  public Future<Void> rebuildJobExecutionSummary(String jobExecutionId, String tenantId) {
+    return journalRecordDao.rebuildJobExecutionSummary(jobExecutionId, tenantId);
+  }
+
   @Override
   public Future<Integer> updateErrorJournalRecordsByOrderIdAndJobExecution(String jobExecutionId, String orderId, String error, String tenantId) {
     return journalRecordDao.updateErrorJournalRecordsByOrderIdAndJobExecution(jobExecutionId, orderId, error, tenantId);
@@ -5,6 +5,7 @@ import org.folio.Record;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.MappingMetadataDto;
+import org.folio.services.entity.SerializedMappingMetadata;
 import io.vertx.core.json.JsonObject;
 
 /**
@@ -21,6 +22,16 @@ public interface MappingMetadataService {
    */
   Future<MappingMetadataDto> getMappingMetadataDto(String jobExecutionId, OkapiConnectionParams okapiParams);
 
+  /**
+   * Returns MappingMetadataDto entity serialized to json, the entity is serialized once per jobExecution
+   * and reused until the Mapping rules or Mapping parameters snapshot of the jobExecution is saved again
+   *
+   * @param jobExecutionId jobExecution id
+   * @param okapiParams    okapi connection params
+   * @return serialized MappingMetadataDto
+   */
+  Future<SerializedMappingMetadata> getSerializedMappingMetadata(String jobExecutionId, OkapiConnectionParams okapiParams);
+
   /**
    * Returns Mapping rules and Mapping parameters in MappingMetadataDto entity by recordType
    *
@@ -16,6 +16,7 @@ import org.folio.dao.MappingRulesSnapshotDao;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.jaxrs.model.MappingMetadataDto;
+import org.folio.services.entity.SerializedMappingMetadata;
 import org.folio.services.mappers.processor.MappingParametersProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,8 +37,11 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
   private final MappingRuleService mappingRuleService;
   private final MappingRulesSnapshotDao mappingRulesSnapshotDao;
   private final MappingParamsSnapshotDao mappingParamsSnapshotDao;
+  private final AsyncCache<String, String> mappingParamsHashCache;
+  private final AsyncCache<String, String> mappingRulesHashCache;
   private final AsyncCache<String, MappingParameters> mappingParamsCache;
   private final AsyncCache<String, JsonObject> mappingRulesCache;
+  private final AsyncCache<String, SerializedMappingMetadata> serializedMetadataCache;
   private final Executor cacheExecutor = serviceExecutor -> {
     Context context = Vertx.currentContext();
     if (context != null) {
@@ -60,6 +64,20 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
     this.mappingRulesSnapshotDao = mappingRulesSnapshotDao;
     this.mappingParamsSnapshotDao = mappingParamsSnapshotDao;
 
+    this.mappingParamsHashCache = Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(cacheMaxSize)
+      .executor(cacheExecutor)
+      .recordStats()
+      .buildAsync();
+
+    this.mappingRulesHashCache = Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(cacheMaxSize)
+      .executor(cacheExecutor)
+      .recordStats()
+      .buildAsync();
+
     this.mappingParamsCache = Caffeine.newBuilder()
       .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
       .maximumSize(cacheMaxSize)
@@ -73,6 +91,13 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
       .executor(cacheExecutor)
       .recordStats()
       .buildAsync();
+
+    this.serializedMetadataCache = Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(cacheMaxSize)
+      .executor(cacheExecutor)
+      .recordStats()
+      .buildAsync();
   }
 
   public void logCacheStats(AsyncCache<?, ?> cache, String cacheName) {
@@ -92,13 +117,16 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
   public Future<MappingMetadataDto> getMappingMetadataDto(String jobExecutionId, OkapiConnectionParams okapiParams) {
     LOGGER.debug("getMappingMetadataDto:: Starting request for jobExecutionId: '{}'", jobExecutionId);
 
+    String tenantId = okapiParams.getTenantId();
     Future<MappingParameters> mappingParamsFuture = Future.fromCompletionStage(
-      mappingParamsCache.get(jobExecutionId, (key, executor) -> loadMappingParams(key, okapiParams))
-    );
+        mappingParamsHashCache.get(jobExecutionId, (key, executor) -> loadMappingParamsHash(key, tenantId)))
+      .compose(hash -> Future.fromCompletionStage(
+        mappingParamsCache.get(hash, (key, executor) -> loadMappingParams(key, jobExecutionId, tenantId))));
 
     Future<JsonObject> mappingRulesFuture = Future.fromCompletionStage(
-      mappingRulesCache.get(jobExecutionId, (key, executor) -> loadMappingRules(key, okapiParams.getTenantId()))
-    );
+        mappingRulesHashCache.get(jobExecutionId, (key, executor) -> loadMappingRulesHash(key, tenantId)))
+      .compose(hash -> Future.fromCompletionStage(
+        mappingRulesCache.get(hash, (key, executor) -> loadMappingRules(key, jobExecutionId, tenantId))));
 
     return Future.all(mappingParamsFuture, mappingRulesFuture)
       .compose(res -> {
@@ -118,28 +146,59 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
       });
   }
 
-  private CompletableFuture<MappingParameters> loadMappingParams(String jobExecutionId, OkapiConnectionParams okapiParams) {
-    LOGGER.debug("loadMappingParams:: Loading Mapping Params from source for jobExecutionId: '{}'", jobExecutionId);
-    return retrieveMappingParameters(jobExecutionId, okapiParams)
-      .onFailure(t -> {
-        if (!(t instanceof NotFoundException)) {
-          LOGGER.error("loadMappingParams:: Failed to load mapping parameters for jobExecutionId: '{}'", jobExecutionId, t);
-        } else {
-          LOGGER.warn("loadMappingParams:: Mapping parameters not found for jobExecutionId: '{}'", jobExecutionId);
+  @Override
+  public Future<SerializedMappingMetadata> getSerializedMappingMetadata(String jobExecutionId, OkapiConnectionParams okapiParams) {
+    return Future.fromCompletionStage(serializedMetadataCache.get(jobExecutionId, (key, executor) ->
+      getMappingMetadataDto(key, okapiParams)
+        .map(SerializedMappingMetadata::of)
+        .toCompletionStage()
+        .toCompletableFuture()))
+      .onComplete(ar -> {
+        if (LOGGER.isDebugEnabled()) {
+          logCacheStats(serializedMetadataCache, "SerializedMappingMetadataCache");
         }
-      })
-      .toCompletionStage()
-      .toCompletableFuture();
+      });
+  }
+
+  private CompletableFuture<String> loadMappingParamsHash(String jobExecutionId, String tenantId) {
+    LOGGER.debug("loadMappingParamsHash:: Loading Mapping Params snapshot hash for jobExecutionId: '{}'", jobExecutionId);
+    return logLoadFailure(mappingParamsSnapshotDao.getHashByJobExecutionId(jobExecutionId, tenantId)
+      .map(hashOptional -> hashOptional.orElseThrow(() ->
+        new NotFoundException(String.format("Mapping parameters snapshot is not found for JobExecution '%s'", jobExecutionId)))),
+      "loadMappingParamsHash", "mapping parameters", jobExecutionId);
   }
 
-  private CompletableFuture<JsonObject> loadMappingRules(String jobExecutionId, String tenantId) {
-    LOGGER.debug("loadMappingRules:: Loading Mapping Rules from source for jobExecutionId: '{}'", jobExecutionId);
-    return retrieveMappingRules(jobExecutionId, tenantId)
+  private CompletableFuture<MappingParameters> loadMappingParams(String hash, String jobExecutionId, String tenantId) {
+    LOGGER.debug("loadMappingParams:: Loading Mapping Params snapshot '{}' from source for jobExecutionId: '{}'", hash, jobExecutionId);
+    return logLoadFailure(mappingParamsSnapshotDao.getByHash(hash, tenantId)
+      .map(mappingParamsOptional -> mappingParamsOptional.orElseThrow(() ->
+        new NotFoundException(String.format("Mapping parameters snapshot '%s' is not found for JobExecution '%s'", hash, jobExecutionId)))),
+      "loadMappingParams", "mapping parameters", jobExecutionId);
+  }
+
+  private CompletableFuture<String> loadMappingRulesHash(String jobExecutionId, String tenantId) {
+    LOGGER.debug("loadMappingRulesHash:: Loading Mapping Rules snapshot hash for jobExecutionId: '{}'", jobExecutionId);
+    return logLoadFailure(mappingRulesSnapshotDao.getHashByJobExecutionId(jobExecutionId, tenantId)
+      .map(hashOptional -> hashOptional.orElseThrow(() ->
+        new NotFoundException(String.format("Mapping rules snapshot is not found for JobExecution '%s'", jobExecutionId)))),
+      "loadMappingRulesHash", "mapping rules", jobExecutionId);
+  }
+
+  private CompletableFuture<JsonObject> loadMappingRules(String hash, String jobExecutionId, String tenantId) {
+    LOGGER.debug("loadMappingRules:: Loading Mapping Rules snapshot '{}' from source for jobExecutionId: '{}'", hash, jobExecutionId);
+    return logLoadFailure(mappingRulesSnapshotDao.getByHash(hash, tenantId)
+      .map(rulesOptional -> rulesOptional.orElseThrow(() ->
+        new NotFoundException(String.format("Mapping rules snapshot '%s' is not found for JobExecution '%s'", hash, jobExecutionId)))),
+      "loadMappingRules", "mapping rules", jobExecutionId);
+  }
+
+  private <T> CompletableFuture<T> logLoadFailure(Future<T> loadFuture, String methodName, String entityName, String jobExecutionId) {
+    return loadFuture
       .onFailure(t -> {
         if (!(t instanceof NotFoundException)) {
-          LOGGER.error("loadMappingRules:: Failed to load mapping rules for jobExecutionId: '{}'", jobExecutionId, t);
+          LOGGER.error("{}:: Failed to load {} for jobExecutionId: '{}'", methodName, entityName, jobExecutionId, t);
         } else {
-          LOGGER.warn("loadMappingRules:: Mapping rules not found for jobExecutionId: '{}'", jobExecutionId);
+          LOGGER.warn("{}:: Snapshot of {} is not found for jobExecutionId: '{}'", methodName, entityName, jobExecutionId);
         }
       })
       .toCompletionStage()
@@ -163,13 +222,13 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
       .compose(mappingParameters -> {
         LOGGER.debug("Attempting to save MappingParameters snapshot to DB for jobExecutionId: '{}'", jobExecutionId);
         return mappingParamsSnapshotDao.save(mappingParameters, jobExecutionId, okapiParams.getTenantId())
+          .onSuccess(hash -> {
+            LOGGER.debug("Successfully saved MappingParameters snapshot to DB for jobExecutionId: '{}'. Updating cache.", jobExecutionId);
+            mappingParamsHashCache.put(jobExecutionId, CompletableFuture.completedFuture(hash));
+            mappingParamsCache.asMap().putIfAbsent(hash, CompletableFuture.completedFuture(mappingParameters));
+            serializedMetadataCache.synchronous().invalidate(jobExecutionId);
+          })
           .map(mappingParameters);
-      })
-      .onSuccess(mappingParameters -> {
-        if (mappingParameters != null) {
-          LOGGER.debug("Successfully saved MappingParameters snapshot to DB for jobExecutionId: '{}'. Updating cache.", jobExecutionId);
-          mappingParamsCache.put(jobExecutionId, CompletableFuture.completedFuture(mappingParameters));
-        }
       }).onFailure(throwable -> LOGGER.error("Failed to save MappingParameters snapshot for jobExecutionId: '{}'", jobExecutionId, throwable));
   }
 
@@ -184,29 +243,16 @@ public class MappingMetadataServiceImpl implements MappingMetadataService {
       .compose(rules -> {
         LOGGER.debug("Attempting to save MappingRules to DB for jobExecutionId: '{}'", jobExecutionId);
         return mappingRulesSnapshotDao.save(rules, jobExecutionId, tenantId)
+          .onSuccess(hash -> {
+            LOGGER.debug("Successfully saved MappingRules to DB for jobExecutionId: '{}'. Updating cache.", jobExecutionId);
+            mappingRulesHashCache.put(jobExecutionId, CompletableFuture.completedFuture(hash));
+            mappingRulesCache.asMap().putIfAbsent(hash, CompletableFuture.completedFuture(rules));
+            serializedMetadataCache.synchronous().invalidate(jobExecutionId);
+          })
           .map(rules);
-      }).onSuccess(mappingRules -> {
-        if (mappingRules != null) {
-          LOGGER.debug("Successfully saved MappingRules to DB for jobExecutionId: '{}'. Updating cache.", jobExecutionId);
-          mappingRulesCache.put(jobExecutionId, CompletableFuture.completedFuture(mappingRules));
-        }
       }).onFailure(throwable -> LOGGER.error("Failed to save MappingRules for jobExecutionId: '{}'", jobExecutionId, throwable));
   }
 
-  private Future<MappingParameters> retrieveMappingParameters(String jobExecutionId, OkapiConnectionParams okapiParams) {
-    LOGGER.debug("retrieveMappingParameters:: Retrieving MappingParameters snapshot for jobExecutionId: '{}'", jobExecutionId);
-    return mappingParamsSnapshotDao.getByJobExecutionId(jobExecutionId, okapiParams.getTenantId())
-      .map(mappingParamsOptional -> mappingParamsOptional.orElseThrow(() ->
-        new NotFoundException(String.format("Mapping parameters snapshot is not found for JobExecution '%s'", jobExecutionId))));
-  }
-
-  private Future<JsonObject> retrieveMappingRules(String jobExecutionId, String tenantId) {
-    LOGGER.debug("retrieveMappingRules:: Retrieving MappingRules snapshot for jobExecutionId: '{}'", jobExecutionId);
-    return mappingRulesSnapshotDao.getByJobExecutionId(jobExecutionId, tenantId)
-      .map(rulesOptional -> rulesOptional.orElseThrow(() ->
-        new NotFoundException(String.format("Mapping rules snapshot is not found for JobExecution '%s'", jobExecutionId))));
-  }
-
   private Future<JsonObject> retrieveMappingRulesByRecordType(Record.RecordType recordType, String tenantId) {
     return mappingRuleService.get(recordType, tenantId)
       .map(rulesOptional -> rulesOptional.orElseThrow(() ->
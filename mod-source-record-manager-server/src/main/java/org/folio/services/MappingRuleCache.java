@@ -2,6 +2,8 @@ package org.folio.services;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Component;
 
 import org.folio.dao.MappingRuleDao;
 import org.folio.services.entity.MappingRuleCacheKey;
+import org.folio.services.util.RecordTitleExtractor;
 
 /**
  * In-memory cache for the mapping rules
@@ -27,6 +30,7 @@ public class MappingRuleCache {
   private static final Logger LOGGER = LogManager.getLogger();
 
   private final AsyncLoadingCache<MappingRuleCacheKey, Optional<JsonObject>> cache;
+  private final ConcurrentMap<MappingRuleCacheKey, CompiledTitleExtractor> titleExtractors = new ConcurrentHashMap<>();
 
   @Autowired
   public MappingRuleCache(MappingRuleDao mappingRuleDao, Vertx vertx) {
@@ -68,6 +72,23 @@ public class MappingRuleCache {
     return promise.future();
   }
 
+  /**
+   * Returns record title extractor compiled from the mapping rules associated with specified tenant id.
+   * The extractor is compiled once per mapping rules version and reused until the rules are replaced.
+   * @param key contains tenantId and recordType
+   * @return optional with title extractor
+   */
+  public Future<Optional<RecordTitleExtractor>> getTitleExtractor(MappingRuleCacheKey key) {
+    return get(key).map(rulesOptional -> rulesOptional.map(mappingRules -> {
+      CompiledTitleExtractor compiled = titleExtractors.get(key);
+      if (compiled == null || compiled.mappingRules() != mappingRules) {
+        compiled = new CompiledTitleExtractor(mappingRules, RecordTitleExtractor.compile(mappingRules));
+        titleExtractors.put(key, compiled);
+      }
+      return compiled.extractor();
+    }));
+  }
+
   /**
    * Saves mapping rules in this cache for the specified tenant id
    * @param key contains tenantId and recordType
@@ -75,5 +96,9 @@ public class MappingRuleCache {
    */
   public void put(MappingRuleCacheKey key, JsonObject mappingRules) {
     cache.put(key, CompletableFuture.completedFuture(Optional.of(mappingRules)));
+    titleExtractors.remove(key);
+  }
+
+  private record CompiledTitleExtractor(JsonObject mappingRules, RecordTitleExtractor extractor) {
   }
 }
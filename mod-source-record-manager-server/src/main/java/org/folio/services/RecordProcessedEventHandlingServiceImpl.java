@@ -2,21 +2,21 @@ package org.folio.services;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.json.DecodeException;
-import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.folio.DataImportEventPayload;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.jaxrs.model.DataImportEventTypes;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.StatusDto;
 import org.folio.services.progress.JobExecutionProgressService;
-import org.folio.util.DataImportEventPayloadWithoutCurrentNode;
+import org.folio.services.util.RecordProcessedEvent;
+import org.folio.services.util.RecordProcessedEventReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+
 @Service
 public class RecordProcessedEventHandlingServiceImpl implements EventHandlingService {
 
@@ -36,24 +36,26 @@ public class RecordProcessedEventHandlingServiceImpl implements EventHandlingSer
 
   @Override
   public Future<Boolean> handle(String eventContent, OkapiConnectionParams params) {
-    Promise<Boolean> promise = Promise.promise();
-    DataImportEventPayload dataImportEventPayload;
+    RecordProcessedEvent event;
     try {
-      dataImportEventPayload = Json.decodeValue(eventContent, DataImportEventPayloadWithoutCurrentNode.class);
-    } catch (DecodeException e) {
+      event = RecordProcessedEventReader.readEventPayload(eventContent);
+    } catch (IOException e) {
       LOGGER.warn("handle:: Failed to read eventContent {}", eventContent, e);
-      promise.fail(e);
-      return promise.future();
+      return Future.failedFuture(e);
     }
+    return handle(event, params);
+  }
 
-    String jobExecutionId = dataImportEventPayload.getJobExecutionId();
+  @Override
+  public Future<Boolean> handle(RecordProcessedEvent event, OkapiConnectionParams params) {
+    Promise<Boolean> promise = Promise.promise();
+    String jobExecutionId = event.jobExecutionId();
     try {
-      DataImportEventTypes eventType = DataImportEventTypes.valueOf(dataImportEventPayload.getEventType());
+      DataImportEventTypes eventType = DataImportEventTypes.valueOf(event.eventType());
       int successCount = 0;
       int errorCount = 0;
       if (DataImportEventTypes.DI_COMPLETED.equals(eventType)) {
-        JsonArray errors = new JsonArray(dataImportEventPayload.getContext().get(ERRORS_KEY) != null ?
-          dataImportEventPayload.getContext().get(ERRORS_KEY) : EMPTY_ARRAY);
+        JsonArray errors = new JsonArray(event.errors() != null ? event.errors() : EMPTY_ARRAY);
         if (!errors.isEmpty()) {
           errorCount++;
         } else {
@@ -77,7 +79,7 @@ public class RecordProcessedEventHandlingServiceImpl implements EventHandlingSer
           }
         });
     } catch (Exception e) {
-      LOGGER.warn("handle:: Failed to handle event {}", eventContent, e);
+      LOGGER.warn("handle:: Failed to handle event {} for jobExecutionId {}", event.eventType(), jobExecutionId, e);
       updateJobStatusToError(jobExecutionId, params);
       promise.fail(e);
     }
@@ -1,9 +1,15 @@
 package org.folio.services;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.json.EncodeException;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.jackson.DatabindCodec;
+import io.vertx.kafka.client.producer.KafkaHeader;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -26,11 +32,15 @@ import org.springframework.stereotype.Service;
 
 import javax.ws.rs.NotFoundException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_ERROR;
@@ -46,10 +56,15 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
   private static final String JOB_EXECUTION_ID_HEADER = "jobExecutionId";
   private static final AtomicInteger indexer = new AtomicInteger();
   private static final String ERROR_KEY = "ERROR";
+  private static final String CURRENT_NODE_FIELD = "currentNode";
+  private static final Set<String> RECORD_SPECIFIC_HEADERS = Set.of(RECORD_ID_HEADER, JOB_EXECUTION_ID_HEADER, USER_ID_HEADER);
 
   @Value("${srm.kafka.CreatedRecordsKafkaHandler.maxDistributionNum:100}")
   private int maxDistributionNum;
 
+  @Value("${srm.kafka.RecordsPublishingService.maxInFlightSends:100}")
+  private int maxInFlightSends;
+
   private JobExecutionService jobExecutionService;
   private DataImportPayloadContextBuilder payloadContextBuilder;
   private KafkaConfig kafkaConfig;
@@ -67,7 +82,7 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
 
   @Override
   public Future<Boolean> sendEventsWithRecords(List<Record> records, String jobExecutionId, OkapiConnectionParams params, String eventType, Map<String, String> context) {
-    return jobExecutionService.getJobExecutionById(jobExecutionId, params.getTenantId())
+    return jobExecutionService.getCachedJobExecutionById(jobExecutionId, params.getTenantId())
       .compose(jobExecutionOptional -> {
         if (jobExecutionOptional.isPresent()) {
           return sendRecords(records, jobExecutionOptional.get(), params, eventType, context);
@@ -79,50 +94,157 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
 
   private Future<Boolean> sendRecords(List<Record> createdRecords, JobExecution jobExecution, OkapiConnectionParams params, String eventType, Map<String, String> context) {
     LOGGER.debug("sendRecords:: Sending events with records for jobExecutionId: {} and records count: {}", jobExecution.getId(), createdRecords.size());
+    List<Record> failedRecords = Collections.synchronizedList(new ArrayList<>());
+    Function<Record, Future<Boolean>> sendFunction;
+    try {
+      sendFunction = prepareSendFunction(jobExecution, params, eventType, context);
+    } catch (Exception e) {
+      LOGGER.error("sendRecords:: Error preparing events publishing for jobExecutionId: {}", jobExecution.getId(), e);
+      sendFunction = record -> Future.failedFuture(e);
+    }
+
     Promise<Boolean> promise = Promise.promise();
-    List<Future<Boolean>> futures = new ArrayList<>();
-    List<Record> failedRecords = new ArrayList<>();
+    List<Throwable> sendFailures = Collections.synchronizedList(new ArrayList<>());
+    sendPipelined(createdRecords, sendFunction, failedRecords, sendFailures).onComplete(ar -> {
+      if (CollectionUtils.isNotEmpty(failedRecords)) {
+        RecordsPublishingException e = new RecordsPublishingException(String.format("Failed to process %s records", failedRecords.size()), failedRecords);
+        sendFailures.forEach(e::addSuppressed);
+        LOGGER.warn("sendRecords:: Error publishing events with records for jobExecutionId: {}", jobExecution.getId(), e);
+        promise.fail(e);
+        return;
+      }
+      promise.complete(true);
+    });
+    return promise.future();
+  }
+
+  /**
+   * Prepares function that sends event for a single record of the chunk.
+   * Parts of the event that are the same for all records of the chunk (profile snapshot node and common kafka headers)
+   * are prepared once, so the function only builds and serializes record specific parts of the event.
+   *
+   * @return function sending event for the record
+   */
+  private Function<Record, Future<Boolean>> prepareSendFunction(JobExecution jobExecution, OkapiConnectionParams params,
+                                                                String eventType, Map<String, String> context) {
     ProfileSnapshotWrapper profileSnapshotWrapper = DatabindCodec.mapper().convertValue(jobExecution.getJobProfileSnapshotWrapper(), ProfileSnapshotWrapper.class);
+    String currentNode = Json.encode(profileSnapshotWrapper.getChildSnapshotWrappers().getFirst());
+    List<KafkaHeader> commonKafkaHeaders = KafkaHeaderUtils.kafkaHeadersFromMultiMap(params.getHeaders()).stream()
+      .filter(header -> !RECORD_SPECIFIC_HEADERS.contains(header.key()))
+      .toList();
 
-    for (Record record : createdRecords) {
-      String key = String.valueOf(indexer.incrementAndGet() % maxDistributionNum);
-      try {
-        if (record.getRecordType() != null && isParsedContentExists(record)) {
-          LOGGER.debug("sendRecords:: Prepared event payload for recordId: {} and jobExecutionId: {}", record.getId(), jobExecution.getId());
-          DataImportEventPayload payload = prepareEventPayload(record, profileSnapshotWrapper, params, eventType, context);
-          params.getHeaders().set(RECORD_ID_HEADER, record.getId());
-          params.getHeaders().set(JOB_EXECUTION_ID_HEADER, record.getSnapshotId());
-          params.getHeaders().set(USER_ID_HEADER, jobExecution.getUserId());
-          futures.add(sendEventToKafka(params.getTenantId(), Json.encode(payload),
-            eventType, KafkaHeaderUtils.kafkaHeadersFromMultiMap(params.getHeaders()), kafkaConfig, key));
-        } else {
-          String cause = record.getErrorRecord() == null
-            ? format("Cannot send event for individual record with recordType: %s", record.getRecordType())
-            : record.getErrorRecord().getDescription();
-          LOGGER.error("sendRecords:: Error preparing event payload for recordId: {} and jobExecutionId: {}. Cause: {}", record.getId(), jobExecution.getId(), cause);
-          futures.add(sendDiErrorEvent(new RawChunkRecordsParsingException(cause),
-            params, jobExecution.getId(), params.getTenantId(), record));
-        }
-      } catch (Exception e) {
-        LOGGER.error("sendRecords:: Error publishing event with jobExecutionId: {} recordId: {}", jobExecution.getId(), record.getId(), e);
-        record.setErrorRecord(new ErrorRecord().withContent(record.getRawRecord()).withDescription(e.getMessage()));
-        failedRecords.add(record);
+    return record -> {
+      if (record.getRecordType() != null && isParsedContentExists(record)) {
+        LOGGER.debug("sendRecords:: Prepared event payload for recordId: {} and jobExecutionId: {}", record.getId(), jobExecution.getId());
+        DataImportEventPayload payload = prepareEventPayload(record, profileSnapshotWrapper.getId(), params, eventType, context);
+        String key = String.valueOf(indexer.incrementAndGet() % maxDistributionNum);
+        return sendEventToKafka(params.getTenantId(), encodeEventPayload(payload, currentNode), eventType,
+          buildKafkaHeaders(commonKafkaHeaders, record, jobExecution), kafkaConfig, key);
       }
-    }
+      String cause = record.getErrorRecord() == null
+        ? format("Cannot send event for individual record with recordType: %s", record.getRecordType())
+        : record.getErrorRecord().getDescription();
+      LOGGER.error("sendRecords:: Error preparing event payload for recordId: {} and jobExecutionId: {}. Cause: {}", record.getId(), jobExecution.getId(), cause);
+      return sendDiErrorEvent(new RawChunkRecordsParsingException(cause), params, jobExecution.getId(), params.getTenantId(), record);
+    };
+  }
 
-    if (CollectionUtils.isNotEmpty(failedRecords)) {
-      futures.add(Future.failedFuture(new RecordsPublishingException(String.format("Failed to process %s records", failedRecords.size()), failedRecords)));
+  /**
+   * Sends events for the records keeping at most {@code maxInFlightSends} sends in progress.
+   * Records for which the event could not be prepared or sent are added to {@code failedRecords} with error description,
+   * causes of the failed sends are added to {@code sendFailures}.
+   *
+   * @return future completed when all sends are completed
+   */
+  private Future<Void> sendPipelined(List<Record> records, Function<Record, Future<Boolean>> sendFunction,
+                                     List<Record> failedRecords, List<Throwable> sendFailures) {
+    if (records.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    Promise<Void> promise = Promise.promise();
+    AtomicInteger nextIndex = new AtomicInteger();
+    AtomicInteger completedSends = new AtomicInteger();
+    int initialSends = Math.min(Math.max(maxInFlightSends, 1), records.size());
+    for (int i = 0; i < initialSends; i++) {
+      sendNext(records, sendFunction, failedRecords, sendFailures, nextIndex, completedSends, promise);
     }
+    return promise.future();
+  }
 
-    Future.join(futures).onComplete(ar -> {
-      if (ar.failed()) {
-        LOGGER.warn("sendRecords:: Error publishing events with records for jobExecutionId: {}", jobExecution.getId(), ar.cause());
-        promise.fail(ar.cause());
+  /**
+   * Sends events for the next records until a send is still in progress. Sends that are already completed are handled
+   * in the loop, so the stack does not grow with the number of records sent without waiting.
+   */
+  private void sendNext(List<Record> records, Function<Record, Future<Boolean>> sendFunction, List<Record> failedRecords,
+                        List<Throwable> sendFailures, AtomicInteger nextIndex, AtomicInteger completedSends,
+                        Promise<Void> promise) {
+    int index;
+    while ((index = nextIndex.getAndIncrement()) < records.size()) {
+      Record record = records.get(index);
+      Future<Boolean> sendFuture = send(record, sendFunction, failedRecords);
+      if (!sendFuture.isComplete()) {
+        sendFuture.onComplete(ar -> {
+          completeSend(record, ar.cause(), records.size(), failedRecords, sendFailures, completedSends, promise);
+          sendNext(records, sendFunction, failedRecords, sendFailures, nextIndex, completedSends, promise);
+        });
         return;
       }
-      promise.complete(true);
-    });
-    return promise.future();
+      completeSend(record, sendFuture.cause(), records.size(), failedRecords, sendFailures, completedSends, promise);
+    }
+  }
+
+  private Future<Boolean> send(Record record, Function<Record, Future<Boolean>> sendFunction, List<Record> failedRecords) {
+    try {
+      return sendFunction.apply(record);
+    } catch (Exception e) {
+      LOGGER.error("sendRecords:: Error publishing event with jobExecutionId: {} recordId: {}", record.getSnapshotId(), record.getId(), e);
+      record.setErrorRecord(new ErrorRecord().withContent(record.getRawRecord()).withDescription(e.getMessage()));
+      failedRecords.add(record);
+      return Future.succeededFuture(false);
+    }
+  }
+
+  private void completeSend(Record record, Throwable sendFailure, int recordsNumber, List<Record> failedRecords,
+                            List<Throwable> sendFailures, AtomicInteger completedSends, Promise<Void> promise) {
+    if (sendFailure != null) {
+      LOGGER.error("sendRecords:: Error sending event with jobExecutionId: {} recordId: {}", record.getSnapshotId(), record.getId(), sendFailure);
+      record.setErrorRecord(new ErrorRecord().withContent(record.getRawRecord()).withDescription(sendFailure.getMessage()));
+      failedRecords.add(record);
+      sendFailures.add(sendFailure);
+    }
+    if (completedSends.incrementAndGet() == recordsNumber) {
+      promise.complete();
+    }
+  }
+
+  /**
+   * Serializes event payload with already serialized profile snapshot node in a single pass.
+   *
+   * @param payload     event payload without current node
+   * @param currentNode serialized current node
+   * @return serialized event payload
+   */
+  private String encodeEventPayload(DataImportEventPayload payload, String currentNode) {
+    try {
+      return DatabindCodec.mapper().writeValueAsString(new EncodedCurrentNodePayload(payload, currentNode));
+    } catch (JsonProcessingException e) {
+      throw new EncodeException("Failed to encode event payload: " + e.getMessage());
+    }
+  }
+
+  private List<KafkaHeader> buildKafkaHeaders(List<KafkaHeader> commonKafkaHeaders, Record record, JobExecution jobExecution) {
+    List<KafkaHeader> kafkaHeaders = new ArrayList<>(commonKafkaHeaders.size() + RECORD_SPECIFIC_HEADERS.size());
+    kafkaHeaders.addAll(commonKafkaHeaders);
+    addKafkaHeader(kafkaHeaders, RECORD_ID_HEADER, record.getId());
+    addKafkaHeader(kafkaHeaders, JOB_EXECUTION_ID_HEADER, record.getSnapshotId());
+    addKafkaHeader(kafkaHeaders, USER_ID_HEADER, jobExecution.getUserId());
+    return kafkaHeaders;
+  }
+
+  private void addKafkaHeader(List<KafkaHeader> kafkaHeaders, String key, String value) {
+    if (value != null) {
+      kafkaHeaders.add(KafkaHeader.header(key, value));
+    }
   }
 
   /**
@@ -140,22 +262,21 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
   }
 
   /**
-   * Prepares eventPayload with record and profileSnapshotWrapper
+   * Prepares eventPayload with record
    *
-   * @param record                 record to send
-   * @param profileSnapshotWrapper profileSnapshotWrapper to send
-   * @param params                 connection parameters
-   * @return dataImportEventPayload
+   * @param record            record to send
+   * @param profileSnapshotId id of the profileSnapshotWrapper
+   * @param params            connection parameters
+   * @return dataImportEventPayload without current node
    */
-  private DataImportEventPayload prepareEventPayload(Record record, ProfileSnapshotWrapper profileSnapshotWrapper,
+  private DataImportEventPayload prepareEventPayload(Record record, String profileSnapshotId,
                                                      OkapiConnectionParams params, String eventType, Map<String, String> contextParams) {
-    HashMap<String, String> context = payloadContextBuilder.buildFrom(record, profileSnapshotWrapper.getId());
+    HashMap<String, String> context = payloadContextBuilder.buildFrom(record, profileSnapshotId);
     Optional.ofNullable(contextParams)
       .ifPresent(context::putAll);
 
     return new DataImportEventPayload()
       .withEventType(eventType)
-      .withCurrentNode(profileSnapshotWrapper.getChildSnapshotWrappers().getFirst())
       .withJobExecutionId(record.getSnapshotId())
       .withContext(context)
       .withOkapiUrl(params.getOkapiUrl())
@@ -166,21 +287,25 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
   public Future<Boolean> sendDiErrorEvent(Throwable throwable, OkapiConnectionParams okapiParams, String jobExecutionId,
                                           String tenantId, Record currentRecord) {
     LOGGER.debug("sendDiErrorEvent:: Sending DI_ERROR event for jobExecutionId: {} and recordId: {}", jobExecutionId, currentRecord.getId(), throwable);
-      okapiParams.getHeaders().set(RECORD_ID_HEADER, currentRecord.getId());
+      List<KafkaHeader> kafkaHeaders = KafkaHeaderUtils.kafkaHeadersFromMultiMap(okapiParams.getHeaders()).stream()
+        .filter(header -> !RECORD_ID_HEADER.equals(header.key()))
+        .collect(Collectors.toCollection(ArrayList::new));
+      addKafkaHeader(kafkaHeaders, RECORD_ID_HEADER, currentRecord.getId());
       for (DiErrorPayloadBuilder payloadBuilder: errorPayloadBuilders) {
         if (payloadBuilder.isEligible(currentRecord.getRecordType())) {
           LOGGER.info("sendDiErrorEvent:: Start building DI_ERROR payload for jobExecutionId {} and recordId {}", jobExecutionId, currentRecord.getId());
           return payloadBuilder.buildEventPayload(throwable, okapiParams, jobExecutionId, currentRecord)
             .compose(payload -> EventHandlingUtil.sendEventToKafka(tenantId, Json.encode(payload), DI_ERROR.value(),
-              KafkaHeaderUtils.kafkaHeadersFromMultiMap(okapiParams.getHeaders()), kafkaConfig, null));
+              kafkaHeaders, kafkaConfig, null));
         }
       }
       LOGGER.warn("sendDiErrorEvent:: Appropriate DI_ERROR payload builder not found, DI_ERROR without records info will be send for jobExecutionId: {} recordId: {}", jobExecutionId, currentRecord.getId());
-      sendDiError(throwable, jobExecutionId, okapiParams, currentRecord);
+      sendDiError(throwable, jobExecutionId, okapiParams, currentRecord, kafkaHeaders);
       return Future.succeededFuture(true);
   }
 
-  private void sendDiError(Throwable throwable, String jobExecutionId, OkapiConnectionParams okapiParams, Record record) {
+  private void sendDiError(Throwable throwable, String jobExecutionId, OkapiConnectionParams okapiParams, Record record,
+                           List<KafkaHeader> kafkaHeaders) {
     HashMap<String, String> context = new HashMap<>();
     context.put(ERROR_KEY, throwable.getMessage());
     if (record != null) {
@@ -198,6 +323,30 @@ import static org.folio.services.util.EventHandlingUtil.sendEventToKafka;
       .withToken(okapiParams.getToken())
       .withContext(context);
     EventHandlingUtil.sendEventToKafka(okapiParams.getTenantId(), Json.encode(payload), DI_ERROR.value(),
-      KafkaHeaderUtils.kafkaHeadersFromMultiMap(okapiParams.getHeaders()), kafkaConfig, null);
+      kafkaHeaders, kafkaConfig, null);
+  }
+
+  /**
+   * Event payload serialized with the properties of the wrapped payload and already serialized current node
+   */
+  private static final class EncodedCurrentNodePayload {
+    private final DataImportEventPayload payload;
+    private final String currentNode;
+
+    private EncodedCurrentNodePayload(DataImportEventPayload payload, String currentNode) {
+      this.payload = payload;
+      this.currentNode = currentNode;
+    }
+
+    @JsonUnwrapped
+    public DataImportEventPayload getPayload() {
+      return payload;
+    }
+
+    @JsonRawValue
+    @JsonProperty(CURRENT_NODE_FIELD)
+    public String getCurrentNode() {
+      return currentNode;
+    }
   }
 }
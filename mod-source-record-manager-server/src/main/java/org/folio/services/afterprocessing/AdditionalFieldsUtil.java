@@ -402,7 +402,7 @@ public final class AdditionalFieldsUtil {
     return result;
   }
 
-  private static void addDataFieldInNumericalOrder(DataField field, org.marc4j.marc.Record marcRecord) {
+  static void addDataFieldInNumericalOrder(DataField field, org.marc4j.marc.Record marcRecord) {
     String tag = field.getTag();
     List<DataField> dataFields = marcRecord.getDataFields();
     for (int i = 0; i < dataFields.size(); i++) {
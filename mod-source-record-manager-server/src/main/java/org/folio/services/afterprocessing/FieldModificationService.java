@@ -16,4 +16,14 @@ public interface FieldModificationService {
    */
   Future<List<Record>> remove9Subfields(String jobExecutionId, List<Record> folioRecords, OkapiConnectionParams okapiParams);
 
+  /**
+   * Remove $9 subfields from controllable fields of parsed records that have not been serialized yet
+   *
+   * @param jobExecutionId - Job execution id
+   * @param parsedRecords - list of parsed MARC records
+   * @param okapiParams - Okapi connection params
+   */
+  Future<List<ParsedRecordHolder>> remove9SubfieldsFromParsedRecords(String jobExecutionId, List<ParsedRecordHolder> parsedRecords,
+                                                                      OkapiConnectionParams okapiParams);
+
 }
@@ -27,23 +27,40 @@ public class FieldModificationServiceImpl implements FieldModificationService {
   @Override
   public Future<List<Record>> remove9Subfields(String jobExecutionId, List<Record> folioRecords, OkapiConnectionParams okapiParams) {
     log.trace("remove9Subfields:: called for job {}", jobExecutionId);
+    return getLinkableFields(jobExecutionId, okapiParams).map(linkableFields -> {
+      folioRecords.stream()
+        .filter(folioRecord -> Record.RecordType.MARC_BIB.equals(folioRecord.getRecordType()))
+        .forEach(folioRecord -> modifyDataFieldsForMarcRecord(folioRecord, linkableFields, this::removeSubfields));
+
+      return folioRecords;
+    });
+  }
+
+  @Override
+  public Future<List<ParsedRecordHolder>> remove9SubfieldsFromParsedRecords(String jobExecutionId, List<ParsedRecordHolder> parsedRecords,
+                                                                             OkapiConnectionParams okapiParams) {
+    log.trace("remove9SubfieldsFromParsedRecords:: called for job {}", jobExecutionId);
+    return getLinkableFields(jobExecutionId, okapiParams).map(linkableFields -> {
+      parsedRecords.stream()
+        .filter(parsedRecord -> Record.RecordType.MARC_BIB.equals(parsedRecord.getRecord().getRecordType()))
+        .forEach(parsedRecord -> parsedRecord.modifyDataFields(linkableFields, this::removeSubfields));
+
+      return parsedRecords;
+    });
+  }
+
+  private Future<List<String>> getLinkableFields(String jobExecutionId, OkapiConnectionParams okapiParams) {
     return mappingParametersProvider.get(jobExecutionId, okapiParams).map(mappingParameters -> {
       if (mappingParameters.getLinkingRules() == null || mappingParameters.getLinkingRules().isEmpty()) {
         log.warn("Linking rules can't be 'null' for $9 removal.");
         throw new IllegalStateException("Can't remove $9 subfields without linking rules.");
       }
 
-      log.trace("remove9Subfields:: mappingParameters retrieved for job {} with linkingRules count {}", jobExecutionId,
+      log.trace("getLinkableFields:: mappingParameters retrieved for job {} with linkingRules count {}", jobExecutionId,
         mappingParameters.getLinkingRules().size());
-      var linkableFields = mappingParameters.getLinkingRules().stream()
+      return mappingParameters.getLinkingRules().stream()
         .map(LinkingRuleDto::getBibField)
         .toList();
-
-      folioRecords.stream()
-        .filter(folioRecord -> Record.RecordType.MARC_BIB.equals(folioRecord.getRecordType()))
-        .forEach(folioRecord -> modifyDataFieldsForMarcRecord(folioRecord, linkableFields, this::removeSubfields));
-
-      return folioRecords;
     });
   }
 
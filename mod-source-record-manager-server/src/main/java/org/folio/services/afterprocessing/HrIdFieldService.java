@@ -13,4 +13,11 @@ public interface HrIdFieldService {
    */
   void move001valueTo035Field(List<Record> records);
 
+  /**
+   * Method move 001 field to 035 using parsed content kept in memory
+   *
+   * @param parsedRecord - parsed MARC record
+   */
+  void move001valueTo035Field(ParsedRecordHolder parsedRecord);
+
 }
@@ -30,6 +30,15 @@ public class HrIdFieldServiceImpl implements HrIdFieldService {
     });
   }
 
+  @Override
+  public void move001valueTo035Field(ParsedRecordHolder parsedRecord) {
+    String valueFrom001 = parsedRecord.getControlFieldValue(TAG_001);
+    String valueFor035 = mergeFieldsFor035(parsedRecord.getControlFieldValue(TAG_003), valueFrom001);
+    if (valueFrom001 != null && !parsedRecord.isFieldExist(TAG_035, SUBFIELD_FOR_035, valueFor035)) {
+      parsedRecord.addDataField(TAG_035, INDICATOR_FOR_035, INDICATOR_FOR_035, SUBFIELD_FOR_035, valueFor035);
+    }
+  }
+
   private String mergeFieldsFor035(String valueFrom003, String valueFrom001) {
     if (isBlank(valueFrom003)) {
       return valueFrom001;
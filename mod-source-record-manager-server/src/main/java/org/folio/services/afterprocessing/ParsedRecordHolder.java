@@ -0,0 +1,283 @@
+package org.folio.services.afterprocessing;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.INDICATOR;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.TAG_999;
+
+import io.vertx.core.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.services.util.ParsedRecordUtil;
+import org.marc4j.MarcJsonReader;
+import org.marc4j.MarcJsonWriter;
+import org.marc4j.MarcStreamWriter;
+import org.marc4j.MarcWriter;
+import org.marc4j.marc.ControlField;
+import org.marc4j.marc.DataField;
+import org.marc4j.marc.MarcFactory;
+import org.marc4j.marc.Subfield;
+import org.marc4j.marc.VariableField;
+
+/**
+ * In-memory representation of the parsed record shared by the chunk processing steps.
+ * Keeps the parsed content json of the {@link Record} so that lookups do not require re-parsing of the content string.
+ * The marc4j record is built from the content at most once and only when the content has to be modified,
+ * lookups are served by the marc4j record since then.
+ * The serialized content of the current state is kept until the next modification, so the content is serialized
+ * once per state, whether it is requested by {@link #getEncodedContent()} or set to
+ * {@link org.folio.rest.jaxrs.model.ParsedRecord#getContent()} by {@link #complete()}.
+ */
+public final class ParsedRecordHolder {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+  private static final MarcFactory MARC_FACTORY = MarcFactory.newInstance();
+
+  private final Record record;
+  private final JsonObject content;
+  private org.marc4j.marc.Record marcRecord;
+  private String encodedContent;
+  private String sourceOrderContent;
+  private boolean modified;
+
+  /**
+   * @param record  record to which the parsed content belongs
+   * @param content parsed content json, null if record has not been parsed successfully
+   */
+  public ParsedRecordHolder(Record record, JsonObject content) {
+    this.record = record;
+    this.content = content;
+  }
+
+  public Record getRecord() {
+    return record;
+  }
+
+  public JsonObject getContent() {
+    return content;
+  }
+
+  /**
+   * Extracts data of the control field
+   *
+   * @param tag tag of the control field
+   * @return value of the control field or null
+   */
+  public String getControlFieldValue(String tag) {
+    if (marcRecord == null) {
+      return ParsedRecordUtil.getControlFieldValue(content, tag);
+    }
+    return marcRecord.getControlFields().stream()
+      .filter(controlField -> controlField.getTag().equals(tag))
+      .findFirst()
+      .map(ControlField::getData)
+      .orElse(null);
+  }
+
+  /**
+   * Extracts value of the subfield from the data field
+   *
+   * @param tag      tag of the data field
+   * @param subfield subfield code
+   * @return value of the subfield or null
+   */
+  public String getValue(String tag, char subfield) {
+    if (marcRecord == null) {
+      return ParsedRecordUtil.getSubfieldValue(content, tag, String.valueOf(subfield));
+    }
+    return marcRecord.getDataFields().stream()
+      .filter(dataField -> dataField.getTag().equals(tag))
+      .map(dataField -> dataField.getSubfield(subfield))
+      .filter(Objects::nonNull)
+      .findFirst()
+      .map(Subfield::getData)
+      .orElse(null);
+  }
+
+  /**
+   * Checks whether 999ff field contains specified subfield
+   *
+   * @param subfield subfield code
+   * @return true if 999ff field contains the subfield
+   */
+  public boolean hasIndicator(char subfield) {
+    if (marcRecord == null) {
+      return ParsedRecordUtil.hasSubfieldInFieldWithIndicators(content, TAG_999, INDICATOR, INDICATOR, String.valueOf(subfield));
+    }
+    DataField dataField = get999ffField(marcRecord);
+    return dataField != null && dataField.getSubfield(subfield) != null;
+  }
+
+  /**
+   * Checks whether the record contains the field with specified value
+   *
+   * @param tag      tag of the field
+   * @param subfield subfield code to check if the field is a data field
+   * @param value    value to look for
+   * @return true if such field exists
+   */
+  public boolean isFieldExist(String tag, char subfield, String value) {
+    if (marcRecord == null) {
+      return ParsedRecordUtil.hasFieldWithValue(content, tag, String.valueOf(subfield), value.trim());
+    }
+    for (VariableField field : marcRecord.getVariableFields(tag)) {
+      if (field instanceof DataField dataField) {
+        for (Subfield sub : dataField.getSubfields(subfield)) {
+          if (isNotEmpty(sub.getData()) && sub.getData().equals(value.trim())) {
+            return true;
+          }
+        }
+      } else if (field instanceof ControlField controlField
+        && isNotEmpty(controlField.getData()) && controlField.getData().equals(value.trim())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sets the subfield of 999ff field, adds the field if it does not exist.
+   * The order of the fields of the record before this modification is preserved when the content is serialized.
+   *
+   * @param subfield subfield code
+   * @param value    value of the subfield
+   * @return true if succeeded, false otherwise
+   */
+  public boolean add999ffSubfield(char subfield, String value) {
+    String latestContent = content != null && record.getParsedRecord() != null ? getEncodedContent() : null;
+    return modify(modifiedRecord -> {
+      DataField dataField = get999ffField(modifiedRecord);
+      if (dataField != null) {
+        modifiedRecord.removeVariableField(dataField);
+        dataField.removeSubfield(dataField.getSubfield(subfield));
+      } else {
+        dataField = MARC_FACTORY.newDataField(TAG_999, INDICATOR, INDICATOR);
+      }
+      dataField.addSubfield(MARC_FACTORY.newSubfield(subfield, value));
+      modifiedRecord.addVariableField(dataField);
+      sourceOrderContent = latestContent;
+    });
+  }
+
+  /**
+   * Adds new data field after the data fields with lower tags
+   *
+   * @param tag      tag of the data field
+   * @param ind1     first indicator
+   * @param ind2     second indicator
+   * @param subfield subfield code
+   * @param value    value of the subfield
+   * @return true if succeeded, false otherwise
+   */
+  public boolean addDataField(String tag, char ind1, char ind2, char subfield, String value) {
+    return modify(modifiedRecord -> {
+      DataField dataField = MARC_FACTORY.newDataField(tag, ind1, ind2);
+      dataField.addSubfield(MARC_FACTORY.newSubfield(subfield, value));
+      AdditionalFieldsUtil.addDataFieldInNumericalOrder(dataField, modifiedRecord);
+    });
+  }
+
+  /**
+   * Modifies data fields with specified tags
+   *
+   * @param tags         list of data field tags
+   * @param modification action to apply to each of desired data fields
+   * @return true if succeeded, false otherwise
+   */
+  public boolean modifyDataFields(List<String> tags, Consumer<DataField> modification) {
+    return modify(modifiedRecord -> modifiedRecord.getDataFields().stream()
+      .filter(dataField -> tags.contains(dataField.getTag()))
+      .forEach(modification));
+  }
+
+  /**
+   * Returns serialized parsed content of the current state of the record
+   *
+   * @return serialized parsed content, null if record has not been parsed successfully
+   */
+  public String getEncodedContent() {
+    if (content == null) {
+      return null;
+    }
+    if (encodedContent == null) {
+      encodedContent = encodeContent();
+    }
+    return encodedContent;
+  }
+
+  /**
+   * Sets serialized parsed content to the record if the record still has parsed record
+   * and the content has not been set yet or has been modified since the last completion.
+   * Should be called after the last modification of the record.
+   *
+   * @return record with parsed content
+   */
+  public Record complete() {
+    if (content != null && record.getParsedRecord() != null
+      && (record.getParsedRecord().getContent() == null || modified)) {
+      record.getParsedRecord().setContent(getEncodedContent());
+      modified = false;
+    }
+    return record;
+  }
+
+  private boolean modify(Consumer<org.marc4j.marc.Record> modification) {
+    if (content == null || record.getParsedRecord() == null) {
+      return false;
+    }
+    try {
+      org.marc4j.marc.Record modifiedRecord = marcRecord != null ? marcRecord : readMarcRecord();
+      if (modifiedRecord == null) {
+        return false;
+      }
+      modification.accept(modifiedRecord);
+      marcRecord = modifiedRecord;
+      encodedContent = null;
+      modified = true;
+      return true;
+    } catch (Exception e) {
+      LOGGER.warn("modify:: Failed to modify parsed content of record {}", record.getId(), e);
+      return false;
+    }
+  }
+
+  private static DataField get999ffField(org.marc4j.marc.Record marcRecord) {
+    return marcRecord.getDataFields().stream()
+      .filter(dataField -> dataField.getTag().equals(TAG_999)
+        && dataField.getIndicator1() == INDICATOR && dataField.getIndicator2() == INDICATOR)
+      .findFirst()
+      .orElse(null);
+  }
+
+  private org.marc4j.marc.Record readMarcRecord() {
+    MarcJsonReader marcJsonReader = new MarcJsonReader(
+      new ByteArrayInputStream(getEncodedContent().getBytes(StandardCharsets.UTF_8)));
+    return marcJsonReader.hasNext() ? marcJsonReader.next() : null;
+  }
+
+  private String encodeContent() {
+    if (marcRecord == null) {
+      return content.encode();
+    }
+    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
+      MarcWriter streamWriter = new MarcStreamWriter(new ByteArrayOutputStream());
+      MarcJsonWriter jsonWriter = new MarcJsonWriter(os);
+      // use stream writer to recalculate leader
+      streamWriter.write(marcRecord);
+      jsonWriter.write(marcRecord);
+      String modifiedContent = new JsonObject(os.toString()).encode();
+      return sourceOrderContent != null
+        ? AdditionalFieldsUtil.reorderMarcRecordFields(sourceOrderContent, modifiedContent)
+        : modifiedContent;
+    } catch (Exception e) {
+      LOGGER.warn("encodeContent:: Failed to write modified content for record {}", record.getId(), e);
+      return content.encode();
+    }
+  }
+}
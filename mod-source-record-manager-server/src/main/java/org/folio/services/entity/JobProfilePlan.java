@@ -0,0 +1,323 @@
+package org.folio.services.entity;
+
+import static java.lang.Boolean.TRUE;
+import static org.folio.rest.jaxrs.model.ProfileType.ACTION_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileType.MAPPING_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileType.MATCH_PROFILE;
+import static org.folio.rest.jaxrs.model.ReactToType.NON_MATCH;
+
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.apache.commons.collections4.CollectionUtils;
+import org.folio.MappingProfile;
+import org.folio.MatchDetail;
+import org.folio.MatchProfile;
+import org.folio.rest.jaxrs.model.ActionProfile;
+import org.folio.rest.jaxrs.model.ActionProfile.Action;
+import org.folio.rest.jaxrs.model.ActionProfile.FolioRecord;
+import org.folio.rest.jaxrs.model.EntityType;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+import org.folio.rest.jaxrs.model.ProfileType;
+import org.folio.rest.jaxrs.model.ReactToType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable result of the job profile snapshot analysis.
+ * <p>
+ * The plan is compiled from the job profile snapshot once, it converts content of the action, match and mapping profiles
+ * to the typed profiles and precomputes the decisions about the job profile that are used during the chunk processing,
+ * so the snapshot tree is not walked and the profiles content is not converted again for every chunk.
+ */
+public final class JobProfilePlan {
+
+  private static final JobProfilePlan EMPTY = new JobProfilePlan(new ProfileNode(null, null, null, null, null, List.of()));
+
+  private final boolean hasChildProfiles;
+  private final boolean updateMarcActionExists;
+  private final boolean updateInstanceActionExists;
+  private final boolean createOrUpdateItemOrHoldingsActionExists;
+  private final boolean createInstanceActionExists;
+  private final boolean createInstanceActionWithoutMarcBibExists;
+  private final boolean createAuthorityActionExists;
+  private final boolean createMarcHoldingsActionExists;
+  private final boolean deleteMarcActionExists;
+  private final boolean createOrderActionExists;
+  private final boolean marcAuthorityMatchProfileExists;
+  private final boolean remove9SubfieldsActionExists;
+  private final boolean matchMarcBibToInstanceWithUpdateMarcBibExists;
+  private final List<ActionProfile> actionProfiles;
+  private final List<MatchProfile> matchProfiles;
+  private final List<MappingProfile> mappingProfiles;
+
+  private JobProfilePlan(ProfileNode root) {
+    hasChildProfiles = !root.children().isEmpty();
+    updateMarcActionExists = containsActionProfile(root,
+      List.of(FolioRecord.MARC_BIBLIOGRAPHIC, FolioRecord.MARC_AUTHORITY, FolioRecord.MARC_HOLDINGS), Action.UPDATE);
+    updateInstanceActionExists = containsActionProfile(root, List.of(FolioRecord.INSTANCE), Action.UPDATE);
+    createInstanceActionExists = containsActionProfile(root, List.of(FolioRecord.INSTANCE), Action.CREATE);
+    var itemAndHoldingsList = List.of(FolioRecord.ITEM, FolioRecord.HOLDINGS);
+    createOrUpdateItemOrHoldingsActionExists = containsActionProfile(root, itemAndHoldingsList, Action.CREATE)
+      || containsActionProfile(root, itemAndHoldingsList, Action.UPDATE);
+    createInstanceActionWithoutMarcBibExists = containsCreateInstanceActionWithoutMarcBib(root);
+    createAuthorityActionExists = containsActionProfile(root, List.of(FolioRecord.AUTHORITY), Action.CREATE);
+    createMarcHoldingsActionExists = containsCreateActionProfileWithMarcHoldings(root);
+    deleteMarcActionExists = containsActionProfile(root, List.of(FolioRecord.MARC_AUTHORITY), Action.DELETE);
+    createOrderActionExists = root.children().stream()
+      .anyMatch(child -> child.type() == ACTION_PROFILE
+        && actionProfileMatches(child.actionProfile(), List.of(FolioRecord.ORDER), Action.CREATE));
+    marcAuthorityMatchProfileExists = containsMarcAuthorityMatchProfile(root);
+    remove9SubfieldsActionExists = containsRemove9SubfieldsActionProfile(root);
+    matchMarcBibToInstanceWithUpdateMarcBibExists = !root.children().isEmpty()
+      && isExistsMatchProfileToInstanceWithActionUpdateMarcBib(root.children());
+
+    List<ActionProfile> actions = new ArrayList<>();
+    List<MatchProfile> matches = new ArrayList<>();
+    List<MappingProfile> mappings = new ArrayList<>();
+    collectProfiles(root, actions, matches, mappings);
+    actionProfiles = Collections.unmodifiableList(actions);
+    matchProfiles = Collections.unmodifiableList(matches);
+    mappingProfiles = Collections.unmodifiableList(mappings);
+  }
+
+  /**
+   * Compiles plan of the specified job profile snapshot
+   *
+   * @param jobProfileSnapshot job profile snapshot, may be {@code null}
+   * @return job profile plan, empty plan if the snapshot is {@code null}
+   */
+  public static JobProfilePlan compile(ProfileSnapshotWrapper jobProfileSnapshot) {
+    return jobProfileSnapshot == null ? EMPTY : new JobProfilePlan(compileNode(jobProfileSnapshot, null));
+  }
+
+  public boolean hasChildProfiles() {
+    return hasChildProfiles;
+  }
+
+  public boolean isUpdateMarcActionExists() {
+    return updateMarcActionExists;
+  }
+
+  public boolean isUpdateInstanceActionExists() {
+    return updateInstanceActionExists;
+  }
+
+  /**
+   * Returns {@code true} if the job profile contains create or update action for item or holdings
+   * and does not contain create instance action
+   */
+  public boolean isCreateOrUpdateItemOrHoldingsWithoutCreateInstanceActionExists() {
+    return createOrUpdateItemOrHoldingsActionExists && !createInstanceActionExists;
+  }
+
+  /**
+   * Returns {@code true} if the job profile contains create instance action that is not performed on non-match
+   * and does not use mapping profile for MARC bibliographic record
+   */
+  public boolean isCreateInstanceActionExists() {
+    return createInstanceActionWithoutMarcBibExists;
+  }
+
+  public boolean isCreateAuthorityActionExists() {
+    return createAuthorityActionExists;
+  }
+
+  public boolean isCreateMarcHoldingsActionExists() {
+    return createMarcHoldingsActionExists;
+  }
+
+  public boolean isDeleteMarcActionExists() {
+    return deleteMarcActionExists;
+  }
+
+  public boolean isCreateOrderActionExists() {
+    return createOrderActionExists;
+  }
+
+  public boolean isMarcAuthorityMatchProfileExists() {
+    return marcAuthorityMatchProfileExists;
+  }
+
+  public boolean isRemove9SubfieldsActionExists() {
+    return remove9SubfieldsActionExists;
+  }
+
+  /**
+   * Returns {@code true} if the job profile contains match of MARC bibliographic record to instance
+   * with action that updates MARC bibliographic record, such job profiles are not supported
+   */
+  public boolean isMatchMarcBibToInstanceWithUpdateMarcBibExists() {
+    return matchMarcBibToInstanceWithUpdateMarcBibExists;
+  }
+
+  public List<ActionProfile> getActionProfiles() {
+    return actionProfiles;
+  }
+
+  public List<MatchProfile> getMatchProfiles() {
+    return matchProfiles;
+  }
+
+  public List<MappingProfile> getMappingProfiles() {
+    return mappingProfiles;
+  }
+
+  private static ProfileNode compileNode(ProfileSnapshotWrapper wrapper, ProfileType parentType) {
+    ProfileType type = wrapper.getContentType();
+    Object content = wrapper.getContent();
+    ActionProfile actionProfile = type == ACTION_PROFILE ? convertContent(content, ActionProfile.class) : null;
+    MatchProfile matchProfile = type == MATCH_PROFILE ? convertContent(content, MatchProfile.class) : null;
+    MappingProfile mappingProfile = type == MAPPING_PROFILE || parentType == ACTION_PROFILE
+      ? convertContent(content, MappingProfile.class) : null;
+
+    List<ProfileNode> children = CollectionUtils.isEmpty(wrapper.getChildSnapshotWrappers())
+      ? List.of()
+      : wrapper.getChildSnapshotWrappers().stream()
+      .filter(Objects::nonNull)
+      .map(child -> compileNode(child, type))
+      .toList();
+    return new ProfileNode(type, wrapper.getReactTo(), actionProfile, matchProfile, mappingProfile, children);
+  }
+
+  private static <T> T convertContent(Object content, Class<T> profileClass) {
+    if (content == null) {
+      return null;
+    }
+    return profileClass.isInstance(content) ? profileClass.cast(content) : DatabindCodec.mapper().convertValue(content, profileClass);
+  }
+
+  private static boolean actionProfileMatches(ActionProfile actionProfile, List<FolioRecord> records, Action action) {
+    return actionProfile != null && records.contains(actionProfile.getFolioRecord()) && actionProfile.getAction() == action;
+  }
+
+  private static boolean containsActionProfile(ProfileNode node, List<FolioRecord> records, Action action) {
+    for (ProfileNode child : node.children()) {
+      if (child.type() == ACTION_PROFILE && actionProfileMatches(child.actionProfile(), records, action)) {
+        return true;
+      } else if (containsActionProfile(child, records, action)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsCreateInstanceActionWithoutMarcBib(ProfileNode node) {
+    for (ProfileNode child : node.children()) {
+      if (child.type() == ACTION_PROFILE && actionProfileMatches(child.actionProfile(), List.of(FolioRecord.INSTANCE), Action.CREATE)) {
+        return child.reactTo() != NON_MATCH && child.children().stream()
+          .noneMatch(mapping -> mapping.mappingProfile() != null
+            && mapping.mappingProfile().getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC);
+      } else if (containsCreateInstanceActionWithoutMarcBib(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsCreateActionProfileWithMarcHoldings(ProfileNode node) {
+    for (ProfileNode child : node.children()) {
+      if (child.type() == ACTION_PROFILE
+        && actionProfileMatches(child.actionProfile(), List.of(FolioRecord.HOLDINGS), Action.CREATE)
+        && isMarcHoldingsMappingExists(child)) {
+        return true;
+      } else if (containsCreateActionProfileWithMarcHoldings(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isMarcHoldingsMappingExists(ProfileNode actionNode) {
+    if (actionNode.children().isEmpty()) {
+      return false;
+    }
+    MappingProfile mappingProfile = actionNode.children().getFirst().mappingProfile();
+    return mappingProfile != null && mappingProfile.getExistingRecordType() == EntityType.HOLDINGS
+      && mappingProfile.getIncomingRecordType() == EntityType.MARC_HOLDINGS;
+  }
+
+  private static boolean containsMarcAuthorityMatchProfile(ProfileNode node) {
+    for (ProfileNode child : node.children()) {
+      if (child.type() == MATCH_PROFILE && child.matchProfile() != null
+        && child.matchProfile().getExistingRecordType() == EntityType.MARC_AUTHORITY
+        && child.matchProfile().getIncomingRecordType() == EntityType.MARC_AUTHORITY) {
+        return true;
+      } else if (containsMarcAuthorityMatchProfile(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean containsRemove9SubfieldsActionProfile(ProfileNode node) {
+    for (ProfileNode child : node.children()) {
+      if (child.type() == ACTION_PROFILE && child.actionProfile() != null
+        && TRUE.equals(child.actionProfile().getRemove9Subfields())) {
+        return true;
+      } else if (containsRemove9SubfieldsActionProfile(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  //Disabled SONAR check "Loops with at most one iteration should be refactored" for recursive code
+  private static boolean isExistsMatchProfileToInstanceWithActionUpdateMarcBib(List<ProfileNode> nodes) { //NOSONAR
+    for (ProfileNode node : nodes) {
+      if (node.type() == MATCH_PROFILE && isMatchingMarcBibToInstanceRelation(node.matchProfile())) {
+        ProfileNode actionNode = getChildByType(node, ACTION_PROFILE);
+        if (actionNode != null) {
+          ProfileNode mappingNode = getChildByType(actionNode, MAPPING_PROFILE);
+          if (mappingNode != null && isMappingMarcBibToMarcBibRelation(mappingNode.mappingProfile())) {
+            return true;
+          }
+        }
+      }
+      if (!node.children().isEmpty()) {
+        return isExistsMatchProfileToInstanceWithActionUpdateMarcBib(node.children());
+      }
+    }
+    return false;
+  }
+
+  private static ProfileNode getChildByType(ProfileNode node, ProfileType type) {
+    return node.children().stream()
+      .filter(child -> child.type() == type)
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static boolean isMatchingMarcBibToInstanceRelation(MatchProfile matchProfile) {
+    if (matchProfile == null || CollectionUtils.isEmpty(matchProfile.getMatchDetails())) {
+      return false;
+    }
+    MatchDetail matchDetail = matchProfile.getMatchDetails().getFirst();
+    return matchDetail.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
+      && matchDetail.getExistingRecordType() == EntityType.INSTANCE;
+  }
+
+  private static boolean isMappingMarcBibToMarcBibRelation(MappingProfile mappingProfile) {
+    return mappingProfile != null && mappingProfile.getIncomingRecordType() == EntityType.MARC_BIBLIOGRAPHIC
+      && mappingProfile.getExistingRecordType() == EntityType.MARC_BIBLIOGRAPHIC;
+  }
+
+  private static void collectProfiles(ProfileNode node, List<ActionProfile> actions, List<MatchProfile> matches,
+                                      List<MappingProfile> mappings) {
+    if (node.actionProfile() != null) {
+      actions.add(node.actionProfile());
+    }
+    if (node.matchProfile() != null) {
+      matches.add(node.matchProfile());
+    }
+    if (node.mappingProfile() != null) {
+      mappings.add(node.mappingProfile());
+    }
+    node.children().forEach(child -> collectProfiles(child, actions, matches, mappings));
+  }
+
+  private record ProfileNode(ProfileType type, ReactToType reactTo, ActionProfile actionProfile,
+                             MatchProfile matchProfile, MappingProfile mappingProfile, List<ProfileNode> children) {
+  }
+}
@@ -0,0 +1,114 @@
+package org.folio.services.entity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+import io.vertx.core.json.Json;
+
+import org.folio.rest.jaxrs.model.MappingMetadataDto;
+
+/**
+ * Mapping metadata response body, encoded once and shared by all requests of the same jobExecution.
+ * The body is identified by a strong entity tag calculated from its content, the gzip compressed body
+ * is identified by a different strong entity tag, since strong validators must differ between content codings.
+ */
+public final class SerializedMappingMetadata {
+
+  private static final String WEAK_ETAG_PREFIX = "W/";
+  private static final String ANY_ETAG = "*";
+  private static final String GZIP_ETAG_SUFFIX = "-gzip";
+
+  private final byte[] body;
+  private final String etag;
+  private final String gzipETag;
+  private volatile byte[] gzippedBody;
+
+  private SerializedMappingMetadata(byte[] body) {
+    this.body = body;
+    String digest = calculateDigest(body);
+    this.etag = "\"" + digest + "\"";
+    this.gzipETag = "\"" + digest + GZIP_ETAG_SUFFIX + "\"";
+  }
+
+  public static SerializedMappingMetadata of(MappingMetadataDto mappingMetadataDto) {
+    return new SerializedMappingMetadata(Json.encodeToBuffer(mappingMetadataDto).getBytes());
+  }
+
+  /**
+   * Returns json body, the returned array must not be modified
+   *
+   * @return json body
+   */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * Returns gzip compressed json body, body is compressed on the first call, the returned array must not be modified
+   *
+   * @return gzip compressed json body
+   */
+  public byte[] getGzippedBody() {
+    byte[] gzipped = gzippedBody;
+    if (gzipped == null) {
+      gzipped = gzip(body);
+      gzippedBody = gzipped;
+    }
+    return gzipped;
+  }
+
+  public String getETag() {
+    return etag;
+  }
+
+  public String getGzipETag() {
+    return gzipETag;
+  }
+
+  /**
+   * Checks whether the value of If-None-Match request header matches the entity tag of this body
+   * or of its gzip compressed variant, both variants have the same content
+   *
+   * @param ifNoneMatch If-None-Match header value
+   * @return true if client already has this body
+   */
+  public boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith(WEAK_ETAG_PREFIX)) {
+        tag = tag.substring(WEAK_ETAG_PREFIX.length());
+      }
+      if (ANY_ETAG.equals(tag) || etag.equals(tag) || gzipETag.equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String calculateDigest(byte[] body) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(body.length / 4, 64));
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+}
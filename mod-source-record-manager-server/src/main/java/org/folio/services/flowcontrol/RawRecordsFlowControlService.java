@@ -1,39 +1,49 @@
 package org.folio.services.flowcontrol;
 
+import io.vertx.core.Future;
+
 /**
  * Service to implement flow control logic to be able to import OCLC files in between imports of huge files.
  * It necessary to not wait for importing 1 record file until other big files in progress.
  * It is suitable for not only OCLC import, but also other import types that can skip DI_RAW_RECORDS_CHUNK_READ stage
  * and pushing messages directly to subsequent topics in the flow.
+ * <p>
+ * Chunks read from DI_RAW_RECORDS_CHUNK_READ topic are admitted to processing per job, so the chunks of a small job
+ * are not waiting until all the records of the big jobs started before it are processed.
  */
 public interface RawRecordsFlowControlService {
 
   /**
-   * Tracks each DI_RAW_RECORDS_CHUNK_READ event, this method can also pause processing
-   * of DI_RAW_RECORDS_CHUNK_READ topic when flow control conditions met.
+   * Tracks each DI_RAW_RECORDS_CHUNK_READ event. The chunk waits for admission until the job has a free share
+   * of in-flight records, this method can also pause processing of DI_RAW_RECORDS_CHUNK_READ topic
+   * when too many chunks are waiting.
    *
-   * @param tenantId     tenant id
-   * @param recordsCount records count in the chunk
+   * @param tenantId       tenant id
+   * @param jobExecutionId job execution id
+   * @param recordsCount   records count in the chunk
+   * @return future completed when the chunk is admitted to processing
    */
-  void trackChunkReceivedEvent(String tenantId, Integer recordsCount);
+  Future<Void> trackChunkReceivedEvent(String tenantId, String jobExecutionId, Integer recordsCount);
 
   /**
    * If chunks duplicate event comes - need to correct flow control internal state
    * to avoid calculation errors.
    *
-   * @param tenantId     tenant id
-   * @param recordsCount records count in the chunk
+   * @param tenantId       tenant id
+   * @param jobExecutionId job execution id
+   * @param recordsCount   records count in the chunk
    */
-  void trackChunkDuplicateEvent(String tenantId, Integer recordsCount);
+  void trackChunkDuplicateEvent(String tenantId, String jobExecutionId, Integer recordsCount);
 
   /**
-   * Tracks each successful DI_COMPLETED, DI_ERROR events, this method can also resume processing
-   * of DI_RAW_RECORDS_CHUNK_PARSED topic when flow control conditions met.
+   * Tracks each successful DI_COMPLETED, DI_ERROR events, this method can also admit the waiting chunks
+   * and resume processing of DI_RAW_RECORDS_CHUNK_READ topic when flow control conditions met.
    *
-   * @param tenantId           tenant id
-   * @param actualCounterValue counter value from DB after complete event
+   * @param tenantId       tenant id
+   * @param jobExecutionId job execution id
+   * @param recordsCount   count of the processed records
    */
-  void trackRecordCompleteEvent(String tenantId, Integer actualCounterValue);
+  void trackRecordCompleteEvent(String tenantId, String jobExecutionId, Integer recordsCount);
 
   /**
    * Triggers fetch of the next DI_RAW_RECORDS_CHUNK_READ events.
@@ -1,8 +1,15 @@
 package org.folio.services.flowcontrol;
 
-import org.apache.commons.lang3.tuple.Pair;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.okapi.common.MetricsUtil;
 import org.folio.verticle.consumers.consumerstorage.KafkaConsumersStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,9 +18,16 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_RAW_RECORDS_CHUNK_READ;
 
@@ -23,11 +37,23 @@ public class RawRecordsFlowControlServiceImpl implements RawRecordsFlowControlSe
   private static final Logger LOGGER = LogManager.getLogger();
 
   private static final Integer instanceId = new Random().nextInt(9);
+  private static final String QUEUE_TIME_METRIC = "srm.flow.control.chunk.queue.time";
+  private static final String EXPIRED_RECORDS_METRIC = "srm.flow.control.expired.records";
+  private static final String TENANT_TAG = "tenant";
 
   @Value("${di.flow.control.max.simultaneous.chunks:2}")
   private Integer maxSimultaneousChunks;
-  @Value("${di.flow.control.records.threshold:25}")
-  private Integer recordsThreshold;
+  @Value("${di.flow.control.max.queued.chunks:10}")
+  private Integer maxQueuedChunks;
+  /**
+   * di.flow.control.records.threshold is the deprecated name of the setting, it is used when the new one is not set.
+   */
+  @Value("${di.flow.control.max.inflight.records:${di.flow.control.records.threshold:100}}")
+  private Integer maxInFlightRecords;
+  @Value("${di.flow.control.records.threshold:#{null}}")
+  private Integer deprecatedRecordsThreshold;
+  @Value("${di.flow.control.credit.timeout.ms:120000}")
+  private long creditTimeoutMs;
   @Value("${di.flow.control.enable:true}")
   private boolean enableFlowControl;
 
@@ -35,84 +61,118 @@ public class RawRecordsFlowControlServiceImpl implements RawRecordsFlowControlSe
   private KafkaConsumersStorage consumersStorage;
 
   /**
-   * Represents the current state of flow control to make decisions when need to make new fetch call.
-   * It is basically counter, that increasing when DI_RAW_RECORDS_CHUNK_READ event comes and decreasing when
-   * DI_COMPLETE, DI_ERROR, duplicated chunks come.
-   *
-   * When current state below di.flow.control.records.threshold - all raw records consumers from consumer's group should fetch.
+   * Jobs by tenant, each job has the number of its records admitted to processing and not completed yet
+   * and the queue of its chunks waiting for admission. The number of in-flight records is increased when a chunk is
+   * admitted and decreased when DI_COMPLETE, DI_ERROR events or duplicated chunks come.
+   * <p>
+   * The in-flight records limit is shared equally between the tenants having active jobs and the share of the tenant
+   * is shared equally between its jobs. A chunk is admitted when its job is within the share or has no in-flight
+   * records, the job having the least in-flight records is served first.
    */
-  private final Map<String, Integer> currentState = new ConcurrentHashMap<>();
-
-  /**
-   * Represents the previous flow control state to decide when to turn on the consumer to get the next chunk of data,
-   * in case a module instance has not received any messages in 2 minutes (for example, when the second module
-   * instance processed them).
-   */
-  private final Map<String, Pair<Integer, Integer>> historyState = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, JobState>> jobsByTenant = new LinkedHashMap<>();
+  private int inFlightRecords;
+  private int queuedChunks;
 
   @PostConstruct
   public void init() {
     LOGGER.info("init:: Flow control feature is {}, instanceId: {}", enableFlowControl ? "enabled" : "disabled", instanceId);
+    if (deprecatedRecordsThreshold != null) {
+      LOGGER.warn("init:: di.flow.control.records.threshold is deprecated, use di.flow.control.max.inflight.records instead, in-flight records limit: {}",
+        maxInFlightRecords);
+    }
   }
 
   /**
-   * This method schedules resetting state of flow control. By default, it triggered each 1 mins.
-   * This is distributed system and count of raw records pushed to process can be not corresponding
-   * with DI_COMPLETE/DI_ERROR, for example because of imports are stuck.
-   *
-   * For example, batch size - 50 records, max simultaneous - 1 batch, records threshold - 25.
-   * Flow control receives 50 records (1 batch) and pause consumers, 20 DI_COMPLETE events came, 30 was missed due to some DB issue.
-   * Current state would equals to 30 and threshold will never met 25 records so consumers will be paused forever
-   * and as a result all subsequent imports will not have a chance to execute.
-   *
-   * This scheduled method to reset state intended to prevent that. The correlation between max simultaneous and records
-   * threshold can be missed during resetting that can cause that resume/pause cycle may not be as usual, because we are
-   * starting from clear state after reset, but any events would not be missed and consumers never pause forever.
+   * This method schedules releasing records of the jobs without DI_COMPLETE/DI_ERROR events. By default, it triggered
+   * each 1 mins. This is distributed system and count of raw records pushed to process can be not corresponding
+   * with DI_COMPLETE/DI_ERROR, for example because of imports are stuck or the events are consumed by another
+   * module instance.
+   * <p>
+   * In-flight records of the job that has not received any event during di.flow.control.credit.timeout.ms are released,
+   * so the job and the other jobs never wait forever. The released records are logged and counted by
+   * srm.flow.control.expired.records metric. The jobs without in-flight records and waiting chunks are forgotten,
+   * the time their chunks waited for admission is logged.
    */
   @Scheduled(initialDelayString = "PT1M", fixedRateString = "${di.flow.control.reset.state.interval:PT1M}")
-  public void resetState() {
+  public void releaseExpiredRecords() {
     if (!enableFlowControl) {
       return;
     }
 
-    currentState.forEach((tenantId, counterVal) -> {
-      LOGGER.info("resetState:: Tenant: [{}], instanceId:{} ", tenantId, instanceId);
-      resumeIfThresholdAllows(tenantId);
-    });
+    List<QueuedChunk> admittedChunks;
+    synchronized (this) {
+      long now = System.nanoTime();
+      Iterator<Map<String, JobState>> tenantIterator = jobsByTenant.values().iterator();
+      while (tenantIterator.hasNext()) {
+        Iterator<JobState> jobIterator = tenantIterator.next().values().iterator();
+        while (jobIterator.hasNext()) {
+          JobState job = jobIterator.next();
+          if (now - job.lastActivityTime < TimeUnit.MILLISECONDS.toNanos(creditTimeoutMs)) {
+            continue;
+          }
+          if (job.inFlightRecords > 0) {
+            LOGGER.warn("releaseExpiredRecords:: Tenant: [{}], instanceId:{}. No events received during {} ms for {} in-flight records of jobExecutionId: {}, records are released",
+              job.tenantId, instanceId, creditTimeoutMs, job.inFlightRecords, job.jobExecutionId);
+            recordExpiredRecords(job);
+            inFlightRecords -= job.inFlightRecords;
+            job.inFlightRecords = 0;
+          }
+          if (job.queue.isEmpty()) {
+            logJobQueueTime(job);
+            jobIterator.remove();
+          }
+        }
+      }
+      jobsByTenant.values().removeIf(Map::isEmpty);
+      admittedChunks = admitChunks();
+    }
+    completeAdmission(admittedChunks);
+    adjustConsumersDemand();
   }
 
   @Override
-  public void trackChunkReceivedEvent(String tenantId, Integer recordsCount) {
+  public Future<Void> trackChunkReceivedEvent(String tenantId, String jobExecutionId, Integer recordsCount) {
     if (!enableFlowControl) {
-      return;
+      return Future.succeededFuture();
     }
 
-    initFetchMode(tenantId);
-    increaseCounterInDb(tenantId, recordsCount);
-    LOGGER.debug("trackChunkReceivedEvent:: Tenant: [{}], instanceId:{}. Chunk received. Record count: {}, Current state: {} ",
-      tenantId, instanceId, recordsCount, currentState.get(tenantId));
+    Promise<Void> promise = Promise.promise();
+    List<QueuedChunk> admittedChunks;
+    synchronized (this) {
+      JobState job = jobsByTenant.computeIfAbsent(tenantId, k -> new LinkedHashMap<>())
+        .computeIfAbsent(jobExecutionId, k -> new JobState(tenantId, jobExecutionId));
+      job.queue.add(new QueuedChunk(job, recordsCount, System.nanoTime(), Vertx.currentContext(), promise));
+      job.lastActivityTime = System.nanoTime();
+      queuedChunks++;
+      admittedChunks = admitChunks();
+      LOGGER.debug("trackChunkReceivedEvent:: Tenant: [{}], instanceId:{}. Chunk received. jobExecutionId: {}, Record count: {}, In-flight records: {}, Queued chunks: {}",
+        tenantId, instanceId, jobExecutionId, recordsCount, inFlightRecords, queuedChunks);
+    }
+    completeAdmission(admittedChunks);
+    adjustConsumersDemand();
+    return promise.future();
   }
 
   @Override
-  public void trackRecordCompleteEvent(String tenantId, Integer recordsCount) {
+  public void trackRecordCompleteEvent(String tenantId, String jobExecutionId, Integer recordsCount) {
     if (!enableFlowControl) {
       return;
     }
 
-    decreaseState(tenantId, recordsCount);
-    LOGGER.debug("trackRecordCompleteEvent:: Tenant: [{}], instanceId:{}. Record count: {}, Current state:{}",
-      tenantId, instanceId, recordsCount, currentState.get(tenantId));
+    releaseRecords(tenantId, jobExecutionId, recordsCount);
+    LOGGER.debug("trackRecordCompleteEvent:: Tenant: [{}], instanceId:{}. jobExecutionId: {}, Record count: {}",
+      tenantId, instanceId, jobExecutionId, recordsCount);
   }
 
   @Override
-  public void trackChunkDuplicateEvent(String tenantId, Integer recordsCount) {
+  public void trackChunkDuplicateEvent(String tenantId, String jobExecutionId, Integer recordsCount) {
     if (!enableFlowControl) {
       return;
     }
 
-    decreaseState(tenantId, recordsCount);
-    LOGGER.debug("trackChunkDuplicateEvent:: Tenant: [{}], instanceId:{}. Record count: {}, Current state:{}",
-      tenantId, instanceId, recordsCount, currentState.get(tenantId));
+    releaseRecords(tenantId, jobExecutionId, recordsCount);
+    LOGGER.debug("trackChunkDuplicateEvent:: Tenant: [{}], instanceId:{}. jobExecutionId: {}, Record count: {}",
+      tenantId, instanceId, jobExecutionId, recordsCount);
   }
 
   @Override
@@ -121,91 +181,179 @@ public class RawRecordsFlowControlServiceImpl implements RawRecordsFlowControlSe
       return;
     }
 
-    consumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value())
-      .forEach(consumer -> {
-        LOGGER.info("triggerNextChunksFetch:: Before chunks fetch, tenantId: {}, instanceId: {}, Demand: {}, Current state: {}",
-          tenantId, instanceId, consumer.demand(), currentState.get(tenantId));
-        if (consumer.demand() == 0) {
-          consumer.fetch(maxSimultaneousChunks);
-        }
-        LOGGER.info("triggerNextChunksFetch:: After chunks fetch, tenantId: {}, instanceId: {}, Demand: {}, Current state: {}",
-          tenantId, instanceId, consumer.demand(), currentState.get(tenantId));
-      });
+    LOGGER.info("triggerNextChunksFetch:: Fetch of the next chunks is triggered, tenantId: {}, instanceId: {}", tenantId, instanceId);
+    adjustConsumersDemand();
   }
 
-  private void decreaseState(String tenantId, Integer recordsCount) {
-    initFetchMode(tenantId);
-    decreaseCounterInDb(tenantId, recordsCount);
-    resumeIfThresholdAllows(tenantId);
+  private void releaseRecords(String tenantId, String jobExecutionId, int recordsCount) {
+    List<QueuedChunk> admittedChunks;
+    synchronized (this) {
+      Map<String, JobState> tenantJobs = jobsByTenant.getOrDefault(tenantId, Map.of());
+      int remainingRecords = recordsCount;
+      JobState job = tenantJobs.get(jobExecutionId);
+      if (job != null) {
+        remainingRecords -= releaseJobRecords(job, remainingRecords);
+        job.lastActivityTime = System.nanoTime();
+      }
+      // events of the records admitted by another module instance come to this instance as well,
+      // their records are released from the other jobs of the tenant, so in-flight records of the tenant
+      // are balanced between the instances as by the tenant counter
+      Iterator<JobState> tenantJobsIterator = tenantJobs.values().stream()
+        .filter(tenantJob -> tenantJob.inFlightRecords > 0)
+        .sorted(Comparator.comparingInt((JobState tenantJob) -> tenantJob.inFlightRecords).reversed())
+        .iterator();
+      while (remainingRecords > 0 && tenantJobsIterator.hasNext()) {
+        remainingRecords -= releaseJobRecords(tenantJobsIterator.next(), remainingRecords);
+      }
+      admittedChunks = admitChunks();
+    }
+    completeAdmission(admittedChunks);
+    adjustConsumersDemand();
   }
 
-  private void resumeIfThresholdAllows(String tenantId) {
+  /**
+   * Releases up to the specified number of in-flight records of the job, returns the number of released records.
+   * Must be called while holding the lock of this service.
+   */
+  private int releaseJobRecords(JobState job, int recordsCount) {
+    int releasedRecords = Math.min(job.inFlightRecords, recordsCount);
+    job.inFlightRecords -= releasedRecords;
+    inFlightRecords -= releasedRecords;
+    return releasedRecords;
+  }
 
-    LOGGER.info("resumeIfThresholdAllows :: Tenant: [{}], instanceId:{}. Before: Current state:{}, History state: {}",
-      tenantId, instanceId, currentState.get(tenantId), historyState.get(tenantId));
-    updatePreviousStateValue(tenantId);
+  /**
+   * Removes the chunks that can be admitted from the queues and counts their records as in-flight.
+   * Must be called while holding the lock of this service.
+   */
+  private List<QueuedChunk> admitChunks() {
+    List<QueuedChunk> admittedChunks = new ArrayList<>();
+    JobState job;
+    while ((job = nextJobToAdmit()) != null) {
+      QueuedChunk chunk = job.queue.poll();
+      queuedChunks--;
+      job.inFlightRecords += chunk.recordsCount();
+      job.lastActivityTime = System.nanoTime();
+      job.trackQueueTime(job.lastActivityTime - chunk.queuedTime());
+      recordQueueTime(job, job.lastActivityTime - chunk.queuedTime());
+      inFlightRecords += chunk.recordsCount();
+      admittedChunks.add(chunk);
+    }
+    return admittedChunks;
+  }
 
-    LOGGER.info("resumeIfThresholdAllows :: Tenant: [{}], instanceId:{}. After: Current state:{}, History state: {}",
-      tenantId, instanceId, currentState.get(tenantId), historyState.get(tenantId));
+  private JobState nextJobToAdmit() {
+    long activeTenants = jobsByTenant.values().stream()
+      .filter(jobs -> jobs.values().stream().anyMatch(JobState::isActive))
+      .count();
+    JobState nextJob = null;
+    for (Map<String, JobState> jobs : jobsByTenant.values()) {
+      long activeJobs = jobs.values().stream().filter(JobState::isActive).count();
+      for (JobState job : jobs.values()) {
+        QueuedChunk chunk = job.queue.peek();
+        if (chunk == null) {
+          continue;
+        }
+        double jobShare = (double) maxInFlightRecords / activeTenants / activeJobs;
+        boolean withinJobShare = job.inFlightRecords == 0 || job.inFlightRecords + chunk.recordsCount() <= jobShare;
+        boolean withinLimit = inFlightRecords == 0 || inFlightRecords + chunk.recordsCount() <= maxInFlightRecords;
+        if (withinJobShare && withinLimit && (nextJob == null || job.inFlightRecords < nextJob.inFlightRecords
+          || job.inFlightRecords == nextJob.inFlightRecords && chunk.queuedTime() - nextJob.queue.peek().queuedTime() < 0)) {
+          nextJob = job;
+        }
+      }
+    }
+    return nextJob;
+  }
+
+  private void completeAdmission(List<QueuedChunk> admittedChunks) {
+    long now = System.nanoTime();
+    for (QueuedChunk chunk : admittedChunks) {
+      long queueTime = now - chunk.queuedTime();
+      LOGGER.debug("completeAdmission:: Tenant: [{}], instanceId:{}. Chunk of {} records is admitted after {} ms, jobExecutionId: {}",
+        chunk.job().tenantId, instanceId, chunk.recordsCount(), TimeUnit.NANOSECONDS.toMillis(queueTime), chunk.job().jobExecutionId);
+      // processing of the chunk continues on the context that received it
+      if (chunk.context() != null) {
+        chunk.context().runOnContext(v -> chunk.promise().complete());
+      } else {
+        chunk.promise().complete();
+      }
+    }
+  }
+
+  private void adjustConsumersDemand() {
+    boolean canReadChunks;
+    synchronized (this) {
+      canReadChunks = queuedChunks < maxQueuedChunks;
+    }
 
+    // A read stream is either in "flowing" or "fetch" mode
+    // initially the stream is in "flowing" mode
+    // when the stream is in "flowing" mode, elements are delivered to the handler
+    // when the stream is in "fetch" mode, only the number of requested elements will be delivered to the handler
     consumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value())
       .forEach(consumer -> {
-        LOGGER.info("resumeIfThresholdAllows :: Tenant: [{}], instanceId:{}. DI_RAW_RECORDS_CHUNK_READ. " +
-            "ConsumerId:{}, Demand:{}, Current state:{}, History state: {}",
-          tenantId, instanceId, consumer.getId(), consumer.demand(), currentState.get(tenantId), historyState.get(tenantId));
-        if (((consumer.demand() == 0) && (currentState.get(tenantId) <= recordsThreshold))  || isFetchEligible(tenantId)) {
-          if (consumer.demand() > maxSimultaneousChunks) {
-            consumer.pause(); //set demand to 0, because fetch can only add new demand value when demand > 0
-          }
+        if (consumer.demand() > maxSimultaneousChunks) {
+          consumer.pause(); //set demand to 0, because fetch can only add new demand value when demand > 0
+        }
+        if (canReadChunks && consumer.demand() == 0) {
           consumer.fetch(maxSimultaneousChunks);
-
-          LOGGER.info("resumeIfThresholdAllows :: Tenant: [{}], instanceId:{}. Fetch: DI_RAW_RECORDS_CHUNK_READ. " +
-            "ConsumerId:{}, Demand:{}, Current state:{}, History state:{}", tenantId, instanceId, consumer.getId(), consumer.demand(),
-            currentState.get(tenantId), historyState.get(tenantId));
-
-          //counters reset
-          historyState.put(tenantId, Pair.of(0, 0));
-          currentState.put(tenantId, 0);
+          LOGGER.debug("adjustConsumersDemand:: instanceId:{}. Fetch: DI_RAW_RECORDS_CHUNK_READ. ConsumerId:{}, Demand:{}",
+            instanceId, consumer.getId(), consumer.demand());
         }
       });
   }
 
-  private boolean isFetchEligible(String tenantId) {
-    return isMoreThenZero(historyState.get(tenantId)) > 0;
+  private static void logJobQueueTime(JobState job) {
+    if (job.admittedChunks > 0) {
+      LOGGER.info("logJobQueueTime:: Tenant: [{}], instanceId:{}. {} chunks of jobExecutionId: {} waited for admission {} ms on average, {} ms at most",
+        job.tenantId, instanceId, job.admittedChunks, job.jobExecutionId,
+        TimeUnit.NANOSECONDS.toMillis(job.totalQueueTime / job.admittedChunks), TimeUnit.NANOSECONDS.toMillis(job.maxQueueTime));
+    }
   }
 
-  private int isMoreThenZero(Pair<Integer, Integer> pair) {
-    return pair.getKey() > 0 && pair.getValue() > 0 ? 1 : 0;
+  private static void recordQueueTime(JobState job, long queueTimeNanos) {
+    if (MetricsUtil.isEnabled()) {
+      Timer.builder(QUEUE_TIME_METRIC)
+        .description("Time the chunk waited for admission to processing")
+        .tags(List.of(Tag.of(TENANT_TAG, job.tenantId)))
+        .register(Metrics.globalRegistry)
+        .record(queueTimeNanos, TimeUnit.NANOSECONDS);
+    }
   }
 
-  private void updatePreviousStateValue(String tenantId) {
-    historyState.putIfAbsent(tenantId, Pair.of(0,0));
-    historyState.computeIfPresent(tenantId, (k, v) ->
-      v.getKey().equals(currentState.get(tenantId)) ? Pair.of(v.getKey(), v.getValue() + 1):
-        Pair.of(currentState.get(tenantId),0));
+  private static void recordExpiredRecords(JobState job) {
+    if (MetricsUtil.isEnabled()) {
+      MetricsUtil.recordCounter(EXPIRED_RECORDS_METRIC, List.of(Tag.of(TENANT_TAG, job.tenantId))).increment(job.inFlightRecords);
+    }
   }
 
-  private void initFetchMode(String tenantId) {
+  private static class JobState {
+    private final String tenantId;
+    private final String jobExecutionId;
+    private final Deque<QueuedChunk> queue = new ArrayDeque<>();
+    private int inFlightRecords;
+    private long lastActivityTime;
+    private int admittedChunks;
+    private long totalQueueTime;
+    private long maxQueueTime;
+
+    JobState(String tenantId, String jobExecutionId) {
+      this.tenantId = tenantId;
+      this.jobExecutionId = jobExecutionId;
+    }
 
-    // A read stream is either in "flowing" or "fetch" mode
-    // initially the stream is in "flowing" mode
-    // when the stream is in "flowing" mode, elements are delivered to the handler
-    // when the stream is in "fetch" mode, only the number of requested elements will be delivered to the handler
-    if (currentState.containsKey(tenantId) && (currentState.get(tenantId) == 0)) {
-      consumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value())
-        .forEach(consumer -> {
-          consumer.pause();
-          consumer.fetch(maxSimultaneousChunks);
-        });
+    boolean isActive() {
+      return inFlightRecords > 0 || !queue.isEmpty();
     }
-  }
 
-  public void increaseCounterInDb(String tenantId, Integer recordsCount) {
-    currentState.compute(tenantId, (k, v) -> v == null ? recordsCount : v + recordsCount);
+    void trackQueueTime(long queueTimeNanos) {
+      admittedChunks++;
+      totalQueueTime += queueTimeNanos;
+      maxQueueTime = Math.max(maxQueueTime, queueTimeNanos);
+    }
   }
 
-  public void decreaseCounterInDb(String tenantId, Integer recordsCount) {
-    currentState.compute(tenantId, (k, v) -> v == null || v < 0 ? 0 : v - recordsCount);
+  private record QueuedChunk(JobState job, int recordsCount, long queuedTime, Context context, Promise<Void> promise) {
   }
-
 }
@@ -16,6 +16,7 @@ import org.folio.rest.jaxrs.model.DataImportEventTypes;
 import org.folio.rest.jaxrs.model.IncomingRecord;
 import org.folio.rest.jaxrs.model.JournalRecord;
 import org.folio.rest.jaxrs.model.Record;
+import org.folio.services.afterprocessing.ParsedRecordHolder;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -105,20 +106,36 @@ public class JournalUtil {
   }
 
   public static List<IncomingRecord> buildIncomingRecordsByRecords(List<Record> records) {
-    return records.stream().map(sourceRecord -> {
-      var incomingRecord = new IncomingRecord()
-        .withId(sourceRecord.getId())
-        .withJobExecutionId(sourceRecord.getSnapshotId())
-        .withOrder(sourceRecord.getOrder())
-        .withRawRecordContent(sourceRecord.getRawRecord().getContent());
-      if (sourceRecord.getRecordType() != null) {
-        incomingRecord.setRecordType(IncomingRecord.RecordType.fromValue(sourceRecord.getRecordType().value()));
-      }
-      if (sourceRecord.getParsedRecord() != null) {
-        incomingRecord.setParsedRecordContent(String.valueOf(sourceRecord.getParsedRecord().getContent()));
-      }
-      return incomingRecord;
-    }).toList();
+    return records.stream()
+      .map(sourceRecord -> buildIncomingRecord(sourceRecord, sourceRecord.getParsedRecord() != null
+        ? String.valueOf(sourceRecord.getParsedRecord().getContent()) : null))
+      .toList();
+  }
+
+  /**
+   * Builds incoming records with the parsed content of the current state of the parsed records,
+   * the content is taken from the parsed record holders, so it does not have to be set to the records
+   */
+  public static List<IncomingRecord> buildIncomingRecordsByParsedRecords(List<ParsedRecordHolder> parsedRecords) {
+    return parsedRecords.stream()
+      .map(parsedRecord -> buildIncomingRecord(parsedRecord.getRecord(), parsedRecord.getRecord().getParsedRecord() != null
+        ? parsedRecord.getEncodedContent() : null))
+      .toList();
+  }
+
+  private static IncomingRecord buildIncomingRecord(Record sourceRecord, String parsedRecordContent) {
+    var incomingRecord = new IncomingRecord()
+      .withId(sourceRecord.getId())
+      .withJobExecutionId(sourceRecord.getSnapshotId())
+      .withOrder(sourceRecord.getOrder())
+      .withRawRecordContent(sourceRecord.getRawRecord().getContent());
+    if (sourceRecord.getRecordType() != null) {
+      incomingRecord.setRecordType(IncomingRecord.RecordType.fromValue(sourceRecord.getRecordType().value()));
+    }
+    if (parsedRecordContent != null) {
+      incomingRecord.setParsedRecordContent(parsedRecordContent);
+    }
+    return incomingRecord;
   }
 
   public static List<JournalRecord> buildJournalRecordsByEvent(DataImportEventPayload eventPayload,
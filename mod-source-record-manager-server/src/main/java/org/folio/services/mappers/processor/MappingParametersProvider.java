@@ -11,6 +11,7 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -95,7 +96,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
- * Provider for mapping parameters, uses in-memory cache to store parameters there
+ * Provider for mapping parameters, uses in-memory cache to store parameters there.
+ * Reference data used to initialize parameters is shared between jobs of the same tenant via {@link ReferenceDataCache}.
  */
 @Component
 public class MappingParametersProvider {
@@ -139,13 +141,19 @@ public class MappingParametersProvider {
   private static final String SUBJECTS_TYPES_RESPONSE_PARAM = "subjectTypes";
   private static final String INSTANCE_DATE_TYPES_RESPONSE_PARAM = "instanceDateTypes";
   private static final String TIMEZONE_RESPONSE = "timezone";
+  private static final String TOTAL_RECORDS_RESPONSE_PARAM = "totalRecords";
+
+  // pages are requested in a stable order, so the entries are not skipped or repeated between the pages
+  private static final String SORTED_BY_ID_QUERY = "query=cql.allRecords%3D1%20sortBy%20id";
 
   private static final int CACHE_EXPIRATION_TIME_IN_SECONDS = 60;
 
   private final InternalCache internalCache;
+  private final ReferenceDataCache referenceDataCache;
 
-  public MappingParametersProvider(@Autowired Vertx vertx) {
+  public MappingParametersProvider(@Autowired Vertx vertx, @Autowired ReferenceDataCache referenceDataCache) {
     this.internalCache = new InternalCache(vertx);
+    this.referenceDataCache = referenceDataCache;
   }
 
   /**
@@ -255,7 +263,7 @@ public class MappingParametersProvider {
    * @return List of Authority Identifier types
    */
   private Future<List<AuthorityIdentifierType>> getAuthorityIdentifierTypes(OkapiConnectionParams params) {
-    String identifierTypesUrl = "/authority-identifier-types?limit=" + settingsLimit;
+    String identifierTypesUrl = "/authority-identifier-types";
     return loadData(params, identifierTypesUrl, IDENTIFIER_TYPES_RESPONSE_PARAM,
       response -> {
         var authorityidentifiertypes = response.mapTo(Authorityidentifiertypes.class);
@@ -273,7 +281,7 @@ public class MappingParametersProvider {
    * @return List of Identifier types
    */
   private Future<List<IdentifierType>> getIdentifierTypes(OkapiConnectionParams params) {
-    String identifierTypesUrl = "/identifier-types?limit=" + settingsLimit;
+    String identifierTypesUrl = "/identifier-types";
     return loadData(params, identifierTypesUrl, IDENTIFIER_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(IdentifierTypes.class).getIdentifierTypes());
   }
@@ -285,7 +293,7 @@ public class MappingParametersProvider {
    * @return List of Classification types
    */
   private Future<List<ClassificationType>> getClassificationTypes(OkapiConnectionParams params) {
-    String classificationTypesUrl = "/classification-types?limit=" + settingsLimit;
+    String classificationTypesUrl = "/classification-types";
     return loadData(params, classificationTypesUrl, CLASSIFICATION_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(ClassificationTypes.class).getClassificationTypes());
   }
@@ -297,7 +305,7 @@ public class MappingParametersProvider {
    * @return List of Instance types
    */
   private Future<List<InstanceType>> getInstanceTypes(OkapiConnectionParams params) {
-    String instanceTypesUrl = "/instance-types?limit=" + settingsLimit;
+    String instanceTypesUrl = "/instance-types";
     return loadData(params, instanceTypesUrl, INSTANCE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(InstanceTypes.class).getInstanceTypes());
   }
@@ -309,7 +317,7 @@ public class MappingParametersProvider {
    * @return List of Electronic Access Relationships
    */
   private Future<List<ElectronicAccessRelationship>> getElectronicAccessRelationships(OkapiConnectionParams params) {
-    String electronicAccessUrl = "/electronic-access-relationships?limit=" + settingsLimit;
+    String electronicAccessUrl = "/electronic-access-relationships";
     return loadData(params, electronicAccessUrl, ELECTRONIC_ACCESS_PARAM,
       response -> response.mapTo(ElectronicAccessRelationships.class).getElectronicAccessRelationships());
   }
@@ -321,7 +329,7 @@ public class MappingParametersProvider {
    * @return List of Instance formats
    */
   private Future<List<InstanceFormat>> getInstanceFormats(OkapiConnectionParams params) {
-    String instanceFormatsUrl = "/instance-formats?limit=" + settingsLimit;
+    String instanceFormatsUrl = "/instance-formats";
     return loadData(params, instanceFormatsUrl, INSTANCE_FORMATS_RESPONSE_PARAM,
       response -> response.mapTo(InstanceFormats.class).getInstanceFormats());
   }
@@ -333,7 +341,7 @@ public class MappingParametersProvider {
    * @return List of Contributor types
    */
   private Future<List<ContributorType>> getContributorTypes(OkapiConnectionParams params) {
-    String contributorTypesUrl = "/contributor-types?limit=" + settingsLimit;
+    String contributorTypesUrl = "/contributor-types";
     return loadData(params, contributorTypesUrl, CONTRIBUTOR_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(ContributorTypes.class).getContributorTypes());
   }
@@ -345,7 +353,7 @@ public class MappingParametersProvider {
    * @return List of Contributor name types
    */
   private Future<List<ContributorNameType>> getContributorNameTypes(OkapiConnectionParams params) {
-    String contributorNameTypesUrl = "/contributor-name-types?limit=" + settingsLimit;
+    String contributorNameTypesUrl = "/contributor-name-types";
     return loadData(params, contributorNameTypesUrl, CONTRIBUTOR_NAME_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(ContributorNameTypes.class).getContributorNameTypes());
   }
@@ -358,115 +366,115 @@ public class MappingParametersProvider {
    * @return List of Contributor name types
    */
   private Future<List<InstanceNoteType>> getInstanceNoteTypes(OkapiConnectionParams params) {
-    String instanceNoteTypesUrl = "/instance-note-types?limit=" + settingsLimit;
+    String instanceNoteTypesUrl = "/instance-note-types";
     return loadData(params, instanceNoteTypesUrl, INSTANCE_NOTE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(InstanceNoteTypes.class).getInstanceNoteTypes());
   }
 
   private Future<List<AlternativeTitleType>> getAlternativeTitleTypes(OkapiConnectionParams params) {
-    String instanceAlternativeTitleTypesUrl = "/alternative-title-types?limit=" + settingsLimit;
+    String instanceAlternativeTitleTypesUrl = "/alternative-title-types";
     return loadData(params, instanceAlternativeTitleTypesUrl, INSTANCE_ALTERNATIVE_TITLE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(AlternativeTitleTypes.class).getAlternativeTitleTypes());
   }
 
   private Future<List<NatureOfContentTerm>> getNatureOfContentTerms(OkapiConnectionParams params) {
-    String natureOfContentTermsUrl = "/nature-of-content-terms?limit=" + settingsLimit;
+    String natureOfContentTermsUrl = "/nature-of-content-terms";
     return loadData(params, natureOfContentTermsUrl, NATURE_OF_CONTENT_TERMS_RESPONSE_PARAM,
       response -> response.mapTo(NatureOfContentTerms.class).getNatureOfContentTerms());
   }
 
   private Future<List<InstanceStatus>> getInstanceStatuses(OkapiConnectionParams params) {
-    String instanceStatusesUrl = "/instance-statuses?limit=" + settingsLimit;
+    String instanceStatusesUrl = "/instance-statuses";
     return loadData(params, instanceStatusesUrl, INSTANCE_STATUSES_RESPONSE_PARAM,
       response -> response.mapTo(InstanceStatuses.class).getInstanceStatuses());
   }
 
   private Future<List<InstanceRelationshipType>> getInstanceRelationshipTypes(OkapiConnectionParams params) {
-    String instanceRelationshipTypesUrl = "/instance-relationship-types?limit=" + settingsLimit;
+    String instanceRelationshipTypesUrl = "/instance-relationship-types";
     return loadData(params, instanceRelationshipTypesUrl, INSTANCE_RELATIONSHIP_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(InstanceRelationshipTypes.class).getInstanceRelationshipTypes());
   }
 
   private Future<List<HoldingsType>> getHoldingsTypes(OkapiConnectionParams params) {
-    String holdingsTypesUrl = "/holdings-types?limit=" + settingsLimit;
+    String holdingsTypesUrl = "/holdings-types";
     return loadData(params, holdingsTypesUrl, HOLDINGS_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(HoldingsTypes.class).getHoldingsTypes());
   }
 
   private Future<List<HoldingsNoteType>> getHoldingsNoteTypes(OkapiConnectionParams params) {
-    String holdingsNoteTypesUrl = "/holdings-note-types?limit=" + settingsLimit;
+    String holdingsNoteTypesUrl = "/holdings-note-types";
     return loadData(params, holdingsNoteTypesUrl, HOLDINGS_NOTE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(HoldingsNoteTypes.class).getHoldingsNoteTypes());
   }
 
   private Future<List<IllPolicy>> getIllPolicies(OkapiConnectionParams params) {
-    String illPoliciesUrl = "/ill-policies?limit=" + settingsLimit;
+    String illPoliciesUrl = "/ill-policies";
     return loadData(params, illPoliciesUrl, ILL_POLICIES_RESPONSE_PARAM,
       response -> response.mapTo(IllPolicies.class).getIllPolicies());
   }
 
   private Future<List<CallNumberType>> getCallNumberTypes(OkapiConnectionParams params) {
-    String callNumberTypesUrl = "/call-number-types?limit=" + settingsLimit;
+    String callNumberTypesUrl = "/call-number-types";
     return loadData(params, callNumberTypesUrl, CALL_NUMBER_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(CallNumberTypes.class).getCallNumberTypes());
   }
 
   private Future<List<StatisticalCode>> getStatisticalCodes(OkapiConnectionParams params) {
-    String statisticalCodesUrl = "/statistical-codes?limit=" + settingsLimit;
+    String statisticalCodesUrl = "/statistical-codes";
     return loadData(params, statisticalCodesUrl, STATISTICAL_CODES_RESPONSE_PARAM,
       response -> response.mapTo(StatisticalCodes.class).getStatisticalCodes());
   }
 
   private Future<List<StatisticalCodeType>> getStatisticalCodeTypes(OkapiConnectionParams params) {
-    String statisticalCodeTypesUrl = "/statistical-code-types?limit=" + settingsLimit;
+    String statisticalCodeTypesUrl = "/statistical-code-types";
     return loadData(params, statisticalCodeTypesUrl, STATISTICAL_CODE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(StatisticalCodeTypes.class).getStatisticalCodeTypes());
   }
 
   private Future<List<Location>> getLocations(OkapiConnectionParams params) {
-    String locationsUrl = "/locations?limit=" + settingsLimit;
+    String locationsUrl = "/locations";
     return loadData(params, locationsUrl, LOCATIONS_RESPONSE_PARAM,
       response -> response.mapTo(Locations.class).getLocations());
   }
 
   private Future<List<MaterialType>> getMaterialTypes(OkapiConnectionParams params) {
-    String materialTypesUrl = "/material-types?limit=" + settingsLimit;
+    String materialTypesUrl = "/material-types";
     return loadData(params, materialTypesUrl, MATERIALS_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(MaterialTypes.class).getMtypes());
   }
 
   private Future<List<ItemDamageStatus>> getItemDamagedStatuses(OkapiConnectionParams params) {
-    String itemDamagedStatusesUrl = "/item-damaged-statuses?limit=" + settingsLimit;
+    String itemDamagedStatusesUrl = "/item-damaged-statuses";
     return loadData(params, itemDamagedStatusesUrl, ITEM_DAMAGED_STATUSES_RESPONSE_PARAM,
       response -> response.mapTo(ItemDamageStatuses.class).getItemDamageStatuses());
   }
 
   private Future<List<LoanType>> getLoanTypes(OkapiConnectionParams params) {
-    String loanTypesUrl = "/loan-types?limit=" + settingsLimit;
+    String loanTypesUrl = "/loan-types";
     return loadData(params, loanTypesUrl, LOAN_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(LoanTypes.class).getLoantypes());
   }
 
   private Future<List<ItemNoteType>> getItemNoteTypes(OkapiConnectionParams params) {
-    String itemNoteTypesUrl = "/item-note-types?limit=" + settingsLimit;
+    String itemNoteTypesUrl = "/item-note-types";
     return loadData(params, itemNoteTypesUrl, ITEM_NOTE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(ItemNoteTypes.class).getItemNoteTypes());
   }
 
   private Future<List<MarcFieldProtectionSetting>> getMarcFieldProtectionSettings(OkapiConnectionParams params) {
-    String fieldProtectionSettingsUrl = "/field-protection-settings/marc?limit=" + settingsLimit;
+    String fieldProtectionSettingsUrl = "/field-protection-settings/marc";
     return loadData(params, fieldProtectionSettingsUrl, FIELD_PROTECTION_SETTINGS_RESPONSE_PARAM,
       response -> response.mapTo(MarcFieldProtectionSettingsCollection.class).getMarcFieldProtectionSettings());
   }
 
   private Future<List<AuthorityNoteType>> getAuthorityNoteTypes(OkapiConnectionParams params) {
-    var authorityNoteTypesUrl = "/authority-note-types?limit=" + settingsLimit;
+    var authorityNoteTypesUrl = "/authority-note-types";
     return loadData(params, authorityNoteTypesUrl, AUTHORITY_NOTE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(Authoritynotetypes.class).getAuthorityNoteTypes());
   }
 
   private Future<List<AuthoritySourceFile>> getAuthoritySourceFiles(OkapiConnectionParams params) {
-    var authoritySourceFilesUrl = "/authority-source-files?limit=" + settingsLimit;
+    var authoritySourceFilesUrl = "/authority-source-files";
     return loadData(params, authoritySourceFilesUrl, AUTHORITY_SOURCE_FILES_RESPONSE_PARAM,
       response -> response.mapTo(Authoritysourcefiles.class).getAuthoritySourceFiles());
   }
@@ -479,7 +487,7 @@ public class MappingParametersProvider {
    * @return List of Issuance modes
    */
   private Future<List<IssuanceMode>> getIssuanceModes(OkapiConnectionParams params) {
-    String issuanceModesUrl = "/modes-of-issuance?limit=" + settingsLimit;
+    String issuanceModesUrl = "/modes-of-issuance";
     return loadData(params, issuanceModesUrl, ISSUANCE_MODES_RESPONSE_PARAM,
       response -> response.mapTo(IssuanceModes.class).getIssuanceModes());
   }
@@ -492,7 +500,7 @@ public class MappingParametersProvider {
    * @return List Subject sources
    */
   private Future<List<SubjectSource>> getSubjectSources(OkapiConnectionParams params) {
-    String subjectSourcesUrl = "/subject-sources?limit=" + settingsLimit;
+    String subjectSourcesUrl = "/subject-sources";
     return loadData(params, subjectSourcesUrl, SUBJECTS_SOURCES_RESPONSE_PARAM,
       response -> response.mapTo(SubjectSources.class).getSubjectSources());
   }
@@ -505,7 +513,7 @@ public class MappingParametersProvider {
    * @return List Subject types
    */
   private Future<List<SubjectType>> getSubjectTypes(OkapiConnectionParams params) {
-    String subjectTypesUrl = "/subject-types?limit=" + settingsLimit;
+    String subjectTypesUrl = "/subject-types";
     return loadData(params, subjectTypesUrl, SUBJECTS_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(SubjectTypes.class).getSubjectTypes());
   }
@@ -518,7 +526,7 @@ public class MappingParametersProvider {
    * @return List Instance date types
    */
   private Future<List<InstanceDateType>> getInstanceDateTypes(OkapiConnectionParams params) {
-    String instanceDateTypesUrl = "/instance-date-types?limit=" + settingsLimit;
+    String instanceDateTypesUrl = "/instance-date-types";
     return loadData(params, instanceDateTypesUrl, INSTANCE_DATE_TYPES_RESPONSE_PARAM,
       response -> response.mapTo(InstanceDateTypes.class).getInstanceDateTypes());
   }
@@ -531,6 +539,10 @@ public class MappingParametersProvider {
    * @return tenant timezone
    */
   private Future<String> getTenantSettingsTimeZone(OkapiConnectionParams params) {
+    return referenceDataCache.get(TENANT_SETTINGS_TIME_ZONE_URL, params, this::requestTenantSettingsTimeZone);
+  }
+
+  private Future<String> requestTenantSettingsTimeZone(OkapiConnectionParams params) {
     Promise<String> promise = Promise.promise();
     RestUtil.doRequestWithSystemUser(params, TENANT_SETTINGS_TIME_ZONE_URL, HttpMethod.GET, null).onComplete(ar -> {
       if (RestUtil.validateAsyncResult(ar, promise)) {
@@ -553,6 +565,10 @@ public class MappingParametersProvider {
    * @return linking rules
    */
   private Future<List<LinkingRuleDto>> getLinkingRules(OkapiConnectionParams params) {
+    return referenceDataCache.get(LINKING_RULES_URL, params, this::requestLinkingRules);
+  }
+
+  private Future<List<LinkingRuleDto>> requestLinkingRules(OkapiConnectionParams params) {
     Promise<List<LinkingRuleDto>> promise = Promise.promise();
     RestUtil.doRequestWithSystemUser(params, LINKING_RULES_URL, HttpMethod.GET, null).onComplete(ar -> {
       if (RestUtil.validateAsyncResult(ar, promise)) {
@@ -576,25 +592,70 @@ public class MappingParametersProvider {
     return promise.future();
   }
 
-  private <T> Future<List<T>> loadData(OkapiConnectionParams params, String requestUrl, String dataCollectionField,
+  /**
+   * Provides reference data of the specified type from the tenant-level cache, on cache miss or refresh
+   * loads all pages of reference data using settings limit as page size.
+   *
+   * @param params              Okapi connection parameters
+   * @param requestPath         reference data path, identifies reference data type
+   * @param dataCollectionField name of the response field that contains reference data
+   * @param dataExtractor       extracts reference data from the response page
+   * @return List of reference data
+   */
+  private <T> Future<List<T>> loadData(OkapiConnectionParams params, String requestPath, String dataCollectionField,
                                        Function<JsonObject, List<T>> dataExtractor) {
-    Promise<List<T>> promise = Promise.promise();
+    return referenceDataCache.get(requestPath, params,
+      okapiParams -> loadPages(okapiParams, requestPath, dataCollectionField, dataExtractor, 0, new ArrayList<>()));
+  }
+
+  private <T> Future<List<T>> loadPages(OkapiConnectionParams params, String requestPath, String dataCollectionField,
+                                        Function<JsonObject, List<T>> dataExtractor, int offset, List<T> loadedData) {
+    String requestUrl = requestPath + "?limit=" + settingsLimit + "&" + SORTED_BY_ID_QUERY
+      + (offset > 0 ? "&offset=" + offset : StringUtils.EMPTY);
+    return loadPage(params, requestUrl, dataCollectionField).compose(response -> {
+      if (response == null || !response.containsKey(dataCollectionField)) {
+        return Future.succeededFuture(loadedData);
+      }
+      List<T> page;
+      try {
+        page = dataExtractor.apply(response);
+      } catch (Exception e) {
+        LOGGER.warn("loadPages:: Failed to load {}", dataCollectionField, e);
+        return Future.failedFuture(e);
+      }
+      if (page == null || page.isEmpty()) {
+        return Future.succeededFuture(loadedData);
+      }
+      loadedData.addAll(page);
+      int nextOffset = offset + page.size();
+      if (hasNextPage(response, page.size(), nextOffset)) {
+        return loadPages(params, requestPath, dataCollectionField, dataExtractor, nextOffset, loadedData);
+      }
+      return Future.succeededFuture(loadedData);
+    });
+  }
+
+  private boolean hasNextPage(JsonObject response, int pageSize, int nextOffset) {
+    if (settingsLimit <= 0 || pageSize < settingsLimit) {
+      return false;
+    }
+    Integer totalRecords = response.getInteger(TOTAL_RECORDS_RESPONSE_PARAM);
+    return totalRecords == null || nextOffset < totalRecords;
+  }
+
+  private Future<JsonObject> loadPage(OkapiConnectionParams params, String requestUrl, String dataCollectionField) {
+    Promise<JsonObject> promise = Promise.promise();
     RestUtil.doRequestWithSystemUser(params, requestUrl, HttpMethod.GET, null).onComplete(responseAr -> {
       try {
         if (RestUtil.validateAsyncResult(responseAr, promise)) {
-          JsonObject response = responseAr.result().getJson();
-          if (response != null && response.containsKey(dataCollectionField)) {
-            promise.complete(dataExtractor.apply(response));
-          } else {
-            promise.complete(Collections.emptyList());
-          }
+          promise.complete(responseAr.result().getJson());
         } else {
-          LOGGER.warn("loadData:: loading data by {} was not successful, status: {}, body: {}",
+          LOGGER.warn("loadPage:: loading data by {} was not successful, status: {}, body: {}",
             requestUrl, responseAr.result().getCode(), responseAr.result().getBody());
         }
       } catch (Exception e) {
-        LOGGER.warn("loadData:: Failed to load {}", dataCollectionField, e);
-        promise.fail(e);
+        LOGGER.warn("loadPage:: Failed to load {}", dataCollectionField, e);
+        promise.tryFail(e);
       }
     });
     return promise.future();
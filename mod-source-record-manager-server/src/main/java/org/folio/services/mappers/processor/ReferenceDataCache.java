@@ -0,0 +1,149 @@
+package org.folio.services.mappers.processor;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.okapi.common.MetricsUtil;
+import org.folio.services.util.CaffeineStatsCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant-level in-memory cache of the reference data used to initialize mapping parameters.
+ * <p>
+ * Each reference data type is cached in a separate entry, so the jobs of the same tenant share loaded reference data,
+ * and concurrent requests of the same entry wait for a single load. An entry requested after the refresh interval
+ * is reloaded in background while the loaded data is still returned, the entry is evicted after the expiration time
+ * or when all entries of the tenant are invalidated on enabling or upgrading the tenant. Changes of reference data
+ * are not signalled to the module, so their staleness is bounded by the refresh interval.
+ * Loads and refreshes use the connection params and the loader of the latest request of the entry,
+ * so the token of a finished job is not reused. Cached reference data is shared between callers and must not be modified.
+ */
+@Component
+public class ReferenceDataCache {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String CACHE_NAME = "referenceDataCache";
+  private static final String LOAD_TIME_METRIC = "srm.reference.data.load.time";
+  private static final String TYPE_TAG = "type";
+
+  private final AsyncLoadingCache<ReferenceDataKey, Object> cache;
+  private final Cache<ReferenceDataKey, LoadRequest> latestRequests;
+
+  @Autowired
+  public ReferenceDataCache(Vertx vertx,
+                            @Value("${srm.reference.data.cache.refresh.seconds:300}") long refreshTime,
+                            @Value("${srm.reference.data.cache.expiration.seconds:3600}") long expirationTime,
+                            @Value("${srm.reference.data.cache.max.size:1000}") long maxSize) {
+    this(vertx, refreshTime, expirationTime, maxSize, Ticker.systemTicker());
+  }
+
+  ReferenceDataCache(Vertx vertx, long refreshTime, long expirationTime, long maxSize, Ticker ticker) {
+    Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+      .executor(serviceExecutor -> vertx.runOnContext(ar -> serviceExecutor.run()))
+      .refreshAfterWrite(refreshTime, TimeUnit.SECONDS)
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS)
+      .maximumSize(maxSize)
+      .ticker(ticker);
+    if (MetricsUtil.isEnabled()) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter(CACHE_NAME, Collections.emptyList()));
+    }
+    this.cache = cacheBuilder.buildAsync(this::load);
+    // requests live as long as the entries they load, so the entry being loaded or refreshed always has its request
+    this.latestRequests = Caffeine.newBuilder()
+      .expireAfterWrite(expirationTime, TimeUnit.SECONDS)
+      .maximumSize(maxSize)
+      .ticker(ticker)
+      .build();
+  }
+
+  /**
+   * Returns reference data of the specified type for the tenant from the connection params,
+   * loads it using the specified loader if it is not cached yet. The connection params and the loader
+   * are used for the following load or refresh of the entry.
+   *
+   * @param type        reference data type
+   * @param okapiParams okapi connection params
+   * @param loader      loads reference data using the connection params
+   * @return future with reference data
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Future<T> get(String type, OkapiConnectionParams okapiParams,
+                           Function<OkapiConnectionParams, Future<T>> loader) {
+    ReferenceDataKey key = new ReferenceDataKey(okapiParams.getTenantId(), okapiParams.getOkapiUrl(), type);
+    latestRequests.put(key, new LoadRequest(okapiParams, params -> loader.apply(params).map(Object.class::cast)));
+    return Future.fromCompletionStage(cache.get(key)).map(data -> (T) data);
+  }
+
+  /**
+   * Removes all reference data of the specified tenant
+   *
+   * @param tenantId tenant id
+   */
+  public void invalidateAll(String tenantId) {
+    cache.synchronous().invalidateAll(cache.asMap().keySet().stream()
+      .filter(key -> key.tenantId.equals(tenantId))
+      .toList());
+  }
+
+  private CompletableFuture<Object> load(ReferenceDataKey key, Executor executor) {
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      LoadRequest request = latestRequests.getIfPresent(key);
+      if (request == null) {
+        future.completeExceptionally(new IllegalStateException(
+          String.format("No request to load reference data '%s' for tenant '%s'", key.type, key.tenantId)));
+        return;
+      }
+      long startTime = System.nanoTime();
+      Future<Object> loaded;
+      try {
+        loaded = request.loader().apply(request.okapiParams());
+      } catch (Exception e) {
+        loaded = Future.failedFuture(e);
+      }
+      loaded.onComplete(ar -> {
+        recordLoadTime(key.type, System.nanoTime() - startTime);
+        if (ar.failed()) {
+          LOGGER.warn("load:: Failed to load reference data '{}' for tenant '{}'", key.type, key.tenantId, ar.cause());
+          future.completeExceptionally(ar.cause());
+          return;
+        }
+        LOGGER.debug("load:: Reference data '{}' was loaded for tenant '{}'", key.type, key.tenantId);
+        future.complete(ar.result());
+      });
+    });
+    return future;
+  }
+
+  private void recordLoadTime(String type, long loadTimeNanos) {
+    if (MetricsUtil.isEnabled()) {
+      Timer.builder(LOAD_TIME_METRIC)
+        .description("Time of loading reference data used to initialize mapping parameters")
+        .tag(TYPE_TAG, type)
+        .register(Metrics.globalRegistry)
+        .record(loadTimeNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private record ReferenceDataKey(String tenantId, String okapiUrl, String type) {
+  }
+
+  private record LoadRequest(OkapiConnectionParams okapiParams, Function<OkapiConnectionParams, Future<Object>> loader) {
+  }
+}
@@ -0,0 +1,215 @@
+package org.folio.services.parsers;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Single-pass reader of ISO 2709 (MARC binary) records into MARC-in-JSON representation.
+ * <p>
+ * Reads the leader and the directory once and builds the parsed record json straight from the byte buffer,
+ * without intermediate marc4j {@link org.marc4j.marc.Record} and json string. The reader mirrors the semantics of
+ * marc4j {@link org.marc4j.MarcStreamReader} (in non-permissive mode with UTF-8 encoding) combined with
+ * {@link org.marc4j.MarcJsonWriter}: fields are read sequentially using directory lengths, control fields are
+ * ordered by tag and placed before data fields.
+ * <p>
+ * The reader handles only well-formed records. For any structural anomaly it returns {@code null},
+ * so the caller has to fall back to the marc4j based parsing that produces the errors.
+ */
+final class MarcBinaryJsonReader {
+
+  private static final int LEADER_LENGTH = 24;
+  private static final int DIRECTORY_ENTRY_LENGTH = 12;
+  private static final int TAG_LENGTH = 3;
+  private static final int FIELD_LENGTH_DIGITS = 4;
+  private static final int RECORD_LENGTH_DIGITS = 5;
+  private static final int INDICATOR_COUNT_POSITION = 10;
+  private static final int SUBFIELD_CODE_LENGTH_POSITION = 11;
+  private static final int BASE_ADDRESS_POSITION = 12;
+
+  private static final byte RECORD_TERMINATOR = 0x1D;
+  private static final byte FIELD_TERMINATOR = 0x1E;
+  private static final byte SUBFIELD_DELIMITER = 0x1F;
+
+  private static final String LEADER = "leader";
+  private static final String FIELDS = "fields";
+  private static final String SUBFIELDS = "subfields";
+  private static final String IND1 = "ind1";
+  private static final String IND2 = "ind2";
+  private static final String CONTROL_NUMBER_TAG = "001";
+
+  private MarcBinaryJsonReader() {
+  }
+
+  /**
+   * Reads first record from the given bytes.
+   *
+   * @param data - UTF-8 encoded MARC binary record
+   * @return parsed record in MARC-in-JSON representation,
+   * or {@code null} if record is not well-formed and has to be parsed by marc4j
+   */
+  static JsonObject read(byte[] data) {
+    if (data == null || data.length < LEADER_LENGTH || !isLeaderValid(data)) {
+      return null;
+    }
+    int recordLength = parseNumber(data, 0, RECORD_LENGTH_DIGITS);
+    int baseAddress = parseNumber(data, BASE_ADDRESS_POSITION, RECORD_LENGTH_DIGITS);
+    int directoryLength = baseAddress - (LEADER_LENGTH + 1);
+    if (recordLength > data.length || baseAddress > recordLength
+      || directoryLength < 0 || directoryLength % DIRECTORY_ENTRY_LENGTH != 0
+      || data[baseAddress - 1] != FIELD_TERMINATOR) {
+      return null;
+    }
+
+    List<ControlField> controlFields = new ArrayList<>();
+    JsonArray dataFields = new JsonArray();
+    boolean hasControlNumber = false;
+    int position = baseAddress;
+
+    for (int entry = LEADER_LENGTH; entry < baseAddress - 1; entry += DIRECTORY_ENTRY_LENGTH) {
+      if (!isTagValid(data, entry)) {
+        return null;
+      }
+      int fieldLength = parseNumber(data, entry + TAG_LENGTH, FIELD_LENGTH_DIGITS);
+      int fieldEnd = position + fieldLength - 1;
+      if (fieldLength < 1 || fieldEnd >= recordLength - 1 || data[fieldEnd] != FIELD_TERMINATOR) {
+        return null;
+      }
+      String tag = new String(data, entry, TAG_LENGTH, StandardCharsets.ISO_8859_1);
+
+      if (data[entry] == '0' && data[entry + 1] == '0') {
+        if (!isDigit(data[entry + 2]) || data[entry + 2] == '0' || !isDataValid(data, position, fieldEnd)) {
+          return null;
+        }
+        if (CONTROL_NUMBER_TAG.equals(tag)) {
+          if (hasControlNumber) {
+            return null;
+          }
+          hasControlNumber = true;
+        }
+        controlFields.add(new ControlField(tag, new String(data, position, fieldEnd - position, StandardCharsets.UTF_8)));
+      } else {
+        JsonObject dataField = readDataField(data, position, fieldEnd);
+        if (dataField == null) {
+          return null;
+        }
+        dataFields.add(new JsonObject().put(tag, dataField));
+      }
+      position = fieldEnd + 1;
+    }
+
+    if (position >= recordLength || data[position] != RECORD_TERMINATOR) {
+      return null;
+    }
+
+    JsonArray fields = new JsonArray();
+    controlFields.sort(Comparator.comparing(ControlField::tag));
+    controlFields.forEach(controlField -> fields.add(new JsonObject().put(controlField.tag(), controlField.data())));
+    dataFields.forEach(fields::add);
+
+    return new JsonObject()
+      .put(LEADER, new String(data, 0, LEADER_LENGTH, StandardCharsets.ISO_8859_1))
+      .put(FIELDS, fields);
+  }
+
+  /**
+   * Reads data field content located between {@code start} (inclusive) and field terminator at {@code end}.
+   *
+   * @return data field json or {@code null} if data field is not well-formed
+   */
+  private static JsonObject readDataField(byte[] data, int start, int end) {
+    if (end - start < 2 || !isPlainChar(data[start]) || !isPlainChar(data[start + 1])) {
+      return null;
+    }
+    JsonArray subfields = new JsonArray();
+    int position = start + 2;
+    while (position < end) {
+      if (data[position] != SUBFIELD_DELIMITER || position + 1 >= end || !isPlainChar(data[position + 1])) {
+        return null;
+      }
+      int dataStart = position + 2;
+      int dataEnd = dataStart;
+      while (dataEnd < end && data[dataEnd] != SUBFIELD_DELIMITER) {
+        if (isControlByte(data[dataEnd])) {
+          return null;
+        }
+        dataEnd++;
+      }
+      subfields.add(new JsonObject().put(String.valueOf((char) data[position + 1]),
+        new String(data, dataStart, dataEnd - dataStart, StandardCharsets.UTF_8)));
+      position = dataEnd;
+    }
+    return new JsonObject()
+      .put(SUBFIELDS, subfields)
+      .put(IND1, String.valueOf((char) data[start]))
+      .put(IND2, String.valueOf((char) data[start + 1]));
+  }
+
+  private static boolean isLeaderValid(byte[] data) {
+    for (int i = 0; i < LEADER_LENGTH; i++) {
+      if (!isPlainChar(data[i])) {
+        return false;
+      }
+    }
+    return parseNumber(data, 0, RECORD_LENGTH_DIGITS) >= 0
+      && isDigit(data[INDICATOR_COUNT_POSITION])
+      && isDigit(data[SUBFIELD_CODE_LENGTH_POSITION])
+      && parseNumber(data, BASE_ADDRESS_POSITION, RECORD_LENGTH_DIGITS) >= 0;
+  }
+
+  private static boolean isTagValid(byte[] data, int start) {
+    for (int i = start; i < start + TAG_LENGTH; i++) {
+      if (!isPlainChar(data[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDataValid(byte[] data, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (isControlByte(data[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses non-negative decimal number of the given length.
+   *
+   * @return parsed number or -1 if bytes contain not only digits
+   */
+  private static int parseNumber(byte[] data, int start, int length) {
+    int number = 0;
+    for (int i = start; i < start + length; i++) {
+      if (!isDigit(data[i])) {
+        return -1;
+      }
+      number = number * 10 + (data[i] - '0');
+    }
+    return number;
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  /**
+   * Checks whether byte is a printable ASCII char which is written to json by marc4j as is, without escaping.
+   */
+  private static boolean isPlainChar(byte b) {
+    return b >= 0x20 && b < 0x7F && b != '"' && b != '\\';
+  }
+
+  private static boolean isControlByte(byte b) {
+    return b >= 0 && b < 0x20;
+  }
+
+  private record ControlField(String tag, String data) {
+  }
+}
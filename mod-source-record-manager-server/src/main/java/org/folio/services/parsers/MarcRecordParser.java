@@ -19,7 +19,9 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * Raw record parser implementation for MARC format. Use marc4j library
+ * Raw record parser implementation for MARC format.
+ * Well-formed records are parsed in a single pass by {@link MarcBinaryJsonReader},
+ * all the others are parsed by marc4j library to report errors
  */
 public final class MarcRecordParser implements RecordParser {
   private static final Logger LOGGER = LogManager.getLogger();
@@ -27,6 +29,24 @@ public final class MarcRecordParser implements RecordParser {
 
   @Override
   public ParsedResult parseRecord(String rawRecord) {
+    if (rawRecord != null) {
+      JsonObject parsedRecord = MarcBinaryJsonReader.read(rawRecord.getBytes(DEFAULT_CHARSET));
+      if (parsedRecord != null) {
+        ParsedResult result = new ParsedResult();
+        result.setParsedRecord(parsedRecord);
+        return result;
+      }
+    }
+    return parseRecordWithMarc4j(rawRecord);
+  }
+
+  /**
+   * Parses raw record using marc4j reader and json writer
+   *
+   * @param rawRecord - String with raw record
+   * @return - Wrapper for parsed record in json format or errors descriptions
+   */
+  ParsedResult parseRecordWithMarc4j(String rawRecord) {
     ParsedResult result = new ParsedResult();
     try {
       MarcReader reader = new MarcStreamReader(new ByteArrayInputStream(rawRecord.getBytes(DEFAULT_CHARSET)), DEFAULT_CHARSET.name());
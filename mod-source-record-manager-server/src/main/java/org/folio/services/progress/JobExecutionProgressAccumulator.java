@@ -0,0 +1,208 @@
+package org.folio.services.progress;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.MessageProducer;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.rest.jaxrs.model.JobExecutionProgress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates completion count deltas of the job executions in memory and sends them for saving
+ * as a single {@link BatchableJobExecutionProgress} per job execution.
+ * <p>
+ * The first delta of the job execution is sent immediately, the following deltas are sent at most once per flush interval,
+ * or as soon as the number of accumulated deltas reaches the flush threshold. Deltas are added to the stored
+ * counts by the database, so the counts remain correct when events of the job are handled by several module instances.
+ */
+public class JobExecutionProgressAccumulator {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public static final String FLUSH_INTERVAL_PARAM = "srm.progress.accumulator.flushInterval.ms";
+  public static final String FLUSH_THRESHOLD_PARAM = "srm.progress.accumulator.flushThreshold";
+  private static final String DEFAULT_FLUSH_INTERVAL_MS = "500";
+  private static final String DEFAULT_FLUSH_THRESHOLD = "100";
+
+  private final Vertx vertx;
+  private final MessageProducer<BatchableJobExecutionProgress> progressProducer;
+  private final long flushIntervalMs;
+  private final long flushThreshold;
+  private final ConcurrentMap<ProgressKey, PendingProgress> pendingProgress = new ConcurrentHashMap<>();
+
+  public JobExecutionProgressAccumulator(Vertx vertx, MessageProducer<BatchableJobExecutionProgress> progressProducer) {
+    this(vertx, progressProducer,
+      Long.parseLong(System.getProperty(FLUSH_INTERVAL_PARAM, DEFAULT_FLUSH_INTERVAL_MS)),
+      Long.parseLong(System.getProperty(FLUSH_THRESHOLD_PARAM, DEFAULT_FLUSH_THRESHOLD)));
+  }
+
+  public JobExecutionProgressAccumulator(Vertx vertx, MessageProducer<BatchableJobExecutionProgress> progressProducer,
+                                         long flushIntervalMs, long flushThreshold) {
+    this.vertx = vertx;
+    this.progressProducer = progressProducer;
+    this.flushIntervalMs = flushIntervalMs;
+    this.flushThreshold = flushThreshold;
+  }
+
+  /**
+   * Adds deltas of succeeded and failed records to the accumulated progress of the job execution
+   *
+   * @param jobExecutionId   job execution id
+   * @param successCountDelta number of records that were processed successfully
+   * @param errorCountDelta   number of records that were processed with errors
+   * @param params           Okapi connection params
+   */
+  public void add(String jobExecutionId, int successCountDelta, int errorCountDelta, OkapiConnectionParams params) {
+    if (params == null || StringUtils.isBlank(params.getTenantId())) {
+      throw new IllegalArgumentException("Tenant ID must be set in Okapi connection parameters");
+    }
+    if (StringUtils.isBlank(jobExecutionId)) {
+      throw new IllegalArgumentException("job execution id must be set");
+    }
+
+    ProgressKey key = new ProgressKey(params.getTenantId(), jobExecutionId);
+    PendingProgress progress;
+    do {
+      progress = pendingProgress.computeIfAbsent(key, k -> new PendingProgress());
+    } while (!progress.add(successCountDelta, errorCountDelta, params));
+
+    if (progress.pendingEvents.sum() >= flushThreshold) {
+      flush(key, progress);
+    } else if (progress.flushScheduled.compareAndSet(false, true)) {
+      scheduleFlush(key, progress, flushIntervalMs - (System.currentTimeMillis() - progress.lastFlushTime));
+    }
+  }
+
+  /**
+   * Takes the deltas accumulated and not sent yet for all job executions, so they can be saved
+   * when the module instance is stopped. Deltas added afterwards are accumulated as usual.
+   *
+   * @return accumulated progress per job execution
+   */
+  public List<BatchableJobExecutionProgress> drain() {
+    List<BatchableJobExecutionProgress> drained = new ArrayList<>();
+    pendingProgress.forEach((key, progress) -> {
+      progress.retire();
+      pendingProgress.remove(key, progress);
+      BatchableJobExecutionProgress batchableProgress = takeAccumulated(key, progress);
+      if (batchableProgress != null) {
+        drained.add(batchableProgress);
+      }
+    });
+    return drained;
+  }
+
+  private void scheduleFlush(ProgressKey key, PendingProgress progress, long delay) {
+    vertx.setTimer(Math.max(1, delay), id -> {
+      if (progress.isRetired()) {
+        return;
+      }
+      if (flush(key, progress)) {
+        scheduleFlush(key, progress, flushIntervalMs);
+        return;
+      }
+      // nothing was accumulated during the last interval, the progress is removed unless deltas are being added concurrently
+      progress.flushScheduled.set(false);
+      if (progress.retireIfIdle()) {
+        pendingProgress.remove(key, progress);
+      } else if (progress.flushScheduled.compareAndSet(false, true)) {
+        scheduleFlush(key, progress, flushIntervalMs);
+      }
+    });
+  }
+
+  private boolean flush(ProgressKey key, PendingProgress progress) {
+    BatchableJobExecutionProgress batchableProgress = takeAccumulated(key, progress);
+    if (batchableProgress == null) {
+      return false;
+    }
+    progress.lastFlushTime = System.currentTimeMillis();
+
+    JobExecutionProgress jobExecutionProgress = batchableProgress.getJobExecutionProgress();
+    progressProducer.write(batchableProgress)
+      .onFailure(e -> LOGGER.warn("flush:: Failed to send progress of jobExecutionId: '{}', succeeded: {}, failed: {}",
+        key.jobExecutionId(), jobExecutionProgress.getCurrentlySucceeded(), jobExecutionProgress.getCurrentlyFailed(), e));
+    return true;
+  }
+
+  private BatchableJobExecutionProgress takeAccumulated(ProgressKey key, PendingProgress progress) {
+    long succeeded = progress.succeeded.sumThenReset();
+    long failed = progress.failed.sumThenReset();
+    progress.pendingEvents.sumThenReset();
+    if (succeeded == 0 && failed == 0) {
+      return null;
+    }
+    JobExecutionProgress jobExecutionProgress = new JobExecutionProgress()
+      .withJobExecutionId(key.jobExecutionId())
+      .withCurrentlySucceeded((int) succeeded)
+      .withCurrentlyFailed((int) failed);
+    return new BatchableJobExecutionProgress(progress.params, jobExecutionProgress);
+  }
+
+  /**
+   * Progress accumulated for the job execution since the last flush.
+   * Once retired, the progress accepts no more deltas and is replaced by a new one.
+   */
+  private static class PendingProgress {
+    private static final int RETIRED = Integer.MIN_VALUE;
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder pendingEvents = new LongAdder();
+    private final AtomicInteger activeWriters = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile OkapiConnectionParams params;
+    private volatile long lastFlushTime;
+
+    boolean add(int successCountDelta, int errorCountDelta, OkapiConnectionParams params) {
+      if (activeWriters.incrementAndGet() < 0) {
+        return false;
+      }
+      try {
+        this.params = params;
+        succeeded.add(successCountDelta);
+        failed.add(errorCountDelta);
+        pendingEvents.increment();
+        return true;
+      } finally {
+        activeWriters.decrementAndGet();
+      }
+    }
+
+    /**
+     * Waits for the deltas being added concurrently and stops accepting new ones
+     */
+    void retire() {
+      while (!isRetired() && !activeWriters.compareAndSet(0, RETIRED)) {
+        Thread.onSpinWait();
+      }
+    }
+
+    boolean isRetired() {
+      return activeWriters.get() < 0;
+    }
+
+    boolean retireIfIdle() {
+      if (!activeWriters.compareAndSet(0, RETIRED)) {
+        return false;
+      }
+      if (succeeded.sum() != 0 || failed.sum() != 0) {
+        activeWriters.set(0);
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private record ProgressKey(String tenantId, String jobExecutionId) {
+  }
+}
@@ -5,6 +5,7 @@ import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobExecutionProgress;
 
+import java.util.List;
 import java.util.function.UnaryOperator;
 
 /**
@@ -50,8 +51,8 @@ public interface JobExecutionProgressService {
    *  </p>
    * <p>
    * NOTE: An implementation of this interface {@link JobExecutionProgressServiceImpl}, returns a
-   * succesful future when the updates has successfully been enqueued. Actual update of job execution can happen
-   * a bit later.
+   * succesful future when the updates has successfully been accumulated. Deltas of the job execution are coalesced
+   * and saved in batches, so actual update of job execution can happen a bit later.
    * </p>
    * @param jobExecutionId  jobExecution id
    * @param successCountDelta number of successful executions
@@ -60,4 +61,12 @@ public interface JobExecutionProgressService {
    * @return future that returns when the notification is successful
    */
   Future<Void> updateCompletionCounts(String jobExecutionId, int successCountDelta, int errorCountDelta, OkapiConnectionParams params);
+
+  /**
+   * Takes the deltas of success and error counts which were accumulated by {@link #updateCompletionCounts}
+   * and not sent for saving yet, so they are not lost when the module instance is stopped.
+   *
+   * @return accumulated deltas per job execution
+   */
+  List<BatchableJobExecutionProgress> drainCompletionCounts();
 }
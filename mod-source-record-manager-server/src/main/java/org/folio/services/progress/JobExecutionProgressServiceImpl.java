@@ -2,7 +2,6 @@ package org.folio.services.progress;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
-import io.vertx.core.eventbus.MessageProducer;
 import org.folio.dao.JobExecutionDao;
 import org.folio.dao.JobExecutionProgressDao;
 import org.folio.dao.util.PostgresClientFactory;
@@ -13,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.ws.rs.NotFoundException;
+import java.util.List;
 import java.util.function.UnaryOperator;
 
 import static java.lang.String.format;
@@ -29,10 +29,10 @@ public class JobExecutionProgressServiceImpl implements JobExecutionProgressServ
   @Autowired
   private JobExecutionDao jobExecutionDao;
 
-  private final MessageProducer<BatchableJobExecutionProgress> jobExecutionProgressMessageProducer;
+  private final JobExecutionProgressAccumulator jobExecutionProgressAccumulator;
 
   public JobExecutionProgressServiceImpl(@Autowired Vertx vertx) {
-    this.jobExecutionProgressMessageProducer = getBatchJobProgressProducer(vertx);
+    this.jobExecutionProgressAccumulator = new JobExecutionProgressAccumulator(vertx, getBatchJobProgressProducer(vertx));
   }
 
   @Override
@@ -61,10 +61,12 @@ public class JobExecutionProgressServiceImpl implements JobExecutionProgressServ
 
   @Override
   public Future<Void> updateCompletionCounts(String jobExecutionId, int successCountDelta, int errorCountDelta, OkapiConnectionParams params) {
-    JobExecutionProgress jobExecutionProgress = new JobExecutionProgress().withJobExecutionId(jobExecutionId)
-      .withCurrentlySucceeded(successCountDelta)
-      .withCurrentlyFailed(errorCountDelta);
-    BatchableJobExecutionProgress batchableJobExecutionProgress = new BatchableJobExecutionProgress(params, jobExecutionProgress);
-    return jobExecutionProgressMessageProducer.write(batchableJobExecutionProgress);
+    jobExecutionProgressAccumulator.add(jobExecutionId, successCountDelta, errorCountDelta, params);
+    return Future.succeededFuture();
+  }
+
+  @Override
+  public List<BatchableJobExecutionProgress> drainCompletionCounts() {
+    return jobExecutionProgressAccumulator.drain();
   }
 }
@@ -11,7 +11,6 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaTopicNameHelper;
-import org.folio.kafka.SimpleKafkaProducerManager;
 import org.folio.kafka.services.KafkaProducerRecordBuilder;
 import org.folio.rest.jaxrs.model.Event;
 import org.folio.rest.jaxrs.model.EventMetadata;
@@ -23,7 +22,6 @@ import static org.folio.services.util.RecordConversionUtil.RECORDS;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.function.Supplier;
 
 public final class EventHandlingUtil {
 
@@ -60,9 +58,8 @@ public final class EventHandlingUtil {
     LOGGER.debug("sendEventToKafka:: Starting to send event to Kafka for eventType: {}, jobExecutionId: {}, recordId: {} and chunkId: {}",
       eventType, jobExecutionId, recordId, chunkId);
 
-    KafkaProducer<String, String> producer = createProducer(eventType, kafkaConfig);
-    return producer.send(record)
-      .eventually((Supplier<Future<Void>>) producer::close)
+    return KafkaProducerRegistry.forContext(Vertx.currentContext())
+      .send(eventType, record, kafkaConfig)
       .map(true)
       .onSuccess(x -> logSendingSucceeded(eventType, jobExecutionId, chunkId, recordId))
       .recover(err -> handleKafkaPublishingErrors(eventPayload, producerName, eventType, err));
@@ -126,8 +123,15 @@ public final class EventHandlingUtil {
     return ModuleName.getModuleName().replace("_", "-") + "-" + ModuleName.getModuleVersion();
   }
 
+  /**
+   * Returns long-lived producer of the current context for the event type
+   *
+   * @param eventType   event type
+   * @param kafkaConfig kafka config
+   * @return kafka producer, must not be closed by caller
+   */
   public static KafkaProducer<String, String> createProducer(String eventType, KafkaConfig kafkaConfig) {
-    return new SimpleKafkaProducerManager(Vertx.currentContext().owner(), kafkaConfig).createShared(eventType);
+    return KafkaProducerRegistry.forContext(Vertx.currentContext()).getProducer(eventType, kafkaConfig);
   }
 
   static <T> Future<T> handleKafkaPublishingErrors(
@@ -0,0 +1,62 @@
+package org.folio.services.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.folio.okapi.common.MetricsUtil;
+import org.folio.rest.jaxrs.model.JobExecution;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+import org.folio.services.entity.JobProfilePlan;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of the job profile plans compiled for job executions.
+ * <p>
+ * Plan is cached by job execution id and id of its job profile snapshot, so a plan compiled before the job profile
+ * was assigned to the job execution is not reused. Job profile snapshot is not modified after it was created,
+ * therefore cached plans do not require invalidation and are evicted when they are not accessed during the expiration time.
+ * Plans of the snapshots without id are compiled on every request.
+ */
+public final class JobProfilePlanCache {
+
+  public static final String MAX_SIZE_PARAM = "srm.jobProfilePlan.cache.maxSize";
+  public static final String EXPIRATION_TIME_PARAM = "srm.jobProfilePlan.cache.expirationTime.seconds";
+  private static final String DEFAULT_MAX_SIZE = "1000";
+  private static final String DEFAULT_EXPIRATION_TIME_SECONDS = "3600";
+
+  private static final Cache<JobProfilePlanCacheKey, JobProfilePlan> CACHE = buildCache();
+
+  private JobProfilePlanCache() {
+  }
+
+  /**
+   * Returns plan of the job profile snapshot of the specified job execution, compiles it if it is not cached yet
+   *
+   * @param jobExecution job execution
+   * @return job profile plan
+   */
+  public static JobProfilePlan get(JobExecution jobExecution) {
+    ProfileSnapshotWrapper jobProfileSnapshot = jobExecution.getJobProfileSnapshotWrapper();
+    if (jobExecution.getId() == null || jobProfileSnapshot == null || jobProfileSnapshot.getId() == null) {
+      return JobProfilePlan.compile(jobProfileSnapshot);
+    }
+    return CACHE.get(new JobProfilePlanCacheKey(jobExecution.getId(), jobProfileSnapshot.getId()),
+      key -> JobProfilePlan.compile(jobProfileSnapshot));
+  }
+
+  private static Cache<JobProfilePlanCacheKey, JobProfilePlan> buildCache() {
+    long maxSize = Long.parseLong(System.getProperty(MAX_SIZE_PARAM, DEFAULT_MAX_SIZE));
+    long expirationTime = Long.parseLong(System.getProperty(EXPIRATION_TIME_PARAM, DEFAULT_EXPIRATION_TIME_SECONDS));
+    Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterAccess(expirationTime, TimeUnit.SECONDS);
+    if (MetricsUtil.isEnabled()) {
+      cacheBuilder.recordStats(() -> new CaffeineStatsCounter("jobProfilePlanCache", Collections.emptyList()));
+    }
+    return cacheBuilder.build();
+  }
+
+  private record JobProfilePlanCacheKey(String jobExecutionId, String jobProfileSnapshotId) {
+  }
+}
@@ -0,0 +1,196 @@
+package org.folio.services.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.kafka.KafkaConfig;
+import org.folio.okapi.common.MetricsUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of long-lived kafka producers bound to the Vert.x context (i.e. verticle instance) they were created on.
+ * <p>
+ * Producers are created lazily per event type on the first send and reused by the subsequent sends
+ * on the same context, so sending of a chunk of records does not acquire and close the producer per record.
+ * Producers are closed by {@link #close(Context)} on verticle stop. Producers of the contexts that are not closed
+ * explicitly, including contexts that do not belong to a verticle, are closed by {@link #closeAll()} on application shutdown.
+ * <p>
+ * Number of the sends that are not completed yet is reported by {@value #IN_FLIGHT_METRIC} gauge.
+ * <p>
+ * Linger and batch size of the producers are set by {@link #configure(String, String)} from
+ * {@value #LINGER_MS_PARAM} and {@value #BATCH_SIZE_PARAM} properties.
+ */
+public final class KafkaProducerRegistry {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public static final String LINGER_MS_PARAM = "srm.kafka.producer.linger.ms";
+  public static final String BATCH_SIZE_PARAM = "srm.kafka.producer.batch.size";
+  static final String DEFAULT_LINGER_MS = "5";
+  static final String DEFAULT_BATCH_SIZE = "65536";
+
+  private static final String STARTED_METRIC = "srm.kafka.producer.started";
+  private static final String SENT_METRIC = "srm.kafka.producer.sent";
+  private static final String FAILED_METRIC = "srm.kafka.producer.failed";
+  private static final String IN_FLIGHT_METRIC = "srm.kafka.producer.inFlight";
+  private static final String EVENT_TYPE_TAG = "eventType";
+
+  private static final AtomicLong IN_FLIGHT_SENDS = new AtomicLong();
+  private static final Map<Context, KafkaProducerRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+  private static volatile String lingerMs = DEFAULT_LINGER_MS;
+  private static volatile String batchSize = DEFAULT_BATCH_SIZE;
+
+  private final Vertx vertx;
+  private final Map<String, KafkaProducer<String, String>> producers = new ConcurrentHashMap<>();
+
+  private KafkaProducerRegistry(Context context) {
+    this.vertx = context.owner();
+  }
+
+  /**
+   * Sets linger and batch size of the producers created after the call
+   *
+   * @param producerLingerMs  value of {@link ProducerConfig#LINGER_MS_CONFIG}
+   * @param producerBatchSize value of {@link ProducerConfig#BATCH_SIZE_CONFIG}
+   */
+  public static void configure(String producerLingerMs, String producerBatchSize) {
+    lingerMs = producerLingerMs;
+    batchSize = producerBatchSize;
+  }
+
+  /**
+   * Returns registry of the specified context, creates it if the context has no registry yet
+   *
+   * @param context vert.x context
+   * @return producer registry bound to the context
+   */
+  public static KafkaProducerRegistry forContext(Context context) {
+    return REGISTRIES.computeIfAbsent(context, ctx -> {
+      registerInFlightSendsGauge();
+      return new KafkaProducerRegistry(ctx);
+    });
+  }
+
+  /**
+   * Closes all producers of the registry bound to the specified context
+   *
+   * @param context vert.x context
+   * @return future completed when all producers are closed
+   */
+  public static Future<Void> close(Context context) {
+    KafkaProducerRegistry registry = REGISTRIES.remove(context);
+    if (registry == null) {
+      return Future.succeededFuture();
+    }
+    return registry.close();
+  }
+
+  /**
+   * Closes all producers of all registries
+   *
+   * @return future completed when all producers are closed
+   */
+  public static Future<Void> closeAll() {
+    List<Future<Void>> futures = new ArrayList<>();
+    REGISTRIES.keySet().forEach(context -> futures.add(close(context)));
+    return Future.join(futures).mapEmpty();
+  }
+
+  /**
+   * Returns number of sends that were started but are not completed yet across all registries
+   *
+   * @return number of in-flight sends
+   */
+  public static long getInFlightSends() {
+    return IN_FLIGHT_SENDS.get();
+  }
+
+  /**
+   * Sends the record using long-lived producer for the specified event type
+   *
+   * @param eventType   event type, defines producer to use
+   * @param record      record to send
+   * @param kafkaConfig kafka config
+   * @return future with metadata of the sent record
+   */
+  public Future<RecordMetadata> send(String eventType, KafkaProducerRecord<String, String> record, KafkaConfig kafkaConfig) {
+    KafkaProducer<String, String> producer = getProducer(eventType, kafkaConfig);
+    IN_FLIGHT_SENDS.incrementAndGet();
+    recordSendMetric(STARTED_METRIC, eventType);
+    return producer.send(record)
+      .onComplete(ar -> {
+        IN_FLIGHT_SENDS.decrementAndGet();
+        recordSendMetric(ar.succeeded() ? SENT_METRIC : FAILED_METRIC, eventType);
+      });
+  }
+
+  /**
+   * Returns producer for the specified event type, creates it on first request
+   *
+   * @param eventType   event type
+   * @param kafkaConfig kafka config
+   * @return kafka producer
+   */
+  public KafkaProducer<String, String> getProducer(String eventType, KafkaConfig kafkaConfig) {
+    return producers.computeIfAbsent(eventType, type -> {
+      LOGGER.debug("getProducer:: Creating kafka producer for eventType: {}", type);
+      return KafkaProducer.createShared(vertx, type, getProducerProps(kafkaConfig));
+    });
+  }
+
+  /**
+   * Closes all producers of this registry
+   *
+   * @return future completed when all producers are closed
+   */
+  public Future<Void> close() {
+    List<Future<Void>> futures = new ArrayList<>();
+    producers.forEach((eventType, producer) -> futures.add(producer.close()
+      .onFailure(e -> LOGGER.warn("close:: Failed to close kafka producer for eventType: {}", eventType, e))));
+    producers.clear();
+    return Future.join(futures).mapEmpty();
+  }
+
+  static Map<String, String> getProducerProps(KafkaConfig kafkaConfig) {
+    Map<String, String> producerProps = new HashMap<>(kafkaConfig.getProducerProps());
+    producerProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+    return producerProps;
+  }
+
+  /**
+   * Registers the gauge once, registration of already registered gauge returns the existing one
+   */
+  private static void registerInFlightSendsGauge() {
+    if (MetricsUtil.isEnabled()) {
+      Gauge.builder(IN_FLIGHT_METRIC, IN_FLIGHT_SENDS, AtomicLong::get)
+        .description("Number of kafka sends that were started but are not completed yet")
+        .register(Metrics.globalRegistry);
+    }
+  }
+
+  /**
+   * Increments send counter, number of in-flight sends is a difference between started and sent/failed sends
+   */
+  private static void recordSendMetric(String metricName, String eventType) {
+    if (MetricsUtil.isEnabled()) {
+      MetricsUtil.recordCounter(metricName, List.of(Tag.of(EVENT_TYPE_TAG, eventType))).increment();
+    }
+  }
+}
@@ -59,6 +59,123 @@ public final class ParsedRecordUtil {
       .collect(Collectors.joining(SUBFIELDS_DATA_DELIMITER));
   }
 
+  /**
+   * Retrieve data of the first control field with specified tag.
+   *
+   * @param parsedContent parsed marc record content
+   * @param fieldTag      marc field tag
+   * @return control field data or null if there is no such control field
+   */
+  public static String getControlFieldValue(JsonObject parsedContent, String fieldTag) {
+    for (JsonObject field : getFields(parsedContent)) {
+      if (field.getValue(fieldTag) instanceof String data) {
+        return data;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieve data of the first specified subfield from the first marc field with specified tag that contains such subfield.
+   *
+   * @param parsedContent parsed marc record content
+   * @param fieldTag      marc field tag
+   * @param subfieldCode  subfield code
+   * @return subfield data or null if there is no such subfield
+   */
+  public static String getSubfieldValue(JsonObject parsedContent, String fieldTag, String subfieldCode) {
+    for (JsonObject field : getFields(parsedContent)) {
+      if (field.getValue(fieldTag) instanceof JsonObject dataField) {
+        JsonObject subfield = getFirstSubfield(dataField, subfieldCode);
+        if (subfield != null) {
+          return getSubfieldData(subfield);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks whether the first marc field with specified tag and indicators contains specified subfield.
+   *
+   * @param parsedContent parsed marc record content
+   * @param fieldTag      marc field tag
+   * @param ind1          first indicator
+   * @param ind2          second indicator
+   * @param subfieldCode  subfield code
+   * @return true if such subfield exists
+   */
+  public static boolean hasSubfieldInFieldWithIndicators(JsonObject parsedContent, String fieldTag,
+                                                         char ind1, char ind2, String subfieldCode) {
+    for (JsonObject field : getFields(parsedContent)) {
+      if (field.getValue(fieldTag) instanceof JsonObject dataField
+        && isIndicatorEqual(dataField.getValue("ind1"), ind1) && isIndicatorEqual(dataField.getValue("ind2"), ind2)) {
+        return getFirstSubfield(dataField, subfieldCode) != null;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether the record contains a control field with specified tag and value,
+   * or a data field with specified tag that contains specified subfield with the value.
+   *
+   * @param parsedContent parsed marc record content
+   * @param fieldTag      marc field tag
+   * @param subfieldCode  subfield code to check in data fields
+   * @param value         field or subfield value
+   * @return true if such field exists, false for empty value
+   */
+  public static boolean hasFieldWithValue(JsonObject parsedContent, String fieldTag, String subfieldCode, String value) {
+    if (value == null || value.isEmpty()) {
+      return false;
+    }
+    for (JsonObject field : getFields(parsedContent)) {
+      Object fieldValue = field.getValue(fieldTag);
+      if (fieldValue instanceof String data && data.equals(value)) {
+        return true;
+      }
+      if (fieldValue instanceof JsonObject dataField && dataField.getJsonArray("subfields") != null) {
+        boolean hasValue = dataField.getJsonArray("subfields").stream()
+          .filter(JsonObject.class::isInstance)
+          .map(JsonObject.class::cast)
+          .anyMatch(subfield -> value.equals(subfield.getValue(subfieldCode)));
+        if (hasValue) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static List<JsonObject> getFields(JsonObject parsedContent) {
+    JsonArray fields = parsedContent == null ? null : parsedContent.getJsonArray("fields");
+    if (fields == null) {
+      return List.of();
+    }
+    return fields.stream()
+      .filter(JsonObject.class::isInstance)
+      .map(JsonObject.class::cast)
+      .toList();
+  }
+
+  private static JsonObject getFirstSubfield(JsonObject dataField, String subfieldCode) {
+    JsonArray subfields = dataField.getJsonArray("subfields");
+    if (subfields == null) {
+      return null;
+    }
+    return subfields.stream()
+      .filter(JsonObject.class::isInstance)
+      .map(JsonObject.class::cast)
+      .filter(subfield -> subfield.containsKey(subfieldCode))
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static boolean isIndicatorEqual(Object indicator, char expected) {
+    return indicator instanceof String value && !value.isEmpty() && value.charAt(0) == expected;
+  }
+
   private static String getSubfieldData(JsonObject subfield) {
     return subfield.iterator().next().getValue().toString();
   }
@@ -0,0 +1,12 @@
+package org.folio.services.util;
+
+/**
+ * Fields of the DI_COMPLETED/DI_ERROR event that are needed to update progress of the job execution.
+ *
+ * @param eventId        id of the event, null if only event payload was read
+ * @param eventType      event type specified in the event payload
+ * @param jobExecutionId job execution id
+ * @param errors         value of the ERRORS entry of the event payload context, null if it is absent
+ */
+public record RecordProcessedEvent(String eventId, String eventType, String jobExecutionId, String errors) {
+}
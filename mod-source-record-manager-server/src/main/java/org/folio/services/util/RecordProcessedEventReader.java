@@ -0,0 +1,161 @@
+package org.folio.services.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Tag;
+import io.vertx.core.json.jackson.DatabindCodec;
+import org.folio.okapi.common.MetricsUtil;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads fields of the DI_COMPLETED/DI_ERROR event with a streaming parser. Event payload contains records and entities
+ * created during the import, all other fields of the event are skipped without building strings and objects for them.
+ */
+public final class RecordProcessedEventReader {
+
+  private static final String SKIPPED_SIZE_METRIC = "srm.event.skippedSize";
+  private static final String EVENT_TYPE_TAG = "event_type";
+  private static final String ID_FIELD = "id";
+  private static final String EVENT_TYPE_FIELD = "eventType";
+  private static final String EVENT_PAYLOAD_FIELD = "eventPayload";
+  private static final String JOB_EXECUTION_ID_FIELD = "jobExecutionId";
+  private static final String CONTEXT_FIELD = "context";
+  private static final String ERRORS_KEY = "ERRORS";
+
+  private RecordProcessedEventReader() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Reads fields of the event and its payload from the serialized {@link org.folio.rest.jaxrs.model.Event}
+   *
+   * @param event serialized event
+   * @return fields of the event
+   * @throws IOException if the event is not valid JSON
+   */
+  public static RecordProcessedEvent readEvent(byte[] event) throws IOException {
+    String eventId = null;
+    PayloadFields payloadFields = new PayloadFields();
+    SkippedValues skippedValues = new SkippedValues();
+    try (JsonParser parser = jsonFactory().createParser(event)) {
+      expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+      while (skippedValues.nextToken(parser) == JsonToken.FIELD_NAME) {
+        String fieldName = parser.currentName();
+        JsonToken valueToken = parser.nextToken();
+        if (ID_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+          eventId = parser.getText();
+        } else if (EVENT_PAYLOAD_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+          // payload is parsed from the buffer of the enclosing parser, so it is not copied to a separate string
+          try (JsonParser payloadParser = jsonFactory()
+            .createParser(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+            readPayloadFields(payloadParser, payloadFields);
+          }
+        } else {
+          skippedValues.skip(parser);
+        }
+      }
+    }
+    recordSkippedSize(payloadFields.eventType, skippedValues.size + payloadFields.skippedValues.size);
+    return new RecordProcessedEvent(eventId, payloadFields.eventType, payloadFields.jobExecutionId, payloadFields.errors);
+  }
+
+  /**
+   * Reads fields of the serialized {@link org.folio.DataImportEventPayload}
+   *
+   * @param eventPayload serialized event payload
+   * @return fields of the event payload
+   * @throws IOException if the event payload is not valid JSON
+   */
+  public static RecordProcessedEvent readEventPayload(String eventPayload) throws IOException {
+    PayloadFields payloadFields = new PayloadFields();
+    try (JsonParser parser = jsonFactory().createParser(eventPayload)) {
+      readPayloadFields(parser, payloadFields);
+    }
+    recordSkippedSize(payloadFields.eventType, payloadFields.skippedValues.size);
+    return new RecordProcessedEvent(null, payloadFields.eventType, payloadFields.jobExecutionId, payloadFields.errors);
+  }
+
+  private static void readPayloadFields(JsonParser parser, PayloadFields payloadFields) throws IOException {
+    expectToken(parser.nextToken(), JsonToken.START_OBJECT);
+    while (payloadFields.skippedValues.nextToken(parser) == JsonToken.FIELD_NAME) {
+      String fieldName = parser.currentName();
+      JsonToken valueToken = parser.nextToken();
+      if (EVENT_TYPE_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+        payloadFields.eventType = parser.getText();
+      } else if (JOB_EXECUTION_ID_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_STRING) {
+        payloadFields.jobExecutionId = parser.getText();
+      } else if (CONTEXT_FIELD.equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+        readContextErrors(parser, payloadFields);
+      } else {
+        payloadFields.skippedValues.skip(parser);
+      }
+    }
+  }
+
+  private static void readContextErrors(JsonParser parser, PayloadFields payloadFields) throws IOException {
+    while (payloadFields.skippedValues.nextToken(parser) == JsonToken.FIELD_NAME) {
+      String key = parser.currentName();
+      JsonToken valueToken = parser.nextToken();
+      if (ERRORS_KEY.equals(key) && valueToken == JsonToken.VALUE_STRING) {
+        payloadFields.errors = parser.getText();
+      } else {
+        payloadFields.skippedValues.skip(parser);
+      }
+    }
+  }
+
+  private static void expectToken(JsonToken actual, JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException(String.format("Unexpected token '%s', expected '%s'", actual, expected));
+    }
+  }
+
+  private static JsonFactory jsonFactory() {
+    return DatabindCodec.mapper().getFactory();
+  }
+
+  private static void recordSkippedSize(String eventType, long skippedSize) {
+    if (MetricsUtil.isEnabled() && eventType != null && skippedSize > 0) {
+      MetricsUtil.recordCounter(SKIPPED_SIZE_METRIC, List.of(Tag.of(EVENT_TYPE_TAG, eventType))).increment(skippedSize);
+    }
+  }
+
+  private static class PayloadFields {
+    private String eventType;
+    private String jobExecutionId;
+    private String errors;
+    private final SkippedValues skippedValues = new SkippedValues();
+  }
+
+  /**
+   * Sums the sizes of the skipped values taken from the parser offsets, bytes for the parser of the serialized event
+   * and characters for the parser of the event payload read from its string. A skipped string value is not read
+   * by the parser until the next token, so the size of the value is taken when the parser moves to the next token.
+   */
+  private static class SkippedValues {
+    private long startOffset = -1;
+    private long size;
+
+    private void skip(JsonParser parser) throws IOException {
+      startOffset = offset(parser.currentTokenLocation());
+      parser.skipChildren();
+    }
+
+    private JsonToken nextToken(JsonParser parser) throws IOException {
+      JsonToken token = parser.nextToken();
+      if (startOffset >= 0) {
+        size += offset(parser.currentTokenLocation()) - startOffset;
+        startOffset = -1;
+      }
+      return token;
+    }
+
+    private static long offset(JsonLocation location) {
+      return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package org.folio.services.util;
+
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+import static org.folio.services.util.ParsedRecordUtil.SUBFIELDS_DATA_DELIMITER;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+
+import org.folio.rest.jaxrs.model.ParsedRecord;
+
+/**
+ * Extracts record title from parsed marc record.
+ * Title field tag and subfield codes are resolved from the mapping rules once at compile time,
+ * so that the title of each record is retrieved by a single pass over the record fields.
+ */
+public final class RecordTitleExtractor {
+
+  public static final String INSTANCE_TITLE_FIELD_PATH = "title";
+
+  private static final String FIELDS = "fields";
+  private static final String SUBFIELDS = "subfields";
+  private static final int AUTHORITY_TITLE_TAG_FROM = 100;
+  private static final int AUTHORITY_TITLE_TAG_TO = 199;
+
+  private final String titleFieldTag;
+  private final List<String> subfieldCodes;
+
+  private RecordTitleExtractor(String titleFieldTag, List<String> subfieldCodes) {
+    this.titleFieldTag = titleFieldTag;
+    this.subfieldCodes = subfieldCodes;
+  }
+
+  /**
+   * Resolves title field tag and subfield codes from the specified mapping rules.
+   *
+   * @param mappingRules mapping rules
+   * @return title extractor for the specified mapping rules
+   */
+  public static RecordTitleExtractor compile(JsonObject mappingRules) {
+    Optional<String> titleFieldOptional = getTitleFieldTag(mappingRules);
+    if (titleFieldOptional.isEmpty()) {
+      return new RecordTitleExtractor(null, List.of());
+    }
+
+    String fieldTag = titleFieldOptional.get();
+    List<String> subfieldCodes = mappingRules.getJsonArray(fieldTag).stream()
+      .map(JsonObject.class::cast)
+      .filter(fieldMappingRule -> INSTANCE_TITLE_FIELD_PATH.equals(fieldMappingRule.getString("target")))
+      .flatMap(fieldMappingRule -> fieldMappingRule.getJsonArray("subfield", new JsonArray()).stream())
+      .map(Object::toString)
+      .toList();
+    return new RecordTitleExtractor(fieldTag, subfieldCodes);
+  }
+
+  /**
+   * Finds tag of the marc field which is mapped to the instance title.
+   *
+   * @param mappingRules mapping rules
+   * @return optional with title field tag
+   */
+  public static Optional<String> getTitleFieldTag(JsonObject mappingRules) {
+    return mappingRules.getMap().keySet().stream()
+      .filter(fieldTag -> mappingRules.getJsonArray(fieldTag).stream()
+        .map(JsonObject.class::cast)
+        .anyMatch(fieldMappingRule -> INSTANCE_TITLE_FIELD_PATH.equals(fieldMappingRule.getString("target"))))
+      .findFirst();
+  }
+
+  public String getTitleFieldTag() {
+    return titleFieldTag;
+  }
+
+  /**
+   * Retrieves data from the title subfields of the title field.
+   * Subfields data returns as a concatenated string in which they are separated by space character.
+   *
+   * @param parsedRecord parsed marc record
+   * @return title, empty string if record has no title data, or null if mapping rules do not contain title field
+   */
+  public String extract(ParsedRecord parsedRecord) {
+    if (titleFieldTag == null) {
+      return null;
+    }
+    JsonArray fields = getFields(parsedRecord);
+    if (fields == null) {
+      return EMPTY;
+    }
+
+    StringJoiner title = new StringJoiner(SUBFIELDS_DATA_DELIMITER);
+    for (Object field : fields) {
+      if (field instanceof JsonObject fieldObject && fieldObject.getValue(titleFieldTag) instanceof JsonObject dataField) {
+        appendSubfieldsData(dataField, subfieldCodes, title);
+      }
+    }
+    return title.toString();
+  }
+
+  /**
+   * Retrieves data from all subfields of the first 1xx field having not blank data, which is a heading of marc authority.
+   *
+   * @param parsedRecord parsed marc authority record
+   * @return title or null if record has no heading field
+   */
+  public static String extractAuthorityTitle(ParsedRecord parsedRecord) {
+    JsonArray fields = getFields(parsedRecord);
+    if (fields == null) {
+      return null;
+    }
+
+    Map<Integer, StringJoiner> headings = new TreeMap<>();
+    for (Object field : fields) {
+      if (field instanceof JsonObject fieldObject) {
+        for (Map.Entry<String, Object> entry : fieldObject) {
+          int tag = NumberUtils.toInt(entry.getKey(), -1);
+          if (tag >= AUTHORITY_TITLE_TAG_FROM && tag < AUTHORITY_TITLE_TAG_TO && entry.getValue() instanceof JsonObject dataField) {
+            appendSubfieldsData(dataField, null,
+              headings.computeIfAbsent(tag, k -> new StringJoiner(SUBFIELDS_DATA_DELIMITER)));
+          }
+        }
+      }
+    }
+    return headings.values().stream()
+      .map(StringJoiner::toString)
+      .filter(StringUtils::isNotBlank)
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static void appendSubfieldsData(JsonObject dataField, List<String> subfieldCodes, StringJoiner data) {
+    JsonArray subfields = dataField.getJsonArray(SUBFIELDS);
+    if (subfields == null) {
+      return;
+    }
+    for (Object subfield : subfields) {
+      if (subfield instanceof JsonObject subfieldObject && !subfieldObject.isEmpty()
+        && (subfieldCodes == null || subfieldCodes.stream().anyMatch(subfieldObject::containsKey))) {
+        data.add(String.valueOf(subfieldObject.iterator().next().getValue()));
+      }
+    }
+  }
+
+  private static JsonArray getFields(ParsedRecord parsedRecord) {
+    if (parsedRecord == null || parsedRecord.getContent() == null) {
+      return null;
+    }
+    Object content = parsedRecord.getContent();
+    JsonObject parsedContent = content instanceof JsonObject jsonContent ? jsonContent : new JsonObject(content.toString());
+    return parsedContent.getJsonArray(FIELDS);
+  }
+}
@@ -0,0 +1,38 @@
+package org.folio.services.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates time-ordered UUIDs (version 7, RFC 9562): the first 48 bits contain Unix time in milliseconds,
+ * the remaining bits are random. Such ids of job executions define the partitions of the job records tables.
+ */
+public final class TimeOrderedUuidUtil {
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private TimeOrderedUuidUtil() {
+    throw new IllegalStateException("Utility class");
+  }
+
+  /**
+   * Generates time-ordered UUID for the current time
+   *
+   * @return UUID version 7
+   */
+  public static UUID randomTimeOrderedUuid() {
+    return timeOrderedUuid(System.currentTimeMillis());
+  }
+
+  /**
+   * Generates time-ordered UUID for the specified time
+   *
+   * @param epochMillis Unix time in milliseconds
+   * @return UUID version 7
+   */
+  public static UUID timeOrderedUuid(long epochMillis) {
+    long mostSigBits = (epochMillis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+    long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -11,6 +11,7 @@ import org.folio.kafka.KafkaConsumerWrapper;
 import org.folio.kafka.KafkaTopicNameHelper;
 import org.folio.kafka.ProcessRecordErrorHandler;
 import org.folio.kafka.SubscriptionDefinition;
+import org.folio.services.util.KafkaProducerRegistry;
 import org.folio.verticle.consumers.consumerstorage.KafkaConsumersStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -76,6 +77,7 @@ public abstract class AbstractConsumersVerticle<K, V> extends AbstractVerticle {
     List<Future<Void>> futures = new ArrayList<>();
     kafkaConsumersStorage.getConsumersList().forEach(consumerWrapper ->
       futures.add(consumerWrapper.stop()));
+    futures.add(KafkaProducerRegistry.close(context));
 
     Future.join(futures).onComplete(ar -> stopPromise.complete());
   }
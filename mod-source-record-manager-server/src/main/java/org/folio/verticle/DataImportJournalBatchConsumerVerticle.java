@@ -39,20 +39,25 @@ import org.folio.services.journal.JournalUtil;
 import org.folio.util.DataImportEventPayloadWithoutCurrentNode;
 import org.folio.util.JournalEvent;
 import org.folio.util.SharedDataUtil;
+import org.folio.verticle.consumers.util.AdaptiveBatchWindow;
 import org.folio.verticle.consumers.util.EventTypeHandlerSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -107,8 +112,6 @@ public class DataImportJournalBatchConsumerVerticle extends AbstractVerticle {
 
   public static final String DATA_IMPORT_JOURNAL_BATCH_KAFKA_HANDLER_UUID = "ca0c6c56-e74e-4921-b4c9-7b2de53c43ec";
 
-  private static final int MAX_NUM_EVENTS = 100;
-
   @Autowired
   @Qualifier("newKafkaConfig")
   private KafkaConfig kafkaConfig;
@@ -118,10 +121,20 @@ public class DataImportJournalBatchConsumerVerticle extends AbstractVerticle {
   @Autowired
   BatchJournalService batchJournalService;
 
+  @Value("${srm.journal.batch.minEvents:100}")
+  private int minNumEvents;
+  @Value("${srm.journal.batch.maxEvents:1000}")
+  private int maxNumEvents;
+  @Value("${srm.journal.batch.minWindowTimeMs:200}")
+  private long minWindowTimeMs;
+  @Value("${srm.journal.batch.windowTimeMs:2000}")
+  private long windowTimeMs;
+
   private KafkaConsumer<String, byte[]> kafkaConsumer;
   private MessageConsumer<Collection<BatchableJournalRecord>> eventBusConsumer;
 
   private Scheduler scheduler;
+  private AdaptiveBatchWindow<Pair<Optional<Bundle>, Collection<BatchableJournalRecord>>> batchWindow;
 
   private final CompositeDisposable disposables = new CompositeDisposable();
 
@@ -142,27 +155,41 @@ public class DataImportJournalBatchConsumerVerticle extends AbstractVerticle {
       })
       .subscribe();
 
+    batchWindow = new AdaptiveBatchWindow<>(minNumEvents, maxNumEvents, minWindowTimeMs, windowTimeMs, scheduler,
+      pair -> pair.getRight().size());
+
     // Listen to both Kafka events and EventBus messages, merging their streams
-    disposables.add(Flowable.merge(listenKafkaEvents(), listenEventBusMessages())
-      .window(2, TimeUnit.SECONDS, scheduler, MAX_NUM_EVENTS, true)
+    disposables.add(batchWindow.window(Flowable.merge(listenKafkaEvents(), listenEventBusMessages()))
       // Save the journal records for each window
-      .flatMapCompletable(flowable -> saveJournalRecords(flowable.replay(MAX_NUM_EVENTS))
-        .onErrorResumeNext(error -> {
-          if (error instanceof RebalanceInProgressException) {
-            LOGGER.warn("Rebalance in progress, retrying...", error);
-            return Completable.timer(1, TimeUnit.SECONDS) // Retry after a delay
-              .andThen(saveJournalRecords(flowable.replay(MAX_NUM_EVENTS)));
-          } else {
-            LOGGER.error("Error saving journal records, continuing with next batch", error);
-            return Completable.complete();
-          }
-        }))
+      .flatMapCompletable(this::saveJournalRecordsWindow)
       .subscribeOn(scheduler)
       .observeOn(scheduler)
       .subscribe()
     );
   }
 
+  private Completable saveJournalRecordsWindow(Flowable<Pair<Optional<Bundle>, Collection<BatchableJournalRecord>>> window) {
+    AtomicInteger windowItems = new AtomicInteger();
+    AtomicLong windowClosedAt = new AtomicLong();
+    Flowable<Pair<Optional<Bundle>, Collection<BatchableJournalRecord>>> countedWindow = window
+      .doOnNext(pair -> windowItems.addAndGet(batchWindow.weightOf(pair)))
+      .doOnComplete(() -> windowClosedAt.set(System.currentTimeMillis()));
+
+    return saveJournalRecords(countedWindow.replay(maxNumEvents))
+      .onErrorResumeNext(error -> {
+        if (error instanceof RebalanceInProgressException) {
+          LOGGER.warn("Rebalance in progress, retrying...", error);
+          return Completable.timer(1, TimeUnit.SECONDS) // Retry after a delay
+            .andThen(saveJournalRecords(countedWindow.replay(maxNumEvents)));
+        } else {
+          LOGGER.error("Error saving journal records, continuing with next batch", error);
+          return Completable.complete();
+        }
+      })
+      .doFinally(() -> batchWindow.onBatchCompleted(windowItems.get(),
+        windowClosedAt.get() == 0 ? 0 : System.currentTimeMillis() - windowClosedAt.get()));
+  }
+
   @Override
   public void stop(Promise<Void> stopPromise) {
     try {
@@ -299,16 +326,11 @@ public class DataImportJournalBatchConsumerVerticle extends AbstractVerticle {
     return eventBusConsumer
       .bodyStream()
       .toFlowable()
-      // Flatten the iterable list of messages
-      .flatMapIterable(list -> list)
-      // Window the messages in 2-second intervals, with a maximum of MAX_NUM_EVENTS per window
-      .window(2, TimeUnit.SECONDS, scheduler, MAX_NUM_EVENTS, true)
-      .flatMap(window -> window
-        // Group messages by tenant ID
-        .groupBy(BatchableJournalRecord::getTenantId)
-        .flatMapSingle(Flowable::toList)
-        .map(journalRecords -> Pair.of(Optional.empty(), journalRecords))
-      );
+      // Split messages by tenant ID, batching is performed by the adaptive window of the merged stream
+      .flatMapIterable(list -> list.stream()
+        .collect(Collectors.groupingBy(BatchableJournalRecord::getTenantId, LinkedHashMap::new, Collectors.toList()))
+        .values())
+      .map(journalRecords -> Pair.of(Optional.empty(), journalRecords));
   }
 
   Completable saveJournalRecords(ConnectableFlowable<Pair<Optional<Bundle>, Collection<BatchableJournalRecord>>> flowable) {
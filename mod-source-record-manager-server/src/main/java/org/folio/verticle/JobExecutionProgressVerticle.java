@@ -31,6 +31,8 @@ import org.folio.rest.jaxrs.model.StatusDto;
 import org.folio.services.JobExecutionService;
 import org.folio.services.Status;
 import org.folio.services.progress.BatchableJobExecutionProgress;
+import org.folio.services.progress.JobExecutionProgressService;
+import org.folio.services.util.KafkaProducerRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Scope;
@@ -74,6 +76,7 @@ public class JobExecutionProgressVerticle extends AbstractVerticle {
 
   private final JobExecutionProgressDao jobExecutionProgressDao;
   private final JobExecutionService jobExecutionService;
+  private final JobExecutionProgressService jobExecutionProgressService;
   private static final AtomicInteger indexer = new AtomicInteger();
   private Scheduler scheduler;
 
@@ -82,9 +85,11 @@ public class JobExecutionProgressVerticle extends AbstractVerticle {
   @Autowired
   public JobExecutionProgressVerticle(JobExecutionProgressDao jobExecutionProgressDao,
                                       JobExecutionService jobExecutionService,
+                                      JobExecutionProgressService jobExecutionProgressService,
                                       @Qualifier("newKafkaConfig") KafkaConfig kafkaConfig) {
     this.jobExecutionProgressDao = jobExecutionProgressDao;
     this.jobExecutionService = jobExecutionService;
+    this.jobExecutionProgressService = jobExecutionProgressService;
     this.kafkaConfig = kafkaConfig;
   }
 
@@ -104,6 +109,20 @@ public class JobExecutionProgressVerticle extends AbstractVerticle {
     startPromise.complete();
   }
 
+  /**
+   * Saves the progress deltas accumulated and not sent to the event bus yet, since the event bus consumer
+   * of this verticle is unregistered on undeploy, then closes the Kafka producers of the verticle.
+   */
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    List<BatchableJobExecutionProgress> pendingProgress = jobExecutionProgressService.drainCompletionCounts();
+    LOGGER.info("stop:: Saving accumulated progress of {} job executions", pendingProgress.size());
+    Flowable.fromIterable(pendingProgress)
+      .flatMapCompletable(progress -> saveJobExecutionProgress(Maybe.just(progress)))
+      .subscribe(() -> KafkaProducerRegistry.close(context)
+        .onComplete(ar -> stopPromise.complete()));
+  }
+
   /**
    * Consumes job execution progress messages, groups them, and processes them.
    *
@@ -1,8 +1,10 @@
 package org.folio.verticle;
 
+import io.vertx.core.Promise;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.BackPressureGauge;
 import org.folio.kafka.ProcessRecordErrorHandler;
+import org.folio.services.IncomingRecordService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
@@ -36,6 +38,22 @@ public class RawMarcChunkConsumersVerticle extends AbstractConsumersVerticle<Str
   @Qualifier("RawMarcChunksErrorHandler")
   private ProcessRecordErrorHandler<String, byte[]> errorHandler;
 
+  @Autowired
+  private IncomingRecordService incomingRecordService;
+
+  /**
+   * Saves the incoming records of the processed chunks which are accepted and not saved yet,
+   * after the consumers are stopped and no more records are accepted.
+   */
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    Promise<Void> consumersStopPromise = Promise.promise();
+    super.stop(consumersStopPromise);
+    consumersStopPromise.future()
+      .compose(v -> incomingRecordService.drain())
+      .onComplete(ar -> stopPromise.complete());
+  }
+
   @Override
   public List<String> getEvents() {
     return Collections.singletonList(DI_RAW_RECORDS_CHUNK_READ.value());
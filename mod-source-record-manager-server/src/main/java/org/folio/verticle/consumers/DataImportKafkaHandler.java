@@ -3,7 +3,6 @@ package org.folio.verticle.consumers;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.producer.KafkaHeader;
 
@@ -14,10 +13,11 @@ import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.kafka.exception.DuplicateEventException;
 import org.folio.kafka.AsyncRecordHandler;
 import org.folio.kafka.KafkaHeaderUtils;
-import org.folio.rest.jaxrs.model.Event;
 import org.folio.services.EventHandlingService;
 import org.folio.services.EventProcessedService;
 import org.folio.services.flowcontrol.RawRecordsFlowControlService;
+import org.folio.services.util.RecordProcessedEvent;
+import org.folio.services.util.RecordProcessedEventReader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -55,18 +55,18 @@ public class DataImportKafkaHandler implements AsyncRecordHandler<String, byte[]
       OkapiConnectionParams okapiConnectionParams = OkapiConnectionParams.createSystemUserConnectionParams(
         KafkaHeaderUtils.kafkaHeadersToMap(kafkaHeaders), vertx);
       String recordId = okapiConnectionParams.getHeaders().get(RECORD_ID_HEADER);
-      Event event = DatabindCodec.mapper().readValue(record.value(), Event.class);
+      RecordProcessedEvent event = RecordProcessedEventReader.readEvent(record.value());
       String jobExecutionId = extractJobExecutionId(kafkaHeaders);
-      LOGGER.info("handle:: Event was received with recordId: '{}' event type: '{}' with jobExecutionId: '{}'", recordId, event.getEventType(), jobExecutionId);
+      LOGGER.info("handle:: Event was received with recordId: '{}' event type: '{}' with jobExecutionId: '{}'", recordId, event.eventType(), jobExecutionId);
 
       if (StringUtils.isBlank(recordId)) {
         handleLocalEvent(result, okapiConnectionParams, event);
         return result.future();
       }
 
-      eventProcessedService.collectData(DATA_IMPORT_KAFKA_HANDLER_UUID, event.getId(), okapiConnectionParams.getTenantId())
+      eventProcessedService.collectData(DATA_IMPORT_KAFKA_HANDLER_UUID, event.eventId(), okapiConnectionParams.getTenantId())
         .onSuccess(res -> {
-          flowControlService.trackRecordCompleteEvent(okapiConnectionParams.getTenantId(), 1);
+          flowControlService.trackRecordCompleteEvent(okapiConnectionParams.getTenantId(), jobExecutionId, 1);
           handleLocalEvent(result, okapiConnectionParams, event);
         })
         .onFailure(e -> {
@@ -75,7 +75,7 @@ public class DataImportKafkaHandler implements AsyncRecordHandler<String, byte[]
             result.complete();
           } else {
             LOGGER.warn("handle:: Error with database during collecting of deduplication info for handlerId: {} eventId: {} jobExecutionId: {} recordId: {}",
-              DATA_IMPORT_KAFKA_HANDLER_UUID, event.getId(), jobExecutionId, recordId, e);
+              DATA_IMPORT_KAFKA_HANDLER_UUID, event.eventId(), jobExecutionId, recordId, e);
             result.fail(e);
           }
         });
@@ -86,8 +86,8 @@ public class DataImportKafkaHandler implements AsyncRecordHandler<String, byte[]
     }
   }
 
-  private void handleLocalEvent(Promise<String> result, OkapiConnectionParams okapiConnectionParams, Event event) {
-    eventHandlingService.handle(event.getEventPayload(), okapiConnectionParams)
+  private void handleLocalEvent(Promise<String> result, OkapiConnectionParams okapiConnectionParams, RecordProcessedEvent event) {
+    eventHandlingService.handle(event, okapiConnectionParams)
       .onSuccess(ar -> result.complete())
       .onFailure(e -> {
         LOGGER.warn("handleLocalEvent:: Error during processing DataImport Result: ", e);
@@ -63,7 +63,7 @@ public class RawMarcChunksKafkaHandler implements AsyncRecordHandler<String, byt
     String chunkNumber = okapiParams.getHeaders().get("chunkNumber");
     String jobExecutionId = okapiParams.getHeaders().get("jobExecutionId");
 
-    return jobExecutionService.getJobExecutionById(jobExecutionId, okapiParams.getTenantId())
+    return jobExecutionService.getCachedJobExecutionById(jobExecutionId, okapiParams.getTenantId())
       .compose(jobExecutionOptional -> jobExecutionOptional.map(jobExecution -> {
           if(isNeedToSkip(jobExecution)) {
             LOGGER.info("handle:: do not handle because jobExecution with id: {} was cancelled", jobExecutionId);
@@ -75,15 +75,15 @@ public class RawMarcChunksKafkaHandler implements AsyncRecordHandler<String, byt
             Event event = DatabindCodec.mapper().readValue(record.value(), Event.class);
             LOGGER.debug("handle:: Starting to handle of raw mark chunks from Kafka for event type: {} jobExecutionId: {} chunkId: {}", event.getEventType(), jobExecutionId, chunkId);
             RawRecordsDto rawRecordsDto = Json.decodeValue(event.getEventPayload(), RawRecordsDto.class);
-            if (!rawRecordsDto.getRecordsMetadata().getLast()) {
-              flowControlService.trackChunkReceivedEvent(okapiParams.getTenantId(), rawRecordsDto.getInitialRecords().size());
-            }
+            Future<Void> chunkAdmission = rawRecordsDto.getRecordsMetadata().getLast()
+              ? Future.succeededFuture()
+              : flowControlService.trackChunkReceivedEvent(okapiParams.getTenantId(), jobExecutionId, rawRecordsDto.getInitialRecords().size());
 
             LOGGER.debug("handle:: RawRecordsDto has been received, starting processing jobExecutionId: {} chunkId: {} chunkNumber: {} - {}",
               jobExecutionId, chunkId, chunkNumber, rawRecordsDto.getRecordsMetadata());
 
-            return eventDrivenChunkProcessingService
-              .processChunk(rawRecordsDto, jobExecution, okapiParams)
+            return chunkAdmission
+              .compose(v -> eventDrivenChunkProcessingService.processChunk(rawRecordsDto, jobExecution, okapiParams))
               .compose(b -> {
                   LOGGER.debug("handle:: RawRecordsDto processing has been completed chunkId: {} chunkNumber: {} - {} for jobExecutionId: {}", chunkId, chunkNumber, rawRecordsDto.getRecordsMetadata(), jobExecutionId);
                   return Future.succeededFuture(record.key());
@@ -92,7 +92,7 @@ public class RawMarcChunksKafkaHandler implements AsyncRecordHandler<String, byt
                   if (th instanceof DuplicateEventException) {
                     LOGGER.info("handle:: Duplicate RawRecordsDto processing has been skipped for chunkId: {} chunkNumber: {} - {} for jobExecutionId: {}", chunkId, chunkNumber, rawRecordsDto.getRecordsMetadata(), jobExecutionId);
                     if (!rawRecordsDto.getRecordsMetadata().getLast()) {
-                      flowControlService.trackChunkDuplicateEvent(okapiParams.getTenantId(), rawRecordsDto.getInitialRecords().size());
+                      flowControlService.trackChunkDuplicateEvent(okapiParams.getTenantId(), jobExecutionId, rawRecordsDto.getInitialRecords().size());
                     }
                     return Future.failedFuture(th);
                   } else if (th instanceof RecordsPublishingException) {
@@ -5,7 +5,6 @@ import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageProducer;
 import io.vertx.core.impl.future.FailedFuture;
 import io.vertx.core.json.Json;
-import io.vertx.core.json.JsonObject;
 import io.vertx.core.json.jackson.DatabindCodec;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.producer.KafkaHeader;
@@ -27,7 +26,7 @@ import org.folio.services.MappingRuleCache;
 import org.folio.services.RecordsPublishingService;
 import org.folio.services.entity.MappingRuleCacheKey;
 import org.folio.services.journal.BatchableJournalRecord;
-import org.folio.services.util.ParsedRecordUtil;
+import org.folio.services.util.RecordTitleExtractor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
@@ -59,7 +58,6 @@ import static org.folio.verticle.consumers.util.MarcImportEventsHandler.NO_TITLE
 @Qualifier("StoredRecordChunksKafkaHandler")
 public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String, byte[]> {
   private static final Logger LOGGER = LogManager.getLogger();
-  private static final String INSTANCE_TITLE_FIELD_PATH = "title";
   public static final String STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID = "4d39ced7-9b67-4bdc-b232-343dbb5b8cef";
   public static final String ORDER_TYPE = "ORDER";
   public static final String FOLIO_RECORD = "folioRecord";
@@ -102,7 +100,7 @@ public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String
     String chunkNumber = okapiConnectionParams.getHeaders().get("chunkNumber");
     String jobExecutionId = okapiConnectionParams.getHeaders().get("jobExecutionId");
 
-    return jobExecutionService.getJobExecutionById(jobExecutionId, okapiConnectionParams.getTenantId())
+    return jobExecutionService.getCachedJobExecutionById(jobExecutionId, okapiConnectionParams.getTenantId())
       .compose(jobExecutionOptional -> jobExecutionOptional.map(jobExecution -> {
 
           if (isNeedToSkip(jobExecution)) {
@@ -148,9 +146,9 @@ public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String
     LOGGER.debug("saveCreatedRecordsInfoToDataImportLog :: count: {}", storedRecords.size());
     MappingRuleCacheKey cacheKey = new MappingRuleCacheKey(tenantId, storedRecords.getFirst().getRecordType());
 
-    mappingRuleCache.get(cacheKey).onComplete(rulesAr -> {
-      if (rulesAr.succeeded()) {
-        Collection<BatchableJournalRecord> journalRecords = buildJournalRecords(storedRecords, rulesAr.result(), tenantId);
+    mappingRuleCache.getTitleExtractor(cacheKey).onComplete(extractorAr -> {
+      if (extractorAr.succeeded()) {
+        Collection<BatchableJournalRecord> journalRecords = buildJournalRecords(storedRecords, extractorAr.result(), tenantId);
         journalRecordProducer.write(journalRecords);
         return;
       }
@@ -159,32 +157,14 @@ public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String
     });
   }
 
-  private Collection<BatchableJournalRecord> buildJournalRecords(List<Record> storedRecords, Optional<JsonObject> mappingRulesOptional, String tenantId) {
+  private Collection<BatchableJournalRecord> buildJournalRecords(List<Record> storedRecords, Optional<RecordTitleExtractor> titleExtractorOptional, String tenantId) {
     EntityType entityType = getEntityType(storedRecords);
     List<BatchableJournalRecord> journalRecords = new ArrayList<>();
 
-    String titleFieldTag = null;
-    List<String> subfieldCodes = null;
-
-    if (mappingRulesOptional.isPresent()) {
-      JsonObject mappingRules = mappingRulesOptional.get();
-      Optional<String> titleFieldOptional = getTitleFieldTagByInstanceFieldPath(mappingRules);
-
-      if (titleFieldOptional.isPresent()) {
-        titleFieldTag = titleFieldOptional.get();
-        subfieldCodes = mappingRules.getJsonArray(titleFieldTag).stream()
-          .map(JsonObject.class::cast)
-          .filter(fieldMappingRule -> fieldMappingRule.getString("target").equals(INSTANCE_TITLE_FIELD_PATH))
-          .flatMap(fieldMappingRule -> fieldMappingRule.getJsonArray("subfield").stream())
-          .map(Object::toString)
-          .toList();
-      }
-    }
-
     for (Record record : storedRecords) {
 
       if (record.getErrorRecord() == null) {
-        String retrievedTitleFromRecord = getTitleFromRecord(record, titleFieldTag, subfieldCodes);
+        String retrievedTitleFromRecord = titleExtractorOptional.map(extractor -> extractor.extract(record.getParsedRecord())).orElse(null);
         if (retrievedTitleFromRecord != null && retrievedTitleFromRecord.isEmpty()) retrievedTitleFromRecord = NO_TITLE_MESSAGE;
 
         BatchableJournalRecord journalRecord = new BatchableJournalRecord(new JournalRecord()
@@ -204,10 +184,6 @@ public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String
     return journalRecords;
   }
 
-  private static String getTitleFromRecord(Record record, String titleFieldTag, List<String> subfieldCodes) {
-    return titleFieldTag != null ? ParsedRecordUtil.retrieveDataByField(record.getParsedRecord(), titleFieldTag, subfieldCodes) : null;
-  }
-
   private EntityType getEntityType(List<Record> storedRecords) {
     return switch (storedRecords.getFirst().getRecordType()) {
       case EDIFACT -> EntityType.EDIFACT;
@@ -217,12 +193,4 @@ public class StoredRecordChunksKafkaHandler implements AsyncRecordHandler<String
     };
   }
 
-  private Optional<String> getTitleFieldTagByInstanceFieldPath(JsonObject mappingRules) {
-    return mappingRules.getMap().keySet().stream()
-      .filter(fieldTag -> mappingRules.getJsonArray(fieldTag).stream()
-        .map(o -> (JsonObject) o)
-        .anyMatch(fieldMappingRule -> INSTANCE_TITLE_FIELD_PATH.equals(fieldMappingRule.getString("target"))))
-      .findFirst();
-  }
-
 }
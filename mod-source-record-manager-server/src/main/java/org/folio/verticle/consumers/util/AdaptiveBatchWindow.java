@@ -0,0 +1,200 @@
+package org.folio.verticle.consumers.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.processors.FlowableProcessor;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.okapi.common.MetricsUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits a stream of items into batches whose size and latency adapt to the observed load.
+ * <p>
+ * A batch is closed when adding of the next item would exceed the current batch size limit ({@link FlushReason#SIZE})
+ * or when the current latency elapsed since the first item of the batch was received ({@link FlushReason#TIME}).
+ * Batches that are filled before the latency elapses, or a backlog of batches that are not saved yet, double
+ * the batch size limit and the latency up to the configured maximums, so the stream is saved by fewer and larger batches
+ * under load. When the inflow rate is too low to fill a half of the batch during the latency, both are halved down to
+ * the configured minimums, so a few items of an idle stream are saved after the minimal latency.
+ * The latency is never lower than the observed commit latency of the batches.
+ * <p>
+ * Size of the items is defined by the weigher, e.g. number of records contained by an item.
+ *
+ * @param <T> type of the items
+ */
+public class AdaptiveBatchWindow<T> {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String FLUSHES_METRIC = "srm.journal.batch.flushes";
+  private static final String FLUSHED_ITEMS_METRIC = "srm.journal.batch.items";
+  private static final String QUEUE_DEPTH_METRIC = "srm.journal.batch.queueDepth";
+  private static final String REASON_TAG = "reason";
+  private static final double SMOOTHING_FACTOR = 0.3;
+
+  private static final AtomicLong QUEUED_ITEMS = new AtomicLong();
+  private static final AtomicBoolean QUEUE_DEPTH_GAUGE_REGISTERED = new AtomicBoolean();
+
+  public enum FlushReason {
+    SIZE, TIME
+  }
+
+  private final int minBatchSize;
+  private final int maxBatchSize;
+  private final long minLatencyMs;
+  private final long maxLatencyMs;
+  private final Scheduler scheduler;
+  private final ToIntFunction<T> weigher;
+  private final FlowableProcessor<FlushReason> boundaries = PublishProcessor.<FlushReason>create().toSerialized();
+  private final AtomicLong pendingItems = new AtomicLong();
+
+  private int batchSizeLimit;
+  private long latencyMs;
+  private int batchItems;
+  private long batchStartedMs;
+  private long batchNumber;
+  private Disposable batchTimer;
+  private double inflowRate;
+  private double commitLatencyMs;
+
+  public AdaptiveBatchWindow(int minBatchSize, int maxBatchSize, long minLatencyMs, long maxLatencyMs,
+                             Scheduler scheduler, ToIntFunction<T> weigher) {
+    this.minBatchSize = Math.max(1, minBatchSize);
+    this.maxBatchSize = Math.max(this.minBatchSize, maxBatchSize);
+    this.minLatencyMs = Math.max(1, minLatencyMs);
+    this.maxLatencyMs = Math.max(this.minLatencyMs, maxLatencyMs);
+    this.scheduler = scheduler;
+    this.weigher = weigher;
+    this.batchSizeLimit = this.minBatchSize;
+    this.latencyMs = this.minLatencyMs;
+    registerQueueDepthGauge();
+  }
+
+  /**
+   * Splits the specified stream into adaptive batches
+   *
+   * @param source stream of items
+   * @return stream of batches
+   */
+  public Flowable<Flowable<T>> window(Flowable<T> source) {
+    return source
+      .doOnNext(this::onItem)
+      .window(boundaries);
+  }
+
+  /**
+   * Notifies the window that the items of a batch were processed, so they are no longer counted as the backlog
+   *
+   * @param items          weight of the processed batch
+   * @param commitLatency  time in milliseconds the batch was being saved
+   */
+  public synchronized void onBatchCompleted(int items, long commitLatency) {
+    pendingItems.addAndGet(-items);
+    QUEUED_ITEMS.addAndGet(-items);
+    commitLatencyMs = commitLatencyMs == 0 ? commitLatency : smooth(commitLatencyMs, commitLatency);
+  }
+
+  /**
+   * Returns weight of the item as it is counted by the window
+   *
+   * @param item item
+   * @return weight of the item, at least 1
+   */
+  public int weightOf(T item) {
+    return Math.max(1, weigher.applyAsInt(item));
+  }
+
+  public synchronized int getBatchSizeLimit() {
+    return batchSizeLimit;
+  }
+
+  public synchronized long getLatencyMs() {
+    return latencyMs;
+  }
+
+  public long getPendingItems() {
+    return pendingItems.get();
+  }
+
+  private synchronized void onItem(T item) {
+    int weight = weightOf(item);
+    if (batchItems > 0 && batchItems + weight > batchSizeLimit) {
+      flush(FlushReason.SIZE);
+    }
+    if (batchItems == 0) {
+      long currentBatchNumber = batchNumber;
+      batchStartedMs = scheduler.now(TimeUnit.MILLISECONDS);
+      batchTimer = scheduler.scheduleDirect(() -> onTimer(currentBatchNumber), latencyMs, TimeUnit.MILLISECONDS);
+    }
+    batchItems += weight;
+    QUEUED_ITEMS.addAndGet(weight);
+  }
+
+  private synchronized void onTimer(long timerBatchNumber) {
+    if (timerBatchNumber == batchNumber && batchItems > 0) {
+      flush(FlushReason.TIME);
+    }
+  }
+
+  private void flush(FlushReason reason) {
+    int flushedItems = batchItems;
+    long duration = Math.max(1, scheduler.now(TimeUnit.MILLISECONDS) - batchStartedMs);
+    batchItems = 0;
+    batchNumber++;
+    if (batchTimer != null) {
+      batchTimer.dispose();
+    }
+    pendingItems.addAndGet(flushedItems);
+    recordFlushMetrics(reason, flushedItems);
+    adapt(reason, flushedItems, duration);
+    LOGGER.debug("flush:: Batch of {} items flushed by {}, next batch size limit: {}, latency: {}ms, pending items: {}",
+      flushedItems, reason, batchSizeLimit, latencyMs, pendingItems.get());
+    boundaries.onNext(reason);
+  }
+
+  private void adapt(FlushReason reason, int flushedItems, long duration) {
+    double rate = (double) flushedItems / duration;
+    inflowRate = inflowRate == 0 ? rate : smooth(inflowRate, rate);
+    boolean backlogged = pendingItems.get() > batchSizeLimit;
+
+    if (reason == FlushReason.SIZE || backlogged) {
+      batchSizeLimit = (int) Math.min(maxBatchSize, 2L * batchSizeLimit);
+      latencyMs = Math.min(maxLatencyMs, 2 * latencyMs);
+    } else if (inflowRate * latencyMs < batchSizeLimit / 2.0) {
+      batchSizeLimit = Math.max(minBatchSize, batchSizeLimit / 2);
+      latencyMs = Math.max(minLatencyMs, latencyMs / 2);
+    }
+    latencyMs = Math.clamp(Math.max(latencyMs, Math.round(commitLatencyMs)), minLatencyMs, maxLatencyMs);
+  }
+
+  private static double smooth(double average, double value) {
+    return SMOOTHING_FACTOR * value + (1 - SMOOTHING_FACTOR) * average;
+  }
+
+  private static void recordFlushMetrics(FlushReason reason, int flushedItems) {
+    if (MetricsUtil.isEnabled()) {
+      List<Tag> tags = List.of(Tag.of(REASON_TAG, reason.name().toLowerCase()));
+      MetricsUtil.recordCounter(FLUSHES_METRIC, tags).increment();
+      MetricsUtil.recordCounter(FLUSHED_ITEMS_METRIC, tags).increment(flushedItems);
+    }
+  }
+
+  private static void registerQueueDepthGauge() {
+    if (MetricsUtil.isEnabled() && QUEUE_DEPTH_GAUGE_REGISTERED.compareAndSet(false, true)) {
+      Gauge.builder(QUEUE_DEPTH_METRIC, QUEUED_ITEMS, AtomicLong::get)
+        .description("Number of items received but not saved yet")
+        .register(Metrics.globalRegistry);
+    }
+  }
+}
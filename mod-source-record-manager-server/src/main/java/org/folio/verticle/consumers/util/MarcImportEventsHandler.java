@@ -18,7 +18,7 @@ import org.folio.services.entity.MappingRuleCacheKey;
 import org.folio.services.journal.JournalRecordMapperException;
 import org.folio.services.journal.JournalService;
 import org.folio.services.journal.JournalUtil;
-import org.folio.services.util.ParsedRecordUtil;
+import org.folio.services.util.RecordTitleExtractor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -29,7 +29,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
-import java.util.stream.IntStream;
 
 import static org.folio.rest.jaxrs.model.JournalRecord.EntityType.HOLDINGS;
 import static org.folio.rest.jaxrs.model.JournalRecord.EntityType.INSTANCE;
@@ -42,14 +41,14 @@ import static org.folio.rest.jaxrs.model.JournalRecord.EntityType.PO_LINE;
 public class MarcImportEventsHandler implements SpecificEventHandler {
   private static final Logger LOGGER = LogManager.getLogger();
 
-  public static final String INSTANCE_TITLE_FIELD_PATH = "title";
+  public static final String INSTANCE_TITLE_FIELD_PATH = RecordTitleExtractor.INSTANCE_TITLE_FIELD_PATH;
 
   public static final String NO_TITLE_MESSAGE = "No content";
 
-  private static final Map<JournalRecord.EntityType, BiFunction<ParsedRecord, JsonObject, String>> titleExtractorMap =
+  private static final Map<JournalRecord.EntityType, BiFunction<ParsedRecord, RecordTitleExtractor, String>> titleExtractorMap =
     Map.of(
-      MARC_BIBLIOGRAPHIC, marcBibTitleExtractor(),
-      MARC_AUTHORITY, marcAuthorityTitleExtractor()
+      MARC_BIBLIOGRAPHIC, (parsedRecord, extractor) -> extractor.extract(parsedRecord),
+      MARC_AUTHORITY, (parsedRecord, extractor) -> RecordTitleExtractor.extractAuthorityTitle(parsedRecord)
     );
   private final MappingRuleCache mappingRuleCache;
 
@@ -61,42 +60,8 @@ public class MarcImportEventsHandler implements SpecificEventHandler {
     this.journalRecordService = journalRecordService;
   }
 
-  private static BiFunction<ParsedRecord, JsonObject, String> marcBibTitleExtractor() {
-    return (parsedRecord, mappingRules) -> {
-      Optional<String> titleFieldOptional = getTitleFieldTagByInstanceFieldPath(mappingRules);
-
-      if (titleFieldOptional.isPresent()) {
-        String titleFieldTag = titleFieldOptional.get();
-        List<String> subfieldCodes = mappingRules.getJsonArray(titleFieldTag).stream()
-          .map(JsonObject.class::cast)
-          .filter(fieldMappingRule -> fieldMappingRule.getString("target").equals(INSTANCE_TITLE_FIELD_PATH))
-          .flatMap(fieldMappingRule -> fieldMappingRule.getJsonArray("subfield").stream())
-          .map(Object::toString)
-          .toList();
-
-        return subfieldCodes.isEmpty()
-          ? null
-          : ParsedRecordUtil.retrieveDataByField(parsedRecord, titleFieldTag, subfieldCodes);
-      }
-      return null;
-    };
-  }
-
-  private static BiFunction<ParsedRecord, JsonObject, String> marcAuthorityTitleExtractor() {
-    return (parsedRecord, mappingRules) -> IntStream.range(100, 199)
-      .mapToObj(String::valueOf)
-      .map(tagCode -> ParsedRecordUtil.retrieveDataByField(parsedRecord, tagCode))
-      .filter(StringUtils::isNotBlank)
-      .findFirst()
-      .orElse(null);
-  }
-
   public static Optional<String> getTitleFieldTagByInstanceFieldPath(JsonObject mappingRules) {
-    return mappingRules.getMap().keySet().stream()
-      .filter(fieldTag -> mappingRules.getJsonArray(fieldTag).stream()
-        .map(JsonObject.class::cast)
-        .anyMatch(fieldMappingRule -> INSTANCE_TITLE_FIELD_PATH.equals(fieldMappingRule.getString("target"))))
-      .findFirst();
+    return RecordTitleExtractor.getTitleFieldTag(mappingRules);
   }
 
   @Override
@@ -178,15 +143,15 @@ public class MarcImportEventsHandler implements SpecificEventHandler {
       String recordAsString = eventPayload.getContext().get(entityType.value());
       if (StringUtils.isNotBlank(recordAsString)) {
         var parsedRecord = Json.decodeValue(recordAsString, Record.class).getParsedRecord();
-        return mappingRuleCache.get(new MappingRuleCacheKey(eventPayload.getTenant(), entityType))
-          .compose(ruleOptional -> ruleOptional
-            .map(mappingRules -> {
+        return mappingRuleCache.getTitleExtractor(new MappingRuleCacheKey(eventPayload.getTenant(), entityType))
+          .compose(extractorOptional -> extractorOptional
+            .map(recordTitleExtractor -> {
               var titleExtractor = titleExtractorMap.get(entityType);
               if (titleExtractor == null || parsedRecord == null) {
                 return null;
               }
 
-              return titleExtractor.apply(parsedRecord, mappingRules);
+              return titleExtractor.apply(parsedRecord, recordTitleExtractor);
             })
             .map(title -> {
               if (title.isEmpty()) {
@@ -1,6 +1,7 @@
 package org.folio.verticle.periodic;
 
 import lombok.extern.log4j.Log4j2;
+import org.folio.dao.EventProcessedDao;
 import org.folio.dao.JobExecutionDao;
 import org.folio.services.TenantDataProvider;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,10 +21,17 @@ public class PeriodicDeleteJobExecutionVerticle extends AbstractPeriodicJobVerti
    */
   @Value("${job.execution.difference.number.of.days:2}")
   private long diffNumberOfDays;
+  /**
+   * Default number of days during which deduplication data of processed events is kept = 7 days.
+   */
+  @Value("${srm.events.processed.retention.days:7}")
+  private int processedEventsRetentionDays;
 
   @Autowired
   private JobExecutionDao jobExecutionDao;
   @Autowired
+  private EventProcessedDao eventProcessedDao;
+  @Autowired
   private TenantDataProvider tenantDataProvider;
 
   @Override
@@ -39,6 +47,9 @@ public class PeriodicDeleteJobExecutionVerticle extends AbstractPeriodicJobVerti
         jobExecutionDao.hardDeleteJobExecutions(diffNumberOfDays, tenantId)
           .onSuccess(rows -> log.info("executePeriodicJob:: Permanent Job Executions Deletion completed for the tenant {}", tenantId))
           .onFailure(throwable -> log.warn("executePeriodicJob:: Permanent Job Executions Deletion did not complete for the tenant {}", tenantId, throwable));
+        eventProcessedDao.deleteProcessedBefore(processedEventsRetentionDays, tenantId)
+          .onSuccess(deleted -> log.info("executePeriodicJob:: Deleted {} processed events deduplication records for the tenant {}", deleted, tenantId))
+          .onFailure(throwable -> log.warn("executePeriodicJob:: Processed events deduplication records deletion did not complete for the tenant {}", tenantId, throwable));
       }))
       .onFailure(throwable -> log.warn("executePeriodicJob:: Tenants Not Found For Permanent Job Executions Deletion", throwable));
   }
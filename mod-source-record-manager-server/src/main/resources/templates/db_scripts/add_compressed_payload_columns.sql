@@ -0,0 +1,17 @@
+-- Compressed payloads are stored in bytea columns when srm.storage.compression.enabled is set,
+-- rows stored before keep jsonb payloads and are read from the jsonb columns.
+-- Compressed values are stored with EXTERNAL storage, so they are not compressed again when toasted.
+ALTER TABLE incoming_records ADD COLUMN IF NOT EXISTS incoming_record_compressed bytea;
+ALTER TABLE incoming_records ALTER COLUMN incoming_record DROP NOT NULL;
+ALTER TABLE incoming_records ALTER COLUMN incoming_record_compressed SET STORAGE EXTERNAL;
+
+ALTER TABLE job_execution ADD COLUMN IF NOT EXISTS job_profile_snapshot_wrapper_compressed bytea;
+ALTER TABLE job_execution ALTER COLUMN job_profile_snapshot_wrapper_compressed SET STORAGE EXTERNAL;
+
+ALTER TABLE mapping_params_snapshot_contents ADD COLUMN IF NOT EXISTS params_compressed bytea;
+ALTER TABLE mapping_params_snapshot_contents ALTER COLUMN params DROP NOT NULL;
+ALTER TABLE mapping_params_snapshot_contents ALTER COLUMN params_compressed SET STORAGE EXTERNAL;
+
+ALTER TABLE mapping_rules_snapshot_contents ADD COLUMN IF NOT EXISTS rules_compressed bytea;
+ALTER TABLE mapping_rules_snapshot_contents ALTER COLUMN rules DROP NOT NULL;
+ALTER TABLE mapping_rules_snapshot_contents ALTER COLUMN rules_compressed SET STORAGE EXTERNAL;
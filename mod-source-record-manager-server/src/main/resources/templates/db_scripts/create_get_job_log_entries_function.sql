@@ -44,43 +44,23 @@ v_sortingField text DEFAULT sortingfield;      -- for bottomSQL | originalSQL
 
   topSQL TEXT := '
     WITH
-    qualifying_source_ids AS (
-      SELECT source_id
-      FROM journal_records
-      WHERE job_execution_id = ''%1$s''
-        AND entity_type IN (''MARC_BIBLIOGRAPHIC'', ''MARC_HOLDINGS'', ''MARC_AUTHORITY'',
-                            ''INSTANCE'', ''HOLDINGS'', ''ITEM'', ''AUTHORITY'', ''PO_LINE'')
-      GROUP BY source_id
-      HAVING COUNT(*) FILTER (WHERE (''%3$s'' = ''ALL'' OR entity_type = ANY(%4$L)) AND (NOT %2$L OR error <> '''')) > 0
-    ),
-
     total_count_cte AS (
-      SELECT count(*) AS total_count FROM qualifying_source_ids
+      SELECT count(*) AS total_count
+      FROM job_log_entries
+      WHERE job_execution_id = ''%1$s''
+        AND CASE WHEN %2$L THEN error_entity_types ELSE entity_types END
+          && CASE WHEN ''%3$s'' = ''ALL'' THEN ARRAY[''MARC_BIBLIOGRAPHIC'', ''MARC_HOLDINGS'', ''MARC_AUTHORITY'',
+                  ''INSTANCE'', ''HOLDINGS'', ''ITEM'', ''AUTHORITY'', ''PO_LINE''] ELSE %4$L::text[] END
     ),
 
     paginated_source_ids AS (
-      SELECT
-        source_id
-      FROM qualifying_source_ids
-      ORDER BY
-        CASE
-          WHEN ''%5$s'' = ''source_record_order'' THEN to_char((SELECT MIN(source_record_order) FROM journal_records WHERE source_id = qualifying_source_ids.source_id AND job_execution_id = ''%1$s''), ''FM0000000000'')
-          WHEN ''%5$s'' = ''sort_title'' THEN (SELECT MIN(title) FROM journal_records WHERE source_id = qualifying_source_ids.source_id AND job_execution_id = ''%1$s'')
-          WHEN ''%5$s'' = ''sort_error'' THEN (SELECT MIN(error) FROM journal_records WHERE source_id = qualifying_source_ids.source_id AND job_execution_id = ''%1$s'' AND error != '''')
-          WHEN ''%5$s'' = ''sort_source_action'' THEN
-            (SELECT
-               CASE
-                 WHEN MAX(error) != '''' OR bool_or(action_type = ''NON_MATCH'') THEN ''2'' -- DISCARDED
-                 WHEN bool_or(action_type = ''CREATE'') THEN ''1'' -- CREATED
-                 WHEN bool_or(action_type = ''UPDATE'') THEN ''3'' -- UPDATED
-                 ELSE ''4''
-               END
-             FROM journal_records
-             WHERE source_id = qualifying_source_ids.source_id
-               AND job_execution_id = ''%1$s''
-               AND entity_type IN (''MARC_BIBLIOGRAPHIC'', ''MARC_HOLDINGS'', ''MARC_AUTHORITY''))
-        END %6$s,
-        (SELECT MIN(source_record_order) FROM journal_records WHERE source_id = qualifying_source_ids.source_id AND job_execution_id = ''%1$s'') %6$s
+      SELECT source_id
+      FROM job_log_entries
+      WHERE job_execution_id = ''%1$s''
+        AND CASE WHEN %2$L THEN error_entity_types ELSE entity_types END
+          && CASE WHEN ''%3$s'' = ''ALL'' THEN ARRAY[''MARC_BIBLIOGRAPHIC'', ''MARC_HOLDINGS'', ''MARC_AUTHORITY'',
+                  ''INSTANCE'', ''HOLDINGS'', ''ITEM'', ''AUTHORITY'', ''PO_LINE''] ELSE %4$L::text[] END
+      ORDER BY %5$I %6$s, source_record_order %6$s
       LIMIT %7$s OFFSET %8$s
     ),
 
@@ -673,33 +653,40 @@ BEGIN
       v_entityAttribute := ARRAY[upper(entityType)];
   END IF;
 
-    IF sortingField IN ('source_record_order', 'title', 'error', 'source_record_action_status') THEN
+    IF sortingField IN ('source_record_order', 'title', 'error', 'source_record_action_status', 'instance_action_status',
+                        'holdings_action_status', 'item_action_status', 'authority_action_status', 'order_action_status') THEN
       v_useOptimized := true;
-
+      -- page of the incoming records is selected by the column of job_log_entries with the same name
+      v_orderByPagination := sortingField;
     CASE sortingField
           WHEN 'source_record_order' THEN
             v_sortingField := 'source_record_order_array';
-            v_orderByPagination := 'source_record_order';
             v_orderByFinal := 'records_actions.source_record_order';
-
     WHEN 'title' THEN
             v_sortingField := 'title';
-            v_orderByPagination := 'sort_title';
             v_orderByFinal := 'COALESCE(rt.title, mh.title)';
-
     WHEN 'error' THEN
             v_sortingField := 'error';
-            v_orderByPagination := 'sort_error';
             v_orderByFinal := 're.error';
-
     WHEN 'source_record_action_status' THEN
             v_sortingField := 'source_record_action_status';
-            v_orderByPagination := 'sort_source_action';
             v_orderByFinal := 'COALESCE(mb.action_type, ma.action_type, mh.action_type)';
+    WHEN 'instance_action_status' THEN
+            v_sortingField := 'instance_action_status';
+            v_orderByFinal := 'i.action_type';
+    WHEN 'holdings_action_status' THEN
+            v_sortingField := 'holdings_action_status';
+            v_orderByFinal := 'h.action_type';
+    WHEN 'item_action_status' THEN
+            v_sortingField := 'item_action_status';
+            v_orderByFinal := 'it.action_type';
+    WHEN 'authority_action_status' THEN
+            v_sortingField := 'authority_action_status';
+            v_orderByFinal := 'a.action_type';
+    WHEN 'order_action_status' THEN
+            v_sortingField := 'order_action_status';
+            v_orderByFinal := 'pl.action_type';
     END CASE;
-
-    --RAISE NOTICE 'Using OPTIMIZED query for sortBy=% (pagination: %, final: %)', sortingField, v_orderByPagination, v_orderByFinal;
-
     ELSE
         v_useOptimized := false;
 
@@ -729,13 +716,23 @@ BEGIN
 
   IF row_count = 0 THEN
       IF v_useOptimized THEN
+        -- entries of the jobs which journal records were saved before job_log_entries was introduced are calculated once,
+        -- only one request rebuilds them while the concurrent ones serve the entries materialized so far,
+        -- the pending mark is checked again after taking the lock as it may be removed by the rebuild that just finished
+        IF EXISTS (SELECT 1 FROM job_log_entries_pending_jobs p WHERE p.job_execution_id = jobExecutionId) THEN
+          IF pg_try_advisory_xact_lock(hashtext('job_log_entries_pending_jobs'), hashtext(jobExecutionId::text))
+            AND EXISTS (SELECT 1 FROM job_log_entries_pending_jobs p WHERE p.job_execution_id = jobExecutionId) THEN
+            PERFORM rebuild_job_log_entries(jobExecutionId);
+            DELETE FROM job_log_entries_pending_jobs p WHERE p.job_execution_id = jobExecutionId;
+          END IF;
+        END IF;
         finalSQL := format(
           topSQL,
           jobExecutionId,              -- %1$L
           errorsOnly,                  -- %2$L
           entityType,                  -- %3$L
           v_entityAttribute,           -- %4$L
-          v_orderByPagination,         -- %5$s (for paginated_source_ids ORDER BY)
+          v_orderByPagination,         -- %5$I (for paginated_source_ids ORDER BY)
           sortingDir,                  -- %6$s (ASC/DESC)
           limitVal,                    -- %7$L
           offsetVal,                   -- %8$L
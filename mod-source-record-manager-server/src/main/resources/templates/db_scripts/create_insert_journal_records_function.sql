@@ -4,8 +4,8 @@ CREATE OR REPLACE FUNCTION insert_journal_records(
     RETURNS void AS
 $$
 BEGIN
-    PERFORM pg_advisory_xact_lock(9817236405);
-
+    -- Rows are inserted in the order of job execution id and record id, so concurrent inserts acquire row and index locks
+    -- in the same order and do not deadlock each other without serializing all inserts by a global lock
     INSERT INTO journal_records (
         id,
         job_execution_id,
@@ -43,6 +43,7 @@ BEGIN
            r ->> 'permanent_location_id',
            r ->> 'tenant_id'
     FROM unnest(records) AS r
+    ORDER BY (r ->> 'job_execution_id')::uuid, (r ->> 'id')::uuid
     ON CONFLICT DO NOTHING;
 END;
 $$ LANGUAGE plpgsql;
@@ -0,0 +1,13 @@
+-- Indexes for keyset pagination of the job executions list, expressions match the sort keys used by JobExecutionDaoImpl
+CREATE INDEX IF NOT EXISTS job_execution_started_date_id_idx ON job_execution
+  USING BTREE (COALESCE(started_date, 'infinity'::timestamptz), id);
+
+CREATE INDEX IF NOT EXISTS job_execution_completed_date_id_idx ON job_execution
+  USING BTREE (COALESCE(completed_date, 'infinity'::timestamptz), id);
+
+CREATE INDEX IF NOT EXISTS job_execution_hrid_id_idx ON job_execution
+  USING BTREE (COALESCE(hrid, 9223372036854775807), id);
+
+-- Index for the aggregation of the progress of composite jobs by their parent jobs
+CREATE INDEX IF NOT EXISTS job_execution_composite_child_parent_job_id_idx ON job_execution
+  USING BTREE (parent_job_id) WHERE subordination_type = 'COMPOSITE_CHILD';
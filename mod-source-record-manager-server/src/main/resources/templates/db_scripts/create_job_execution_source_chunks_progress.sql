@@ -0,0 +1,94 @@
+-- State, size and processed amount of the chunk are stored in typed columns, so the progress of the chunk can be
+-- incremented atomically and completion of the job execution is checked without reading jsonb of its chunks.
+ALTER TABLE IF EXISTS job_execution_source_chunks
+  ADD COLUMN IF NOT EXISTS state text,
+  ADD COLUMN IF NOT EXISTS chunk_size integer,
+  ADD COLUMN IF NOT EXISTS processed_amount integer NOT NULL DEFAULT 0;
+
+-- State and size are copied from jsonb. Processed amount is changed only by the increments of the processed_amount
+-- column and is copied to jsonb, so the update of the whole chunk does not overwrite it with the stale value.
+CREATE OR REPLACE FUNCTION update_job_execution_source_chunks_references() RETURNS trigger AS
+$$
+BEGIN
+  NEW.jobExecutionId = (NEW.jsonb->>'jobExecutionId');
+  NEW.state = (NEW.jsonb->>'state');
+  NEW.chunk_size = (NEW.jsonb->>'chunkSize')::integer;
+  IF TG_OP = 'INSERT' THEN
+    NEW.processed_amount = COALESCE((NEW.jsonb->>'processedAmount')::integer, 0);
+  END IF;
+  NEW.jsonb = jsonb_set(NEW.jsonb, '{processedAmount}', to_jsonb(NEW.processed_amount));
+  RETURN NEW;
+END;
+$$
+LANGUAGE 'plpgsql' COST 100;
+
+DROP TRIGGER IF EXISTS update_job_execution_source_chunks_progress ON job_execution_source_chunks;
+
+UPDATE job_execution_source_chunks
+SET processed_amount = COALESCE((jsonb->>'processedAmount')::integer, 0)
+WHERE state IS NULL;
+
+CREATE INDEX IF NOT EXISTS job_execution_source_chunks_unfinished_idx ON job_execution_source_chunks USING BTREE (jobExecutionId)
+  WHERE state IS NULL OR state NOT IN ('COMPLETED', 'ERROR');
+
+-- Running number of the unfinished and failed chunks per job execution
+CREATE TABLE IF NOT EXISTS job_execution_source_chunks_progress (
+  job_execution_id uuid PRIMARY KEY REFERENCES job_execution (id) ON DELETE CASCADE,
+  unfinished_chunks integer NOT NULL DEFAULT 0,
+  error_chunks integer NOT NULL DEFAULT 0
+);
+
+DELETE FROM job_execution_source_chunks_progress;
+
+INSERT INTO job_execution_source_chunks_progress (job_execution_id, unfinished_chunks, error_chunks)
+SELECT jobExecutionId,
+       count(id) FILTER (WHERE state IS NULL OR state NOT IN ('COMPLETED', 'ERROR')),
+       count(id) FILTER (WHERE state = 'ERROR')
+FROM job_execution_source_chunks
+GROUP BY jobExecutionId;
+
+CREATE OR REPLACE FUNCTION count_job_execution_source_chunk(job_id uuid, chunk_state text, delta integer) RETURNS void AS
+$$
+  INSERT INTO job_execution_source_chunks_progress AS progress (job_execution_id, unfinished_chunks, error_chunks)
+  VALUES (job_id,
+          CASE WHEN chunk_state IN ('COMPLETED', 'ERROR') THEN 0 ELSE delta END,
+          CASE WHEN chunk_state = 'ERROR' THEN delta ELSE 0 END)
+  ON CONFLICT (job_execution_id) DO UPDATE
+  SET unfinished_chunks = progress.unfinished_chunks + EXCLUDED.unfinished_chunks,
+      error_chunks = progress.error_chunks + EXCLUDED.error_chunks;
+$$
+LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION update_job_execution_source_chunks_progress() RETURNS trigger AS
+$$
+BEGIN
+  IF TG_OP = 'UPDATE' AND OLD.state IS NOT DISTINCT FROM NEW.state AND OLD.jobExecutionId = NEW.jobExecutionId THEN
+    RETURN NULL;
+  END IF;
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM count_job_execution_source_chunk(OLD.jobExecutionId, OLD.state, -1);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM count_job_execution_source_chunk(NEW.jobExecutionId, NEW.state, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$
+LANGUAGE 'plpgsql' COST 100;
+
+-- increments of the processed_amount column do not change the counters and do not fire the trigger
+CREATE TRIGGER update_job_execution_source_chunks_progress
+AFTER INSERT OR DELETE OR UPDATE OF jsonb, jobExecutionId
+ON job_execution_source_chunks
+FOR EACH ROW
+EXECUTE PROCEDURE update_job_execution_source_chunks_progress();
+
+CREATE OR REPLACE FUNCTION is_processing_completed(jobExecId uuid)
+RETURNS boolean AS $completed$
+  SELECT COALESCE((SELECT unfinished_chunks = 0 FROM job_execution_source_chunks_progress WHERE job_execution_id = jobExecId), true);
+$completed$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION processing_contains_error_chunks(jobExecId uuid)
+RETURNS boolean AS $has_errors$
+  SELECT COALESCE((SELECT error_chunks > 0 FROM job_execution_source_chunks_progress WHERE job_execution_id = jobExecId), false);
+$has_errors$ LANGUAGE sql;
@@ -0,0 +1,508 @@
+-- Per-job summary of the journal records, which is maintained incrementally when journal records are saved,
+-- so get_job_execution_summary does not have to aggregate all journal records of the job on every request.
+CREATE TABLE IF NOT EXISTS job_execution_summary (
+  job_execution_id uuid PRIMARY KEY,
+  total_errors bigint NOT NULL DEFAULT 0,
+  total_created_source_records bigint NOT NULL DEFAULT 0,
+  total_updated_source_records bigint NOT NULL DEFAULT 0,
+  total_discarded_source_records bigint NOT NULL DEFAULT 0,
+  total_source_records_errors bigint NOT NULL DEFAULT 0,
+  total_discarded_instances bigint NOT NULL DEFAULT 0,
+  total_instances_errors bigint NOT NULL DEFAULT 0,
+  total_created_holdings bigint NOT NULL DEFAULT 0,
+  total_updated_holdings bigint NOT NULL DEFAULT 0,
+  total_discarded_holdings bigint NOT NULL DEFAULT 0,
+  total_holdings_errors bigint NOT NULL DEFAULT 0,
+  total_created_items bigint NOT NULL DEFAULT 0,
+  total_updated_items bigint NOT NULL DEFAULT 0,
+  total_discarded_items bigint NOT NULL DEFAULT 0,
+  total_items_errors bigint NOT NULL DEFAULT 0,
+  total_created_authorities bigint NOT NULL DEFAULT 0,
+  total_updated_authorities bigint NOT NULL DEFAULT 0,
+  total_discarded_authorities bigint NOT NULL DEFAULT 0,
+  total_authorities_errors bigint NOT NULL DEFAULT 0,
+  total_created_orders bigint NOT NULL DEFAULT 0,
+  total_discarded_orders bigint NOT NULL DEFAULT 0,
+  total_orders_errors bigint NOT NULL DEFAULT 0,
+  total_created_invoices bigint NOT NULL DEFAULT 0,
+  total_discarded_invoices bigint NOT NULL DEFAULT 0,
+  total_invoices_errors bigint NOT NULL DEFAULT 0
+);
+
+-- Numbers of created and updated instances are NULL for summaries created before they were maintained,
+-- instances of such jobs are counted on read
+ALTER TABLE job_execution_summary
+  ADD COLUMN IF NOT EXISTS total_created_instances bigint,
+  ADD COLUMN IF NOT EXISTS total_updated_instances bigint;
+
+-- Instances created and updated by the source records of the job. Distinct instances can not be summed across batches
+-- (several source records can create or update the same instance), so the numbers of created and updated instances
+-- in the summary are changed by the batch only when the batch changes the state of the instance in this table.
+CREATE TABLE IF NOT EXISTS job_execution_summary_instances (
+  job_execution_id uuid NOT NULL,
+  instance_id text NOT NULL,
+  source_id uuid NOT NULL,
+  created boolean NOT NULL DEFAULT false,
+  updated boolean NOT NULL DEFAULT false,
+  PRIMARY KEY (job_execution_id, instance_id, source_id)
+);
+
+-- Calculates summary of the journal records of the job. Calculation can be limited to the journal records of
+-- the specified source records and can exclude the specified journal records, so the summary of the source records
+-- affected by a batch of journal records can be calculated before and after the batch was inserted.
+CREATE OR REPLACE FUNCTION calculate_job_execution_summary(job_id uuid, source_ids uuid[] DEFAULT NULL, excluded_record_ids uuid[] DEFAULT NULL)
+  RETURNS TABLE(
+                 total_errors bigint,
+                 total_created_source_records bigint,
+                 total_updated_source_records bigint,
+                 total_discarded_source_records bigint,
+                 total_source_records_errors bigint,
+                 total_created_instances bigint,
+                 total_updated_instances bigint,
+                 total_discarded_instances bigint,
+                 total_instances_errors bigint,
+                 total_created_holdings bigint,
+                 total_updated_holdings bigint,
+                 total_discarded_holdings bigint,
+                 total_holdings_errors bigint,
+                 total_created_items bigint,
+                 total_updated_items bigint,
+                 total_discarded_items bigint,
+                 total_items_errors bigint,
+                 total_created_authorities bigint,
+                 total_updated_authorities bigint,
+                 total_discarded_authorities bigint,
+                 total_authorities_errors bigint,
+                 total_created_orders bigint,
+                 total_updated_orders integer,
+                 total_discarded_orders bigint,
+                 total_orders_errors bigint,
+                 total_created_invoices bigint,
+                 total_updated_invoices integer,
+                 total_discarded_invoices bigint,
+                 total_invoices_errors bigint
+               ) AS $$
+  WITH base_data AS (
+    SELECT id, source_id, entity_id, entity_type, action_type, action_status,
+           ROW_NUMBER() OVER (
+             PARTITION BY source_id, entity_id, entity_type, action_status
+             ORDER BY CASE action_type
+               WHEN 'CREATE' THEN 1
+               WHEN 'UPDATE' THEN 2
+               WHEN 'NON_MATCH' THEN 3
+               WHEN 'MATCH' THEN 4
+               ELSE 99 END) as row_num_per_entity,
+           FIRST_VALUE(action_type) OVER (
+             PARTITION BY source_id, entity_type
+             ORDER BY CASE action_type
+               WHEN 'CREATE' THEN 1
+               WHEN 'UPDATE' THEN 2
+               WHEN 'NON_MATCH' THEN 3
+               WHEN 'MATCH' THEN 4
+               ELSE 99 END
+             ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING) as action_type_max,
+           COUNT(CASE WHEN action_type NOT IN ('MATCH', 'PARSE') THEN 1 END) OVER (
+             PARTITION BY source_id) > 0 as has_non_match_actions
+    FROM journal_records jr
+    WHERE jr.job_execution_id = job_id
+      AND (source_ids IS NULL OR jr.source_id = ANY(source_ids))
+      AND (excluded_record_ids IS NULL OR jr.id <> ALL(excluded_record_ids))
+  ),
+  filtered_data AS (
+    SELECT * FROM base_data WHERE row_num_per_entity = 1 AND (action_type != 'MATCH' OR (action_type = 'MATCH' AND NOT has_non_match_actions))
+  )
+  SELECT COUNT(DISTINCT source_id) FILTER (WHERE action_status = 'ERROR') AS total_errors,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY') AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_source_records,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY') AND action_type = 'UPDATE' AND action_status = 'COMPLETED') AS total_updated_source_records,
+         COUNT(*) FILTER (WHERE entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY') AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_source_records,
+         COUNT(*) FILTER (WHERE entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY') AND action_status = 'ERROR') AS total_source_records_errors,
+         COUNT(DISTINCT entity_id) FILTER (WHERE entity_type = 'INSTANCE' AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_instances,
+         COUNT(DISTINCT entity_id) FILTER (WHERE entity_type = 'INSTANCE' AND action_type = 'UPDATE' AND action_status = 'COMPLETED') AS total_updated_instances,
+         COUNT(*) FILTER (WHERE entity_type = 'INSTANCE' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_instances,
+         COUNT(*) FILTER (WHERE entity_type = 'INSTANCE' AND action_status = 'ERROR') AS total_instances_errors,
+         COUNT(*) FILTER (WHERE entity_type = 'HOLDINGS' AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_holdings,
+         COUNT(*) FILTER (WHERE entity_type = 'HOLDINGS' AND action_type = 'UPDATE' AND action_status = 'COMPLETED') AS total_updated_holdings,
+         COUNT(*) FILTER (WHERE entity_type = 'HOLDINGS' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_holdings,
+         COUNT(*) FILTER (WHERE entity_type = 'HOLDINGS' AND action_status = 'ERROR') AS total_holdings_errors,
+         COUNT(*) FILTER (WHERE entity_type = 'ITEM' AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_items,
+         COUNT(*) FILTER (WHERE entity_type = 'ITEM' AND action_type = 'UPDATE' AND action_status = 'COMPLETED') AS total_updated_items,
+         COUNT(*) FILTER (WHERE entity_type = 'ITEM' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_items,
+         COUNT(*) FILTER (WHERE entity_type = 'ITEM' AND action_status = 'ERROR') AS total_items_errors,
+         COUNT(*) FILTER (WHERE entity_type = 'AUTHORITY' AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_authorities,
+         COUNT(*) FILTER (WHERE entity_type = 'AUTHORITY' AND action_type = 'UPDATE' AND action_status = 'COMPLETED') AS total_updated_authorities,
+         COUNT(*) FILTER (WHERE entity_type = 'AUTHORITY' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_authorities,
+         COUNT(*) FILTER (WHERE entity_type = 'AUTHORITY' AND action_status = 'ERROR') AS total_authorities_errors,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'PO_LINE' AND action_type = 'CREATE' AND action_status = 'COMPLETED') AS total_created_orders,
+         0 AS total_updated_orders,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'PO_LINE' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_orders,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'PO_LINE' AND action_status = 'ERROR') AS total_orders_errors,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'INVOICE' AND action_status = 'COMPLETED') AS total_created_invoices,
+         0 AS total_updated_invoices,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'INVOICE' AND ((action_type = 'NON_MATCH' AND action_type_max = 'NON_MATCH') OR (action_type = 'MATCH' AND action_type_max = 'MATCH') OR action_status = 'ERROR')) AS total_discarded_invoices,
+         COUNT(DISTINCT source_id) FILTER (WHERE entity_type = 'INVOICE' AND action_status = 'ERROR') AS total_invoices_errors
+  FROM filtered_data fd;
+$$ LANGUAGE sql STABLE;
+
+-- Counts distinct instances created and updated by the job, the same way calculate_job_execution_summary does:
+-- update of the instance is not counted for the source record which created this instance.
+-- Used only for the summaries created before the numbers of instances were maintained.
+CREATE OR REPLACE FUNCTION calculate_job_execution_instances_summary(job_id uuid)
+  RETURNS TABLE(total_created_instances bigint, total_updated_instances bigint) AS $$
+  SELECT COUNT(DISTINCT entity_id) FILTER (WHERE action_type = 'CREATE') AS total_created_instances,
+         COUNT(DISTINCT entity_id) FILTER (WHERE action_type = 'UPDATE' AND row_num_per_entity = 1) AS total_updated_instances
+  FROM (
+    SELECT entity_id, action_type,
+           ROW_NUMBER() OVER (
+             PARTITION BY source_id, entity_id
+             ORDER BY CASE action_type WHEN 'CREATE' THEN 1 ELSE 2 END) AS row_num_per_entity
+    FROM journal_records jr
+    WHERE jr.job_execution_id = job_id
+      AND jr.entity_type = 'INSTANCE'
+      AND jr.action_type IN ('CREATE', 'UPDATE')
+      AND jr.action_status = 'COMPLETED'
+  ) instances;
+$$ LANGUAGE sql STABLE;
+
+-- Returns summary maintained for the job, calculates it from the journal records if it is not maintained yet (e.g. for jobs
+-- which were run before the summary table was created). Only the summary row is read for the jobs whose numbers of instances
+-- are maintained.
+CREATE OR REPLACE FUNCTION get_job_execution_summary(job_id uuid)
+  RETURNS TABLE(
+                 job_execution_id uuid,
+                 total_errors bigint,
+                 total_created_source_records bigint,
+                 total_updated_source_records bigint,
+                 total_discarded_source_records bigint,
+                 total_source_records_errors bigint,
+                 total_created_instances bigint,
+                 total_updated_instances bigint,
+                 total_discarded_instances bigint,
+                 total_instances_errors bigint,
+                 total_created_holdings bigint,
+                 total_updated_holdings bigint,
+                 total_discarded_holdings bigint,
+                 total_holdings_errors bigint,
+                 total_created_items bigint,
+                 total_updated_items bigint,
+                 total_discarded_items bigint,
+                 total_items_errors bigint,
+                 total_created_authorities bigint,
+                 total_updated_authorities bigint,
+                 total_discarded_authorities bigint,
+                 total_authorities_errors bigint,
+                 total_created_orders bigint,
+                 total_updated_orders integer,
+                 total_discarded_orders bigint,
+                 total_orders_errors bigint,
+                 total_created_invoices bigint,
+                 total_updated_invoices integer,
+                 total_discarded_invoices bigint,
+                 total_invoices_errors bigint
+               ) AS $$
+BEGIN
+  RETURN QUERY
+    SELECT s.job_execution_id,
+           s.total_errors,
+           s.total_created_source_records,
+           s.total_updated_source_records,
+           s.total_discarded_source_records,
+           s.total_source_records_errors,
+           s.total_created_instances,
+           s.total_updated_instances,
+           s.total_discarded_instances,
+           s.total_instances_errors,
+           s.total_created_holdings,
+           s.total_updated_holdings,
+           s.total_discarded_holdings,
+           s.total_holdings_errors,
+           s.total_created_items,
+           s.total_updated_items,
+           s.total_discarded_items,
+           s.total_items_errors,
+           s.total_created_authorities,
+           s.total_updated_authorities,
+           s.total_discarded_authorities,
+           s.total_authorities_errors,
+           s.total_created_orders,
+           0,
+           s.total_discarded_orders,
+           s.total_orders_errors,
+           s.total_created_invoices,
+           0,
+           s.total_discarded_invoices,
+           s.total_invoices_errors
+    FROM job_execution_summary s
+    WHERE s.job_execution_id = job_id
+      AND s.total_created_instances IS NOT NULL;
+
+  IF FOUND THEN
+    RETURN;
+  END IF;
+
+  -- summary created before the numbers of instances were maintained
+  RETURN QUERY
+    SELECT s.job_execution_id,
+           s.total_errors,
+           s.total_created_source_records,
+           s.total_updated_source_records,
+           s.total_discarded_source_records,
+           s.total_source_records_errors,
+           i.total_created_instances,
+           i.total_updated_instances,
+           s.total_discarded_instances,
+           s.total_instances_errors,
+           s.total_created_holdings,
+           s.total_updated_holdings,
+           s.total_discarded_holdings,
+           s.total_holdings_errors,
+           s.total_created_items,
+           s.total_updated_items,
+           s.total_discarded_items,
+           s.total_items_errors,
+           s.total_created_authorities,
+           s.total_updated_authorities,
+           s.total_discarded_authorities,
+           s.total_authorities_errors,
+           s.total_created_orders,
+           0,
+           s.total_discarded_orders,
+           s.total_orders_errors,
+           s.total_created_invoices,
+           0,
+           s.total_discarded_invoices,
+           s.total_invoices_errors
+    FROM job_execution_summary s,
+         calculate_job_execution_instances_summary(job_id) i
+    WHERE s.job_execution_id = job_id;
+
+  IF NOT FOUND THEN
+    RETURN QUERY
+      SELECT job_id, c.*
+      FROM calculate_job_execution_summary(job_id) c
+      WHERE EXISTS (SELECT 1 FROM journal_records jr WHERE jr.job_execution_id = job_id);
+  END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Applies changes of the summary of the specified source records caused by insertion of the specified journal records.
+-- Summary row is locked before calculation, so the journal records committed by concurrent transactions are taken into account.
+-- Summary row created by this call is calculated from all journal records of the job, so the summary of the job
+-- which has journal records saved before the summary was maintained does not start from zero.
+CREATE OR REPLACE FUNCTION update_job_execution_summary(job_id uuid, source_ids uuid[], inserted_record_ids uuid[])
+  RETURNS void AS $$
+BEGIN
+  INSERT INTO job_execution_summary (job_execution_id) VALUES (job_id) ON CONFLICT DO NOTHING;
+  IF FOUND THEN
+    PERFORM rebuild_job_execution_summary(job_id);
+    RETURN;
+  END IF;
+  PERFORM 1 FROM job_execution_summary WHERE job_execution_id = job_id FOR UPDATE;
+
+  UPDATE job_execution_summary s SET
+    total_errors = s.total_errors + after_insert.total_errors - before_insert.total_errors,
+    total_created_source_records = s.total_created_source_records + after_insert.total_created_source_records - before_insert.total_created_source_records,
+    total_updated_source_records = s.total_updated_source_records + after_insert.total_updated_source_records - before_insert.total_updated_source_records,
+    total_discarded_source_records = s.total_discarded_source_records + after_insert.total_discarded_source_records - before_insert.total_discarded_source_records,
+    total_source_records_errors = s.total_source_records_errors + after_insert.total_source_records_errors - before_insert.total_source_records_errors,
+    total_discarded_instances = s.total_discarded_instances + after_insert.total_discarded_instances - before_insert.total_discarded_instances,
+    total_instances_errors = s.total_instances_errors + after_insert.total_instances_errors - before_insert.total_instances_errors,
+    total_created_holdings = s.total_created_holdings + after_insert.total_created_holdings - before_insert.total_created_holdings,
+    total_updated_holdings = s.total_updated_holdings + after_insert.total_updated_holdings - before_insert.total_updated_holdings,
+    total_discarded_holdings = s.total_discarded_holdings + after_insert.total_discarded_holdings - before_insert.total_discarded_holdings,
+    total_holdings_errors = s.total_holdings_errors + after_insert.total_holdings_errors - before_insert.total_holdings_errors,
+    total_created_items = s.total_created_items + after_insert.total_created_items - before_insert.total_created_items,
+    total_updated_items = s.total_updated_items + after_insert.total_updated_items - before_insert.total_updated_items,
+    total_discarded_items = s.total_discarded_items + after_insert.total_discarded_items - before_insert.total_discarded_items,
+    total_items_errors = s.total_items_errors + after_insert.total_items_errors - before_insert.total_items_errors,
+    total_created_authorities = s.total_created_authorities + after_insert.total_created_authorities - before_insert.total_created_authorities,
+    total_updated_authorities = s.total_updated_authorities + after_insert.total_updated_authorities - before_insert.total_updated_authorities,
+    total_discarded_authorities = s.total_discarded_authorities + after_insert.total_discarded_authorities - before_insert.total_discarded_authorities,
+    total_authorities_errors = s.total_authorities_errors + after_insert.total_authorities_errors - before_insert.total_authorities_errors,
+    total_created_orders = s.total_created_orders + after_insert.total_created_orders - before_insert.total_created_orders,
+    total_discarded_orders = s.total_discarded_orders + after_insert.total_discarded_orders - before_insert.total_discarded_orders,
+    total_orders_errors = s.total_orders_errors + after_insert.total_orders_errors - before_insert.total_orders_errors,
+    total_created_invoices = s.total_created_invoices + after_insert.total_created_invoices - before_insert.total_created_invoices,
+    total_discarded_invoices = s.total_discarded_invoices + after_insert.total_discarded_invoices - before_insert.total_discarded_invoices,
+    total_invoices_errors = s.total_invoices_errors + after_insert.total_invoices_errors - before_insert.total_invoices_errors
+  FROM calculate_job_execution_summary(job_id, source_ids) after_insert,
+       calculate_job_execution_summary(job_id, source_ids, inserted_record_ids) before_insert
+  WHERE s.job_execution_id = job_id;
+
+  PERFORM update_job_execution_instances_summary(job_id, inserted_record_ids);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Applies created and updated instances of the specified journal records to the instances of the job and changes the numbers
+-- of created and updated instances in the summary by the number of instances which became created or updated.
+-- Instance is updated if it is updated by a source record which did not create it. Must be called with the summary row locked.
+CREATE OR REPLACE FUNCTION update_job_execution_instances_summary(job_id uuid, inserted_record_ids uuid[])
+  RETURNS void AS $$
+DECLARE
+  instance_ids text[];
+  created_before bigint;
+  updated_before bigint;
+  created_after bigint;
+  updated_after bigint;
+BEGIN
+  SELECT array_agg(DISTINCT jr.entity_id) INTO instance_ids
+  FROM journal_records jr
+  WHERE jr.job_execution_id = job_id
+    AND jr.id = ANY(inserted_record_ids)
+    AND jr.entity_type = 'INSTANCE'
+    AND jr.action_type IN ('CREATE', 'UPDATE')
+    AND jr.action_status = 'COMPLETED'
+    AND jr.entity_id IS NOT NULL;
+
+  IF instance_ids IS NULL THEN
+    RETURN;
+  END IF;
+
+  SELECT COUNT(*) FILTER (WHERE i.created), COUNT(*) FILTER (WHERE i.updated) INTO created_before, updated_before
+  FROM (
+    SELECT bool_or(created) AS created, bool_or(updated AND NOT created) AS updated
+    FROM job_execution_summary_instances
+    WHERE job_execution_id = job_id AND instance_id = ANY(instance_ids)
+    GROUP BY instance_id
+  ) i;
+
+  INSERT INTO job_execution_summary_instances AS si (job_execution_id, instance_id, source_id, created, updated)
+  SELECT job_id, jr.entity_id, jr.source_id, bool_or(jr.action_type = 'CREATE'), bool_or(jr.action_type = 'UPDATE')
+  FROM journal_records jr
+  WHERE jr.job_execution_id = job_id
+    AND jr.id = ANY(inserted_record_ids)
+    AND jr.entity_type = 'INSTANCE'
+    AND jr.action_type IN ('CREATE', 'UPDATE')
+    AND jr.action_status = 'COMPLETED'
+    AND jr.entity_id IS NOT NULL
+  GROUP BY jr.entity_id, jr.source_id
+  ON CONFLICT (job_execution_id, instance_id, source_id) DO UPDATE
+    SET created = si.created OR EXCLUDED.created,
+        updated = si.updated OR EXCLUDED.updated;
+
+  SELECT COUNT(*) FILTER (WHERE i.created), COUNT(*) FILTER (WHERE i.updated) INTO created_after, updated_after
+  FROM (
+    SELECT bool_or(created) AS created, bool_or(updated AND NOT created) AS updated
+    FROM job_execution_summary_instances
+    WHERE job_execution_id = job_id AND instance_id = ANY(instance_ids)
+    GROUP BY instance_id
+  ) i;
+
+  UPDATE job_execution_summary s SET
+    total_created_instances = s.total_created_instances + created_after - created_before,
+    total_updated_instances = s.total_updated_instances + updated_after - updated_before
+  WHERE s.job_execution_id = job_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recalculates summary of the job from all its journal records
+CREATE OR REPLACE FUNCTION rebuild_job_execution_summary(job_id uuid)
+  RETURNS void AS $$
+BEGIN
+  INSERT INTO job_execution_summary (job_execution_id) VALUES (job_id) ON CONFLICT DO NOTHING;
+  PERFORM 1 FROM job_execution_summary WHERE job_execution_id = job_id FOR UPDATE;
+
+  UPDATE job_execution_summary s SET
+    total_errors = c.total_errors,
+    total_created_source_records = c.total_created_source_records,
+    total_updated_source_records = c.total_updated_source_records,
+    total_discarded_source_records = c.total_discarded_source_records,
+    total_source_records_errors = c.total_source_records_errors,
+    total_created_instances = c.total_created_instances,
+    total_updated_instances = c.total_updated_instances,
+    total_discarded_instances = c.total_discarded_instances,
+    total_instances_errors = c.total_instances_errors,
+    total_created_holdings = c.total_created_holdings,
+    total_updated_holdings = c.total_updated_holdings,
+    total_discarded_holdings = c.total_discarded_holdings,
+    total_holdings_errors = c.total_holdings_errors,
+    total_created_items = c.total_created_items,
+    total_updated_items = c.total_updated_items,
+    total_discarded_items = c.total_discarded_items,
+    total_items_errors = c.total_items_errors,
+    total_created_authorities = c.total_created_authorities,
+    total_updated_authorities = c.total_updated_authorities,
+    total_discarded_authorities = c.total_discarded_authorities,
+    total_authorities_errors = c.total_authorities_errors,
+    total_created_orders = c.total_created_orders,
+    total_discarded_orders = c.total_discarded_orders,
+    total_orders_errors = c.total_orders_errors,
+    total_created_invoices = c.total_created_invoices,
+    total_discarded_invoices = c.total_discarded_invoices,
+    total_invoices_errors = c.total_invoices_errors
+  FROM calculate_job_execution_summary(job_id) c
+  WHERE s.job_execution_id = job_id;
+
+  DELETE FROM job_execution_summary_instances WHERE job_execution_id = job_id;
+  INSERT INTO job_execution_summary_instances (job_execution_id, instance_id, source_id, created, updated)
+  SELECT job_id, jr.entity_id, jr.source_id, bool_or(jr.action_type = 'CREATE'), bool_or(jr.action_type = 'UPDATE')
+  FROM journal_records jr
+  WHERE jr.job_execution_id = job_id
+    AND jr.entity_type = 'INSTANCE'
+    AND jr.action_type IN ('CREATE', 'UPDATE')
+    AND jr.action_status = 'COMPLETED'
+    AND jr.entity_id IS NOT NULL
+  GROUP BY jr.entity_id, jr.source_id;
+
+  DELETE FROM job_execution_summary s
+  WHERE s.job_execution_id = job_id
+    AND NOT EXISTS (SELECT 1 FROM journal_records jr WHERE jr.job_execution_id = job_id);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION update_job_execution_summary_on_insert() RETURNS trigger AS
+$$
+DECLARE
+  inserted record;
+BEGIN
+  -- summary rows are locked in the order of job ids to prevent deadlocks between concurrent batches
+  FOR inserted IN
+    SELECT job_execution_id, array_agg(DISTINCT source_id) AS source_ids, array_agg(id) AS record_ids
+    FROM new_journal_records
+    WHERE job_execution_id IS NOT NULL
+    GROUP BY job_execution_id
+    ORDER BY job_execution_id
+  LOOP
+    PERFORM update_job_execution_summary(inserted.job_execution_id, inserted.source_ids, inserted.record_ids);
+  END LOOP;
+  RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+-- Summary of the job is removed when its journal records are deleted, it is calculated from the remaining records on request
+CREATE OR REPLACE FUNCTION delete_job_execution_summary_on_delete() RETURNS trigger AS
+$$
+BEGIN
+  DELETE FROM job_execution_summary
+  WHERE job_execution_id IN (SELECT DISTINCT job_execution_id FROM old_journal_records);
+  DELETE FROM job_execution_summary_instances
+  WHERE job_execution_id IN (SELECT DISTINCT job_execution_id FROM old_journal_records);
+  RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS update_job_execution_summary_on_insert ON journal_records;
+
+CREATE TRIGGER update_job_execution_summary_on_insert
+AFTER INSERT
+ON journal_records
+REFERENCING NEW TABLE AS new_journal_records
+FOR EACH STATEMENT
+EXECUTE PROCEDURE update_job_execution_summary_on_insert();
+
+DROP TRIGGER IF EXISTS delete_job_execution_summary_on_delete ON journal_records;
+
+CREATE TRIGGER delete_job_execution_summary_on_delete
+AFTER DELETE
+ON journal_records
+REFERENCING OLD TABLE AS old_journal_records
+FOR EACH STATEMENT
+EXECUTE PROCEDURE delete_job_execution_summary_on_delete();
+
+-- Summaries of the jobs which are in progress are recalculated, so they include journal records saved
+-- before this version of the summary maintenance was installed
+SELECT rebuild_job_execution_summary(je.id)
+FROM job_execution je
+WHERE je.status NOT IN ('COMMITTED', 'ERROR', 'CANCELLED')
+  AND EXISTS (SELECT 1 FROM journal_records jr WHERE jr.job_execution_id = je.id);
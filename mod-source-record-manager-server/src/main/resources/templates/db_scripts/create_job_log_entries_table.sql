@@ -0,0 +1,206 @@
+-- Projection of the journal records with one row per incoming record of the job, which is maintained when journal records
+-- are saved. It contains the values job log entries are filtered and sorted by, so get_job_log_entries selects a page
+-- of incoming records by an index range scan instead of aggregating all journal records of the job on every request.
+CREATE TABLE IF NOT EXISTS job_log_entries (
+  job_execution_id uuid NOT NULL,
+  source_id uuid NOT NULL,
+  source_record_order integer,
+  title text,
+  error text,
+  source_record_action_status text,
+  instance_action_status text,
+  holdings_action_status text,
+  item_action_status text,
+  authority_action_status text,
+  order_action_status text,
+  entity_types text[] NOT NULL DEFAULT '{}',
+  error_entity_types text[] NOT NULL DEFAULT '{}',
+  PRIMARY KEY (job_execution_id, source_id)
+);
+
+-- Jobs which entries were not calculated from all their journal records: the jobs having journal records saved
+-- before job_log_entries was introduced, and the jobs which journal records were partially deleted.
+-- Entries of these jobs are recalculated once on the first request of the job log.
+CREATE TABLE IF NOT EXISTS job_log_entries_pending_jobs (
+  job_execution_id uuid PRIMARY KEY
+);
+
+CREATE INDEX IF NOT EXISTS job_log_entries_source_record_order_idx
+  ON job_log_entries (job_execution_id, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_title_idx
+  ON job_log_entries (job_execution_id, title, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_error_idx
+  ON job_log_entries (job_execution_id, error, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_source_record_action_status_idx
+  ON job_log_entries (job_execution_id, source_record_action_status, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_instance_action_status_idx
+  ON job_log_entries (job_execution_id, instance_action_status, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_holdings_action_status_idx
+  ON job_log_entries (job_execution_id, holdings_action_status, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_item_action_status_idx
+  ON job_log_entries (job_execution_id, item_action_status, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_authority_action_status_idx
+  ON job_log_entries (job_execution_id, authority_action_status, source_record_order);
+CREATE INDEX IF NOT EXISTS job_log_entries_order_action_status_idx
+  ON job_log_entries (job_execution_id, order_action_status, source_record_order);
+
+-- Determines action status of the entities of one type created for an incoming record, which job log entries are sorted by
+CREATE OR REPLACE FUNCTION job_log_entry_action_status(discarded boolean, actions text[])
+  RETURNS text AS $$
+  SELECT CASE
+           WHEN discarded THEN 'DISCARDED'
+           WHEN 'CREATE' = ANY(actions) THEN 'CREATED'
+           WHEN actions && ARRAY['UPDATE', 'MODIFY'] THEN 'UPDATED'
+         END;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Recalculates entries of the specified incoming records (pairs of job_ids and source_ids elements) from their journal records.
+-- Entries are created and locked in the order of the keys before the calculation, so concurrent batches do not deadlock
+-- and the journal records committed by them while waiting for the lock are taken into account.
+CREATE OR REPLACE FUNCTION refresh_job_log_entries(job_ids uuid[], source_ids uuid[])
+  RETURNS void AS $$
+BEGIN
+  INSERT INTO job_log_entries (job_execution_id, source_id)
+  SELECT k.job_execution_id, k.source_id
+  FROM unnest(job_ids, source_ids) AS k(job_execution_id, source_id)
+  ORDER BY k.job_execution_id, k.source_id
+  ON CONFLICT DO NOTHING;
+
+  PERFORM 1
+  FROM job_log_entries e
+  JOIN unnest(job_ids, source_ids) AS k(job_execution_id, source_id)
+    ON e.job_execution_id = k.job_execution_id AND e.source_id = k.source_id
+  ORDER BY e.job_execution_id, e.source_id
+  FOR UPDATE OF e;
+
+  UPDATE job_log_entries e SET
+    source_record_order = c.source_record_order,
+    title = c.title,
+    error = c.error,
+    source_record_action_status = c.source_record_action_status,
+    instance_action_status = c.instance_action_status,
+    holdings_action_status = c.holdings_action_status,
+    item_action_status = c.item_action_status,
+    authority_action_status = c.authority_action_status,
+    order_action_status = c.order_action_status,
+    entity_types = c.entity_types,
+    error_entity_types = c.error_entity_types
+  FROM (
+    SELECT jr.job_execution_id, jr.source_id,
+           MIN(jr.source_record_order) AS source_record_order,
+           MIN(jr.title) AS title,
+           MIN(jr.error) FILTER (WHERE jr.error != '') AS error,
+           -- the same sort key of the source record action as calculated by get_job_log_entries for the journal records
+           CASE
+             WHEN MAX(jr.error) FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY')) != ''
+               OR bool_or(jr.action_type = 'NON_MATCH') FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY')) THEN '2'
+             WHEN bool_or(jr.action_type = 'CREATE') FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY')) THEN '1'
+             WHEN bool_or(jr.action_type = 'UPDATE') FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY')) THEN '3'
+             ELSE '4'
+           END AS source_record_action_status,
+           job_log_entry_action_status(bool_or(jr.error != '' OR jr.action_type = 'NON_MATCH') FILTER (WHERE jr.entity_type = 'INSTANCE'),
+             array_agg(jr.action_type) FILTER (WHERE jr.entity_type = 'INSTANCE')) AS instance_action_status,
+           job_log_entry_action_status(bool_or(jr.error != '' OR jr.action_type = 'NON_MATCH') FILTER (WHERE jr.entity_type = 'HOLDINGS'),
+             array_agg(jr.action_type) FILTER (WHERE jr.entity_type = 'HOLDINGS')) AS holdings_action_status,
+           job_log_entry_action_status(bool_or(jr.error != '' OR jr.action_type = 'NON_MATCH') FILTER (WHERE jr.entity_type = 'ITEM'),
+             array_agg(jr.action_type) FILTER (WHERE jr.entity_type = 'ITEM')) AS item_action_status,
+           job_log_entry_action_status(bool_or(jr.error != '' OR jr.action_type = 'NON_MATCH') FILTER (WHERE jr.entity_type = 'AUTHORITY'),
+             array_agg(jr.action_type) FILTER (WHERE jr.entity_type = 'AUTHORITY')) AS authority_action_status,
+           job_log_entry_action_status(bool_or(jr.action_status = 'ERROR') FILTER (WHERE jr.entity_type = 'PO_LINE'),
+             array_agg(jr.action_type) FILTER (WHERE jr.entity_type = 'PO_LINE')) AS order_action_status,
+           COALESCE(array_agg(DISTINCT jr.entity_type) FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY',
+             'INSTANCE', 'HOLDINGS', 'ITEM', 'AUTHORITY', 'PO_LINE')), '{}') AS entity_types,
+           COALESCE(array_agg(DISTINCT jr.entity_type) FILTER (WHERE jr.entity_type IN ('MARC_BIBLIOGRAPHIC', 'MARC_HOLDINGS', 'MARC_AUTHORITY',
+             'INSTANCE', 'HOLDINGS', 'ITEM', 'AUTHORITY', 'PO_LINE') AND jr.error <> ''), '{}') AS error_entity_types
+    FROM journal_records jr
+    JOIN unnest(job_ids, source_ids) AS k(job_execution_id, source_id)
+      ON jr.job_execution_id = k.job_execution_id AND jr.source_id = k.source_id
+    GROUP BY jr.job_execution_id, jr.source_id
+  ) c
+  WHERE e.job_execution_id = c.job_execution_id AND e.source_id = c.source_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Recalculates all entries of the job from its journal records
+CREATE OR REPLACE FUNCTION rebuild_job_log_entries(job_id uuid)
+  RETURNS void AS $$
+  SELECT refresh_job_log_entries(array_agg(s.job_execution_id ORDER BY s.source_id), array_agg(s.source_id ORDER BY s.source_id))
+  FROM (SELECT DISTINCT jr.job_execution_id, jr.source_id
+        FROM journal_records jr
+        WHERE jr.job_execution_id = job_id AND jr.source_id IS NOT NULL) s
+  HAVING count(*) > 0;
+$$ LANGUAGE sql;
+
+CREATE OR REPLACE FUNCTION refresh_job_log_entries_on_change() RETURNS trigger AS
+$$
+DECLARE
+  job_ids uuid[];
+  source_ids uuid[];
+BEGIN
+  SELECT array_agg(k.job_execution_id ORDER BY k.job_execution_id, k.source_id),
+         array_agg(k.source_id ORDER BY k.job_execution_id, k.source_id)
+  INTO job_ids, source_ids
+  FROM (SELECT DISTINCT job_execution_id, source_id
+        FROM changed_journal_records
+        WHERE job_execution_id IS NOT NULL AND source_id IS NOT NULL) k;
+
+  IF job_ids IS NOT NULL THEN
+    PERFORM refresh_job_log_entries(job_ids, source_ids);
+  END IF;
+  RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+-- Entries of the job are removed when its journal records are deleted, they are recalculated from the remaining records on request
+CREATE OR REPLACE FUNCTION delete_job_log_entries_on_delete() RETURNS trigger AS
+$$
+BEGIN
+  DELETE FROM job_log_entries
+  WHERE job_execution_id IN (SELECT DISTINCT job_execution_id FROM old_journal_records);
+
+  INSERT INTO job_log_entries_pending_jobs (job_execution_id)
+  SELECT DISTINCT o.job_execution_id
+  FROM old_journal_records o
+  WHERE o.job_execution_id IS NOT NULL
+    AND EXISTS (SELECT 1 FROM journal_records jr WHERE jr.job_execution_id = o.job_execution_id)
+  ON CONFLICT DO NOTHING;
+  RETURN NULL;
+END;
+$$
+LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS refresh_job_log_entries_on_insert ON journal_records;
+
+CREATE TRIGGER refresh_job_log_entries_on_insert
+AFTER INSERT
+ON journal_records
+REFERENCING NEW TABLE AS changed_journal_records
+FOR EACH STATEMENT
+EXECUTE PROCEDURE refresh_job_log_entries_on_change();
+
+DROP TRIGGER IF EXISTS refresh_job_log_entries_on_update ON journal_records;
+
+CREATE TRIGGER refresh_job_log_entries_on_update
+AFTER UPDATE
+ON journal_records
+REFERENCING NEW TABLE AS changed_journal_records
+FOR EACH STATEMENT
+EXECUTE PROCEDURE refresh_job_log_entries_on_change();
+
+DROP TRIGGER IF EXISTS delete_job_log_entries_on_delete ON journal_records;
+
+CREATE TRIGGER delete_job_log_entries_on_delete
+AFTER DELETE
+ON journal_records
+REFERENCING OLD TABLE AS old_journal_records
+FOR EACH STATEMENT
+EXECUTE PROCEDURE delete_job_log_entries_on_delete();
+
+-- Journal records saved before the triggers were created are not reflected in the entries, including the records of
+-- the jobs in progress which following records are reflected by the triggers, so all jobs having journal records are pending
+INSERT INTO job_log_entries_pending_jobs (job_execution_id)
+SELECT j.id
+FROM job_execution j
+WHERE EXISTS (SELECT 1 FROM journal_records jr WHERE jr.job_execution_id = j.id)
+ON CONFLICT DO NOTHING;
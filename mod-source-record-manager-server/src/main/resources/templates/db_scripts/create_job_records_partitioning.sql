@@ -0,0 +1,238 @@
+-- Tables with records of the jobs (journal_records, incoming_records) are partitioned by range of job_execution_id.
+-- Job execution ids are time-ordered (UUID version 7), so every monthly partition contains records of the jobs created
+-- during one month and the partition can be detached and dropped as a whole when all jobs of that month are purged.
+-- Records of the jobs with random ids are stored in the partitions covering the ranges around the monthly partitions:
+--   <table>_past   - ids lower than the first monthly partition,
+--   <table>_future - ids between the last monthly partition and the year 2100, split when the next month is created,
+--   <table>_random - ids from the year 2100, most of the random ids are in this range.
+-- There is no default partition, so partitions can be detached concurrently.
+-- The partitioned table has no primary key, every partition has its own primary key on id as the table had before partitioning,
+-- records of a job are always stored in the same partition.
+
+DROP FUNCTION IF EXISTS drop_job_records_partitions(text, text, uuid[]);
+DROP FUNCTION IF EXISTS partition_job_records_table(text, text);
+DROP FUNCTION IF EXISTS create_job_records_partitions(text, text, integer);
+
+-- Returns the lowest time-ordered uuid which can be generated at the specified time (UTC)
+CREATE OR REPLACE FUNCTION job_records_partition_bound(bound_time timestamp)
+  RETURNS uuid AS $$
+  SELECT (overlay(lpad(to_hex((extract(epoch FROM bound_time) * 1000)::bigint), 12, '0') PLACING '-' FROM 9 FOR 0)
+    || '-0000-0000-000000000000')::uuid;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Returns the time (UTC) encoded in the time-ordered uuid
+CREATE OR REPLACE FUNCTION job_records_partition_time(id uuid)
+  RETURNS timestamp AS $$
+  SELECT timezone('UTC', to_timestamp(('x' || lpad(left(replace(id::text, '-', ''), 12), 16, '0'))::bit(64)::bigint / 1000.0));
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Upper bound of the ranges covered by the monthly partitions and the future partition
+CREATE OR REPLACE FUNCTION job_records_random_partition_bound()
+  RETURNS uuid AS $$
+  SELECT job_records_partition_bound('2100-01-01');
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION is_partitioned_table(schema_name text, table_name text)
+  RETURNS boolean AS $$
+  SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt WHERE pt.partrelid = to_regclass(format('%I.%I', schema_name, table_name)));
+$$ LANGUAGE sql STABLE;
+
+-- Attaches the table as the partition for the range of job execution ids, NULL bounds stand for MINVALUE and MAXVALUE.
+-- Check constraint matching the range is validated before attaching: validation does not block writes to the table,
+-- and attaching does not scan the table again. The constraint is dropped after attaching, since it duplicates the partition bound.
+CREATE OR REPLACE FUNCTION attach_job_records_partition(schema_name text, table_name text, partition_name text,
+                                                        lower_bound uuid, upper_bound uuid)
+  RETURNS void AS $$
+DECLARE
+  constraint_name text := left(partition_name, 50) || '_bound_check';
+BEGIN
+  EXECUTE format('ALTER TABLE %I.%I ADD CONSTRAINT %I CHECK (job_execution_id IS NOT NULL%s%s) NOT VALID',
+    schema_name, partition_name, constraint_name,
+    CASE WHEN lower_bound IS NULL THEN '' ELSE format(' AND job_execution_id >= %L::uuid', lower_bound) END,
+    CASE WHEN upper_bound IS NULL THEN '' ELSE format(' AND job_execution_id < %L::uuid', upper_bound) END);
+  EXECUTE format('ALTER TABLE %I.%I VALIDATE CONSTRAINT %I', schema_name, partition_name, constraint_name);
+  EXECUTE format('ALTER TABLE %I.%I ATTACH PARTITION %I.%I FOR VALUES FROM (%s) TO (%s)',
+    schema_name, table_name, schema_name, partition_name,
+    coalesce(quote_literal(lower_bound), 'MINVALUE'), coalesce(quote_literal(upper_bound), 'MAXVALUE'));
+  EXECUTE format('ALTER TABLE %I.%I DROP CONSTRAINT %I', schema_name, partition_name, constraint_name);
+END;
+$$ LANGUAGE plpgsql;
+
+-- Converts the table to the partitioned one. Empty table is converted on installation and upgrade, populated table is converted
+-- only if convert_populated is true, which is intended for a maintenance window (see README).
+-- Records are not rewritten: the existing table becomes the random partition keeping its primary key, check constraints and indexes,
+-- only records with ids lower than the random partition bound (a small share of random ids) are moved to other partitions.
+-- Check constraints of the table are copied to the partitioned table, indexes, foreign keys and triggers are defined
+-- on the partitioned table, and the existing indexes and foreign keys of the table are attached to them instead of being built.
+-- Table with records without job execution id remains not partitioned and is purged by deletion of the rows.
+CREATE OR REPLACE FUNCTION partition_job_records_table(schema_name text, table_name text, convert_populated boolean DEFAULT false)
+  RETURNS void AS $$
+DECLARE
+  qualified_name text := format('%I.%I', schema_name, table_name);
+  random_name text := table_name || '_random';
+  current_month timestamp := date_trunc('month', timezone('UTC', now()));
+  definitions text[];
+  definition text;
+  index_name text;
+  trigger_name text;
+  partition_name text;
+  is_populated boolean;
+  has_records_without_job boolean;
+BEGIN
+  IF to_regclass(qualified_name) IS NULL OR is_partitioned_table(schema_name, table_name) THEN
+    RETURN;
+  END IF;
+
+  EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s)', qualified_name) INTO is_populated;
+  IF is_populated AND NOT convert_populated THEN
+    RAISE NOTICE 'Table % contains records and is left not partitioned, it can be partitioned in a maintenance window', qualified_name;
+    RETURN;
+  END IF;
+
+  EXECUTE format('SELECT EXISTS (SELECT 1 FROM %s WHERE job_execution_id IS NULL)', qualified_name) INTO has_records_without_job;
+  IF has_records_without_job THEN
+    RAISE NOTICE 'Table % contains records without job execution id and is left not partitioned', qualified_name;
+    RETURN;
+  END IF;
+
+  SELECT array_agg(pg_get_indexdef(i.indexrelid)) INTO definitions
+  FROM pg_index i
+  WHERE i.indrelid = qualified_name::regclass AND NOT i.indisunique;
+
+  SELECT array_cat(definitions, array_agg(format('ALTER TABLE %s ADD CONSTRAINT %I %s', qualified_name, c.conname, pg_get_constraintdef(c.oid))))
+  INTO definitions
+  FROM pg_constraint c
+  WHERE c.conrelid = qualified_name::regclass AND c.contype = 'f';
+
+  SELECT array_cat(definitions, array_agg(pg_get_triggerdef(t.oid))) INTO definitions
+  FROM pg_trigger t
+  WHERE t.tgrelid = qualified_name::regclass AND NOT t.tgisinternal;
+
+  -- triggers are defined on the partitioned table, indexes of the existing table are attached to the indexes
+  -- of the partitioned table created with the original names
+  FOR trigger_name IN SELECT t.tgname FROM pg_trigger t WHERE t.tgrelid = qualified_name::regclass AND NOT t.tgisinternal LOOP
+    EXECUTE format('DROP TRIGGER %I ON %s', trigger_name, qualified_name);
+  END LOOP;
+  FOR index_name IN SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid WHERE i.indrelid = qualified_name::regclass LOOP
+    EXECUTE format('ALTER INDEX %I.%I RENAME TO %I', schema_name, index_name, left(index_name, 55) || '_random');
+  END LOOP;
+  EXECUTE format('ALTER TABLE %s RENAME TO %I', qualified_name, random_name);
+
+  EXECUTE format('CREATE TABLE %s (LIKE %I.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (job_execution_id)',
+    qualified_name, schema_name, random_name);
+  EXECUTE format('CREATE TABLE %I.%I PARTITION OF %s FOR VALUES FROM (MINVALUE) TO (%L)',
+    schema_name, table_name || '_past', qualified_name, job_records_partition_bound(current_month));
+  EXECUTE format('CREATE TABLE %I.%I PARTITION OF %s FOR VALUES FROM (%L) TO (%L)',
+    schema_name, table_name || '_future', qualified_name, job_records_partition_bound(current_month), job_records_random_partition_bound());
+  FOREACH partition_name IN ARRAY ARRAY[table_name || '_past', table_name || '_future'] LOOP
+    EXECUTE format('ALTER TABLE %I.%I ADD PRIMARY KEY (id)', schema_name, partition_name);
+  END LOOP;
+
+  EXECUTE format('WITH moved AS (DELETE FROM %I.%I WHERE job_execution_id < %L RETURNING *) INSERT INTO %s SELECT * FROM moved',
+    schema_name, random_name, job_records_random_partition_bound(), qualified_name);
+  PERFORM attach_job_records_partition(schema_name, table_name, random_name, job_records_random_partition_bound(), NULL);
+
+  FOREACH definition IN ARRAY coalesce(definitions, '{}') LOOP
+    EXECUTE definition;
+  END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Creates monthly partitions up to the specified number of months following the current one. Every month is split
+-- from the beginning of the future partition, records of that month are moved from the future partition to the created one.
+-- The future partition contains only records of the jobs with random ids within its range, so it is small and
+-- the partitioned table is locked only shortly. Detaching the future partition locks the partitioned table exclusively,
+-- so with a positive lock timeout the months not created before the lock is not acquired in time are skipped
+-- and false is returned, the following call creates them.
+CREATE OR REPLACE FUNCTION create_job_records_partitions(schema_name text, table_name text, months_ahead integer,
+                                                         lock_timeout_ms integer DEFAULT 0)
+  RETURNS boolean AS $$
+DECLARE
+  last_month timestamp := date_trunc('month', timezone('UTC', now())) + make_interval(months => months_ahead);
+  future_name text := table_name || '_future';
+  month_start timestamp;
+  partition_name text;
+  lower_bound uuid;
+  upper_bound uuid;
+BEGIN
+  IF NOT is_partitioned_table(schema_name, table_name) OR to_regclass(format('%I.%I', schema_name, future_name)) IS NULL THEN
+    RETURN true;
+  END IF;
+  IF lock_timeout_ms > 0 THEN
+    PERFORM set_config('lock_timeout', lock_timeout_ms || 'ms', true);
+  END IF;
+
+  SELECT job_records_partition_time(substring(pg_get_expr(c.relpartbound, c.oid) FROM 'FROM \(''([0-9a-f-]{36})''\)')::uuid)
+  INTO month_start
+  FROM pg_class c
+  WHERE c.oid = format('%I.%I', schema_name, future_name)::regclass;
+
+  WHILE month_start <= last_month LOOP
+    partition_name := table_name || '_p' || to_char(month_start, 'YYYYMM');
+    lower_bound := job_records_partition_bound(month_start);
+    upper_bound := job_records_partition_bound(month_start + interval '1 month');
+
+    BEGIN
+      EXECUTE format('ALTER TABLE %I.%I DETACH PARTITION %I.%I', schema_name, table_name, schema_name, future_name);
+      EXECUTE format('CREATE TABLE %I.%I (LIKE %I.%I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+        schema_name, partition_name, schema_name, table_name);
+      EXECUTE format('ALTER TABLE %I.%I ADD PRIMARY KEY (id)', schema_name, partition_name);
+      EXECUTE format('WITH moved AS (DELETE FROM %1$I.%2$I WHERE job_execution_id < %3$L RETURNING *) '
+        'INSERT INTO %1$I.%4$I SELECT * FROM moved', schema_name, future_name, upper_bound, partition_name);
+      PERFORM attach_job_records_partition(schema_name, table_name, partition_name, lower_bound, upper_bound);
+      PERFORM attach_job_records_partition(schema_name, table_name, future_name, upper_bound, job_records_random_partition_bound());
+    EXCEPTION WHEN lock_not_available THEN
+      RAISE NOTICE 'Lock of % was not acquired in % ms, partition % is not created', table_name, lock_timeout_ms, partition_name;
+      RETURN false;
+    END;
+
+    month_start := month_start + interval '1 month';
+  END LOOP;
+  RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Returns monthly partitions of the past months which contain records of the specified jobs only, and the partitions
+-- which detaching was interrupted. Partitions are detached concurrently and dropped by the caller, since concurrent
+-- detaching can not be executed in a function. Records of the jobs stored in the remaining partitions should be deleted.
+CREATE OR REPLACE FUNCTION get_droppable_job_records_partitions(schema_name text, table_name text, job_ids uuid[])
+  RETURNS TABLE(partition_name text, detach_pending boolean) AS $$
+DECLARE
+  current_month timestamp := date_trunc('month', timezone('UTC', now()));
+  job_partition record;
+  has_other_jobs boolean;
+BEGIN
+  IF NOT is_partitioned_table(schema_name, table_name) THEN
+    RETURN;
+  END IF;
+
+  FOR job_partition IN
+    SELECT c.relname::text AS name, i.inhdetachpending AS pending, to_date(right(c.relname, 6), 'YYYYMM')::timestamp AS month_start
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = format('%I.%I', schema_name, table_name)::regclass
+      AND c.relname ~ ('^' || table_name || '_p[0-9]{6}$')
+    ORDER BY c.relname
+  LOOP
+    IF NOT job_partition.pending THEN
+      CONTINUE WHEN job_partition.month_start >= current_month;
+
+      EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I.job_execution WHERE id >= $1 AND id < $2 AND id <> ALL($3))', schema_name)
+        INTO has_other_jobs
+        USING job_records_partition_bound(job_partition.month_start),
+              job_records_partition_bound(job_partition.month_start + interval '1 month'),
+              job_ids;
+      CONTINUE WHEN has_other_jobs;
+    END IF;
+
+    partition_name := job_partition.name;
+    detach_pending := job_partition.pending;
+    RETURN NEXT;
+  END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT partition_job_records_table('${myuniversity}_${mymodule}', 'journal_records');
+SELECT partition_job_records_table('${myuniversity}_${mymodule}', 'incoming_records');
+SELECT create_job_records_partitions('${myuniversity}_${mymodule}', 'journal_records', 3);
+SELECT create_job_records_partitions('${myuniversity}_${mymodule}', 'incoming_records', 3);
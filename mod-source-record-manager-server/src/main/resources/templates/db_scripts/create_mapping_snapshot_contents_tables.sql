@@ -0,0 +1,57 @@
+-- Mapping params and rules snapshots are stored once per distinct content,
+-- snapshots of the job executions reference the content by hash.
+CREATE TABLE IF NOT EXISTS mapping_params_snapshot_contents (
+  hash text PRIMARY KEY,
+  params jsonb NOT NULL,
+  saved_timestamp timestamp NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS mapping_rules_snapshot_contents (
+  hash text PRIMARY KEY,
+  rules jsonb NOT NULL,
+  saved_timestamp timestamp NOT NULL DEFAULT now()
+);
+
+ALTER TABLE mapping_params_snapshots ADD COLUMN IF NOT EXISTS params_hash text;
+ALTER TABLE mapping_rules_snapshots ADD COLUMN IF NOT EXISTS rules_hash text;
+
+-- Existing snapshots are moved to the contents tables. Hashes of the moved snapshots are calculated from the text
+-- of jsonb and marked by 'legacy-' prefix, the module replaces them with its own hashes on tenant upgrade.
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM information_schema.columns
+             WHERE table_schema = current_schema() AND table_name = 'mapping_params_snapshots' AND column_name = 'params') THEN
+    UPDATE mapping_params_snapshots
+    SET params_hash = 'legacy-' || encode(sha256(convert_to(params::text, 'UTF8')), 'hex')
+    WHERE params IS NOT NULL;
+
+    INSERT INTO mapping_params_snapshot_contents (hash, params, saved_timestamp)
+    SELECT DISTINCT ON (params_hash) params_hash, params, COALESCE(saved_timestamp, now())
+    FROM mapping_params_snapshots
+    WHERE params IS NOT NULL
+    ORDER BY params_hash
+    ON CONFLICT (hash) DO NOTHING;
+
+    ALTER TABLE mapping_params_snapshots DROP COLUMN params;
+  END IF;
+
+  IF EXISTS (SELECT 1 FROM information_schema.columns
+             WHERE table_schema = current_schema() AND table_name = 'mapping_rules_snapshots' AND column_name = 'rules') THEN
+    UPDATE mapping_rules_snapshots
+    SET rules_hash = 'legacy-' || encode(sha256(convert_to(rules::text, 'UTF8')), 'hex')
+    WHERE rules IS NOT NULL;
+
+    INSERT INTO mapping_rules_snapshot_contents (hash, rules, saved_timestamp)
+    SELECT DISTINCT ON (rules_hash) rules_hash, rules, COALESCE(saved_timestamp, now())
+    FROM mapping_rules_snapshots
+    WHERE rules IS NOT NULL
+    ORDER BY rules_hash
+    ON CONFLICT (hash) DO NOTHING;
+
+    ALTER TABLE mapping_rules_snapshots DROP COLUMN rules;
+  END IF;
+END $$;
+
+-- Used to find the contents which are not referenced by any job execution
+CREATE INDEX IF NOT EXISTS mapping_params_snapshots_params_hash_idx ON mapping_params_snapshots USING BTREE (params_hash);
+CREATE INDEX IF NOT EXISTS mapping_rules_snapshots_rules_hash_idx ON mapping_rules_snapshots USING BTREE (rules_hash);
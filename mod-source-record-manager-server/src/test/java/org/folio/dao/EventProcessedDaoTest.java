@@ -8,6 +8,7 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.pgclient.PgException;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.rest.impl.AbstractRestTest;
 import org.junit.Before;
@@ -15,15 +16,22 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.UUID;
 
+import static java.lang.String.format;
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 import static org.junit.Assert.assertEquals;
 
 @RunWith(VertxUnitRunner.class)
 public class EventProcessedDaoTest extends AbstractRestTest {
 
+  private static final String AGE_EVENTS_SQL = "UPDATE %s.events_processed SET processed_date = now() - interval '2 days' " +
+    "WHERE handler_id = $1";
+
   private String handlerId;
   private String eventId;
 
@@ -35,6 +43,7 @@ public class EventProcessedDaoTest extends AbstractRestTest {
   @Before
   public void setUp(TestContext context) throws IOException {
     super.setUp(context);
+    ReflectionTestUtils.setField(eventProcessedDao, "deleteBatchSize", 2);
     handlerId = UUID.randomUUID().toString();
     eventId = UUID.randomUUID().toString();
   }
@@ -83,4 +92,58 @@ public class EventProcessedDaoTest extends AbstractRestTest {
     });
   }
 
+  @Test
+  public void shouldSaveAllAndSkipAlreadySavedEvents(TestContext context) {
+    Async async = context.async();
+    String newEventId = UUID.randomUUID().toString();
+
+    Future<RowSet<Row>> saveFuture = eventProcessedDao.save(handlerId, eventId, TENANT_ID)
+      .compose(ar -> eventProcessedDao.saveAll(handlerId, List.of(eventId, newEventId), TENANT_ID));
+
+    saveFuture.onComplete(ar -> {
+      context.assertTrue(ar.succeeded());
+      context.assertEquals(1, ar.result().rowCount());
+      context.assertEquals(newEventId, ar.result().iterator().next().getValue("event_id").toString());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldNotDeleteRecentlyProcessedEvents(TestContext context) {
+    Async async = context.async();
+
+    Future<Integer> deleteFuture = eventProcessedDao.save(handlerId, eventId, TENANT_ID)
+      .compose(ar -> eventProcessedDao.deleteProcessedBefore(1, TENANT_ID))
+      .compose(deleted -> eventProcessedDao.saveAll(handlerId, List.of(eventId), TENANT_ID)
+        .map(rows -> rows.rowCount() + deleted));
+
+    deleteFuture.onComplete(ar -> {
+      context.assertTrue(ar.succeeded());
+      context.assertEquals(0, ar.result());
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldDeleteExpiredEventsInBatches(TestContext context) {
+    Async async = context.async();
+    List<String> eventIds = List.of(eventId, UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+      UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+    Future<Integer> deleteFuture = eventProcessedDao.saveAll(handlerId, eventIds, TENANT_ID)
+      .compose(ar -> postgresClientFactory.createInstance(TENANT_ID)
+        .execute(format(AGE_EVENTS_SQL, convertToPsqlStandard(TENANT_ID)), Tuple.of(handlerId)))
+      .compose(ar -> eventProcessedDao.deleteProcessedBefore(1, TENANT_ID))
+      .compose(deleted -> eventProcessedDao.saveAll(handlerId, eventIds, TENANT_ID)
+        .map(rows -> {
+          context.assertEquals(eventIds.size(), rows.rowCount());
+          return deleted;
+        }));
+
+    deleteFuture.onComplete(ar -> {
+      context.assertTrue(ar.succeeded());
+      context.assertEquals(eventIds.size(), ar.result());
+      async.complete();
+    });
+  }
 }
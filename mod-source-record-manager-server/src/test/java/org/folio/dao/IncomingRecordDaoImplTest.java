@@ -14,6 +14,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.IOException;
 import java.util.List;
@@ -60,6 +61,39 @@ public class IncomingRecordDaoImplTest extends AbstractRestTest {
           }));
   }
 
+  @Test
+  public void shouldGetByIdRecordsSavedWithAndWithoutCompression(TestContext context) {
+    Async async = context.async();
+
+    List<JobExecution> createdJobExecutions = constructAndPostInitJobExecutionRqDto(1).getJobExecutions();
+    String jobExecutionId = createdJobExecutions.getFirst().getId();
+
+    String id = UUID.randomUUID().toString();
+    String compressedId = UUID.randomUUID().toString();
+
+    incomingRecordDao.saveBatch(List.of(buildIncomingRecord(id, jobExecutionId)), TENANT_ID)
+      .compose(r -> {
+        ReflectionTestUtils.setField(incomingRecordDao, "compressionEnabled", true);
+        return incomingRecordDao.saveBatch(List.of(buildIncomingRecord(compressedId, jobExecutionId)), TENANT_ID);
+      })
+      .compose(r -> incomingRecordDao.getById(compressedId, TENANT_ID))
+      .compose(compressedRecord -> {
+        context.assertTrue(compressedRecord.isPresent());
+        context.assertEquals(compressedId, compressedRecord.get().getId());
+        context.assertEquals(jobExecutionId, compressedRecord.get().getJobExecutionId());
+        context.assertEquals(IncomingRecord.RecordType.MARC_BIB, compressedRecord.get().getRecordType());
+        context.assertEquals("rawRecord", compressedRecord.get().getRawRecordContent());
+        context.assertEquals("parsedRecord", compressedRecord.get().getParsedRecordContent());
+        return incomingRecordDao.getById(id, TENANT_ID);
+      })
+      .onComplete(context.asyncAssertSuccess(jsonRecord -> {
+        context.assertTrue(jsonRecord.isPresent());
+        context.assertEquals("rawRecord", jsonRecord.get().getRawRecordContent());
+        context.assertEquals("parsedRecord", jsonRecord.get().getParsedRecordContent());
+        async.complete();
+      }));
+  }
+
   @Test
   public void shouldSaveBatch(TestContext context) {
     Async async = context.async();
@@ -75,7 +109,7 @@ public class IncomingRecordDaoImplTest extends AbstractRestTest {
     incomingRecordDao.saveBatch(List.of(incomingRecord1, incomingRecord2), TENANT_ID)
       .onComplete(ar -> {
         context.assertTrue(ar.succeeded());
-        context.assertEquals(2, ar.result().size());
+        context.assertEquals(2, ar.result().rowCount());
         async.complete();
       });
   }
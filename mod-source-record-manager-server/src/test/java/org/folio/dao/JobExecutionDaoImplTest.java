@@ -8,8 +8,12 @@ import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import org.apache.logging.log4j.util.Strings;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
+import org.folio.dao.util.SortField;
+import org.folio.dao.util.TotalCountMode;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.impl.AbstractRestTest;
 import org.folio.rest.jaxrs.model.File;
@@ -24,7 +28,9 @@ import org.folio.rest.jaxrs.model.JobExecutionDtoCollection;
 import org.folio.rest.jaxrs.model.JobExecutionProgress;
 import org.folio.rest.jaxrs.model.JobExecutionSourceChunk;
 import org.folio.rest.jaxrs.model.JournalRecord;
+import org.folio.rest.jaxrs.model.Progress;
 import org.folio.rest.jaxrs.model.StatusDto;
+import org.folio.rest.persist.PostgresClient;
 import org.folio.services.JobExecutionService;
 import org.folio.services.JobExecutionServiceImpl;
 import org.junit.Before;
@@ -35,6 +41,7 @@ import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 
+import javax.ws.rs.BadRequestException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -72,6 +79,8 @@ public class JobExecutionDaoImplTest extends AbstractRestTest {
   @Spy
   PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
   @Spy
+  JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+  @Spy
   @InjectMocks
   JobExecutionDaoImpl jobExecutionDao;
 
@@ -114,7 +123,7 @@ public class JobExecutionDaoImplTest extends AbstractRestTest {
     Future<List<JobExecutionDto>> future = jobExecutionService.initializeJobExecutions(initJobExecutionsRqDto, params)
       .map(InitJobExecutionsRsDto::getJobExecutions)
       .compose(this::createProgressForJobExecutions)
-      .compose(ar -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(new JobExecutionFilter(), null, 0, 10, params.getTenantId()))
+      .compose(ar -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(new JobExecutionFilter(), null, null, 0, 10, TotalCountMode.EXACT, params.getTenantId()))
       .map(JobExecutionDtoCollection::getJobExecutions);
 
     future.onComplete(ar -> {
@@ -134,6 +143,66 @@ public class JobExecutionDaoImplTest extends AbstractRestTest {
     });
   }
 
+  @Test
+  public void shouldReturnPagesByKeysetPagination(TestContext context) {
+    InitJobExecutionsRqDto initRqDto = new InitJobExecutionsRqDto()
+      .withFiles(Arrays.asList(
+        new File().withName("importBib1.bib"),
+        new File().withName("importBib2.bib"),
+        new File().withName("importBib3.bib")))
+      .withSourceType(InitJobExecutionsRqDto.SourceType.FILES)
+      .withUserId(okapiUserIdHeader);
+    List<SortField> sortFields = List.of(new SortField("hrid", "desc"));
+    JobExecutionFilter filter = new JobExecutionFilter();
+
+    jobExecutionService.initializeJobExecutions(initRqDto, params)
+      .compose(ar -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, sortFields, null, 0, 2, TotalCountMode.EXACT, params.getTenantId()))
+      .compose(firstPage -> {
+        context.assertEquals(3, firstPage.getTotalRecords());
+        context.assertEquals(2, firstPage.getJobExecutions().size());
+        JobExecutionDto first = firstPage.getJobExecutions().get(0);
+        JobExecutionDto last = firstPage.getJobExecutions().get(1);
+        context.assertTrue(first.getHrId() > last.getHrId());
+
+        return jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, sortFields, last.getId(), 0, 2, TotalCountMode.CACHED, params.getTenantId())
+          .onComplete(context.asyncAssertSuccess(secondPage -> {
+            context.assertEquals(3, secondPage.getTotalRecords());
+            context.assertEquals(1, secondPage.getJobExecutions().size());
+            context.assertTrue(last.getHrId() > secondPage.getJobExecutions().get(0).getHrId());
+          }));
+      })
+      .onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldFailKeysetPaginationForUnknownAfterId(TestContext context) {
+    List<SortField> sortFields = List.of(new SortField("hrid", "desc"));
+
+    jobExecutionService.initializeJobExecutions(initJobExecutionsRqDto, params)
+      .compose(ar -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(new JobExecutionFilter(), sortFields,
+        UUID.randomUUID().toString(), 0, 2, TotalCountMode.CACHED, params.getTenantId()))
+      .onComplete(context.asyncAssertFailure(e -> context.assertTrue(e instanceof BadRequestException)));
+  }
+
+  @Test
+  public void shouldInvalidateCachedTotalCountOnlyWhenFilteredFieldsAreUpdated(TestContext context) {
+    JobExecutionFilter filter = new JobExecutionFilter().withStatusAny(List.of(JobExecution.Status.COMMITTED));
+    String updateStatusQuery = format("UPDATE %s.%s SET status = 'COMMITTED' WHERE id = $1", convertToPsqlStandard(TENANT_ID), JOB_EXECUTION);
+
+    jobExecutionService.initializeJobExecutions(initJobExecutionsRqDto, params)
+      .map(InitJobExecutionsRsDto::getJobExecutions)
+      .compose(jobExecutions -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, null, null, 0, 10, TotalCountMode.EXACT, TENANT_ID)
+        .onSuccess(collection -> context.assertEquals(0, collection.getTotalRecords()))
+        // status is changed bypassing the dao, so the cached total count is not invalidated
+        .compose(v -> PostgresClient.getInstance(vertx, TENANT_ID).execute(updateStatusQuery, Tuple.of(UUID.fromString(jobExecutions.get(0).getId()))))
+        .compose(v -> jobExecutionDao.updateJobExecution(jobExecutions.get(1).withProgress(new Progress().withCurrent(1).withTotal(2)), TENANT_ID))
+        .compose(v -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, null, null, 0, 10, TotalCountMode.CACHED, TENANT_ID))
+        .onSuccess(collection -> context.assertEquals(0, collection.getTotalRecords()))
+        .compose(v -> jobExecutionDao.updateJobExecution(jobExecutions.get(1).withStatus(JobExecution.Status.COMMITTED), TENANT_ID))
+        .compose(v -> jobExecutionDao.getJobExecutionsWithoutParentMultiple(filter, null, null, 0, 10, TotalCountMode.CACHED, TENANT_ID)))
+      .onComplete(context.asyncAssertSuccess(collection -> context.assertEquals(2, collection.getTotalRecords())));
+  }
+
   private Future<RowSet<Row>> createProgressForJobExecutions(List<JobExecution> jobExecutions) {
     Random random = new Random();
     Future<RowSet<Row>> future = Future.succeededFuture();
@@ -386,7 +455,7 @@ public class JobExecutionDaoImplTest extends AbstractRestTest {
       jobExecutionDao
         .getJobExecutionsWithoutParentMultiple(
           new JobExecutionFilter().withSubordinationTypeNotAny(List.of(SubordinationType.COMPOSITE_CHILD)),
-          null, 0, 100, params.getTenantId()
+          null, null, 0, 100, TotalCountMode.EXACT, params.getTenantId()
         )
         .onComplete(context.asyncAssertSuccess(result -> {
           assertThat(result.getTotalRecords(), is(1));
@@ -457,7 +526,7 @@ public class JobExecutionDaoImplTest extends AbstractRestTest {
     jobExecutionDao
       .getJobExecutionsWithoutParentMultiple(
         new JobExecutionFilter().withSubordinationTypeNotAny(Arrays.asList(SubordinationType.COMPOSITE_CHILD)),
-        null, 0, 100, params.getTenantId()
+        null, null, 0, 100, TotalCountMode.EXACT, params.getTenantId()
       )
       .onComplete(context.asyncAssertSuccess(result -> {
         assertThat(result.getTotalRecords(), is(1));
@@ -2,8 +2,10 @@ package org.folio.dao;
 
 import io.vertx.core.Future;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
 import io.vertx.sqlclient.Tuple;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.rest.jaxrs.model.JobExecution;
 import org.folio.rest.jaxrs.model.JobProfileInfo;
@@ -14,6 +16,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.UUID;
@@ -47,6 +50,9 @@ public class JobExecutionDaoImplUnitTest {
   @Mock
   private PostgresClient pgClient;
 
+  @Spy
+  private JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+
   @InjectMocks
   private JobExecutionDao jobExecutionDao = new JobExecutionDaoImpl();
 
@@ -61,6 +67,10 @@ public class JobExecutionDaoImplUnitTest {
     // given
     int updatedRowsNumber = 1;
     RowSet<Row> sqlUpdateResult = when(mock(RowSet.class).rowCount()).thenReturn(updatedRowsNumber).getMock();
+    RowIterator<Row> rowIterator = mock(RowIterator.class);
+    when(rowIterator.hasNext()).thenReturn(true);
+    when(rowIterator.next()).thenReturn(mock(Row.class));
+    when(sqlUpdateResult.iterator()).thenReturn(rowIterator);
     when(pgClient.execute(anyString(), any(Tuple.class))).thenReturn(Future.succeededFuture(sqlUpdateResult));
 
     // when
@@ -5,6 +5,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dataimport.util.test.GenericHandlerAnswer;
 import org.folio.rest.jaxrs.model.JobExecutionSourceChunk;
@@ -22,7 +23,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
 
+import javax.ws.rs.NotFoundException;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
@@ -149,4 +153,32 @@ public class JobExecutionSourceChunkDaoImplTest {
         verify(pgClient).update(eq(TABLE_NAME), eq(jobExecutionSourceChunk), any(Criterion.class), eq(true), any(Handler.class));
       });
   }
+
+  @Test
+  public void shouldIncrementProcessedAmount() {
+    // given
+    when(pgClient.execute(anyString(), any(Tuple.class)))
+      .thenReturn(Future.succeededFuture(new LocalRowSet(1)));
+    // when
+    jobExecutionSourceChunkDao.incrementProcessedAmount(jobExecutionSourceChunk.getId(), 20, TENANT_ID)
+      // then
+      .onComplete(ar -> {
+        Assert.assertTrue(ar.succeeded());
+        verify(pgClient).execute(anyString(), any(Tuple.class));
+      });
+  }
+
+  @Test
+  public void shouldReturnFailedFutureOnUpdatingStateWhenEntityNotFound() {
+    // given
+    when(pgClient.execute(anyString(), any(Tuple.class)))
+      .thenReturn(Future.succeededFuture(new LocalRowSet(0)));
+    // when
+    jobExecutionSourceChunkDao.updateState(jobExecutionSourceChunk.getId(), JobExecutionSourceChunk.State.ERROR, TENANT_ID)
+      // then
+      .onComplete(ar -> {
+        Assert.assertTrue(ar.failed());
+        Assert.assertTrue(ar.cause() instanceof NotFoundException);
+      });
+  }
 }
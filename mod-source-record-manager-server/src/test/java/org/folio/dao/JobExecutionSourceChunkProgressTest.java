@@ -0,0 +1,142 @@
+package org.folio.dao;
+
+import static java.lang.String.format;
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import java.io.IOException;
+import java.util.UUID;
+import org.folio.dao.util.PostgresClientFactory;
+import org.folio.rest.impl.AbstractRestTest;
+import org.folio.rest.jaxrs.model.JobExecutionSourceChunk;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+@RunWith(VertxUnitRunner.class)
+public class JobExecutionSourceChunkProgressTest extends AbstractRestTest {
+
+  private static final String SCHEMA = convertToPsqlStandard(TENANT_ID);
+  private static final String GET_CHUNKS_PROGRESS_QUERY = "SELECT unfinished_chunks, error_chunks " +
+    "FROM %s.job_execution_source_chunks_progress WHERE job_execution_id = $1";
+
+  @Spy
+  PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+
+  @InjectMocks
+  JobExecutionSourceChunkDaoImpl jobExecutionSourceChunkDao = new JobExecutionSourceChunkDaoImpl();
+
+  private String jobExecutionId;
+
+  @Before
+  public void setUp(TestContext context) throws IOException {
+    MockitoAnnotations.openMocks(this);
+    super.setUp(context);
+    jobExecutionId = UUID.randomUUID().toString();
+    Async async = context.async();
+    execute(format("INSERT INTO %s.job_execution (id) VALUES ($1)", SCHEMA), Tuple.of(UUID.fromString(jobExecutionId)))
+      .onComplete(context.asyncAssertSuccess(rows -> async.complete()));
+  }
+
+  @Test
+  public void shouldCountUnfinishedAndErrorChunksOfJobExecution(TestContext context) {
+    Async async = context.async();
+    JobExecutionSourceChunk firstChunk = buildSourceChunk();
+    JobExecutionSourceChunk secondChunk = buildSourceChunk();
+
+    jobExecutionSourceChunkDao.save(firstChunk, TENANT_ID)
+      .compose(v -> jobExecutionSourceChunkDao.save(secondChunk, TENANT_ID))
+      .compose(v -> getChunksProgress())
+      .onSuccess(progress -> context.verify(v -> {
+        assertEquals(Integer.valueOf(2), progress.getInteger("unfinished_chunks"));
+        assertEquals(Integer.valueOf(0), progress.getInteger("error_chunks"));
+      }))
+      .compose(v -> jobExecutionSourceChunkDao.isAllChunksProcessed(jobExecutionId, TENANT_ID))
+      .onSuccess(completed -> context.verify(v -> assertFalse(completed)))
+      .compose(v -> jobExecutionSourceChunkDao.update(firstChunk.withState(JobExecutionSourceChunk.State.COMPLETED), TENANT_ID))
+      .compose(v -> jobExecutionSourceChunkDao.isAllChunksProcessed(jobExecutionId, TENANT_ID))
+      .onSuccess(completed -> context.verify(v -> assertFalse(completed)))
+      .compose(v -> jobExecutionSourceChunkDao.updateState(secondChunk.getId(), JobExecutionSourceChunk.State.ERROR, TENANT_ID))
+      .compose(v -> getChunksProgress())
+      .onSuccess(progress -> context.verify(v -> {
+        assertEquals(Integer.valueOf(0), progress.getInteger("unfinished_chunks"));
+        assertEquals(Integer.valueOf(1), progress.getInteger("error_chunks"));
+      }))
+      .compose(v -> jobExecutionSourceChunkDao.isAllChunksProcessed(jobExecutionId, TENANT_ID))
+      .onSuccess(completed -> context.verify(v -> assertTrue(completed)))
+      .compose(v -> jobExecutionSourceChunkDao.containsErrorChunks(jobExecutionId, TENANT_ID))
+      .onSuccess(hasErrors -> context.verify(v -> assertTrue(hasErrors)))
+      .compose(v -> jobExecutionSourceChunkDao.delete(secondChunk.getId(), TENANT_ID))
+      .compose(v -> jobExecutionSourceChunkDao.containsErrorChunks(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(hasErrors -> {
+        assertFalse(hasErrors);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldKeepIncrementedProcessedAmountWhenChunkIsUpdated(TestContext context) {
+    Async async = context.async();
+    JobExecutionSourceChunk chunk = buildSourceChunk();
+
+    jobExecutionSourceChunkDao.save(chunk, TENANT_ID)
+      .compose(v -> jobExecutionSourceChunkDao.incrementProcessedAmount(chunk.getId(), 4, TENANT_ID))
+      .compose(v -> jobExecutionSourceChunkDao.incrementProcessedAmount(chunk.getId(), 6, TENANT_ID))
+      .compose(v -> getChunksProgress())
+      .onSuccess(progress -> context.verify(v -> assertEquals(Integer.valueOf(1), progress.getInteger("unfinished_chunks"))))
+      .compose(v -> jobExecutionSourceChunkDao.update(chunk.withState(JobExecutionSourceChunk.State.COMPLETED), TENANT_ID))
+      .compose(v -> jobExecutionSourceChunkDao.getById(chunk.getId(), TENANT_ID))
+      .onSuccess(updatedChunk -> context.verify(v -> assertEquals(Integer.valueOf(10), updatedChunk.orElseThrow().getProcessedAmount())))
+      .compose(v -> jobExecutionSourceChunkDao.isAllChunksProcessed(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(completed -> {
+        assertTrue(completed);
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldTreatJobExecutionWithoutChunksAsCompleted(TestContext context) {
+    Async async = context.async();
+
+    jobExecutionSourceChunkDao.isAllChunksProcessed(jobExecutionId, TENANT_ID)
+      .onSuccess(completed -> context.verify(v -> assertTrue(completed)))
+      .compose(v -> jobExecutionSourceChunkDao.containsErrorChunks(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(hasErrors -> {
+        assertFalse(hasErrors);
+        async.complete();
+      }));
+  }
+
+  private JobExecutionSourceChunk buildSourceChunk() {
+    return new JobExecutionSourceChunk()
+      .withId(UUID.randomUUID().toString())
+      .withJobExecutionId(jobExecutionId)
+      .withLast(false)
+      .withState(JobExecutionSourceChunk.State.IN_PROGRESS)
+      .withChunkSize(10)
+      .withProcessedAmount(0);
+  }
+
+  private Future<Row> getChunksProgress() {
+    return execute(format(GET_CHUNKS_PROGRESS_QUERY, SCHEMA), Tuple.of(UUID.fromString(jobExecutionId)))
+      .map(rows -> rows.iterator().next());
+  }
+
+  private Future<RowSet<Row>> execute(String sql, Tuple params) {
+    return PostgresClient.getInstance(vertx, TENANT_ID).execute(sql, params);
+  }
+}
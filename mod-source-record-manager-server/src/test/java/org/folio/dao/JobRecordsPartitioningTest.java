@@ -0,0 +1,217 @@
+package org.folio.dao;
+
+import static java.lang.String.format;
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
+import static org.folio.services.util.TimeOrderedUuidUtil.timeOrderedUuid;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.Assert.assertEquals;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.Tuple;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.folio.dao.util.JobExecutionCache;
+import org.folio.dao.util.PostgresClientFactory;
+import org.folio.rest.impl.AbstractRestTest;
+import org.folio.rest.persist.PostgresClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(VertxUnitRunner.class)
+public class JobRecordsPartitioningTest extends AbstractRestTest {
+
+  private static final String SCHEMA = convertToPsqlStandard(TENANT_ID);
+  private static final DateTimeFormatter PARTITION_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+  private static final String GET_PARTITIONS_QUERY = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+    "WHERE i.inhparent = '%s.%s'::regclass";
+  private static final String GET_RECORD_PARTITION_QUERY = "SELECT c.relname FROM %s.%s r JOIN pg_class c ON c.oid = r.tableoid " +
+    "WHERE r.job_execution_id = $1";
+  private static final String PARTITION_EXISTS_QUERY = "SELECT to_regclass('%s.%s') IS NOT NULL";
+
+  @Spy
+  PostgresClientFactory postgresClientFactory = new PostgresClientFactory(Vertx.vertx());
+  @Spy
+  JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+
+  @InjectMocks
+  JobExecutionDaoImpl jobExecutionDao = new JobExecutionDaoImpl();
+
+  @Before
+  public void setUp(TestContext context) throws IOException {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(jobExecutionDao, "partitionsMonthsAhead", 3);
+    ReflectionTestUtils.setField(jobExecutionDao, "partitionsLockTimeoutMs", 5000);
+    super.setUp(context);
+  }
+
+  @Test
+  public void shouldCreatePartitionsForCurrentAndFollowingMonths(TestContext context) {
+    Async async = context.async();
+    YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+
+    execute(format(GET_PARTITIONS_QUERY, SCHEMA, "journal_records"))
+      .onComplete(context.asyncAssertSuccess(rows -> {
+        List<String> partitions = new ArrayList<>();
+        rows.forEach(row -> partitions.add(row.getString(0)));
+        assertThat(partitions, hasItems("journal_records_past", "journal_records_future", "journal_records_random",
+          partitionName("journal_records", currentMonth), partitionName("journal_records", currentMonth.plusMonths(3))));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldMoveRecordsOfCreatedMonthFromFuturePartition(TestContext context) {
+    Async async = context.async();
+    YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(6);
+    UUID jobExecutionId = jobExecutionId(month);
+    String getRecordPartitionQuery = format(GET_RECORD_PARTITION_QUERY, SCHEMA, "incoming_records");
+
+    execute(format("INSERT INTO %s.job_execution (id) VALUES ($1)", SCHEMA), Tuple.of(jobExecutionId))
+      .compose(v -> execute(format("INSERT INTO %s.incoming_records (id, job_execution_id, incoming_record) VALUES ($1, $2, '{}')", SCHEMA),
+        Tuple.of(UUID.randomUUID(), jobExecutionId)))
+      .compose(v -> execute(getRecordPartitionQuery, Tuple.of(jobExecutionId)))
+      .onSuccess(rows -> context.verify(v -> assertEquals("incoming_records_future", rows.iterator().next().getString(0))))
+      .compose(v -> execute(format("SELECT %s.create_job_records_partitions($1, $2, $3)", SCHEMA), Tuple.of(SCHEMA, "incoming_records", 6)))
+      .compose(v -> execute(getRecordPartitionQuery, Tuple.of(jobExecutionId)))
+      .onComplete(context.asyncAssertSuccess(rows -> {
+        assertEquals(partitionName("incoming_records", month), rows.iterator().next().getString(0));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldSkipPartitionsCreationWhenTableLockIsNotAcquiredInTime(TestContext context) {
+    Async async = context.async();
+    YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(7);
+    String createPartitionsQuery = format("SELECT %s.create_job_records_partitions($1, $2, $3, $4)", SCHEMA);
+    PostgresClient pgClient = PostgresClient.getInstance(vertx, TENANT_ID);
+
+    // the table is read by another transaction, so the future partition can not be detached
+    pgClient.withTrans(conn -> conn.execute(format("LOCK TABLE %s.incoming_records IN ACCESS SHARE MODE", SCHEMA))
+        .compose(v -> execute(createPartitionsQuery, Tuple.of(SCHEMA, "incoming_records", 7, 100))))
+      .onSuccess(rows -> context.verify(v -> assertEquals(false, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(format(PARTITION_EXISTS_QUERY, SCHEMA, partitionName("incoming_records", month))))
+      .onSuccess(rows -> context.verify(v -> assertEquals(false, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(createPartitionsQuery, Tuple.of(SCHEMA, "incoming_records", 7, 100)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(true, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(format(PARTITION_EXISTS_QUERY, SCHEMA, partitionName("incoming_records", month))))
+      .onComplete(context.asyncAssertSuccess(rows -> {
+        assertEquals(true, rows.iterator().next().getBoolean(0));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldDropPartitionOfPastMonthWhenAllItsJobsAreDeleted(TestContext context) {
+    Async async = context.async();
+    YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+    YearMonth previousMonth = currentMonth.minusMonths(1);
+    String partitionName = partitionName("journal_records", previousMonth);
+    UUID jobExecutionId = jobExecutionId(previousMonth);
+
+    splitPastPartition(previousMonth, currentMonth)
+      .compose(v -> execute(format("INSERT INTO %s.job_execution (id, is_deleted, completed_date) VALUES ($1, true, $2)", SCHEMA),
+        Tuple.of(jobExecutionId, LocalDateTime.now().minusDays(3).atOffset(ZoneOffset.UTC))))
+      .compose(v -> execute(format("INSERT INTO %s.journal_records (id, job_execution_id, source_id, entity_type, action_type, action_status) " +
+        "VALUES ($1, $2, $3, 'MARC_BIBLIOGRAPHIC', 'CREATE', 'COMPLETED')", SCHEMA), Tuple.of(UUID.randomUUID(), jobExecutionId, UUID.randomUUID())))
+      .compose(v -> execute(format(PARTITION_EXISTS_QUERY, SCHEMA, partitionName)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(true, rows.iterator().next().getBoolean(0))))
+      .compose(v -> jobExecutionDao.hardDeleteJobExecutions(2, TENANT_ID))
+      .compose(v -> execute(format(PARTITION_EXISTS_QUERY, SCHEMA, partitionName)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(false, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(format("SELECT id FROM %s.job_execution WHERE id = $1", SCHEMA), Tuple.of(jobExecutionId)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(0, rows.rowCount())))
+      .compose(v -> restorePastPartition(currentMonth))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  @Test
+  public void shouldPartitionPopulatedTableOnlyWhenRequestedKeepingItsConstraints(TestContext context) {
+    Async async = context.async();
+    String tableName = "test_job_records";
+    UUID randomJobExecutionId = UUID.fromString("f0000000-0000-4000-8000-000000000000");
+    UUID currentJobExecutionId = jobExecutionId(YearMonth.now(ZoneOffset.UTC));
+    String partitionQuery = format("SELECT %s.partition_job_records_table($1, $2, $3)", SCHEMA);
+    String isPartitionedQuery = format("SELECT %s.is_partitioned_table($1, $2)", SCHEMA);
+    String countConstraintsQuery = "SELECT count(*) FROM pg_constraint WHERE conrelid = to_regclass($1) AND contype = $2";
+    String getRecordPartitionQuery = format(GET_RECORD_PARTITION_QUERY, SCHEMA, tableName);
+
+    execute(format("CREATE TABLE %s.%s (id uuid PRIMARY KEY, job_execution_id uuid, amount integer CHECK (amount >= 0))", SCHEMA, tableName))
+      .compose(v -> execute(format("INSERT INTO %s.%s (id, job_execution_id, amount) VALUES ($1, $2, 1), ($3, $4, 1)", SCHEMA, tableName),
+        Tuple.of(UUID.randomUUID(), randomJobExecutionId, UUID.randomUUID(), currentJobExecutionId)))
+      .compose(v -> execute(partitionQuery, Tuple.of(SCHEMA, tableName, false)))
+      .compose(v -> execute(isPartitionedQuery, Tuple.of(SCHEMA, tableName)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(false, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(partitionQuery, Tuple.of(SCHEMA, tableName, true)))
+      .compose(v -> execute(isPartitionedQuery, Tuple.of(SCHEMA, tableName)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(true, rows.iterator().next().getBoolean(0))))
+      .compose(v -> execute(getRecordPartitionQuery, Tuple.of(randomJobExecutionId)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(tableName + "_random", rows.iterator().next().getString(0))))
+      .compose(v -> execute(getRecordPartitionQuery, Tuple.of(currentJobExecutionId)))
+      .onSuccess(rows -> context.verify(v -> assertEquals(tableName + "_future", rows.iterator().next().getString(0))))
+      .compose(v -> execute(countConstraintsQuery, Tuple.of(SCHEMA + "." + tableName, "c")))
+      .onSuccess(rows -> context.verify(v -> assertEquals(1L, (long) rows.iterator().next().getLong(0))))
+      .compose(v -> Future.all(List.of("_past", "_future", "_random").stream()
+        .map(suffix -> execute(countConstraintsQuery, Tuple.of(SCHEMA + "." + tableName + suffix, "p")))
+        .toList()))
+      .onSuccess(results -> context.verify(v -> results.<RowSet<Row>>list()
+        .forEach(rows -> assertEquals(1L, (long) rows.iterator().next().getLong(0)))))
+      .eventually(() -> execute(format("DROP TABLE IF EXISTS %s.%s", SCHEMA, tableName)))
+      .onComplete(context.asyncAssertSuccess(v -> async.complete()));
+  }
+
+  /**
+   * Partitions of the past months are not created by the module, the partition of the previous month
+   * is split from the past partition to simulate the partition created a month ago
+   */
+  private Future<Void> splitPastPartition(YearMonth month, YearMonth nextMonth) {
+    return execute(format("ALTER TABLE %1$s.journal_records DETACH PARTITION %1$s.journal_records_past", SCHEMA))
+      .compose(v -> execute(format("CREATE TABLE %1$s.%2$s PARTITION OF %1$s.journal_records " +
+          "FOR VALUES FROM (%1$s.job_records_partition_bound('%3$s')) TO (%1$s.job_records_partition_bound('%4$s'))",
+        SCHEMA, partitionName("journal_records", month), month.atDay(1), nextMonth.atDay(1))))
+      .compose(v -> execute(format("ALTER TABLE %1$s.journal_records ATTACH PARTITION %1$s.journal_records_past " +
+        "FOR VALUES FROM (MINVALUE) TO (%1$s.job_records_partition_bound('%2$s'))", SCHEMA, month.atDay(1))))
+      .mapEmpty();
+  }
+
+  private Future<Void> restorePastPartition(YearMonth currentMonth) {
+    return execute(format("ALTER TABLE %1$s.journal_records DETACH PARTITION %1$s.journal_records_past", SCHEMA))
+      .compose(v -> execute(format("ALTER TABLE %1$s.journal_records ATTACH PARTITION %1$s.journal_records_past " +
+        "FOR VALUES FROM (MINVALUE) TO (%1$s.job_records_partition_bound('%2$s'))", SCHEMA, currentMonth.atDay(1))))
+      .mapEmpty();
+  }
+
+  private static UUID jobExecutionId(YearMonth month) {
+    return timeOrderedUuid(month.atDay(2).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli());
+  }
+
+  private static String partitionName(String tableName, YearMonth month) {
+    return tableName + "_p" + month.format(PARTITION_MONTH_FORMAT);
+  }
+
+  private Future<RowSet<Row>> execute(String sql) {
+    return PostgresClient.getInstance(vertx, TENANT_ID).execute(sql);
+  }
+
+  private Future<RowSet<Row>> execute(String sql, Tuple params) {
+    return PostgresClient.getInstance(vertx, TENANT_ID).execute(sql, params);
+  }
+}
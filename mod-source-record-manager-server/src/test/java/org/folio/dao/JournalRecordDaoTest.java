@@ -5,12 +5,13 @@ import static org.folio.rest.jaxrs.model.JournalRecord.ActionStatus.ERROR;
 import static org.folio.rest.jaxrs.model.JournalRecord.ActionType.CREATE;
 import static org.folio.rest.jaxrs.model.JournalRecord.ActionType.DELETE;
 import static org.folio.rest.jaxrs.model.JournalRecord.ActionType.MODIFY;
+import static org.folio.rest.jaxrs.model.JournalRecord.ActionType.UPDATE;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -22,7 +23,10 @@ import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.pgclient.PgException;
+import io.vertx.sqlclient.Tuple;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +34,9 @@ import org.folio.dao.util.PostgresClientFactory;
 import org.folio.rest.impl.AbstractRestTest;
 import org.folio.rest.jaxrs.model.InitJobExecutionsRsDto;
 import org.folio.rest.jaxrs.model.JobExecution;
+import org.folio.rest.jaxrs.model.JobExecutionSummaryDto;
 import org.folio.rest.jaxrs.model.JournalRecord;
+import org.folio.rest.jaxrs.model.RecordProcessingLogDto;
 import org.folio.rest.persist.PostgresClient;
 import org.junit.Before;
 import org.junit.Test;
@@ -137,17 +143,331 @@ public class JournalRecordDaoTest extends AbstractRestTest {
     // Setup mock behavior
     when(postgresClientFactory.createInstance(anyString())).thenReturn(pgClient);
     PgException deadlockException = new PgException("Deadlock", "ERROR", "40P01", "Deadlock detected");
-    when(pgClient.execute(anyString(), anyList()))
+    when(pgClient.execute(anyString(), any(Tuple.class)))
       .thenReturn(Future.failedFuture(deadlockException)) // First attempt fails
       .thenReturn(Future.succeededFuture());             // Second attempt succeeds
 
     journalRecordDao.saveBatch(journalRecords(), TENANT_ID)
       .onComplete(context.asyncAssertSuccess(v -> {
-        verify(pgClient, times(2)).execute(anyString(), anyList());
+        verify(pgClient, times(2)).execute(anyString(), any(Tuple.class));
         async.complete();
       }));
   }
 
+  @Test
+  public void shouldSaveBatchAndSkipAlreadySavedRecords(TestContext context) {
+    Async async = context.async();
+    List<JournalRecord> journalRecords = journalRecords();
+    String jobExecutionId = journalRecords.getFirst().getJobExecutionId();
+
+    journalRecordDao.saveBatch(journalRecords, TENANT_ID)
+      .compose(v -> journalRecordDao.saveBatch(journalRecords, TENANT_ID))
+      .compose(v -> journalRecordDao.getByJobExecutionId(jobExecutionId, null, null, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(savedRecords -> {
+        assertEquals(journalRecords.size(), savedRecords.size());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldSaveOverlappingBatchesOfSeveralJobsConcurrently(TestContext context) {
+    Async async = context.async();
+    List<String> jobExecutionIds = constructAndPostInitJobExecutionRqDto(2).getJobExecutions().stream()
+      .map(JobExecution::getId)
+      .toList();
+    List<JournalRecord> journalRecords = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      for (String jobExecutionId : jobExecutionIds) {
+        journalRecords.add(journalRecord(jobExecutionId, UUID.randomUUID().toString(), null,
+          JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED));
+      }
+    }
+    List<JournalRecord> reversedJournalRecords = new ArrayList<>(journalRecords);
+    Collections.reverse(reversedJournalRecords);
+
+    Future.all(journalRecordDao.saveBatch(journalRecords, TENANT_ID), journalRecordDao.saveBatch(reversedJournalRecords, TENANT_ID),
+        journalRecordDao.saveBatch(journalRecords.subList(0, 50), TENANT_ID))
+      .compose(v -> Future.all(jobExecutionIds.stream()
+        .map(jobExecutionId -> journalRecordDao.getByJobExecutionId(jobExecutionId, null, null, TENANT_ID))
+        .toList()))
+      .onComplete(context.asyncAssertSuccess(savedRecords -> {
+        savedRecords.<List<JournalRecord>>list().forEach(records -> assertEquals(50, records.size()));
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldMaintainJobExecutionSummaryAcrossBatchesAndRebuildIt(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String sourceId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED),
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, CREATE, COMPLETED));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED),
+      journalRecord(jobExecutionId, UUID.randomUUID().toString(), null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, ERROR));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onSuccess(summary -> context.verify(v -> verifySummary(summary.orElseThrow())))
+      .compose(v -> journalRecordDao.rebuildJobExecutionSummary(jobExecutionId, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(summary -> {
+        verifySummary(summary.orElseThrow());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldCountInstanceUpdatedBySeveralSourceRecordsOnce(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String instanceId = UUID.randomUUID().toString();
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, UUID.randomUUID().toString(), instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, UUID.randomUUID().toString(), instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onSuccess(summary -> context.verify(v ->
+        assertEquals(Integer.valueOf(1), summary.orElseThrow().getInstanceSummary().getTotalUpdatedEntities())))
+      .compose(v -> journalRecordDao.rebuildJobExecutionSummary(jobExecutionId, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(summary -> {
+        assertEquals(Integer.valueOf(1), summary.orElseThrow().getInstanceSummary().getTotalUpdatedEntities());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldNotCountInstanceUpdatedBySourceRecordWhichCreatedItInLaterBatch(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String sourceId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, CREATE, COMPLETED));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onSuccess(summary -> context.verify(v ->
+        assertEquals(Integer.valueOf(1), summary.orElseThrow().getInstanceSummary().getTotalUpdatedEntities())))
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(summary -> {
+        assertEquals(Integer.valueOf(1), summary.orElseThrow().getInstanceSummary().getTotalCreatedEntities());
+        assertEquals(Integer.valueOf(0), summary.orElseThrow().getInstanceSummary().getTotalUpdatedEntities());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldCountInstancesOnReadForSummaryWithoutMaintainedInstances(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String sourceId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+    String resetInstancesQuery = "UPDATE " + PostgresClient.convertToPsqlStandard(TENANT_ID)
+      + ".job_execution_summary SET total_created_instances = NULL, total_updated_instances = NULL WHERE job_execution_id = $1";
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED),
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, CREATE, COMPLETED));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED),
+      journalRecord(jobExecutionId, UUID.randomUUID().toString(), null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, ERROR));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> PostgresClient.getInstance(vertx, TENANT_ID).execute(resetInstancesQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(summary -> {
+        verifySummary(summary.orElseThrow());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldCalculateSummaryFromJournalRecordsSavedBeforeSummaryWasMaintained(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String sourceId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+    String deleteSummaryQuery = "DELETE FROM " + PostgresClient.convertToPsqlStandard(TENANT_ID)
+      + ".job_execution_summary WHERE job_execution_id = $1";
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED),
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, CREATE, COMPLETED));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, sourceId, instanceId, JournalRecord.EntityType.INSTANCE, UPDATE, COMPLETED),
+      journalRecord(jobExecutionId, UUID.randomUUID().toString(), null, JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, ERROR));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> PostgresClient.getInstance(vertx, TENANT_ID).execute(deleteSummaryQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getJobExecutionSummaryDto(jobExecutionId, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(summary -> {
+        verifySummary(summary.orElseThrow());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldPageJobLogEntriesMaintainedAcrossBatches(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String firstSourceId = UUID.randomUUID().toString();
+    String secondSourceId = UUID.randomUUID().toString();
+    String thirdSourceId = UUID.randomUUID().toString();
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, firstSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(0).withTitle("c"),
+      journalRecord(jobExecutionId, secondSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, ERROR)
+        .withSourceRecordOrder(1).withTitle("a").withError("Record creation error"));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, thirdSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(2).withTitle("b"),
+      journalRecord(jobExecutionId, firstSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.INSTANCE, CREATE, COMPLETED)
+        .withSourceRecordOrder(0).withTitle("c"));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "title", "asc", false, "ALL", 2, 0, TENANT_ID))
+      .onSuccess(firstPage -> context.verify(v -> {
+        assertEquals(Integer.valueOf(3), firstPage.getTotalRecords());
+        assertEquals(List.of(secondSourceId, thirdSourceId),
+          firstPage.getEntries().stream().map(RecordProcessingLogDto::getIncomingRecordId).toList());
+      }))
+      .compose(v -> journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "title", "asc", false, "ALL", 2, 2, TENANT_ID))
+      .onSuccess(secondPage -> context.verify(v -> {
+        assertEquals(1, secondPage.getEntries().size());
+        assertEquals(firstSourceId, secondPage.getEntries().getFirst().getIncomingRecordId());
+      }))
+      .compose(v -> journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "source_record_order", "desc", true, "ALL", 10, 0, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(errorsPage -> {
+        assertEquals(Integer.valueOf(1), errorsPage.getTotalRecords());
+        assertEquals(secondSourceId, errorsPage.getEntries().getFirst().getIncomingRecordId());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldRebuildJobLogEntriesOfJobWithJournalRecordsSavedBeforeEntriesWereMaintained(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String firstSourceId = UUID.randomUUID().toString();
+    String secondSourceId = UUID.randomUUID().toString();
+    String schemaName = PostgresClient.convertToPsqlStandard(TENANT_ID);
+    // state of the job in progress during the upgrade: entries of the records saved before the upgrade are missing
+    String deleteEntriesQuery = "DELETE FROM " + schemaName + ".job_log_entries WHERE job_execution_id = $1";
+    String markPendingQuery = "INSERT INTO " + schemaName + ".job_log_entries_pending_jobs (job_execution_id) VALUES ($1)";
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, firstSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(0).withTitle("a"));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, secondSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(1).withTitle("b"));
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> PostgresClient.getInstance(vertx, TENANT_ID).execute(deleteEntriesQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> PostgresClient.getInstance(vertx, TENANT_ID).execute(markPendingQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "source_record_order", "asc", false, "ALL", 10, 0, TENANT_ID))
+      .onComplete(context.asyncAssertSuccess(page -> {
+        assertEquals(Integer.valueOf(2), page.getTotalRecords());
+        assertEquals(List.of(firstSourceId, secondSourceId),
+          page.getEntries().stream().map(RecordProcessingLogDto::getIncomingRecordId).toList());
+        async.complete();
+      }));
+  }
+
+  @Test
+  public void shouldServeMaterializedJobLogEntriesWhileJobEntriesAreRebuiltByAnotherRequest(TestContext context) {
+    Async async = context.async();
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
+    String jobExecutionId = response.getJobExecutions().getFirst().getId();
+    String firstSourceId = UUID.randomUUID().toString();
+    String secondSourceId = UUID.randomUUID().toString();
+    String schemaName = PostgresClient.convertToPsqlStandard(TENANT_ID);
+    String deleteEntriesQuery = "DELETE FROM " + schemaName + ".job_log_entries WHERE job_execution_id = $1";
+    String markPendingQuery = "INSERT INTO " + schemaName + ".job_log_entries_pending_jobs (job_execution_id) VALUES ($1)";
+    String countPendingQuery = "SELECT count(*) FROM " + schemaName + ".job_log_entries_pending_jobs WHERE job_execution_id = $1";
+    // the lock taken by the request which rebuilds the entries of the job
+    String lockRebuildQuery = "SELECT pg_advisory_xact_lock(hashtext('job_log_entries_pending_jobs'), hashtext($1::text))";
+
+    List<JournalRecord> firstBatch = List.of(
+      journalRecord(jobExecutionId, firstSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(0).withTitle("a"));
+    List<JournalRecord> secondBatch = List.of(
+      journalRecord(jobExecutionId, secondSourceId, UUID.randomUUID().toString(), JournalRecord.EntityType.MARC_BIBLIOGRAPHIC, CREATE, COMPLETED)
+        .withSourceRecordOrder(1).withTitle("b"));
+    PostgresClient pgClient = PostgresClient.getInstance(vertx, TENANT_ID);
+
+    journalRecordDao.saveBatch(firstBatch, TENANT_ID)
+      .compose(v -> pgClient.execute(deleteEntriesQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> pgClient.execute(markPendingQuery, Tuple.of(UUID.fromString(jobExecutionId))))
+      .compose(v -> journalRecordDao.saveBatch(secondBatch, TENANT_ID))
+      .compose(v -> pgClient.withTrans(conn -> conn.execute(lockRebuildQuery, Tuple.of(jobExecutionId))
+        .compose(lock -> journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "source_record_order", "asc", false, "ALL", 10, 0, TENANT_ID))))
+      .compose(page -> {
+        context.assertEquals(1, page.getTotalRecords());
+        context.assertEquals(secondSourceId, page.getEntries().getFirst().getIncomingRecordId());
+        return pgClient.execute(countPendingQuery, Tuple.of(UUID.fromString(jobExecutionId)));
+      })
+      .compose(rows -> {
+        context.assertEquals(1L, rows.iterator().next().getLong(0));
+        return journalRecordDao.getRecordProcessingLogDtoCollection(jobExecutionId, "source_record_order", "asc", false, "ALL", 10, 0, TENANT_ID);
+      })
+      .onComplete(context.asyncAssertSuccess(page -> {
+        assertEquals(Integer.valueOf(2), page.getTotalRecords());
+        assertEquals(List.of(firstSourceId, secondSourceId),
+          page.getEntries().stream().map(RecordProcessingLogDto::getIncomingRecordId).toList());
+        async.complete();
+      }));
+  }
+
+  private void verifySummary(JobExecutionSummaryDto summary) {
+    assertEquals(Integer.valueOf(1), summary.getTotalErrors());
+    assertEquals(Integer.valueOf(1), summary.getSourceRecordSummary().getTotalCreatedEntities());
+    assertEquals(Integer.valueOf(1), summary.getSourceRecordSummary().getTotalErrors());
+    assertEquals(Integer.valueOf(1), summary.getInstanceSummary().getTotalCreatedEntities());
+    assertEquals(Integer.valueOf(0), summary.getInstanceSummary().getTotalUpdatedEntities());
+  }
+
+  private JournalRecord journalRecord(String jobExecutionId, String sourceId, String entityId, JournalRecord.EntityType entityType,
+                                      JournalRecord.ActionType actionType, JournalRecord.ActionStatus actionStatus) {
+    return new JournalRecord()
+      .withId(UUID.randomUUID().toString())
+      .withJobExecutionId(jobExecutionId)
+      .withSourceRecordOrder(0)
+      .withSourceId(sourceId)
+      .withEntityType(entityType)
+      .withEntityId(entityId)
+      .withActionType(actionType)
+      .withActionDate(new Date())
+      .withActionStatus(actionStatus);
+  }
+
   private List<JournalRecord> journalRecords() {
     InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(1);
     List<JobExecution> createdJobExecutions = response.getJobExecutions();
@@ -185,12 +505,12 @@ public class JournalRecordDaoTest extends AbstractRestTest {
     when(postgresClientFactory.createInstance(anyString())).thenReturn(pgClient);
     // Setup non-deadlock error
     PgException otherError = new PgException("Constraint violation", "ERROR", "23505", "Unique violation");
-    when(pgClient.execute(anyString(), anyList()))
+    when(pgClient.execute(anyString(), any(Tuple.class)))
       .thenReturn(Future.failedFuture(otherError));
 
     journalRecordDao.saveBatch(journalRecords(), TENANT_ID)
       .onComplete(context.asyncAssertFailure(throwable -> {
-        verify(pgClient, times(1)).execute(anyString(), anyList());
+        verify(pgClient, times(1)).execute(anyString(), any(Tuple.class));
         async.complete();
       }));
   }
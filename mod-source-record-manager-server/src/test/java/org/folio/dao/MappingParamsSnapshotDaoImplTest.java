@@ -3,9 +3,11 @@ package org.folio.dao;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.dao.util.ContentHashUtil;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
 import org.folio.rest.impl.AbstractRestTest;
@@ -60,7 +62,7 @@ public class MappingParamsSnapshotDaoImplTest extends AbstractRestTest {
 
     future.onComplete(ar -> {
       context.assertTrue(ar.succeeded());
-      context.assertEquals(jobExecution.getId(), ar.result());
+      context.assertEquals(ContentHashUtil.sha256Hex(JsonObject.mapFrom(mappingParameters)), ar.result());
       async.complete();
     });
   }
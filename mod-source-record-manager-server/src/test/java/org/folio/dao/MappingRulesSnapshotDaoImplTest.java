@@ -6,7 +6,9 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.sqlclient.Tuple;
 import org.folio.TestUtil;
+import org.folio.dao.util.ContentHashUtil;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.rest.impl.AbstractRestTest;
 import org.folio.rest.jaxrs.model.InitJobExecutionsRsDto;
@@ -20,9 +22,16 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.folio.dao.MappingRulesSnapshotDaoImpl.MAPPING_RULES_SNAPSHOTS_TABLE;
+import static org.folio.dao.MappingRulesSnapshotDaoImpl.MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE;
+import static org.folio.dao.util.ContentHashUtil.LEGACY_HASH_PREFIX;
+import static org.folio.rest.persist.PostgresClient.convertToPsqlStandard;
 import static org.hamcrest.Matchers.is;
 
 @RunWith(VertxUnitRunner.class)
@@ -59,11 +68,67 @@ public class MappingRulesSnapshotDaoImplTest extends AbstractRestTest {
 
     future.onComplete(ar -> {
       context.assertTrue(ar.succeeded());
-      context.assertEquals(jobExecution.getId(), ar.result());
+      context.assertEquals(ContentHashUtil.sha256Hex(mappingRules), ar.result());
       async.complete();
     });
   }
 
+  @Test
+  public void shouldReferenceSameSnapshotContentForJobExecutionsWithSameRules(TestContext context) {
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(2);
+    List<JobExecution> createdJobExecutions = response.getJobExecutions();
+    String firstJobExecutionId = createdJobExecutions.get(0).getId();
+    String secondJobExecutionId = createdJobExecutions.get(1).getId();
+
+    mappingRulesSnapshotDao.save(mappingRules, firstJobExecutionId, TENANT_ID)
+      .compose(v -> mappingRulesSnapshotDao.save(mappingRules, secondJobExecutionId, TENANT_ID))
+      .compose(hash -> mappingRulesSnapshotDao.getHashByJobExecutionId(firstJobExecutionId, TENANT_ID)
+        .onSuccess(firstHash -> context.assertEquals(Optional.of(hash), firstHash))
+        .compose(v -> mappingRulesSnapshotDao.getByJobExecutionId(secondJobExecutionId, TENANT_ID)))
+      .onComplete(context.asyncAssertSuccess(rulesOptional -> context.assertEquals(Optional.of(mappingRules), rulesOptional)));
+  }
+
+  @Test
+  public void shouldReferenceSameSnapshotContentForRulesWithDifferentFieldsOrder(TestContext context) {
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(2);
+    List<JobExecution> createdJobExecutions = response.getJobExecutions();
+    String firstJobExecutionId = createdJobExecutions.get(0).getId();
+    String secondJobExecutionId = createdJobExecutions.get(1).getId();
+    JsonObject reorderedRules = new JsonObject();
+    List<String> fieldNames = List.copyOf(mappingRules.fieldNames());
+    for (int i = fieldNames.size() - 1; i >= 0; i--) {
+      reorderedRules.put(fieldNames.get(i), mappingRules.getValue(fieldNames.get(i)));
+    }
+
+    mappingRulesSnapshotDao.save(mappingRules, firstJobExecutionId, TENANT_ID)
+      .compose(firstHash -> mappingRulesSnapshotDao.save(reorderedRules, secondJobExecutionId, TENANT_ID)
+        .onSuccess(secondHash -> context.assertEquals(firstHash, secondHash)))
+      .onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void shouldReplaceLegacyHashWithModuleHashOfSameContent(TestContext context) {
+    InitJobExecutionsRsDto response = constructAndPostInitJobExecutionRqDto(2);
+    List<JobExecution> createdJobExecutions = response.getJobExecutions();
+    String legacyJobExecutionId = createdJobExecutions.get(0).getId();
+    String jobExecutionId = createdJobExecutions.get(1).getId();
+    String legacyHash = LEGACY_HASH_PREFIX + UUID.randomUUID();
+    String schemaName = convertToPsqlStandard(TENANT_ID);
+    LocalDateTime savedTimestamp = LocalDateTime.now();
+
+    var pgClient = postgresClientFactory.createInstance(TENANT_ID);
+    pgClient.execute(String.format("INSERT INTO %s.%s (hash, rules, saved_timestamp) VALUES ($1, $2, $3)",
+        schemaName, MAPPING_RULES_SNAPSHOT_CONTENTS_TABLE), Tuple.of(legacyHash, mappingRules, savedTimestamp))
+      .compose(v -> pgClient.execute(String.format("INSERT INTO %s.%s (job_execution_id, rules_hash, saved_timestamp) VALUES ($1, $2, $3)",
+        schemaName, MAPPING_RULES_SNAPSHOTS_TABLE), Tuple.of(UUID.fromString(legacyJobExecutionId), legacyHash, savedTimestamp)))
+      .compose(v -> mappingRulesSnapshotDao.save(mappingRules, jobExecutionId, TENANT_ID))
+      .compose(hash -> mappingRulesSnapshotDao.rehashLegacyContents(TENANT_ID)
+        .compose(v -> mappingRulesSnapshotDao.getHashByJobExecutionId(legacyJobExecutionId, TENANT_ID))
+        .onSuccess(legacyJobHash -> context.assertEquals(Optional.of(hash), legacyJobHash))
+        .compose(v -> mappingRulesSnapshotDao.getByHash(legacyHash, TENANT_ID)))
+      .onComplete(context.asyncAssertSuccess(legacyContent -> context.assertTrue(legacyContent.isEmpty())));
+  }
+
   @After
   public void tearDown() throws Exception {
     mocksCloseable.close();
@@ -0,0 +1,49 @@
+package org.folio.dao.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.util.UUID;
+import org.folio.TestUtil;
+import org.folio.rest.jaxrs.model.IncomingRecord;
+import org.junit.Test;
+
+public class CompressedJsonCodecTest {
+
+  private static final String MARC_BIB_RULES_PATH = "src/test/resources/org/folio/services/marc_bib_rules.json";
+
+  @Test
+  public void shouldDecodeEncodedValue() {
+    IncomingRecord incomingRecord = new IncomingRecord()
+      .withId(UUID.randomUUID().toString())
+      .withJobExecutionId(UUID.randomUUID().toString())
+      .withRecordType(IncomingRecord.RecordType.MARC_BIB)
+      .withOrder(5)
+      .withRawRecordContent("rawRecord")
+      .withParsedRecordContent("parsedRecord");
+
+    IncomingRecord result = CompressedJsonCodec.decode(CompressedJsonCodec.encode(incomingRecord), IncomingRecord.class);
+
+    assertEquals(JsonObject.mapFrom(incomingRecord), JsonObject.mapFrom(result));
+  }
+
+  @Test
+  public void shouldDecodeCompressedJsonObject() throws IOException {
+    JsonObject rules = new JsonObject(TestUtil.readFileFromPath(MARC_BIB_RULES_PATH));
+    Buffer json = rules.toBuffer();
+
+    Buffer compressed = CompressedJsonCodec.compress(json);
+
+    assertTrue(compressed.length() < json.length());
+    assertEquals(rules, CompressedJsonCodec.decodeJsonObject(compressed));
+  }
+
+  @Test(expected = DecodeException.class)
+  public void shouldFailToDecodeUnsupportedFormat() {
+    CompressedJsonCodec.decodeJsonObject(Buffer.buffer(new JsonObject().put("key", "value").encode()));
+  }
+}
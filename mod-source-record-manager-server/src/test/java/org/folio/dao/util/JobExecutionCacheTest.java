@@ -0,0 +1,103 @@
+package org.folio.dao.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.folio.rest.jaxrs.model.JobExecution;
+import org.junit.Test;
+
+public class JobExecutionCacheTest {
+
+  private static final String TENANT_ID = "diku";
+
+  private final JobExecutionCache cache = new JobExecutionCache(1000, 5);
+  private final JobExecution jobExecution = new JobExecution().withId(UUID.randomUUID().toString())
+    .withStatus(JobExecution.Status.PARSING_IN_PROGRESS);
+  private final AtomicInteger loadsCounter = new AtomicInteger();
+
+  @Test
+  public void shouldLoadJobExecutionOnce() {
+    JobExecution first = cache.get(jobExecution.getId(), TENANT_ID, this::load).result().orElseThrow();
+    JobExecution second = cache.get(jobExecution.getId(), TENANT_ID, this::load).result().orElseThrow();
+
+    assertEquals(first.getId(), second.getId());
+    assertEquals(1, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedJobExecution() {
+    JobExecution loaded = cache.get(jobExecution.getId(), TENANT_ID, this::load).result().orElseThrow();
+    JobExecution first = cache.get(jobExecution.getId(), TENANT_ID, this::load).result().orElseThrow();
+    first.setStatus(JobExecution.Status.CANCELLED);
+    JobExecution second = cache.get(jobExecution.getId(), TENANT_ID, this::load).result().orElseThrow();
+
+    assertNotSame(loaded, first);
+    assertNotSame(first, second);
+    assertEquals(jobExecution.getStatus(), second.getStatus());
+    assertEquals(1, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldLoadJobExecutionPerTenant() {
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+    cache.get(jobExecution.getId(), "another_tenant", this::load);
+
+    assertEquals(2, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldReloadJobExecutionAfterInvalidation() {
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+    cache.invalidate(jobExecution.getId(), TENANT_ID);
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+
+    assertEquals(2, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldNotCacheJobExecutionLoadedBeforeInvalidation() {
+    Promise<Optional<JobExecution>> loadPromise = Promise.promise();
+    cache.get(jobExecution.getId(), TENANT_ID, loadPromise::future);
+    cache.invalidate(jobExecution.getId(), TENANT_ID);
+    loadPromise.complete(Optional.of(jobExecution));
+
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+
+    assertEquals(1, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldCacheJobExecutionLoadedDuringInvalidationOfAnotherJobExecution() {
+    Promise<Optional<JobExecution>> loadPromise = Promise.promise();
+    cache.get(jobExecution.getId(), TENANT_ID, loadPromise::future);
+    cache.invalidate(UUID.randomUUID().toString(), TENANT_ID);
+    loadPromise.complete(Optional.of(jobExecution));
+
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+
+    assertEquals(0, loadsCounter.get());
+  }
+
+  @Test
+  public void shouldNotCacheAbsentJobExecution() {
+    Optional<JobExecution> result = cache.get(jobExecution.getId(), TENANT_ID, () -> {
+      loadsCounter.incrementAndGet();
+      return Future.succeededFuture(Optional.empty());
+    }).result();
+    cache.get(jobExecution.getId(), TENANT_ID, this::load);
+
+    assertFalse(result.isPresent());
+    assertEquals(2, loadsCounter.get());
+  }
+
+  private Future<Optional<JobExecution>> load() {
+    loadsCounter.incrementAndGet();
+    return Future.succeededFuture(Optional.of(jobExecution));
+  }
+}
@@ -112,37 +112,37 @@ public abstract class AbstractRestTest {
 
   protected static final String JOB_EXECUTION_PATH = "/change-manager/jobExecutions/";
   protected static final String GET_USER_URL = "/users?query=id==";
-  protected static final String AUTHORITY_IDENTIFIER_TYPES_URL = "/authority-identifier-types?limit=1000";
-  protected static final String IDENTIFIER_TYPES_URL = "/identifier-types?limit=1000";
-  protected static final String INSTANCE_TYPES_URL = "/instance-types?limit=1000";
-  protected static final String CLASSIFICATION_TYPES_URL = "/classification-types?limit=1000";
-  protected static final String INSTANCE_FORMATS_URL = "/instance-formats?limit=1000";
-  protected static final String CONTRIBUTOR_TYPES_URL = "/contributor-types?limit=1000";
-  protected static final String CONTRIBUTOR_NAME_TYPES_URL = "/contributor-name-types?limit=1000";
-  protected static final String ELECTRONIC_ACCESS_URL = "/electronic-access-relationships?limit=1000";
-  protected static final String INSTANCE_NOTE_TYPES_URL = "/instance-note-types?limit=1000";
-  protected static final String INSTANCE_ALTERNATIVE_TITLE_TYPES_URL = "/alternative-title-types?limit=1000";
-  protected static final String MODE_OF_ISSUANCE_TYPES_URL = "/modes-of-issuance?limit=1000";
-  protected static final String INSTANCE_STATUSES_URL = "/instance-statuses?limit=1000";
-  protected static final String NATURE_OF_CONTENT_TERMS_URL = "/nature-of-content-terms?limit=1000";
-  protected static final String INSTANCE_RELATIONSHIP_TYPES_URL = "/instance-relationship-types?limit=1000";
-  protected static final String HOLDINGS_TYPES_URL = "/holdings-types?limit=1000";
-  protected static final String HOLDINGS_NOTE_TYPES_URL = "/holdings-note-types?limit=1000";
-  protected static final String ILL_POLICIES_URL = "/ill-policies?limit=1000";
-  protected static final String CALL_NUMBER_TYPES_URL = "/call-number-types?limit=1000";
-  protected static final String STATISTICAL_CODES_URL = "/statistical-codes?limit=1000";
-  protected static final String STATISTICAL_CODE_TYPES_URL = "/statistical-code-types?limit=1000";
-  protected static final String LOCATIONS_URL = "/locations?limit=1000";
-  protected static final String MATERIAL_TYPES_URL = "/material-types?limit=1000";
-  protected static final String ITEM_DAMAGED_STATUSES_URL = "/item-damaged-statuses?limit=1000";
-  protected static final String LOAN_TYPES_URL = "/loan-types?limit=1000";
-  protected static final String ITEM_NOTE_TYPES_URL = "/item-note-types?limit=1000";
-  protected static final String AUTHORITY_NOTE_TYPES_URL = "/authority-note-types?limit=1000";
-  protected static final String AUTHORITY_SOURCE_FILES_URL = "/authority-source-files?limit=1000";
-  protected static final String FIELD_PROTECTION_SETTINGS_URL = "/field-protection-settings/marc?limit=1000";
-  protected static final String SUBJECT_SOURCES_URL = "/subject-sources?limit=1000";
-  protected static final String SUBJECT_TYPES_URL = "/subject-types?limit=1000";
-  protected static final String INSTANCE_DATE_TYPES_URL = "/instance-date-types?limit=1000";
+  protected static final String AUTHORITY_IDENTIFIER_TYPES_URL = "/authority-identifier-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String IDENTIFIER_TYPES_URL = "/identifier-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_TYPES_URL = "/instance-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CLASSIFICATION_TYPES_URL = "/classification-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_FORMATS_URL = "/instance-formats?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CONTRIBUTOR_TYPES_URL = "/contributor-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CONTRIBUTOR_NAME_TYPES_URL = "/contributor-name-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ELECTRONIC_ACCESS_URL = "/electronic-access-relationships?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_NOTE_TYPES_URL = "/instance-note-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_ALTERNATIVE_TITLE_TYPES_URL = "/alternative-title-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String MODE_OF_ISSUANCE_TYPES_URL = "/modes-of-issuance?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_STATUSES_URL = "/instance-statuses?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String NATURE_OF_CONTENT_TERMS_URL = "/nature-of-content-terms?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_RELATIONSHIP_TYPES_URL = "/instance-relationship-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String HOLDINGS_TYPES_URL = "/holdings-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String HOLDINGS_NOTE_TYPES_URL = "/holdings-note-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ILL_POLICIES_URL = "/ill-policies?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CALL_NUMBER_TYPES_URL = "/call-number-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String STATISTICAL_CODES_URL = "/statistical-codes?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String STATISTICAL_CODE_TYPES_URL = "/statistical-code-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String LOCATIONS_URL = "/locations?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String MATERIAL_TYPES_URL = "/material-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ITEM_DAMAGED_STATUSES_URL = "/item-damaged-statuses?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String LOAN_TYPES_URL = "/loan-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ITEM_NOTE_TYPES_URL = "/item-note-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String AUTHORITY_NOTE_TYPES_URL = "/authority-note-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String AUTHORITY_SOURCE_FILES_URL = "/authority-source-files?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String FIELD_PROTECTION_SETTINGS_URL = "/field-protection-settings/marc?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String SUBJECT_SOURCES_URL = "/subject-sources?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String SUBJECT_TYPES_URL = "/subject-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_DATE_TYPES_URL = "/instance-date-types?limit=1000&query=cql.allRecords%3D1%20sortBy%20id";
   protected static final String TENANT_TIME_ZONE_SETTINGS_URL = "/locale";
 
   protected static final String FILES_PATH = "src/test/resources/org/folio/rest/files.sample";
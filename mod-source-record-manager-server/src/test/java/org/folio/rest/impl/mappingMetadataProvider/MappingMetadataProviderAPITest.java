@@ -1,6 +1,7 @@
 package org.folio.rest.impl.mappingMetadataProvider;
 
 import static java.util.Collections.emptyList;
+import static org.hamcrest.Matchers.endsWith;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import io.restassured.RestAssured;
@@ -78,6 +79,53 @@ public class MappingMetadataProviderAPITest extends AbstractRestTest {
     });
   }
 
+  @Test
+  public void shouldReturnNotModifiedIfMappingMetadataETagMatches(TestContext context) {
+    Async async = context.async();
+    String jobExecutionId = UUID.randomUUID().toString();
+    addTestData(jobExecutionId).onSuccess(ar -> {
+      String etag = RestAssured.given()
+        .spec(spec)
+        .when()
+        .get(SERVICE_PATH + jobExecutionId)
+        .then()
+        .statusCode(HttpStatus.SC_OK)
+        .extract().header("ETag");
+      Assert.assertNotNull(etag);
+
+      RestAssured.given()
+        .spec(spec)
+        .header("If-None-Match", etag)
+        .when()
+        .get(SERVICE_PATH + jobExecutionId)
+        .then()
+        .statusCode(HttpStatus.SC_NOT_MODIFIED)
+        .header("ETag", etag);
+      async.complete();
+    });
+  }
+
+  @Test
+  public void shouldReturnGzippedMappingMetadataIfGzipAccepted(TestContext context) {
+    Async async = context.async();
+    String jobExecutionId = UUID.randomUUID().toString();
+    addTestData(jobExecutionId).onSuccess(ar -> {
+      JsonObject mappingMetadata = new JsonObject(
+        RestAssured.given()
+          .spec(spec)
+          .header("Accept-Encoding", "gzip")
+          .when()
+          .get(SERVICE_PATH + jobExecutionId)
+          .then()
+          .statusCode(HttpStatus.SC_OK)
+          .header("Content-Encoding", "gzip")
+          .header("ETag", endsWith("-gzip\""))
+          .extract().body().asString());
+      Assert.assertEquals(jobExecutionId, mappingMetadata.getString("jobExecutionId"));
+      async.complete();
+    });
+  }
+
   @Test
   public void shouldReturnBadRequestIfInvalidRecordType() {
     var response = RestAssured.given()
@@ -23,11 +23,13 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -46,8 +48,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import org.folio.MatchProfile;
 import org.folio.TestUtil;
 import org.folio.dao.JobExecutionSourceChunkDao;
@@ -73,6 +78,7 @@ import org.folio.services.journal.BatchableJournalRecord;
 import org.folio.services.journal.JournalUtil;
 import org.folio.services.util.EventHandlingUtil;
 import org.folio.services.validation.JobProfileSnapshotValidationService;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -143,6 +149,8 @@ public class ChangeEngineServiceImplTest {
     ReflectionTestUtils.setField(service, "maxDistributionNum", 10);
     ReflectionTestUtils.setField(service, "batchSize", 100);
     ReflectionTestUtils.setField(service, "journalRecordProducer", messageProducer);
+    ReflectionTestUtils.setField(service, "parsingPoolSize", 0);
+    service.init();
 
     when(mappingMetadataService.getMappingMetadataDto(anyString(), any(OkapiConnectionParams.class)))
       .thenReturn(Future.succeededFuture(new MappingMetadataDto()));
@@ -150,6 +158,13 @@ public class ChangeEngineServiceImplTest {
     when(jobProfileSnapshotValidationService
       .isJobProfileCompatibleWithRecordType(any(ProfileSnapshotWrapper.class), any(Record.RecordType.class)))
       .thenReturn(true);
+
+    lenient().when(incomingRecordService.saveBatch(any(), any())).thenReturn(Future.succeededFuture());
+  }
+
+  @After
+  public void tearDown() {
+    service.close();
   }
 
   @Test
@@ -158,9 +173,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
 
@@ -176,9 +189,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.AUTHORITY);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
 
@@ -196,9 +207,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.AUTHORITY);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
 
@@ -210,6 +219,63 @@ public class ChangeEngineServiceImplTest {
     assertThat(actual.getFirst().getExternalIdsHolder().getAuthorityHrid(), notNullValue());
   }
 
+  @Test
+  public void shouldParseRecordsOnWorkerPoolPreservingOrder() throws Exception {
+    ReflectionTestUtils.setField(service, "parsingPoolSize", 2);
+    ReflectionTestUtils.setField(service, "parsingSplitSize", 2);
+    service.init();
+    List<InitialRecord> initialRecords = IntStream.range(0, 5)
+      .mapToObj(order -> new InitialRecord().withRecord(MARC_BIB_REC_WITHOUT_FF).withOrder(order))
+      .toList();
+    RawRecordsDto rawRecordsDto = getTestRawRecordsDto(MARC_BIB_REC_WITHOUT_FF).withInitialRecords(initialRecords);
+    JobExecution jobExecution = getTestJobExecution();
+    jobExecution.setJobProfileSnapshotWrapper(new ProfileSnapshotWrapper()
+      .withChildSnapshotWrappers(List.of(new ProfileSnapshotWrapper()
+        .withContentType(ACTION_PROFILE)
+        .withContent(new JsonObject(Json.encode(new ActionProfile()
+          .withAction(ActionProfile.Action.UPDATE)
+          .withFolioRecord(ActionProfile.FolioRecord.MARC_BIBLIOGRAPHIC))).getMap())
+      ))
+    );
+
+    Set<String> parsingThreads = ConcurrentHashMap.newKeySet();
+    when(marcRecordAnalyzer.process(any())).thenAnswer(invocation -> {
+      parsingThreads.add(Thread.currentThread().getName());
+      return MarcRecordType.BIB;
+    });
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
+    when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
+      .thenReturn(Future.succeededFuture(true));
+
+    List<Record> actual = service.parseRawRecordsChunkForJobExecution(rawRecordsDto, jobExecution, "1", false, okapiConnectionParams)
+      .toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+    assertThat(actual, hasSize(5));
+    assertThat(actual.stream().map(Record::getOrder).toList(), equalTo(List.of(0, 1, 2, 3, 4)));
+    assertTrue(parsingThreads.stream().allMatch(threadName -> threadName.startsWith("srm-records-parsing")));
+    verify(recordsPublishingService).sendEventsWithRecords(argThat(records -> records.size() == 5),
+      eq(jobExecution.getId()), any(), eq(DI_MARC_FOR_UPDATE_RECEIVED.value()), any());
+  }
+
+  @Test
+  public void shouldIncrementSourceChunkProgressByAllParsedRecords() {
+    ReflectionTestUtils.setField(service, "thresholdChunkSize", 10);
+    List<InitialRecord> initialRecords = IntStream.range(0, 13)
+      .mapToObj(order -> new InitialRecord().withRecord(MARC_HOLDINGS_REC_VALID).withOrder(order))
+      .toList();
+    RawRecordsDto rawRecordsDto = getTestRawRecordsDto(MARC_HOLDINGS_REC_VALID).withInitialRecords(initialRecords);
+    JobExecution jobExecution = getTestJobExecution();
+
+    when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
+    ArgumentCaptor<Integer> deltaCaptor = ArgumentCaptor.forClass(Integer.class);
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), deltaCaptor.capture(), any())).thenReturn(Future.succeededFuture());
+
+    Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
+
+    assertThat(serviceFuture.result(), hasSize(13));
+    assertThat(deltaCaptor.getAllValues(), equalTo(List.of(2, 2, 2, 2, 2, 2, 1)));
+  }
+
   @Test
   public void shouldReturnMarcHoldingsRecordWhenProfileHasUpdateAction() {
     RawRecordsDto rawRecordsDto = getTestRawRecordsDto(MARC_HOLDINGS_REC_VALID);
@@ -224,9 +290,7 @@ public class ChangeEngineServiceImplTest {
     );
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture(true));
 
@@ -249,8 +313,7 @@ public class ChangeEngineServiceImplTest {
       ));
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.BIB);
-    when(jobExecutionSourceChunkDao.getById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any())).thenReturn(Future.succeededFuture(true));
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
@@ -276,9 +339,7 @@ public class ChangeEngineServiceImplTest {
     );
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.AUTHORITY);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture(true));
 
@@ -327,9 +388,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
 
@@ -346,9 +405,7 @@ public class ChangeEngineServiceImplTest {
     var jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
       mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), kafkaHeadersCaptor.capture(), any(), any()))
@@ -369,9 +426,8 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
+    when(jobExecutionSourceChunkDao.updateState(any(), eq(JobExecutionSourceChunk.State.ERROR), any())).thenReturn(Future.succeededFuture());
     when(jobExecutionService.updateJobExecutionStatus(any(), any(), any())).thenReturn(Future.succeededFuture(jobExecution));
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.failedFuture("Failed"));
@@ -385,9 +441,8 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
+    when(jobExecutionSourceChunkDao.updateState(any(), eq(JobExecutionSourceChunk.State.ERROR), any())).thenReturn(Future.succeededFuture());
     when(jobExecutionService.updateJobExecutionStatus(any(), any(), any())).thenReturn(Future.failedFuture("Failed"));
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.failedFuture("Failed"));
@@ -401,9 +456,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.BIB);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture());
 
@@ -429,9 +482,7 @@ public class ChangeEngineServiceImplTest {
       .withJobProfileInfo(new JobProfileInfo().withId(UUID.randomUUID().toString())
         .withName("test").withDataType(JobProfileInfo.DataType.EDIFACT));
 
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture());
 
@@ -454,9 +505,7 @@ public class ChangeEngineServiceImplTest {
         .withName("test").withDataType(JobProfileInfo.DataType.MARC));
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.BIB);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture());
 
@@ -477,9 +526,7 @@ public class ChangeEngineServiceImplTest {
     JobExecution jobExecution = getTestJobExecution();
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.BIB);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture());
 
@@ -552,9 +599,7 @@ public class ChangeEngineServiceImplTest {
         .withName("test").withDataType(JobProfileInfo.DataType.MARC));
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
       mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), kafkaHeadersCaptor.capture(), any(), any()))
@@ -599,9 +644,7 @@ public class ChangeEngineServiceImplTest {
         .withName("test").withDataType(JobProfileInfo.DataType.MARC));
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.HOLDING);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
 
     try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
       mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), kafkaHeadersCaptor.capture(), any(), any()))
@@ -631,13 +674,11 @@ public class ChangeEngineServiceImplTest {
     );
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.AUTHORITY);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture(true));
     doAnswer(invocationOnMock -> Future.succeededFuture(invocationOnMock.getArgument(1)))
-      .when(fieldModificationService).remove9Subfields(any(), any(), any());
+      .when(fieldModificationService).remove9SubfieldsFromParsedRecords(any(), any(), any());
 
     Future<List<Record>> serviceFuture = executeWithKafkaMock(rawRecordsDto, jobExecution, Future.succeededFuture(true));
 
@@ -645,7 +686,7 @@ public class ChangeEngineServiceImplTest {
     assertThat(actual, hasSize(1));
     assertThat(actual.getFirst().getRecordType(), equalTo(Record.RecordType.MARC_AUTHORITY));
     assertThat(actual.getFirst().getErrorRecord(), nullValue());
-    verify(fieldModificationService).remove9Subfields(eq(jobExecution.getId()), any(), any());
+    verify(fieldModificationService).remove9SubfieldsFromParsedRecords(eq(jobExecution.getId()), any(), any());
   }
 
   @Test
@@ -663,9 +704,7 @@ public class ChangeEngineServiceImplTest {
     );
 
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.AUTHORITY);
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any()))
       .thenReturn(Future.succeededFuture(true));
 
@@ -681,9 +720,7 @@ public class ChangeEngineServiceImplTest {
   private void mockServicesForParseRawRecordsChunkForJobExecution() {
     when(marcRecordAnalyzer.process(any())).thenReturn(MarcRecordType.BIB);
     when(recordsPublishingService.sendEventsWithRecords(any(), any(), any(), any(), any())).thenReturn(Future.succeededFuture(true));
-    when(jobExecutionSourceChunkDao.getById(any(), any()))
-      .thenReturn(Future.succeededFuture(Optional.of(new JobExecutionSourceChunk())));
-    when(jobExecutionSourceChunkDao.update(any(), any())).thenReturn(Future.succeededFuture(new JobExecutionSourceChunk()));
+    when(jobExecutionSourceChunkDao.incrementProcessedAmount(any(), anyInt(), any())).thenReturn(Future.succeededFuture());
   }
 
   ProfileSnapshotWrapper constructCreateInstanceSnapshotWrapper() {
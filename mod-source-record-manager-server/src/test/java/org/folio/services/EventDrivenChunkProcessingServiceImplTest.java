@@ -49,6 +49,7 @@ import org.folio.dao.IncomingRecordDaoImpl;
 import org.folio.dao.MappingParamsSnapshotDaoImpl;
 import org.folio.dao.MappingRuleDaoImpl;
 import org.folio.dao.MappingRulesSnapshotDaoImpl;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.dataimport.util.marc.MarcRecordAnalyzer;
@@ -98,6 +99,8 @@ public class EventDrivenChunkProcessingServiceImplTest extends AbstractRestTest
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
   @Spy
+  private JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+  @Spy
   @InjectMocks
   private JobExecutionDaoImpl jobExecutionDao;
   @Spy
@@ -1,6 +1,7 @@
 package org.folio.services;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.pgclient.PgException;
 import io.vertx.sqlclient.Row;
@@ -15,8 +16,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.folio.services.AbstractChunkProcessingService.UNIQUE_CONSTRAINT_VIOLATION_CODE;
@@ -96,4 +102,37 @@ public class EventProcessedServiceTest {
     assertTrue(future.cause() instanceof PgException);
   }
 
+  @Test
+  public void shouldReturnDuplicateExceptionWithoutDaoCallWhenEventWasProcessedRecently() {
+    when(eventProcessedDao.save(HANDLER_ID, EVENT_ID, TENANT_ID)).thenReturn(Future.succeededFuture());
+
+    Future<RowSet<Row>> future = eventProcessedService.collectData(HANDLER_ID, EVENT_ID, TENANT_ID);
+    Future<RowSet<Row>> duplicateFuture = eventProcessedService.collectData(HANDLER_ID, EVENT_ID, TENANT_ID);
+
+    verify(eventProcessedDao, times(1)).save(HANDLER_ID, EVENT_ID, TENANT_ID);
+    assertTrue(future.succeeded());
+    assertTrue(duplicateFuture.failed());
+    assertTrue(duplicateFuture.cause() instanceof DuplicateEventException);
+  }
+
+  @Test
+  public void shouldSaveEventsReceivedDuringSaveInProgressInSingleBatch() {
+    String secondEventId = UUID.randomUUID().toString();
+    String thirdEventId = UUID.randomUUID().toString();
+    Promise<RowSet<Row>> savePromise = Promise.promise();
+    when(eventProcessedDao.save(HANDLER_ID, EVENT_ID, TENANT_ID)).thenReturn(savePromise.future());
+    when(eventProcessedDao.saveAll(eq(HANDLER_ID), anyList(), eq(TENANT_ID)))
+      .thenReturn(Future.failedFuture(new PgException("DB error", "ERROR", "ERROR_CODE", "DB is unavailable")));
+
+    Future<RowSet<Row>> future = eventProcessedService.collectData(HANDLER_ID, EVENT_ID, TENANT_ID);
+    Future<RowSet<Row>> secondFuture = eventProcessedService.collectData(HANDLER_ID, secondEventId, TENANT_ID);
+    Future<RowSet<Row>> thirdFuture = eventProcessedService.collectData(HANDLER_ID, thirdEventId, TENANT_ID);
+    verify(eventProcessedDao, never()).saveAll(eq(HANDLER_ID), anyList(), eq(TENANT_ID));
+    savePromise.complete();
+
+    verify(eventProcessedDao).saveAll(HANDLER_ID, List.of(secondEventId, thirdEventId), TENANT_ID);
+    assertTrue(future.succeeded());
+    assertTrue(secondFuture.failed());
+    assertTrue(thirdFuture.failed());
+  }
 }
@@ -3,10 +3,12 @@ package org.folio.services;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -15,6 +17,7 @@ import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingPa
 import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.services.afterprocessing.FieldModificationServiceImpl;
+import org.folio.services.afterprocessing.ParsedRecordHolder;
 import org.folio.services.mappers.processor.MappingParametersProvider;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -74,6 +77,28 @@ public class FieldModificationServiceTest {
     assertEquals(expectedParsedContent, actualRecord.getParsedRecord().getContent());
   }
 
+  @Test
+  public void shouldRemoveSubfield9FromParsedRecordAndSerializeContentOnComplete() {
+    // given
+    when(mappingParametersProvider.get(any(), any()))
+      .thenReturn(Future.succeededFuture(new MappingParameters().withLinkingRules(linkingRules("500", "507"))));
+
+    var expectedParsedContent = "{\"leader\":\"00118nam  22000731a 4500\"," +
+      "\"fields\":[{\"001\":\"ybp7406411\"}," +
+      "{\"500\":{\"subfields\":[{\"a\":\"data\"}],\"ind1\":\" \",\"ind2\":\" \"}}," +
+      "{\"501\":{\"subfields\":[{\"a\":\"data\"},{\"9\":\"keep\"}],\"ind1\":\" \",\"ind2\":\" \"}}," +
+      "{\"507\":{\"subfields\":[{\"a\":\"data\"}],\"ind1\":\" \",\"ind2\":\" \"}}]}";
+    var initialRecord = new Record().withId(UUID.randomUUID().toString()).withRecordType(Record.RecordType.MARC_BIB)
+      .withParsedRecord(new ParsedRecord());
+    var parsedRecord = new ParsedRecordHolder(initialRecord, new JsonObject(PARSED_CONTENT));
+
+    var actualParsedRecord = fieldModificationService.remove9SubfieldsFromParsedRecords(null, singletonList(parsedRecord), null)
+      .result().getFirst();
+
+    assertNull(initialRecord.getParsedRecord().getContent());
+    assertEquals(expectedParsedContent, actualParsedRecord.complete().getParsedRecord().getContent());
+  }
+
   @Test
   public void shouldFailOnMissingLinkingRules() {
     // given
@@ -8,10 +8,12 @@ import org.folio.rest.jaxrs.model.ParsedRecord;
 import org.folio.rest.jaxrs.model.Record;
 import org.folio.services.afterprocessing.HrIdFieldService;
 import org.folio.services.afterprocessing.HrIdFieldServiceImpl;
+import org.folio.services.afterprocessing.ParsedRecordHolder;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 
 @RunWith(VertxUnitRunner.class)
@@ -79,4 +81,23 @@ public class HrIdFieldServiceTest {
     // then
     Assert.assertEquals(expectedParsedContent, record.getParsedRecord().getContent());
   }
+
+  @Test
+  public void shouldAdd035FieldToParsedRecordHolderIf001FieldExists(){
+    // given
+    String parsedContent = "{\"leader\":\"00115nam  22000731a 4500\",\"fields\":[{\"001\":\"12345\"},{\"003\":\"OCoLC\"},{\"035\":{\"subfields\":[{\"a\":\"(test)data\"}],\"ind1\":\" \",\"ind2\":\" \"}},{\"507\":{\"subfields\":[{\"a\":\"data\"}],\"ind1\":\" \",\"ind2\":\" \"}}]}";
+    String recordId = UUID.randomUUID().toString();
+    Record expectedRecord = new Record().withId(recordId)
+      .withParsedRecord(new ParsedRecord().withContent(parsedContent));
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(new Record().withId(recordId)
+      .withParsedRecord(new ParsedRecord()), new JsonObject(parsedContent));
+
+    // when
+    HrIdFieldService hrIdFieldService = new HrIdFieldServiceImpl();
+    hrIdFieldService.move001valueTo035Field(Lists.newArrayList(expectedRecord));
+    hrIdFieldService.move001valueTo035Field(parsedRecord);
+    // then
+    Assert.assertTrue(parsedRecord.isFieldExist("035", 'a', "(OCoLC)12345"));
+    Assert.assertEquals(expectedRecord.getParsedRecord().getContent(), parsedRecord.complete().getParsedRecord().getContent());
+  }
 }
@@ -1,22 +1,47 @@
 package org.folio.services;
 
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
 import org.folio.dao.IncomingRecordDao;
+import org.folio.rest.jaxrs.model.IncomingRecord;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class IncomingRecordServiceImplUnitTest {
 
+  private static final String TENANT_ID = "diku";
+
   @Mock
   private IncomingRecordDao incomingRecordDao;
+  @Spy
+  private Vertx vertx = Vertx.vertx();
 
   @InjectMocks
   private IncomingRecordService incomingRecordService = new IncomingRecordServiceImpl();
@@ -24,6 +49,13 @@ public class IncomingRecordServiceImplUnitTest {
   @Before
   public void setUp() {
     MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(incomingRecordService, "batchMaxSize", 3);
+    ReflectionTestUtils.setField(incomingRecordService, "queueCapacity", 3);
+  }
+
+  @After
+  public void tearDown() {
+    vertx.close();
   }
 
   @Test
@@ -33,8 +65,106 @@ public class IncomingRecordServiceImplUnitTest {
   }
 
   @Test
-  public void shouldSaveBatch() {
-    incomingRecordService.saveBatch(any(), any());
-    verify(incomingRecordDao).saveBatch(any(), any());
+  public void shouldSaveRecordsOfSeveralBatchesTogether() {
+    when(incomingRecordDao.saveBatch(any(), any())).thenReturn(Future.succeededFuture());
+
+    incomingRecordService.saveBatch(buildIncomingRecords(2), TENANT_ID);
+    incomingRecordService.saveBatch(buildIncomingRecords(1), TENANT_ID);
+
+    verify(incomingRecordDao).saveBatch(argThat(records -> records.size() == 3), eq(TENANT_ID));
+  }
+
+  @Test
+  public void shouldSaveNotFullBatchAfterDelay() {
+    when(incomingRecordDao.saveBatch(any(), any())).thenReturn(Future.succeededFuture());
+
+    incomingRecordService.saveBatch(buildIncomingRecords(1), TENANT_ID);
+
+    verify(incomingRecordDao, timeout(5000)).saveBatch(argThat(records -> records.size() == 1), eq(TENANT_ID));
+  }
+
+  @Test
+  public void shouldAcceptRecordsWhenQueueHasCapacity() throws Exception {
+    Promise<RowSet<Row>> savePromise = Promise.promise();
+    when(incomingRecordDao.saveBatch(any(), any()))
+      .thenReturn(savePromise.future())
+      .thenReturn(Future.succeededFuture());
+
+    Future<Void> firstAccepted = incomingRecordService.saveBatch(buildIncomingRecords(3), TENANT_ID);
+    Future<Void> secondAccepted = incomingRecordService.saveBatch(buildIncomingRecords(1), TENANT_ID);
+
+    assertTrue(firstAccepted.succeeded());
+    assertFalse(secondAccepted.isComplete());
+
+    savePromise.complete();
+
+    secondAccepted.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    verify(incomingRecordDao, timeout(5000).times(2)).saveBatch(any(), eq(TENANT_ID));
+  }
+
+  @Test
+  public void shouldAcceptRecordsOfTenantWhileQueueOfAnotherTenantIsFull() {
+    String otherTenantId = "other";
+    Promise<RowSet<Row>> savePromise = Promise.promise();
+    when(incomingRecordDao.saveBatch(any(), eq(TENANT_ID))).thenReturn(savePromise.future());
+    when(incomingRecordDao.saveBatch(any(), eq(otherTenantId))).thenReturn(Future.succeededFuture());
+
+    Future<Void> firstAccepted = incomingRecordService.saveBatch(buildIncomingRecords(3), TENANT_ID);
+    Future<Void> secondAccepted = incomingRecordService.saveBatch(buildIncomingRecords(1), TENANT_ID);
+    Future<Void> otherTenantAccepted = incomingRecordService.saveBatch(buildIncomingRecords(3), otherTenantId);
+
+    assertTrue(firstAccepted.succeeded());
+    assertFalse(secondAccepted.isComplete());
+    assertTrue(otherTenantAccepted.succeeded());
+    verify(incomingRecordDao, timeout(5000)).saveBatch(argThat(records -> records.size() == 3), eq(otherTenantId));
+  }
+
+  @Test
+  public void shouldSaveRecordsPerJobExecutionWhenBatchSaveFailed() {
+    when(incomingRecordDao.saveBatch(any(), any()))
+      .thenReturn(Future.failedFuture("Failed to save batch"))
+      .thenReturn(Future.succeededFuture());
+
+    List<IncomingRecord> incomingRecords = buildIncomingRecords(2);
+    incomingRecords.getLast().setJobExecutionId(UUID.randomUUID().toString());
+    incomingRecordService.saveBatch(incomingRecords, TENANT_ID);
+
+    verify(incomingRecordDao, timeout(5000).times(3)).saveBatch(any(), eq(TENANT_ID));
+    verify(incomingRecordDao, times(2)).saveBatch(argThat(records -> records.size() == 1), eq(TENANT_ID));
+  }
+
+  @Test
+  public void shouldSaveAcceptedRecordsWithoutBatchDelayOnDrain() throws Exception {
+    ReflectionTestUtils.setField(incomingRecordService, "batchMaxDelayMs", TimeUnit.HOURS.toMillis(1));
+    Promise<RowSet<Row>> savePromise = Promise.promise();
+    when(incomingRecordDao.saveBatch(any(), any())).thenReturn(savePromise.future());
+
+    incomingRecordService.saveBatch(buildIncomingRecords(2), TENANT_ID);
+    Future<Void> drained = incomingRecordService.drain();
+
+    verify(incomingRecordDao).saveBatch(argThat(records -> records.size() == 2), eq(TENANT_ID));
+    assertFalse(drained.isComplete());
+
+    savePromise.complete();
+
+    drained.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldCompleteDrainWhenNoRecordsAccepted() {
+    assertTrue(incomingRecordService.drain().succeeded());
+  }
+
+  private static List<IncomingRecord> buildIncomingRecords(int number) {
+    String jobExecutionId = UUID.randomUUID().toString();
+    return IntStream.range(0, number)
+      .mapToObj(order -> new IncomingRecord()
+        .withId(UUID.randomUUID().toString())
+        .withJobExecutionId(jobExecutionId)
+        .withRecordType(IncomingRecord.RecordType.MARC_BIB)
+        .withOrder(order)
+        .withRawRecordContent("rawRecord")
+        .withParsedRecordContent("parsedRecord"))
+      .toList();
   }
 }
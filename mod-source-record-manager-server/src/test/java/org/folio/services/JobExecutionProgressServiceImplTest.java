@@ -8,6 +8,7 @@ import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.folio.dao.JobExecutionDaoImpl;
 import org.folio.dao.JobExecutionProgressDaoImpl;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.rest.impl.AbstractRestTest;
@@ -53,6 +54,8 @@ public class JobExecutionProgressServiceImplTest extends AbstractRestTest {
   @Spy
   PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
   @Spy
+  JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+  @Spy
   @InjectMocks
   JobExecutionDaoImpl jobExecutionDao;
   @Spy
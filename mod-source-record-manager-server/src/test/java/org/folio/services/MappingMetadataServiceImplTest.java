@@ -31,6 +31,9 @@ import static org.mockito.Mockito.mock;
 @RunWith(VertxUnitRunner.class)
 public class MappingMetadataServiceImplTest {
 
+  private static final String PARAMS_HASH = "paramsHash";
+  private static final String RULES_HASH = "rulesHash";
+
   @Rule
   public RunTestOnContext rule = new RunTestOnContext();
   @Mock
@@ -67,16 +70,20 @@ public class MappingMetadataServiceImplTest {
     Mockito.when(params.getTenantId()).thenReturn(tenantId);
 
     // Mock DAO calls that happen on the first, cache-miss call
-    Mockito.when(mappingParamsSnapshotDao.getByJobExecutionId(any(), any()))
+    Mockito.when(mappingParamsSnapshotDao.getHashByJobExecutionId(jobExecutionId, tenantId))
+      .thenReturn(Future.succeededFuture(Optional.of(PARAMS_HASH)));
+    Mockito.when(mappingParamsSnapshotDao.getByHash(PARAMS_HASH, tenantId))
       .thenReturn(Future.succeededFuture(Optional.of(mappingParameters)));
-    Mockito.when(mappingRulesSnapshotDao.getByJobExecutionId(jobExecutionId, tenantId))
+    Mockito.when(mappingRulesSnapshotDao.getHashByJobExecutionId(jobExecutionId, tenantId))
+      .thenReturn(Future.succeededFuture(Optional.of(RULES_HASH)));
+    Mockito.when(mappingRulesSnapshotDao.getByHash(RULES_HASH, tenantId))
       .thenReturn(Future.succeededFuture(Optional.of(jsonObject)));
 
     // Mock DAO calls for SAVE operations
     Mockito.when(mappingParamsSnapshotDao.save(any(MappingParameters.class), anyString(), anyString()))
-      .thenReturn(Future.succeededFuture(UUID.randomUUID().toString()));
+      .thenReturn(Future.succeededFuture(PARAMS_HASH));
     Mockito.when(mappingRulesSnapshotDao.save(any(JsonObject.class), anyString(), anyString()))
-      .thenReturn(Future.succeededFuture(UUID.randomUUID().toString()));
+      .thenReturn(Future.succeededFuture(RULES_HASH));
 
     // Mock provider/service calls for save operations
     Mockito.when(mappingParametersProvider.get(any(), eq(params)))
@@ -88,24 +95,24 @@ public class MappingMetadataServiceImplTest {
     service.getMappingMetadataDto(jobExecutionId, params)
       .compose(ar -> {
         context.assertNotNull(ar);
-        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
-        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
+        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByHash(PARAMS_HASH, tenantId);
+        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByHash(RULES_HASH, tenantId);
         return Future.succeededFuture();
       })
       .compose(ar -> service.saveMappingRulesSnapshot(jobExecutionId, Record.RecordType.MARC_BIB.toString(), tenantId))
       .compose(ar -> service.getMappingMetadataDto(jobExecutionId, params))
       .compose(ar -> {
         context.assertNotNull(ar);
-        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
-        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
+        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByHash(PARAMS_HASH, tenantId);
+        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByHash(RULES_HASH, tenantId);
         return Future.succeededFuture();
       })
       .compose(ar -> service.saveMappingParametersSnapshot(jobExecutionId, params))
       .compose(ar -> service.getMappingMetadataDto(jobExecutionId, params))
       .compose(ar -> {
         context.assertNotNull(ar);
-        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
-        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByJobExecutionId(jobExecutionId, tenantId);
+        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByHash(PARAMS_HASH, tenantId);
+        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByHash(RULES_HASH, tenantId);
 
         Mockito.verify(mappingParametersProvider, Mockito.times(1)).get(any(), eq(params));
         Mockito.verify(mappingRuleService, Mockito.times(1)).get(org.folio.Record.RecordType.MARC_BIB, tenantId);
@@ -115,6 +122,33 @@ public class MappingMetadataServiceImplTest {
       .onFailure(context::fail);
   }
 
+  @Test
+  public void shouldShareSnapshotContentBetweenJobExecutions(TestContext context) {
+    String firstJobExecutionId = UUID.randomUUID().toString();
+    String secondJobExecutionId = UUID.randomUUID().toString();
+    String tenantId = UUID.randomUUID().toString();
+    OkapiConnectionParams params = mock(OkapiConnectionParams.class);
+    Mockito.when(params.getTenantId()).thenReturn(tenantId);
+
+    Mockito.when(mappingParamsSnapshotDao.getHashByJobExecutionId(anyString(), eq(tenantId)))
+      .thenReturn(Future.succeededFuture(Optional.of(PARAMS_HASH)));
+    Mockito.when(mappingParamsSnapshotDao.getByHash(PARAMS_HASH, tenantId))
+      .thenReturn(Future.succeededFuture(Optional.of(new MappingParameters())));
+    Mockito.when(mappingRulesSnapshotDao.getHashByJobExecutionId(anyString(), eq(tenantId)))
+      .thenReturn(Future.succeededFuture(Optional.of(RULES_HASH)));
+    Mockito.when(mappingRulesSnapshotDao.getByHash(RULES_HASH, tenantId))
+      .thenReturn(Future.succeededFuture(Optional.of(new JsonObject())));
+
+    service.getMappingMetadataDto(firstJobExecutionId, params)
+      .compose(ar -> service.getMappingMetadataDto(secondJobExecutionId, params))
+      .onComplete(context.asyncAssertSuccess(mappingMetadataDto -> {
+        context.assertEquals(secondJobExecutionId, mappingMetadataDto.getJobExecutionId());
+        Mockito.verify(mappingParamsSnapshotDao).getHashByJobExecutionId(secondJobExecutionId, tenantId);
+        Mockito.verify(mappingParamsSnapshotDao, Mockito.times(1)).getByHash(PARAMS_HASH, tenantId);
+        Mockito.verify(mappingRulesSnapshotDao, Mockito.times(1)).getByHash(RULES_HASH, tenantId);
+      }));
+  }
+
   @Test
   public void mappingRulesNotFound(TestContext context) {
     Async async = context.async();
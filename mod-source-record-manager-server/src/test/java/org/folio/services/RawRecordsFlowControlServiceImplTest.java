@@ -1,5 +1,6 @@
 package org.folio.services;
 
+import io.vertx.core.Future;
 import org.folio.kafka.KafkaConsumerWrapper;
 import org.folio.services.flowcontrol.RawRecordsFlowControlServiceImpl;
 import org.folio.verticle.consumers.consumerstorage.KafkaConsumersStorage;
@@ -12,15 +13,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
+import java.util.UUID;
 
 import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_RAW_RECORDS_CHUNK_READ;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -34,140 +36,158 @@ public class RawRecordsFlowControlServiceImplTest {
   @InjectMocks
   private RawRecordsFlowControlServiceImpl service;
 
+  private final String bigJobId = UUID.randomUUID().toString();
+  private final String smallJobId = UUID.randomUUID().toString();
+
   @Before
   public void setUp() {
     ReflectionTestUtils.setField(service, "enableFlowControl", true);
+    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 2);
+    ReflectionTestUtils.setField(service, "maxQueuedChunks", 10);
+    ReflectionTestUtils.setField(service, "maxInFlightRecords", 100);
+    ReflectionTestUtils.setField(service, "creditTimeoutMs", 120000L);
   }
 
   @Test
   public void shouldSkipWhenFlowControlDisabled() {
     ReflectionTestUtils.setField(service, "enableFlowControl", false);
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 1);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 5);
 
-    service.trackChunkReceivedEvent(TENANT_ID, 10);
-    service.trackChunkDuplicateEvent(TENANT_ID, 10);
-    service.trackRecordCompleteEvent(TENANT_ID, 0);
+    Future<Void> admission = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 1000);
+    service.trackChunkDuplicateEvent(TENANT_ID, bigJobId, 10);
+    service.trackRecordCompleteEvent(TENANT_ID, bigJobId, 1);
     service.triggerNextChunksFetch(TENANT_ID);
+    service.releaseExpiredRecords();
 
-    // 1.firstly we receive 10 simultaneous records, so should pause consumers
-    // 2.after it we recognize that these 10 records were duplicates, so should resume consumers
-    // 3.after it receive 1 complete event that it less than 5 threshold, so should resume if not already resumed
-    // But flow control feature is disabled, so we should no do all these actions
+    // flow control feature is disabled, so chunk is admitted at once and consumers are not paused or resumed
+    assertTrue(admission.succeeded());
     verifyNoInteractions(kafkaConsumersStorage);
   }
 
   @Test
-  public void shouldNotPauseWhenMaxSimultaneousChunksNotExceeded() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 1);
-    service.increaseCounterInDb(TENANT_ID, 25);
-    service.trackChunkReceivedEvent(TENANT_ID, 50);
+  public void shouldQueueChunkWhenJobHasNoFreeInFlightRecords() {
+    Future<Void> firstChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    Future<Void> secondChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    Future<Void> thirdChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
 
-    verifyNoMoreInteractions(kafkaConsumersStorage);
-  }
+    assertTrue(firstChunk.succeeded());
+    assertTrue(secondChunk.succeeded());
+    assertFalse(thirdChunk.isComplete());
 
-  @Test
-  public void shouldFetchWhenMaxSimultaneousChunksLowThreshold() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 1);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 25);
+    service.trackRecordCompleteEvent(TENANT_ID, bigJobId, 49);
+    assertFalse(thirdChunk.isComplete());
 
-    KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
-    when(consumerWrapper.getId()).thenReturn(1);
-    when(consumerWrapper.demand()).thenReturn(0L); // 0 means consumer already paused
+    service.trackRecordCompleteEvent(TENANT_ID, bigJobId, 1);
+    assertTrue(thirdChunk.succeeded());
+  }
 
-    service.trackChunkReceivedEvent(TENANT_ID, 50);
+  @Test
+  public void shouldAdmitChunkOfSmallJobBeforeQueuedChunksOfBigJob() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    Future<Void> queuedBigJobChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    Future<Void> smallJobChunk = service.trackChunkReceivedEvent(TENANT_ID, smallJobId, 10);
+    assertFalse(smallJobChunk.isComplete());
+
+    // big job exceeds its share of in-flight records, so freed records are given to the small job
+    for (int i = 0; i < 10; i++) {
+      service.trackRecordCompleteEvent(TENANT_ID, bigJobId, 1);
+    }
+
+    assertTrue(smallJobChunk.succeeded());
+    assertFalse(queuedBigJobChunk.isComplete());
+  }
 
-    when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
-      .thenReturn(Collections.singletonList(consumerWrapper));
+  @Test
+  public void shouldShareInFlightRecordsBetweenTenants() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
+    Future<Void> secondChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 40);
+    assertTrue(secondChunk.succeeded());
 
-    service.trackRecordCompleteEvent(TENANT_ID, 26);
+    Future<Void> otherTenantChunk = service.trackChunkReceivedEvent("other", smallJobId, 10);
+    Future<Void> nextChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 10);
 
-    // 24 low than threshold 25
-    verify(kafkaConsumersStorage).getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value());
-    verify(consumerWrapper).fetch(1L);
+    assertTrue(otherTenantChunk.succeeded());
+    assertFalse(nextChunk.isComplete());
   }
 
   @Test
-  public void shouldEnableFetchWhenConsumerIsOnPause() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 1);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 25);
+  public void shouldReleaseRecordsOfDuplicateChunk() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    Future<Void> nextChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    assertFalse(nextChunk.isComplete());
 
-    service.trackChunkReceivedEvent(TENANT_ID, 50);
+    service.trackChunkDuplicateEvent(TENANT_ID, bigJobId, 100);
 
-    KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
-    when(consumerWrapper.demand()).thenReturn(1L); // > 0 means that consumer running
+    assertTrue(nextChunk.succeeded());
+  }
 
-    when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
-      .thenReturn(Collections.singletonList(consumerWrapper));
+  @Test
+  public void shouldReleaseRecordsOfJobAdmittedByAnotherInstanceFromOtherJobsOfTenant() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    Future<Void> nextChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    assertFalse(nextChunk.isComplete());
 
-    service.resetState();
-    service.resetState();
+    // records of the small job were admitted by another module instance
+    service.trackRecordCompleteEvent(TENANT_ID, smallJobId, 100);
 
-    // 30 rec doesn't exceed max 50, after complete event 29 not less than 25 threshold, - so no any interaction with consumers storage
-    verify(consumerWrapper).fetch(1L);
+    assertTrue(nextChunk.succeeded());
   }
 
   @Test
-  public void shouldNotResumeWhenCompleteThresholdExceededAndConsumerAlreadyResumed() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 10);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 5);
+  public void shouldNotReleaseRecordsOfOtherTenantForJobAdmittedByAnotherInstance() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    Future<Void> nextChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
 
-    KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
-    when(consumerWrapper.demand()).thenReturn(1L); // > 0 means that consumer running
+    service.trackRecordCompleteEvent("other", smallJobId, 100);
 
-    when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
-      .thenReturn(Collections.singletonList(consumerWrapper));
+    assertFalse(nextChunk.isComplete());
+  }
 
-    service.increaseCounterInDb(TENANT_ID, 10);
-    service.trackRecordCompleteEvent(TENANT_ID, 6);
+  @Test
+  public void shouldReleaseInFlightRecordsWhenNoEventsReceivedDuringTimeout() {
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    Future<Void> nextChunk = service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
 
-    // after record complete event, current value 4 less than resume threshold, need to resume if paused (in our case consumer running)
-    verify(kafkaConsumersStorage).getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value());
-    verify(consumerWrapper, never()).resume();
+    service.releaseExpiredRecords();
+    assertFalse(nextChunk.isComplete());
+
+    ReflectionTestUtils.setField(service, "creditTimeoutMs", 0L);
+    service.releaseExpiredRecords();
+    assertTrue(nextChunk.succeeded());
   }
 
   @Test
-  public void shouldResumeWhenCompleteThresholdExceededAndConsumerPaused() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 10);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 5);
-
+  public void shouldSwitchConsumerToFetchModeWhenChunkReceived() {
     KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
-    when(consumerWrapper.demand()).thenReturn(0L); // 0 means consumer already paused
-
     when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
       .thenReturn(Collections.singletonList(consumerWrapper));
+    when(consumerWrapper.demand()).thenReturn(Long.MAX_VALUE, 0L); // consumer is in "flowing" mode before pause
 
-    service.increaseCounterInDb(TENANT_ID, 10);
-    service.trackRecordCompleteEvent(TENANT_ID, 6);
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 50);
 
-    // after record complete event, current value 4 less than resume threshold, need to resume consumer
-    verify(kafkaConsumersStorage).getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value());
-    verify(consumerWrapper).fetch(10L);
+    verify(consumerWrapper).pause();
+    verify(consumerWrapper).fetch(2L);
   }
 
   @Test
-  public void shouldReactToDuplicateEventAndFetchNextChunk() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 1);
-    ReflectionTestUtils.setField(service, "recordsThreshold", 5);
-
-    KafkaConsumerWrapper<String, String> consumerBeforeResume = mock(KafkaConsumerWrapper.class);
-    when(consumerBeforeResume.getId()).thenReturn(1);
-    when(consumerBeforeResume.demand()).thenReturn(0L); // 0 means consumer is paused
+  public void shouldNotFetchWhenTooManyChunksQueued() {
+    ReflectionTestUtils.setField(service, "maxQueuedChunks", 1);
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
 
+    KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
     when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
-      .thenReturn(Collections.singletonList(consumerBeforeResume));
+      .thenReturn(Collections.singletonList(consumerWrapper));
+    when(consumerWrapper.demand()).thenReturn(0L); // 0 means consumer is paused
 
-    service.trackChunkReceivedEvent(TENANT_ID, 50);
-    service.trackChunkDuplicateEvent(TENANT_ID, 46);
+    service.trackChunkReceivedEvent(TENANT_ID, bigJobId, 100);
+    verify(consumerWrapper, never()).fetch(anyLong());
 
-    // 5 events comes and consumer paused, these events were duplicates and compensate 5 events came and after this consumer resumed
-    verify(kafkaConsumersStorage, times(1)).getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value());
-    verify(consumerBeforeResume).fetch(1L);
+    service.trackRecordCompleteEvent(TENANT_ID, bigJobId, 100);
+    verify(consumerWrapper).fetch(2L);
   }
 
   @Test
   public void shouldFetchNextChunkWhenChunkFetchIsTriggeredAndConsumerIsPaused() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 2);
     KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
     when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
       .thenReturn(Collections.singletonList(consumerWrapper));
@@ -181,7 +201,6 @@ public class RawRecordsFlowControlServiceImplTest {
 
   @Test
   public void shouldNotFetchNextChunkWhenChunkFetchIsTriggeredAndConsumerIsNotPaused() {
-    ReflectionTestUtils.setField(service, "maxSimultaneousChunks", 2);
     KafkaConsumerWrapper<String, String> consumerWrapper = mock(KafkaConsumerWrapper.class);
     when(kafkaConsumersStorage.getConsumersByEvent(DI_RAW_RECORDS_CHUNK_READ.value()))
       .thenReturn(Collections.singletonList(consumerWrapper));
@@ -52,6 +52,7 @@ import org.folio.dao.IncomingRecordDaoImpl;
 import org.folio.dao.MappingParamsSnapshotDaoImpl;
 import org.folio.dao.MappingRuleDaoImpl;
 import org.folio.dao.MappingRulesSnapshotDaoImpl;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.dataimport.util.marc.MarcRecordAnalyzer;
@@ -99,6 +100,8 @@ public class RecordProcessedEventHandlingServiceImplTest extends AbstractRestTes
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
   @Spy
+  private JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+  @Spy
   @InjectMocks
   private JobExecutionDaoImpl jobExecutionDao;
   @Spy
@@ -193,7 +196,7 @@ public class RecordProcessedEventHandlingServiceImplTest extends AbstractRestTes
     MockitoAnnotations.openMocks(this);
 
     registerCodecs(vertx);
-    vertx.deployVerticle(new JobExecutionProgressVerticle(jobExecutionProgressDao, jobExecutionService, kafkaConfig));
+    vertx.deployVerticle(new JobExecutionProgressVerticle(jobExecutionProgressDao, jobExecutionService, jobExecutionProgressService, kafkaConfig));
 
     MappingRuleCache mappingRuleCache = new MappingRuleCache(mappingRuleDao, vertx);
     marcRecordAnalyzer = new MarcRecordAnalyzer();
@@ -0,0 +1,221 @@
+package org.folio.services;
+
+import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_ERROR;
+import static org.folio.services.RecordsPublishingServiceImpl.RECORD_ID_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.kafka.KafkaConfig;
+import org.folio.rest.jaxrs.model.JobExecution;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+import org.folio.rest.jaxrs.model.RawRecord;
+import org.folio.rest.jaxrs.model.Record;
+import org.folio.services.exceptions.RecordsPublishingException;
+import org.folio.services.util.EventHandlingUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RecordsPublishingServiceImplTest {
+
+  private static final String TENANT_ID = "diku";
+  private static final String EVENT_TYPE = "DI_INCOMING_MARC_BIB_RECORD_PARSED";
+
+  @Mock
+  private JobExecutionService jobExecutionService;
+  @Mock
+  private DataImportPayloadContextBuilder payloadContextBuilder;
+  @Mock
+  private KafkaConfig kafkaConfig;
+
+  private final OkapiConnectionParams params = new OkapiConnectionParams(Map.of("x-okapi-tenant", TENANT_ID), Vertx.vertx());
+  private final ProfileSnapshotWrapper currentNode = new ProfileSnapshotWrapper().withId(UUID.randomUUID().toString());
+  private final JobExecution jobExecution = new JobExecution()
+    .withId(UUID.randomUUID().toString())
+    .withUserId(UUID.randomUUID().toString())
+    .withJobProfileSnapshotWrapper(new ProfileSnapshotWrapper()
+      .withId(UUID.randomUUID().toString())
+      .withChildSnapshotWrappers(List.of(currentNode)));
+
+  private RecordsPublishingServiceImpl service;
+
+  @Before
+  public void setUp() {
+    service = new RecordsPublishingServiceImpl(jobExecutionService, payloadContextBuilder, kafkaConfig, List.of());
+    ReflectionTestUtils.setField(service, "maxDistributionNum", 100);
+    ReflectionTestUtils.setField(service, "maxInFlightSends", 2);
+    when(jobExecutionService.getCachedJobExecutionById(jobExecution.getId(), TENANT_ID))
+      .thenReturn(Future.succeededFuture(Optional.of(jobExecution)));
+    when(payloadContextBuilder.buildFrom(any(), any())).thenAnswer(invocation -> new HashMap<>());
+  }
+
+  @Test
+  public void shouldSendEventPerRecordWithRecordHeadersAndSharedCurrentNode() {
+    List<Record> records = createRecords(5);
+    List<String> sentPayloads = new ArrayList<>();
+    List<String> sentRecordIds = new ArrayList<>();
+
+    try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
+      mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(eq(TENANT_ID), anyString(), eq(EVENT_TYPE), any(), any(), any()))
+        .thenAnswer(invocation -> {
+          sentPayloads.add(invocation.getArgument(1));
+          sentRecordIds.add(getHeader(invocation.getArgument(3), RECORD_ID_HEADER));
+          return Future.succeededFuture(true);
+        });
+
+      Future<Boolean> future = service.sendEventsWithRecords(records, jobExecution.getId(), params, EVENT_TYPE, null);
+
+      assertTrue(future.succeeded());
+    }
+
+    assertThat(sentRecordIds, contains(records.stream().map(Record::getId).toArray()));
+    assertThat(params.getHeaders().get(RECORD_ID_HEADER), nullValue());
+    JsonObject payload = new JsonObject(sentPayloads.getFirst());
+    assertThat(payload.getJsonObject("currentNode").getString("id"), equalTo(currentNode.getId()));
+    assertThat(payload.getString("jobExecutionId"), equalTo(jobExecution.getId()));
+    assertThat(payload.getString("eventType"), equalTo(EVENT_TYPE));
+  }
+
+  @Test
+  public void shouldLimitInFlightSendsAndReturnRecordsWithSendFailures() {
+    List<Record> records = createRecords(5);
+    List<Promise<Boolean>> pendingSends = new ArrayList<>();
+
+    try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
+      mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), any(), any(), any()))
+        .thenAnswer(invocation -> {
+          Promise<Boolean> promise = Promise.promise();
+          pendingSends.add(promise);
+          return promise.future();
+        });
+
+      Future<Boolean> future = service.sendEventsWithRecords(records, jobExecution.getId(), params, EVENT_TYPE, null);
+
+      assertThat(pendingSends, hasSize(2));
+      pendingSends.getFirst().fail("send failure");
+      assertThat(pendingSends, hasSize(3));
+      pendingSends.get(1).complete(true);
+      pendingSends.get(2).fail("another send failure");
+      for (int i = 3; i < records.size(); i++) {
+        pendingSends.get(i).complete(true);
+      }
+
+      assertTrue(future.failed());
+      assertThat(future.cause(), instanceOf(RecordsPublishingException.class));
+      List<Record> failedRecords = ((RecordsPublishingException) future.cause()).getFailedRecords();
+      assertThat(failedRecords, contains(records.get(0), records.get(2)));
+      assertThat(records.get(0).getErrorRecord().getDescription(), equalTo("send failure"));
+      assertThat(records.get(2).getErrorRecord().getDescription(), equalTo("another send failure"));
+      assertThat(records.get(1).getErrorRecord(), nullValue());
+      assertThat(Arrays.stream(future.cause().getSuppressed()).map(Throwable::getMessage).toList(),
+        contains("send failure", "another send failure"));
+    }
+  }
+
+  @Test
+  public void shouldSendLargeChunkWithCompletedSendsInLoop() {
+    ReflectionTestUtils.setField(service, "maxInFlightSends", 1);
+    List<Record> records = createRecords(20000);
+
+    try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
+      mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Future.succeededFuture(true));
+
+      Future<Boolean> future = service.sendEventsWithRecords(records, jobExecution.getId(), params, EVENT_TYPE, null);
+
+      assertTrue(future.succeeded());
+      mockedStatic.verify(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), any(), any(), any()), Mockito.times(records.size()));
+    }
+  }
+
+  @Test
+  public void shouldReturnRecordsForWhichEventWasNotPrepared() {
+    List<Record> records = createRecords(3);
+    when(payloadContextBuilder.buildFrom(eq(records.get(1)), any())).thenThrow(new IllegalStateException("context failure"));
+
+    try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
+      mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Future.succeededFuture(true));
+
+      Future<Boolean> future = service.sendEventsWithRecords(records, jobExecution.getId(), params, EVENT_TYPE, null);
+
+      assertTrue(future.failed());
+      assertThat(future.cause(), instanceOf(RecordsPublishingException.class));
+      List<Record> failedRecords = ((RecordsPublishingException) future.cause()).getFailedRecords();
+      assertThat(failedRecords, hasSize(1));
+      assertThat(failedRecords.getFirst().getId(), equalTo(records.get(1).getId()));
+      assertThat(failedRecords.getFirst().getErrorRecord().getDescription(), equalTo("context failure"));
+    }
+  }
+
+  @Test
+  public void shouldSendDiErrorEventPerRecordWithoutModifyingOkapiHeaders() {
+    List<Record> records = createRecords(3).stream()
+      .map(record -> record.withParsedRecord(null))
+      .toList();
+    List<String> sentRecordIds = new ArrayList<>();
+
+    try (var mockedStatic = Mockito.mockStatic(EventHandlingUtil.class)) {
+      mockedStatic.when(() -> EventHandlingUtil.sendEventToKafka(eq(TENANT_ID), anyString(), eq(DI_ERROR.value()), any(), any(), any()))
+        .thenAnswer(invocation -> {
+          sentRecordIds.add(getHeader(invocation.getArgument(3), RECORD_ID_HEADER));
+          return Future.succeededFuture(true);
+        });
+
+      Future<Boolean> future = service.sendEventsWithRecords(records, jobExecution.getId(), params, EVENT_TYPE, null);
+
+      assertTrue(future.succeeded());
+    }
+
+    assertThat(sentRecordIds, contains(records.stream().map(Record::getId).toArray()));
+    assertThat(params.getHeaders().get(RECORD_ID_HEADER), nullValue());
+  }
+
+  private List<Record> createRecords(int number) {
+    return IntStream.range(0, number)
+      .mapToObj(i -> new Record()
+        .withId(UUID.randomUUID().toString())
+        .withSnapshotId(jobExecution.getId())
+        .withRecordType(Record.RecordType.MARC_BIB)
+        .withRawRecord(new RawRecord().withContent("raw"))
+        .withParsedRecord(new ParsedRecord().withContent("{\"leader\":\"01240cas a2200397   4500\",\"fields\":[]}")))
+      .toList();
+  }
+
+  private String getHeader(List<KafkaHeader> kafkaHeaders, String key) {
+    return kafkaHeaders.stream()
+      .filter(header -> header.key().equals(key))
+      .findFirst()
+      .map(header -> header.value().toString())
+      .orElse(null);
+  }
+}
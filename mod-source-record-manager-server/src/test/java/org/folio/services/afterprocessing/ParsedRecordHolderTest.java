@@ -0,0 +1,123 @@
+package org.folio.services.afterprocessing;
+
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.SUBFIELD_I;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.SUBFIELD_S;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.TAG_999;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.addDataFieldToMarcRecord;
+import static org.folio.services.afterprocessing.AdditionalFieldsUtil.addFieldToMarcRecord;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.util.UUID;
+import org.folio.TestUtil;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.folio.rest.jaxrs.model.Record;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class ParsedRecordHolderTest {
+
+  private static final String PARSED_RECORD_PATH = "src/test/resources/org/folio/services/afterprocessing/parsedRecord.json";
+  private static final String REORDERED_PARSED_RECORD_PATH = "src/test/resources/org/folio/services/afterprocessing/reorderedParsedRecord.json";
+
+  @After
+  public void after() {
+    AdditionalFieldsUtil.clearCache();
+  }
+
+  @Test
+  public void shouldAdd999ffSubfieldsSameWayAsAdditionalFieldsUtil() throws IOException {
+    String content = TestUtil.readFileFromPath(REORDERED_PARSED_RECORD_PATH);
+    String recordId = UUID.randomUUID().toString();
+    String instanceId = UUID.randomUUID().toString();
+    Record expectedRecord = buildRecord(recordId, content);
+    addFieldToMarcRecord(expectedRecord, TAG_999, SUBFIELD_S, recordId);
+    addFieldToMarcRecord(expectedRecord, TAG_999, SUBFIELD_I, instanceId);
+
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(buildRecord(recordId, null), new JsonObject(content));
+    assertTrue(parsedRecord.add999ffSubfield(SUBFIELD_S, recordId));
+    assertTrue(parsedRecord.add999ffSubfield(SUBFIELD_I, instanceId));
+
+    assertEquals(instanceId, parsedRecord.getValue(TAG_999, SUBFIELD_I));
+    assertTrue(parsedRecord.hasIndicator(SUBFIELD_S));
+    assertEquals(expectedRecord.getParsedRecord().getContent(), parsedRecord.complete().getParsedRecord().getContent());
+  }
+
+  @Test
+  public void shouldAddDataFieldSameWayAsAdditionalFieldsUtil() throws IOException {
+    String content = TestUtil.readFileFromPath(PARSED_RECORD_PATH);
+    String recordId = UUID.randomUUID().toString();
+    Record expectedRecord = buildRecord(recordId, content);
+    addDataFieldToMarcRecord(expectedRecord, "035", ' ', ' ', 'a', "(OCoLC)12345");
+
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(buildRecord(recordId, null), new JsonObject(content));
+    assertFalse(parsedRecord.isFieldExist("035", 'a', "(OCoLC)12345"));
+    assertTrue(parsedRecord.addDataField("035", ' ', ' ', 'a', "(OCoLC)12345"));
+
+    assertTrue(parsedRecord.isFieldExist("035", 'a', "(OCoLC)12345"));
+    assertEquals(expectedRecord.getParsedRecord().getContent(), parsedRecord.complete().getParsedRecord().getContent());
+  }
+
+  @Test
+  public void shouldSerializeContentAgainOnlyIfModifiedAfterCompletion() throws IOException {
+    String content = TestUtil.readFileFromPath(PARSED_RECORD_PATH);
+    String recordId = UUID.randomUUID().toString();
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(buildRecord(recordId, null), new JsonObject(content));
+
+    Object completedContent = parsedRecord.complete().getParsedRecord().getContent();
+    assertSame(completedContent, parsedRecord.complete().getParsedRecord().getContent());
+
+    parsedRecord.add999ffSubfield(SUBFIELD_S, recordId);
+    Object modifiedContent = parsedRecord.complete().getParsedRecord().getContent();
+
+    assertEquals(recordId, new ParsedRecordHolder(null, new JsonObject(modifiedContent.toString())).getValue(TAG_999, SUBFIELD_S));
+    assertSame(modifiedContent, parsedRecord.complete().getParsedRecord().getContent());
+  }
+
+  @Test
+  public void shouldPreserveFieldsOrderOfLatestStateWhenAdding999ffSubfieldAfterModification() throws IOException {
+    String content = TestUtil.readFileFromPath(REORDERED_PARSED_RECORD_PATH);
+    String recordId = UUID.randomUUID().toString();
+    Record expectedRecord = buildRecord(recordId, content);
+    addDataFieldToMarcRecord(expectedRecord, "035", ' ', ' ', 'a', "(OCoLC)12345");
+    addFieldToMarcRecord(expectedRecord, TAG_999, SUBFIELD_S, recordId);
+
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(buildRecord(recordId, null), new JsonObject(content));
+    assertTrue(parsedRecord.addDataField("035", ' ', ' ', 'a', "(OCoLC)12345"));
+    assertTrue(parsedRecord.add999ffSubfield(SUBFIELD_S, recordId));
+
+    assertEquals(expectedRecord.getParsedRecord().getContent(), parsedRecord.complete().getParsedRecord().getContent());
+  }
+
+  @Test
+  public void shouldCompleteWithEncodedContentOfSameState() throws IOException {
+    String content = TestUtil.readFileFromPath(PARSED_RECORD_PATH);
+    String recordId = UUID.randomUUID().toString();
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(buildRecord(recordId, null), new JsonObject(content));
+
+    String encodedContent = parsedRecord.getEncodedContent();
+    assertSame(encodedContent, parsedRecord.complete().getParsedRecord().getContent());
+  }
+
+  @Test
+  public void shouldNotModifyRecordWithoutParsedRecord() throws IOException {
+    String content = TestUtil.readFileFromPath(PARSED_RECORD_PATH);
+    Record record = new Record().withId(UUID.randomUUID().toString());
+    ParsedRecordHolder parsedRecord = new ParsedRecordHolder(record, new JsonObject(content));
+
+    assertFalse(parsedRecord.add999ffSubfield(SUBFIELD_S, record.getId()));
+    assertNull(parsedRecord.complete().getParsedRecord());
+  }
+
+  private static Record buildRecord(String recordId, String content) {
+    return new Record().withId(recordId).withParsedRecord(new ParsedRecord().withId(recordId).withContent(content));
+  }
+}
@@ -0,0 +1,155 @@
+package org.folio.services.entity;
+
+import static org.folio.rest.jaxrs.model.ProfileType.ACTION_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileType.JOB_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileType.MAPPING_PROFILE;
+import static org.folio.rest.jaxrs.model.ProfileType.MATCH_PROFILE;
+import static org.folio.rest.jaxrs.model.ReactToType.NON_MATCH;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.UUID;
+import org.folio.MappingProfile;
+import org.folio.MatchDetail;
+import org.folio.MatchProfile;
+import org.folio.rest.jaxrs.model.ActionProfile;
+import org.folio.rest.jaxrs.model.EntityType;
+import org.folio.rest.jaxrs.model.JobExecution;
+import org.folio.rest.jaxrs.model.ProfileSnapshotWrapper;
+import org.folio.services.util.JobProfilePlanCache;
+import org.junit.Test;
+
+public class JobProfilePlanTest {
+
+  @Test
+  public void shouldCompileCreateInstanceAndMarcHoldingsActions() {
+    ProfileSnapshotWrapper jobProfileSnapshot = jobProfile(
+      action(ActionProfile.Action.CREATE, ActionProfile.FolioRecord.INSTANCE),
+      action(ActionProfile.Action.CREATE, ActionProfile.FolioRecord.HOLDINGS)
+        .withChildSnapshotWrappers(List.of(mapping(EntityType.MARC_HOLDINGS, EntityType.HOLDINGS))));
+
+    JobProfilePlan plan = JobProfilePlan.compile(jobProfileSnapshot);
+
+    assertThat(plan.hasChildProfiles(), is(true));
+    assertThat(plan.isCreateInstanceActionExists(), is(true));
+    assertThat(plan.isCreateMarcHoldingsActionExists(), is(true));
+    assertThat(plan.isCreateOrUpdateItemOrHoldingsWithoutCreateInstanceActionExists(), is(false));
+    assertThat(plan.isUpdateMarcActionExists(), is(false));
+    assertThat(plan.getActionProfiles(), hasSize(2));
+    assertThat(plan.getMappingProfiles(), hasSize(1));
+  }
+
+  @Test
+  public void shouldNotCompileCreateInstanceActionOnNonMatch() {
+    ProfileSnapshotWrapper jobProfileSnapshot = jobProfile(
+      match(new MatchProfile()
+        .withExistingRecordType(EntityType.MARC_AUTHORITY)
+        .withIncomingRecordType(EntityType.MARC_AUTHORITY))
+        .withChildSnapshotWrappers(List.of(action(ActionProfile.Action.CREATE, ActionProfile.FolioRecord.INSTANCE)
+          .withReactTo(NON_MATCH))));
+
+    JobProfilePlan plan = JobProfilePlan.compile(jobProfileSnapshot);
+
+    assertThat(plan.isCreateInstanceActionExists(), is(false));
+    assertThat(plan.isMarcAuthorityMatchProfileExists(), is(true));
+    assertThat(plan.getMatchProfiles(), hasSize(1));
+  }
+
+  @Test
+  public void shouldCompileNestedUpdateAndRemove9SubfieldsActions() {
+    ProfileSnapshotWrapper jobProfileSnapshot = jobProfile(
+      match(new MatchProfile())
+        .withChildSnapshotWrappers(List.of(action(ActionProfile.Action.UPDATE, ActionProfile.FolioRecord.MARC_BIBLIOGRAPHIC),
+          action(ActionProfile.Action.DELETE, ActionProfile.FolioRecord.MARC_AUTHORITY)
+            .withContent(new JsonObject(Json.encode(new ActionProfile()
+              .withAction(ActionProfile.Action.DELETE)
+              .withFolioRecord(ActionProfile.FolioRecord.MARC_AUTHORITY)
+              .withRemove9Subfields(true))).getMap()))));
+
+    JobProfilePlan plan = JobProfilePlan.compile(jobProfileSnapshot);
+
+    assertThat(plan.isUpdateMarcActionExists(), is(true));
+    assertThat(plan.isDeleteMarcActionExists(), is(true));
+    assertThat(plan.isRemove9SubfieldsActionExists(), is(true));
+    assertThat(plan.isCreateOrderActionExists(), is(false));
+  }
+
+  @Test
+  public void shouldCompileNotSupportedMatchMarcBibToInstanceWithUpdateMarcBib() {
+    ProfileSnapshotWrapper jobProfileSnapshot = jobProfile(
+      match(new MatchProfile()
+        .withMatchDetails(List.of(new MatchDetail()
+          .withIncomingRecordType(EntityType.MARC_BIBLIOGRAPHIC)
+          .withExistingRecordType(EntityType.INSTANCE))))
+        .withChildSnapshotWrappers(List.of(action(ActionProfile.Action.UPDATE, ActionProfile.FolioRecord.MARC_BIBLIOGRAPHIC)
+          .withChildSnapshotWrappers(List.of(mapping(EntityType.MARC_BIBLIOGRAPHIC, EntityType.MARC_BIBLIOGRAPHIC))))));
+
+    assertThat(JobProfilePlan.compile(jobProfileSnapshot).isMatchMarcBibToInstanceWithUpdateMarcBibExists(), is(true));
+  }
+
+  @Test
+  public void shouldCompileCreateOrderActionOnTopLevel() {
+    JobProfilePlan plan = JobProfilePlan.compile(jobProfile(action(ActionProfile.Action.CREATE, ActionProfile.FolioRecord.ORDER)));
+
+    assertThat(plan.isCreateOrderActionExists(), is(true));
+  }
+
+  @Test
+  public void shouldReturnEmptyPlanForAbsentSnapshot() {
+    JobProfilePlan plan = JobProfilePlan.compile(null);
+
+    assertThat(plan.hasChildProfiles(), is(false));
+    assertThat(plan.getActionProfiles(), hasSize(0));
+  }
+
+  @Test
+  public void shouldCachePlanPerJobExecutionAndSnapshot() {
+    JobExecution jobExecution = new JobExecution()
+      .withId(UUID.randomUUID().toString())
+      .withJobProfileSnapshotWrapper(jobProfile(action(ActionProfile.Action.CREATE, ActionProfile.FolioRecord.INSTANCE)));
+
+    JobProfilePlan plan = JobProfilePlanCache.get(jobExecution);
+    assertThat(JobProfilePlanCache.get(jobExecution), sameInstance(plan));
+
+    jobExecution.setJobProfileSnapshotWrapper(jobProfile(action(ActionProfile.Action.UPDATE, ActionProfile.FolioRecord.INSTANCE)));
+    JobProfilePlan newPlan = JobProfilePlanCache.get(jobExecution);
+    assertThat(newPlan, not(sameInstance(plan)));
+    assertThat(newPlan.isUpdateInstanceActionExists(), is(true));
+  }
+
+  private ProfileSnapshotWrapper jobProfile(ProfileSnapshotWrapper... children) {
+    return new ProfileSnapshotWrapper()
+      .withId(UUID.randomUUID().toString())
+      .withContentType(JOB_PROFILE)
+      .withContent(new JsonObject().getMap())
+      .withChildSnapshotWrappers(List.of(children));
+  }
+
+  private ProfileSnapshotWrapper action(ActionProfile.Action action, ActionProfile.FolioRecord folioRecord) {
+    return new ProfileSnapshotWrapper()
+      .withContentType(ACTION_PROFILE)
+      .withContent(new JsonObject(Json.encode(new ActionProfile()
+        .withAction(action)
+        .withFolioRecord(folioRecord))).getMap());
+  }
+
+  private ProfileSnapshotWrapper match(MatchProfile matchProfile) {
+    return new ProfileSnapshotWrapper()
+      .withContentType(MATCH_PROFILE)
+      .withContent(new JsonObject(Json.encode(matchProfile)).getMap());
+  }
+
+  private ProfileSnapshotWrapper mapping(EntityType incomingRecordType, EntityType existingRecordType) {
+    return new ProfileSnapshotWrapper()
+      .withContentType(MAPPING_PROFILE)
+      .withContent(new JsonObject(Json.encode(new MappingProfile()
+        .withIncomingRecordType(incomingRecordType)
+        .withExistingRecordType(existingRecordType))).getMap());
+  }
+}
@@ -0,0 +1,74 @@
+package org.folio.services.entity;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import org.folio.rest.jaxrs.model.MappingMetadataDto;
+import org.junit.Test;
+
+public class SerializedMappingMetadataTest {
+
+  private final MappingMetadataDto mappingMetadataDto = new MappingMetadataDto()
+    .withJobExecutionId("5105b55a-b9a3-4f76-9402-a5243ea63c95")
+    .withMappingRules("{\"001\":[]}")
+    .withMappingParams("{}");
+
+  @Test
+  public void shouldSerializeMappingMetadataDto() {
+    SerializedMappingMetadata serialized = SerializedMappingMetadata.of(mappingMetadataDto);
+
+    JsonObject body = new JsonObject(new String(serialized.getBody()));
+    assertEquals(mappingMetadataDto.getJobExecutionId(), body.getString("jobExecutionId"));
+    assertEquals(mappingMetadataDto.getMappingRules(), body.getString("mappingRules"));
+  }
+
+  @Test
+  public void shouldCalculateStrongETagFromContent() {
+    String etag = SerializedMappingMetadata.of(mappingMetadataDto).getETag();
+
+    assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    assertEquals(etag, SerializedMappingMetadata.of(mappingMetadataDto).getETag());
+    assertNotEquals(etag, SerializedMappingMetadata.of(mappingMetadataDto.withMappingParams("{\"a\":1}")).getETag());
+  }
+
+  @Test
+  public void shouldCalculateDifferentStrongETagForGzippedBody() {
+    SerializedMappingMetadata serialized = SerializedMappingMetadata.of(mappingMetadataDto);
+    String gzipETag = serialized.getGzipETag();
+
+    assertTrue(gzipETag.startsWith("\"") && gzipETag.endsWith("\""));
+    assertNotEquals(serialized.getETag(), gzipETag);
+    assertTrue(serialized.matches(gzipETag));
+  }
+
+  @Test
+  public void shouldMatchIfNoneMatchHeader() {
+    SerializedMappingMetadata serialized = SerializedMappingMetadata.of(mappingMetadataDto);
+    String etag = serialized.getETag();
+
+    assertTrue(serialized.matches(etag));
+    assertTrue(serialized.matches("\"other\", W/" + etag));
+    assertTrue(serialized.matches("*"));
+    assertFalse(serialized.matches("\"other\""));
+    assertFalse(serialized.matches(null));
+  }
+
+  @Test
+  public void shouldCompressBodyOnce() throws IOException {
+    SerializedMappingMetadata serialized = SerializedMappingMetadata.of(mappingMetadataDto);
+
+    byte[] gzippedBody = serialized.getGzippedBody();
+    try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzippedBody))) {
+      assertArrayEquals(serialized.getBody(), inputStream.readAllBytes());
+    }
+    assertSame(gzippedBody, serialized.getGzippedBody());
+  }
+}
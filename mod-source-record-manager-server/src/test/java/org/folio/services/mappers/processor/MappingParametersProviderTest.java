@@ -6,6 +6,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.ok;
 import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
 import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
 import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TENANT_HEADER;
@@ -25,6 +26,7 @@ import io.vertx.ext.unit.junit.RunTestOnContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.UUID;
 import org.folio.LinkingRuleDto;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
@@ -33,43 +35,44 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.test.util.ReflectionTestUtils;
 
 @RunWith(VertxUnitRunner.class)
 public class MappingParametersProviderTest {
 
-  protected static final String IDENTIFIER_TYPES_URL = "/identifier-types?limit=0";
-  protected static final String AUTHORITY_IDENTIFIER_TYPES_URL = "/authority-identifier-types?limit=0";
-  protected static final String INSTANCE_TYPES_URL = "/instance-types?limit=0";
-  protected static final String CLASSIFICATION_TYPES_URL = "/classification-types?limit=0";
-  protected static final String INSTANCE_FORMATS_URL = "/instance-formats?limit=0";
-  protected static final String CONTRIBUTOR_TYPES_URL = "/contributor-types?limit=0";
-  protected static final String CONTRIBUTOR_NAME_TYPES_URL = "/contributor-name-types?limit=0";
-  protected static final String ELECTRONIC_ACCESS_URL = "/electronic-access-relationships?limit=0";
-  protected static final String INSTANCE_NOTE_TYPES_URL = "/instance-note-types?limit=0";
+  protected static final String IDENTIFIER_TYPES_URL = "/identifier-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String AUTHORITY_IDENTIFIER_TYPES_URL = "/authority-identifier-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_TYPES_URL = "/instance-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CLASSIFICATION_TYPES_URL = "/classification-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_FORMATS_URL = "/instance-formats?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CONTRIBUTOR_TYPES_URL = "/contributor-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CONTRIBUTOR_NAME_TYPES_URL = "/contributor-name-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ELECTRONIC_ACCESS_URL = "/electronic-access-relationships?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_NOTE_TYPES_URL = "/instance-note-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
   protected static final String INSTANCE_ALTERNATIVE_TITLE_TYPES_URL =
-    "/alternative-title-types?limit=0";
-  protected static final String MODE_OF_ISSUANCE_TYPES_URL = "/modes-of-issuance?limit=0";
-  protected static final String INSTANCE_STATUSES_URL = "/instance-statuses?limit=0";
-  protected static final String NATURE_OF_CONTENT_TERMS_URL = "/nature-of-content-terms?limit=0";
+    "/alternative-title-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String MODE_OF_ISSUANCE_TYPES_URL = "/modes-of-issuance?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_STATUSES_URL = "/instance-statuses?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String NATURE_OF_CONTENT_TERMS_URL = "/nature-of-content-terms?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
   protected static final String INSTANCE_RELATIONSHIP_TYPES_URL =
-    "/instance-relationship-types?limit=0";
-  protected static final String HOLDINGS_TYPES_URL = "/holdings-types?limit=0";
-  protected static final String HOLDINGS_NOTE_TYPES_URL = "/holdings-note-types?limit=0";
-  protected static final String ILL_POLICIES_URL = "/ill-policies?limit=0";
-  protected static final String CALL_NUMBER_TYPES_URL = "/call-number-types?limit=0";
-  protected static final String STATISTICAL_CODES_URL = "/statistical-codes?limit=0";
-  protected static final String STATISTICAL_CODE_TYPES_URL = "/statistical-code-types?limit=0";
-  protected static final String LOCATIONS_URL = "/locations?limit=0";
-  protected static final String MATERIAL_TYPES_URL = "/material-types?limit=0";
-  protected static final String ITEM_DAMAGED_STATUSES_URL = "/item-damaged-statuses?limit=0";
-  protected static final String LOAN_TYPES_URL = "/loan-types?limit=0";
-  protected static final String ITEM_NOTE_TYPES_URL = "/item-note-types?limit=0";
-  protected static final String AUTHORITY_NOTE_TYPES_URL = "/authority-note-types?limit=0";
-  protected static final String AUTHORITY_SOURCE_FILES_URL = "/authority-source-files?limit=0";
-  protected static final String SUBJECT_SOURCES_URL = "/subject-sources?limit=0";
-  protected static final String SUBJECT_TYPES_URL = "/subject-types?limit=0";
-  protected static final String INSTANCE_DATE_TYPE_URL = "/instance-date-types?limit=0";
-  protected static final String FIELD_PROTECTION_SETTINGS_URL = "/field-protection-settings/marc?limit=0";
+    "/instance-relationship-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String HOLDINGS_TYPES_URL = "/holdings-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String HOLDINGS_NOTE_TYPES_URL = "/holdings-note-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ILL_POLICIES_URL = "/ill-policies?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String CALL_NUMBER_TYPES_URL = "/call-number-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String STATISTICAL_CODES_URL = "/statistical-codes?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String STATISTICAL_CODE_TYPES_URL = "/statistical-code-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String LOCATIONS_URL = "/locations?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String MATERIAL_TYPES_URL = "/material-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ITEM_DAMAGED_STATUSES_URL = "/item-damaged-statuses?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String LOAN_TYPES_URL = "/loan-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String ITEM_NOTE_TYPES_URL = "/item-note-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String AUTHORITY_NOTE_TYPES_URL = "/authority-note-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String AUTHORITY_SOURCE_FILES_URL = "/authority-source-files?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String SUBJECT_SOURCES_URL = "/subject-sources?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String SUBJECT_TYPES_URL = "/subject-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String INSTANCE_DATE_TYPE_URL = "/instance-date-types?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
+  protected static final String FIELD_PROTECTION_SETTINGS_URL = "/field-protection-settings/marc?limit=0&query=cql.allRecords%3D1%20sortBy%20id";
   protected static final String TENANT_TIME_ZONE_SETTINGS_URL = "/locale";
   protected static final String LINKING_RULES_URL = "/linking-rules/instance-authority";
   public static final String SYSTEM_USER_ENABLED = "SYSTEM_USER_ENABLED";
@@ -88,12 +91,14 @@ public class MappingParametersProviderTest {
     );
 
   private MappingParametersProvider mappingParametersProvider;
+  private ReferenceDataCache referenceDataCache;
   private OkapiConnectionParams okapiConnectionParams;
 
   @Before
   public void setUp() {
     Vertx vertx = rule.vertx();
-    mappingParametersProvider = new MappingParametersProvider(vertx);
+    referenceDataCache = new ReferenceDataCache(vertx, 300, 3600, 1000);
+    mappingParametersProvider = new MappingParametersProvider(vertx, referenceDataCache);
     url = "http://localhost:" + snapshotMockServer.port();
 
     HashMap<String, String> headers = new HashMap<>();
@@ -348,6 +353,47 @@ public class MappingParametersProviderTest {
     }));
   }
 
+  @Test
+  public void shouldShareReferenceDataBetweenJobsOfTenant(TestContext context) {
+    mappingParametersProvider.get("1", okapiConnectionParams)
+      .compose(ar -> mappingParametersProvider.get("2", okapiConnectionParams))
+      .onComplete(context.asyncAssertSuccess(mappingParameters -> {
+        context.assertTrue(mappingParameters.isInitialized());
+        verify(1, getRequestedFor(urlEqualTo(IDENTIFIER_TYPES_URL)));
+        verify(1, getRequestedFor(urlEqualTo(LINKING_RULES_URL)));
+
+        referenceDataCache.invalidateAll(TENANT);
+        mappingParametersProvider.get("3", okapiConnectionParams)
+          .onComplete(context.asyncAssertSuccess(ar -> verify(2, getRequestedFor(urlEqualTo(IDENTIFIER_TYPES_URL)))));
+      }));
+  }
+
+  @Test
+  public void shouldLoadAllPagesOfReferenceData(TestContext context) {
+    ReflectionTestUtils.setField(mappingParametersProvider, "settingsLimit", 2);
+    WireMock.stubFor(get(urlMatching(".*limit=2.*"))
+      .willReturn(okJson(new JsonObject().encode())));
+    WireMock.stubFor(get("/identifier-types?limit=2&query=cql.allRecords%3D1%20sortBy%20id")
+      .willReturn(okJson(new JsonObject()
+        .put("identifierTypes", JsonArray.of(identifierType("ISBN"), identifierType("ISSN")))
+        .put("totalRecords", 3)
+        .encode())));
+    WireMock.stubFor(get("/identifier-types?limit=2&query=cql.allRecords%3D1%20sortBy%20id&offset=2")
+      .willReturn(okJson(new JsonObject()
+        .put("identifierTypes", JsonArray.of(identifierType("LCCN")))
+        .put("totalRecords", 3)
+        .encode())));
+
+    mappingParametersProvider.get("1", okapiConnectionParams).onComplete(context.asyncAssertSuccess(mappingParameters -> {
+      context.assertEquals(3, mappingParameters.getIdentifierTypes().size());
+      verify(1, getRequestedFor(urlEqualTo("/identifier-types?limit=2&query=cql.allRecords%3D1%20sortBy%20id&offset=2")));
+    }));
+  }
+
+  private JsonObject identifierType(String name) {
+    return new JsonObject().put("id", UUID.randomUUID().toString()).put("name", name);
+  }
+
   /**
    * Test that cache keys with different okapi connection params are the equal. This is critical for the cache to work
    * efficiently.
@@ -0,0 +1,111 @@
+package org.folio.services.mappers.processor;
+
+import static org.folio.dataimport.util.RestUtil.OKAPI_URL_HEADER;
+import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TENANT_HEADER;
+import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TOKEN_HEADER;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class ReferenceDataCacheTest {
+
+  private static final String TENANT = "diku";
+  private static final String TYPE = "/identifier-types";
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private Vertx vertx;
+  private ReferenceDataCache referenceDataCache;
+  private final List<String> loadTokens = new ArrayList<>();
+  private final AtomicLong ticker = new AtomicLong();
+
+  @Before
+  public void setUp() {
+    vertx = rule.vertx();
+    referenceDataCache = new ReferenceDataCache(vertx, 300, 3600, 1000, ticker::get);
+  }
+
+  @Test
+  public void shouldLoadReferenceDataWithParamsOfRequestMissingEntry(TestContext context) {
+    referenceDataCache.get(TYPE, okapiParams("token1"), this::loadToken)
+      .compose(data -> referenceDataCache.get(TYPE, okapiParams("token2"), this::loadToken))
+      .onSuccess(data -> context.verify(v -> {
+        context.assertEquals("token1", data);
+        referenceDataCache.invalidateAll(TENANT);
+      }))
+      .compose(data -> referenceDataCache.get(TYPE, okapiParams("token3"), this::loadToken))
+      .onComplete(context.asyncAssertSuccess(data -> {
+        context.assertEquals("token3", data);
+        context.assertEquals(List.of("token1", "token3"), loadTokens);
+      }));
+  }
+
+  @Test
+  public void shouldRefreshReferenceDataInBackgroundWithParamsOfLatestRequest(TestContext context) {
+    referenceDataCache.get(TYPE, okapiParams("token1"), this::loadToken)
+      .compose(data -> {
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(301));
+        return referenceDataCache.get(TYPE, okapiParams("token2"), this::loadToken);
+      })
+      .onSuccess(data -> context.assertEquals("token1", data))
+      .compose(data -> {
+        Promise<Void> refreshed = Promise.promise();
+        vertx.setTimer(100, id -> refreshed.complete());
+        return refreshed.future();
+      })
+      .compose(v -> referenceDataCache.get(TYPE, okapiParams("token3"), this::loadToken))
+      .onComplete(context.asyncAssertSuccess(data -> {
+        context.assertEquals("token2", data);
+        context.assertEquals(List.of("token1", "token2"), loadTokens);
+      }));
+  }
+
+  @Test
+  public void shouldLoadReferenceDataOnceForConcurrentRequests(TestContext context) {
+    Promise<String> loadPromise = Promise.promise();
+    Future<String> first = referenceDataCache.get(TYPE, okapiParams("token1"), params -> {
+      loadTokens.add(params.getToken());
+      return loadPromise.future();
+    });
+    Future<String> second = referenceDataCache.get(TYPE, okapiParams("token2"), this::loadToken);
+    loadPromise.complete("data");
+
+    Future.all(first, second).onComplete(context.asyncAssertSuccess(ar -> {
+      context.assertEquals("data", second.result());
+      context.assertEquals(List.of("token1"), loadTokens);
+    }));
+  }
+
+  @Test
+  public void shouldNotCacheFailedLoad(TestContext context) {
+    referenceDataCache.<String>get(TYPE, okapiParams("token1"), params -> Future.failedFuture("Failed to load"))
+      .recover(e -> referenceDataCache.get(TYPE, okapiParams("token2"), this::loadToken))
+      .onComplete(context.asyncAssertSuccess(data -> context.assertEquals("token2", data)));
+  }
+
+  private Future<String> loadToken(OkapiConnectionParams params) {
+    loadTokens.add(params.getToken());
+    return Future.succeededFuture(params.getToken());
+  }
+
+  private OkapiConnectionParams okapiParams(String token) {
+    return new OkapiConnectionParams(Map.of(OKAPI_URL_HEADER, "http://localhost", OKAPI_TENANT_HEADER, TENANT,
+      OKAPI_TOKEN_HEADER, token), vertx);
+  }
+}
@@ -0,0 +1,128 @@
+package org.folio.services.parsers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.marc4j.MarcStreamWriter;
+import org.marc4j.MarcXmlReader;
+import org.marc4j.marc.DataField;
+import org.marc4j.marc.MarcFactory;
+import org.marc4j.marc.Record;
+
+/**
+ * Compares single-pass MARC binary parsing with the marc4j based parsing
+ */
+public class MarcRecordParserTest {
+
+  private static final String XML_MARC_RECORD_PATH = "src/test/resources/org/folio/services/parsers/xmlMarcRecord.xml";
+
+  private final MarcRecordParser parser = new MarcRecordParser();
+
+  @Test
+  public void shouldParseRecordSameAsMarc4jForXmlSourcedRecord() throws IOException {
+    String xmlRecord = FileUtils.readFileToString(new File(XML_MARC_RECORD_PATH), StandardCharsets.UTF_8);
+    Record record = new MarcXmlReader(new ByteArrayInputStream(xmlRecord.getBytes(StandardCharsets.UTF_8))).next();
+
+    assertSameResult(toRawRecord(record));
+  }
+
+  @Test
+  public void shouldParseRecordSameAsMarc4jWhenControlFieldsAreNotOrdered() {
+    MarcFactory factory = MarcFactory.newInstance();
+    Record record = factory.newRecord("00000nam a2200000 a 4500");
+    record.getControlFields().add(factory.newControlField("008", "120208s2013    cc a          000 0 chi d"));
+    record.getControlFields().add(factory.newControlField("005", "20160505024808.0"));
+    record.getControlFields().add(factory.newControlField("001", "10424784"));
+    record.getControlFields().add(factory.newControlField("003", ""));
+
+    assertSameResult(toRawRecord(record));
+  }
+
+  @Test
+  public void shouldParseRecordSameAsMarc4jWithSpecialCharactersAndEmptySubfields() {
+    MarcFactory factory = MarcFactory.newInstance();
+    Record record = factory.newRecord("00000nam a2200000 a 4500");
+    record.addVariableField(factory.newControlField("001", "in00000000001"));
+    DataField titleField = factory.newDataField("245", '1', '0');
+    titleField.addSubfield(factory.newSubfield('a', "\"Quoted\" title / with \\ back slash :"));
+    titleField.addSubfield(factory.newSubfield('b', "Bärenreiter, 中国"));
+    titleField.addSubfield(factory.newSubfield('c', ""));
+    record.addVariableField(titleField);
+    record.addVariableField(factory.newDataField("500", ' ', ' '));
+    DataField customField = factory.newDataField("999", 'f', 'f');
+    customField.addSubfield(factory.newSubfield('s', "5f3bd8b4-6c0b-4a19-bb30-8e7e8d96c9b8"));
+    record.addVariableField(customField);
+
+    assertSameResult(toRawRecord(record));
+  }
+
+  @Test
+  public void shouldReturnSameErrorsAsMarc4jForMalformedRecords() {
+    MarcFactory factory = MarcFactory.newInstance();
+    Record record = factory.newRecord("00000nam a2200000 a 4500");
+    record.addVariableField(factory.newControlField("001", "in00000000001"));
+    DataField field = factory.newDataField("245", '1', '0');
+    field.addSubfield(factory.newSubfield('a', "Title"));
+    record.addVariableField(field);
+    String rawRecord = toRawRecord(record);
+
+    assertSameErrors(rawRecord.substring(0, rawRecord.length() - 1));
+    assertSameErrors("x" + rawRecord.substring(1));
+    assertSameErrors(rawRecord.replace('\u001E', '\u001D'));
+    assertSameErrors(" ");
+  }
+
+  @Test
+  public void shouldNotReadMalformedRecordInSinglePass() {
+    assertNull(MarcBinaryJsonReader.read(null));
+    assertNull(MarcBinaryJsonReader.read(new byte[0]));
+    assertNull(MarcBinaryJsonReader.read("01240cas a2200397   4500".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void shouldReturnEmptyRecordForEmptySource() {
+    ParsedResult result = parser.parseRecord("");
+
+    assertFalse(result.isHasError());
+    assertTrue(result.getParsedRecord().isEmpty());
+  }
+
+  private void assertSameResult(String rawRecord) {
+    assertNotNull(MarcBinaryJsonReader.read(rawRecord.getBytes(StandardCharsets.UTF_8)));
+
+    ParsedResult expected = parser.parseRecordWithMarc4j(rawRecord);
+    ParsedResult actual = parser.parseRecord(rawRecord);
+
+    assertFalse(expected.isHasError());
+    assertFalse(actual.isHasError());
+    assertEquals(expected.getParsedRecord().encode(), actual.getParsedRecord().encode());
+  }
+
+  private void assertSameErrors(String rawRecord) {
+    ParsedResult expected = parser.parseRecordWithMarc4j(rawRecord);
+    ParsedResult actual = parser.parseRecord(rawRecord);
+
+    assertEquals(expected.isHasError(), actual.isHasError());
+    assertEquals(String.valueOf(expected.getErrors()), String.valueOf(actual.getErrors()));
+    assertEquals(String.valueOf(expected.getParsedRecord()), String.valueOf(actual.getParsedRecord()));
+  }
+
+  private String toRawRecord(Record record) {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    MarcStreamWriter writer = new MarcStreamWriter(os, StandardCharsets.UTF_8.name());
+    writer.write(record);
+    writer.close();
+    return os.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,138 @@
+package org.folio.services.progress;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.RunTestOnContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.folio.dataimport.util.OkapiConnectionParams;
+import org.folio.rest.jaxrs.model.JobExecutionProgress;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TENANT_HEADER;
+import static org.folio.services.progress.JobExecutionProgressUtil.BATCH_JOB_PROGRESS_ADDRESS;
+import static org.folio.services.progress.JobExecutionProgressUtil.getBatchJobProgressProducer;
+import static org.folio.services.progress.JobExecutionProgressUtil.registerCodecs;
+
+@RunWith(VertxUnitRunner.class)
+public class JobExecutionProgressAccumulatorTest {
+
+  @Rule
+  public RunTestOnContext rule = new RunTestOnContext();
+
+  private Vertx vertx;
+  private OkapiConnectionParams params;
+
+  @Before
+  public void setUp() {
+    vertx = rule.vertx();
+    registerCodecs(vertx);
+
+    HashMap<String, String> headers = new HashMap<>();
+    headers.put(OKAPI_TENANT_HEADER, "diku");
+    params = new OkapiConnectionParams(headers, vertx);
+  }
+
+  @Test
+  public void shouldCoalesceDeltasAddedWithinFlushInterval(TestContext context) {
+    JobExecutionProgressAccumulator accumulator =
+      new JobExecutionProgressAccumulator(vertx, getBatchJobProgressProducer(vertx), 100, 1000);
+    String jobExecutionId = UUID.randomUUID().toString();
+    onSentProgress(context, 1, sentProgress -> {
+      context.assertEquals(jobExecutionId, sentProgress.get(0).getJobExecutionId());
+      context.assertEquals(200, sentProgress.get(0).getCurrentlySucceeded());
+      context.assertEquals(100, sentProgress.get(0).getCurrentlyFailed());
+    });
+
+    for (int i = 0; i < 300; i++) {
+      accumulator.add(jobExecutionId, i % 3 == 0 ? 0 : 1, i % 3 == 0 ? 1 : 0, params);
+    }
+  }
+
+  @Test
+  public void shouldSendProgressWhenFlushThresholdIsReached(TestContext context) {
+    JobExecutionProgressAccumulator accumulator =
+      new JobExecutionProgressAccumulator(vertx, getBatchJobProgressProducer(vertx), 100, 10);
+    String jobExecutionId = UUID.randomUUID().toString();
+    onSentProgress(context, 3, sentProgress -> {
+      context.assertEquals(10, sentProgress.get(0).getCurrentlySucceeded());
+      context.assertEquals(10, sentProgress.get(1).getCurrentlySucceeded());
+      context.assertEquals(5, sentProgress.get(2).getCurrentlySucceeded());
+    });
+
+    for (int i = 0; i < 25; i++) {
+      accumulator.add(jobExecutionId, 1, 0, params);
+    }
+  }
+
+  @Test
+  public void shouldAccumulateProgressOfJobExecutionsSeparately(TestContext context) {
+    JobExecutionProgressAccumulator accumulator =
+      new JobExecutionProgressAccumulator(vertx, getBatchJobProgressProducer(vertx), 100, 1000);
+    String firstJobExecutionId = UUID.randomUUID().toString();
+    String secondJobExecutionId = UUID.randomUUID().toString();
+    onSentProgress(context, 2, sentProgress -> {
+      JobExecutionProgress firstProgress = sentProgress.stream()
+        .filter(progress -> firstJobExecutionId.equals(progress.getJobExecutionId())).findFirst().orElseThrow();
+      JobExecutionProgress secondProgress = sentProgress.stream()
+        .filter(progress -> secondJobExecutionId.equals(progress.getJobExecutionId())).findFirst().orElseThrow();
+      context.assertEquals(2, firstProgress.getCurrentlySucceeded());
+      context.assertEquals(0, firstProgress.getCurrentlyFailed());
+      context.assertEquals(0, secondProgress.getCurrentlySucceeded());
+      context.assertEquals(1, secondProgress.getCurrentlyFailed());
+    });
+
+    accumulator.add(firstJobExecutionId, 1, 0, params);
+    accumulator.add(secondJobExecutionId, 0, 1, params);
+    accumulator.add(firstJobExecutionId, 1, 0, params);
+  }
+
+  @Test
+  public void shouldDrainDeltasNotSentYet(TestContext context) {
+    JobExecutionProgressAccumulator accumulator =
+      new JobExecutionProgressAccumulator(vertx, getBatchJobProgressProducer(vertx), 60000, 1000);
+    String jobExecutionId = UUID.randomUUID().toString();
+    // drained deltas are not sent, deltas added after draining are accumulated and sent as usual
+    onSentProgress(context, 1, sentProgress -> {
+      context.assertEquals(0, sentProgress.get(0).getCurrentlySucceeded());
+      context.assertEquals(4, sentProgress.get(0).getCurrentlyFailed());
+    });
+
+    accumulator.add(jobExecutionId, 1, 0, params);
+    accumulator.add(jobExecutionId, 2, 3, params);
+
+    List<BatchableJobExecutionProgress> drained = accumulator.drain();
+    context.assertEquals(1, drained.size());
+    context.assertEquals("diku", drained.get(0).getParams().getTenantId());
+    context.assertEquals(jobExecutionId, drained.get(0).getJobExecutionProgress().getJobExecutionId());
+    context.assertEquals(3, drained.get(0).getJobExecutionProgress().getCurrentlySucceeded());
+    context.assertEquals(3, drained.get(0).getJobExecutionProgress().getCurrentlyFailed());
+    context.assertTrue(accumulator.drain().isEmpty());
+
+    accumulator.add(jobExecutionId, 0, 4, params);
+  }
+
+  /**
+   * Completes the test when the expected number of progress messages is sent and the assertions pass
+   */
+  private void onSentProgress(TestContext context, int expectedNumber, Consumer<List<JobExecutionProgress>> assertions) {
+    Async async = context.async();
+    List<JobExecutionProgress> sentProgress = new CopyOnWriteArrayList<>();
+    vertx.eventBus().<BatchableJobExecutionProgress>localConsumer(BATCH_JOB_PROGRESS_ADDRESS, message -> {
+      sentProgress.add(message.body().getJobExecutionProgress());
+      if (sentProgress.size() == expectedNumber) {
+        context.verify(v -> assertions.accept(sentProgress));
+        async.complete();
+      }
+    });
+  }
+}
@@ -0,0 +1,150 @@
+package org.folio.services.util;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.client.producer.KafkaProducer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import io.vertx.kafka.client.producer.RecordMetadata;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.folio.kafka.KafkaConfig;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+
+public class KafkaProducerRegistryTest {
+
+  private static final Vertx vertx = Vertx.vertx();
+  private static final String EVENT_TYPE = "DI_RAW_RECORDS_CHUNK_PARSED";
+
+  private final KafkaConfig kafkaConfig = KafkaConfig.builder()
+    .kafkaHost("localhost")
+    .kafkaPort("9092")
+    .build();
+
+  @AfterClass
+  public static void tearDown() {
+    vertx.close();
+  }
+
+  @After
+  public void resetConfiguration() {
+    KafkaProducerRegistry.configure(KafkaProducerRegistry.DEFAULT_LINGER_MS, KafkaProducerRegistry.DEFAULT_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldReturnSameRegistryForSameContext() {
+    Context context = vertx.getOrCreateContext();
+
+    assertThat(KafkaProducerRegistry.forContext(context), sameInstance(KafkaProducerRegistry.forContext(context)));
+  }
+
+  @Test
+  public void shouldReturnNewRegistryAfterClose() {
+    Context context = vertx.getOrCreateContext();
+    KafkaProducerRegistry registry = KafkaProducerRegistry.forContext(context);
+
+    assertThat(KafkaProducerRegistry.close(context).succeeded(), is(true));
+    assertThat(KafkaProducerRegistry.forContext(context), not(sameInstance(registry)));
+  }
+
+  @Test
+  public void shouldSetBatchingProducerProps() {
+    Map<String, String> producerProps = KafkaProducerRegistry.getProducerProps(kafkaConfig);
+
+    assertThat(producerProps.get(ProducerConfig.LINGER_MS_CONFIG), is("5"));
+    assertThat(producerProps.get(ProducerConfig.BATCH_SIZE_CONFIG), is("65536"));
+  }
+
+  @Test
+  public void shouldSetConfiguredBatchingProducerProps() {
+    KafkaProducerRegistry.configure("20", "131072");
+
+    Map<String, String> producerProps = KafkaProducerRegistry.getProducerProps(kafkaConfig);
+
+    assertThat(producerProps.get(ProducerConfig.LINGER_MS_CONFIG), is("20"));
+    assertThat(producerProps.get(ProducerConfig.BATCH_SIZE_CONFIG), is("131072"));
+  }
+
+  @Test
+  public void shouldSendRecordWithProducerOfEventType() {
+    KafkaProducer<String, String> producer = mockProducer();
+    KafkaProducerRecord<String, String> record = KafkaProducerRecord.create("topic", "key", "value");
+    RecordMetadata metadata = new RecordMetadata();
+    when(producer.send(record)).thenReturn(Future.succeededFuture(metadata));
+    Context context = vertx.getOrCreateContext();
+
+    try (MockedStatic<KafkaProducer> kafkaProducer = mockStatic(KafkaProducer.class)) {
+      kafkaProducer.when(() -> KafkaProducer.createShared(any(Vertx.class), eq(EVENT_TYPE), anyMap())).thenReturn(producer);
+
+      Future<RecordMetadata> sent = KafkaProducerRegistry.forContext(context).send(EVENT_TYPE, record, kafkaConfig);
+
+      assertThat(sent.result(), sameInstance(metadata));
+      verify(producer).send(record);
+    } finally {
+      KafkaProducerRegistry.close(context);
+    }
+  }
+
+  @Test
+  public void shouldReuseProducerWithinContext() {
+    KafkaProducer<String, String> producer = mockProducer();
+    when(producer.send(any())).thenReturn(Future.succeededFuture(new RecordMetadata()));
+    Context context = vertx.getOrCreateContext();
+
+    try (MockedStatic<KafkaProducer> kafkaProducer = mockStatic(KafkaProducer.class)) {
+      kafkaProducer.when(() -> KafkaProducer.createShared(any(Vertx.class), eq(EVENT_TYPE), anyMap())).thenReturn(producer);
+
+      KafkaProducerRegistry.forContext(context).send(EVENT_TYPE, KafkaProducerRecord.create("topic", "value1"), kafkaConfig);
+      KafkaProducerRegistry.forContext(context).send(EVENT_TYPE, KafkaProducerRecord.create("topic", "value2"), kafkaConfig);
+
+      kafkaProducer.verify(() -> KafkaProducer.createShared(any(Vertx.class), eq(EVENT_TYPE), anyMap()), times(1));
+      verify(producer, times(2)).send(any());
+    }
+
+    KafkaProducerRegistry.close(context);
+    verify(producer).close();
+  }
+
+  @Test
+  public void shouldCloseProducersOfAllContexts() throws Exception {
+    KafkaProducer<String, String> firstProducer = mockProducer();
+    KafkaProducer<String, String> secondProducer = mockProducer();
+    Context firstContext = vertx.getOrCreateContext();
+    Context secondContext = vertx.getOrCreateContext();
+
+    try (MockedStatic<KafkaProducer> kafkaProducer = mockStatic(KafkaProducer.class)) {
+      kafkaProducer.when(() -> KafkaProducer.createShared(any(Vertx.class), eq(EVENT_TYPE), anyMap()))
+        .thenReturn(firstProducer, secondProducer);
+      KafkaProducerRegistry.forContext(firstContext).getProducer(EVENT_TYPE, kafkaConfig);
+      KafkaProducerRegistry.forContext(secondContext).getProducer(EVENT_TYPE, kafkaConfig);
+    }
+    KafkaProducerRegistry.closeAll().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+    verify(firstProducer).close();
+    verify(secondProducer).close();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static KafkaProducer<String, String> mockProducer() {
+    KafkaProducer<String, String> producer = mock(KafkaProducer.class);
+    when(producer.close()).thenReturn(Future.succeededFuture());
+    return producer;
+  }
+}
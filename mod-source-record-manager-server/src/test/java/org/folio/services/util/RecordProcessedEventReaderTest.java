@@ -0,0 +1,70 @@
+package org.folio.services.util;
+
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonObject;
+import org.folio.DataImportEventPayload;
+import org.folio.rest.jaxrs.model.Event;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_COMPLETED;
+import static org.folio.rest.jaxrs.model.DataImportEventTypes.DI_ERROR;
+
+public class RecordProcessedEventReaderTest {
+
+  @Test
+  public void shouldReadEventFieldsAndSkipPayloadEntities() throws IOException {
+    String eventId = UUID.randomUUID().toString();
+    String jobExecutionId = UUID.randomUUID().toString();
+    HashMap<String, String> context = new HashMap<>();
+    context.put("MARC_BIBLIOGRAPHIC", new JsonObject().put("id", UUID.randomUUID().toString())
+      .put("parsedRecord", new JsonObject().put("content", "\"quoted\" \\ content é")).encode());
+    context.put("INSTANCE", new JsonObject().put("title", "Title").encode());
+    context.put("ERRORS", "[\"error\"]");
+    DataImportEventPayload payload = new DataImportEventPayload()
+      .withEventType(DI_COMPLETED.value())
+      .withJobExecutionId(jobExecutionId)
+      .withEventsChain(List.of("DI_SRS_MARC_BIB_RECORD_CREATED"))
+      .withContext(context);
+    Event event = new Event()
+      .withId(eventId)
+      .withEventType(DI_COMPLETED.value())
+      .withEventPayload(Json.encode(payload));
+
+    RecordProcessedEvent result = RecordProcessedEventReader.readEvent(Json.encode(event).getBytes(StandardCharsets.UTF_8));
+
+    assertThat(result.eventId()).isEqualTo(eventId);
+    assertThat(result.eventType()).isEqualTo(DI_COMPLETED.value());
+    assertThat(result.jobExecutionId()).isEqualTo(jobExecutionId);
+    assertThat(result.errors()).isEqualTo("[\"error\"]");
+  }
+
+  @Test
+  public void shouldReadEventPayloadWithoutErrors() throws IOException {
+    String jobExecutionId = UUID.randomUUID().toString();
+    DataImportEventPayload payload = new DataImportEventPayload()
+      .withEventType(DI_ERROR.value())
+      .withJobExecutionId(jobExecutionId)
+      .withContext(new HashMap<>());
+
+    RecordProcessedEvent result = RecordProcessedEventReader.readEventPayload(Json.encode(payload));
+
+    assertThat(result.eventId()).isNull();
+    assertThat(result.eventType()).isEqualTo(DI_ERROR.value());
+    assertThat(result.jobExecutionId()).isEqualTo(jobExecutionId);
+    assertThat(result.errors()).isNull();
+  }
+
+  @Test
+  public void shouldFailWhenEventPayloadIsNotJsonObject() {
+    assertThatThrownBy(() -> RecordProcessedEventReader.readEventPayload("[]"))
+      .isInstanceOf(IOException.class);
+  }
+}
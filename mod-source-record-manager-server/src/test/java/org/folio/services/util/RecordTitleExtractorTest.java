@@ -0,0 +1,78 @@
+package org.folio.services.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.folio.rest.jaxrs.model.ParsedRecord;
+import org.junit.Test;
+
+public class RecordTitleExtractorTest {
+
+  private static final JsonObject MAPPING_RULES = new JsonObject()
+    .put("001", JsonArray.of(new JsonObject().put("target", "hrid")))
+    .put("245", JsonArray.of(new JsonObject()
+      .put("target", "title")
+      .put("subfield", JsonArray.of("a", "b"))));
+
+  @Test
+  public void shouldExtractTitleFromTitleSubfields() {
+    ParsedRecord parsedRecord = buildParsedRecord(JsonArray.of(
+      new JsonObject().put("001", "in001"),
+      dataField("245", new JsonObject().put("a", "Title start"), new JsonObject().put("c", "author"),
+        new JsonObject().put("b", "title end"))));
+
+    RecordTitleExtractor extractor = RecordTitleExtractor.compile(MAPPING_RULES);
+
+    assertEquals("245", extractor.getTitleFieldTag());
+    assertEquals("Title start title end", extractor.extract(parsedRecord));
+  }
+
+  @Test
+  public void shouldReturnEmptyTitleWhenRecordHasNoTitleField() {
+    ParsedRecord parsedRecord = buildParsedRecord(JsonArray.of(new JsonObject().put("001", "in001")));
+
+    assertEquals("", RecordTitleExtractor.compile(MAPPING_RULES).extract(parsedRecord));
+  }
+
+  @Test
+  public void shouldReturnNullWhenMappingRulesHaveNoTitleField() {
+    ParsedRecord parsedRecord = buildParsedRecord(JsonArray.of(
+      dataField("245", new JsonObject().put("a", "Title"))));
+
+    assertNull(RecordTitleExtractor.compile(new JsonObject()).extract(parsedRecord));
+  }
+
+  @Test
+  public void shouldExtractAuthorityTitleFromFirstHeadingField() {
+    ParsedRecord parsedRecord = buildParsedRecord(JsonArray.of(
+      new JsonObject().put("001", "in001"),
+      dataField("150", new JsonObject().put("a", "Heading"), new JsonObject().put("x", "subdivision")),
+      dataField("110", new JsonObject().put("a", " "))));
+
+    assertEquals("Heading subdivision", RecordTitleExtractor.extractAuthorityTitle(parsedRecord));
+  }
+
+  @Test
+  public void shouldReturnNullWhenAuthorityHasNoHeadingField() {
+    ParsedRecord parsedRecord = buildParsedRecord(JsonArray.of(
+      dataField("400", new JsonObject().put("a", "See from"))));
+
+    assertNull(RecordTitleExtractor.extractAuthorityTitle(parsedRecord));
+  }
+
+  private JsonObject dataField(String tag, JsonObject... subfields) {
+    return new JsonObject().put(tag, new JsonObject()
+      .put("ind1", " ")
+      .put("ind2", " ")
+      .put("subfields", JsonArray.of((Object[]) subfields)));
+  }
+
+  private ParsedRecord buildParsedRecord(JsonArray fields) {
+    return new ParsedRecord().withContent(new JsonObject()
+      .put("leader", "00000nam  2200000   4500")
+      .put("fields", fields)
+      .encode());
+  }
+}
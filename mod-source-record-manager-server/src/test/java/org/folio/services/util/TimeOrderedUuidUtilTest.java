@@ -0,0 +1,30 @@
+package org.folio.services.util;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimeOrderedUuidUtilTest {
+
+  @Test
+  public void shouldGenerateVersion7UuidWithTimestamp() {
+    long epochMillis = 1_700_000_000_000L;
+
+    UUID uuid = TimeOrderedUuidUtil.timeOrderedUuid(epochMillis);
+
+    assertThat(uuid.version()).isEqualTo(7);
+    assertThat(uuid.variant()).isEqualTo(2);
+    assertThat(uuid.getMostSignificantBits() >>> 16).isEqualTo(epochMillis);
+    assertThat(uuid.toString()).startsWith("018bcfe5-6800-7");
+  }
+
+  @Test
+  public void shouldGenerateUuidsOrderedByTime() {
+    UUID earlier = TimeOrderedUuidUtil.timeOrderedUuid(1_700_000_000_000L);
+    UUID later = TimeOrderedUuidUtil.timeOrderedUuid(1_700_000_000_001L);
+
+    assertThat(earlier.toString()).isLessThan(later.toString());
+  }
+}
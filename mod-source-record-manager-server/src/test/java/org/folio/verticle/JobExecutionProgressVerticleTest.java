@@ -19,6 +19,7 @@ import org.folio.rest.jaxrs.model.StatusDto;
 import org.folio.services.JobExecutionService;
 import org.folio.services.progress.BatchableJobExecutionProgress;
 import org.folio.services.progress.BatchableJobExecutionProgressCodec;
+import org.folio.services.progress.JobExecutionProgressService;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,6 +31,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -66,8 +68,12 @@ public class JobExecutionProgressVerticleTest extends AbstractRestTest {
   @Mock
   private JobExecutionService jobExecutionService;
 
+  @Mock
+  private JobExecutionProgressService jobExecutionProgressService;
+
   private MessageProducer<BatchableJobExecutionProgress> batchJobProgressProducer;
   private String jobExecutionId;
+  private String deploymentId;
   private String tenantId;
 
   @Override
@@ -77,8 +83,8 @@ public class JobExecutionProgressVerticleTest extends AbstractRestTest {
     vertx = rule.vertx();
     vertx.eventBus().registerCodec(new BatchableJobExecutionProgressCodec());
     JobExecutionProgressVerticle jobExecutionProgressVerticle =
-      new JobExecutionProgressVerticle(jobExecutionProgressDao, jobExecutionService, kafkaConfig);
-    vertx.deployVerticle(jobExecutionProgressVerticle).onComplete(context.asyncAssertSuccess());
+      new JobExecutionProgressVerticle(jobExecutionProgressDao, jobExecutionService, jobExecutionProgressService, kafkaConfig);
+    vertx.deployVerticle(jobExecutionProgressVerticle).onComplete(context.asyncAssertSuccess(id -> deploymentId = id));
     batchJobProgressProducer = getBatchJobProgressProducer(vertx);
     jobExecutionId = UUID.randomUUID().toString();
     tenantId = UUID.randomUUID().toString();
@@ -546,4 +552,21 @@ public class JobExecutionProgressVerticleTest extends AbstractRestTest {
     }));
   }
 
+  @Test
+  public void shouldSaveAccumulatedProgressOnUndeploy(TestContext context) {
+    JobExecutionProgress accumulatedProgress = new JobExecutionProgress().withJobExecutionId(jobExecutionId)
+      .withCurrentlySucceeded(5)
+      .withCurrentlyFailed(1);
+    JobExecutionProgress savedProgress = new JobExecutionProgress().withJobExecutionId(jobExecutionId)
+      .withCurrentlySucceeded(5)
+      .withCurrentlyFailed(1)
+      .withTotal(10);
+    when(jobExecutionProgressService.drainCompletionCounts())
+      .thenReturn(List.of(new BatchableJobExecutionProgress(createOkapiConnectionParams(tenantId), accumulatedProgress)));
+    when(jobExecutionProgressDao.updateCompletionCounts(eq(jobExecutionId), anyInt(), anyInt(), any()))
+      .thenReturn(Future.succeededFuture(savedProgress));
+
+    vertx.undeploy(deploymentId).onComplete(context.asyncAssertSuccess(v ->
+      verify(jobExecutionProgressDao).updateCompletionCounts(jobExecutionId, 5, 1, tenantId)));
+  }
 }
@@ -13,6 +13,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.folio.dao.JobExecutionDaoImpl;
 import org.folio.dao.JobExecutionProgressDaoImpl;
+import org.folio.dao.util.JobExecutionCache;
 import org.folio.dao.util.PostgresClientFactory;
 import org.folio.dataimport.util.OkapiConnectionParams;
 import org.folio.kafka.KafkaTopicNameHelper;
@@ -68,6 +69,8 @@ public class DataImportInitConsumerVerticleTest extends AbstractRestTest {
   @Spy
   private PostgresClientFactory postgresClientFactory = new PostgresClientFactory(vertx);
   @Spy
+  private JobExecutionCache jobExecutionCache = new JobExecutionCache(1000, 5);
+  @Spy
   @InjectMocks
   private JobExecutionDaoImpl jobExecutionDao;
   @InjectMocks
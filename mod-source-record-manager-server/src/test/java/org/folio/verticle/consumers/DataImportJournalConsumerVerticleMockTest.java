@@ -29,6 +29,7 @@ import org.folio.rest.jaxrs.model.Record;
 import org.folio.services.EventProcessedService;
 import org.folio.services.MappingRuleCache;
 import org.folio.services.journal.JournalServiceImpl;
+import org.folio.services.util.RecordTitleExtractor;
 import static org.folio.verticle.consumers.DataImportJournalKafkaHandler.DATA_IMPORT_JOURNAL_KAFKA_HANDLER_UUID;
 import org.folio.verticle.consumers.util.EventTypeHandlerSelector;
 import org.folio.verticle.consumers.util.MarcImportEventsHandler;
@@ -135,7 +136,7 @@ public class DataImportJournalConsumerVerticleMockTest extends AbstractRestTest
     dataImportJournalKafkaHandler = new DataImportJournalKafkaHandler(vertx, eventProcessedService, eventTypeHandlerSelector, journalService);
     record = Json.decodeValue(TestUtil.readFileFromPath(RECORD_PATH), Record.class);
     JsonObject mappingRules = new JsonObject(TestUtil.readFileFromPath(MAPPING_RULES_PATH));
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(mappingRules)));
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(mappingRules))));
     when(eventProcessedService.collectData(eq(DATA_IMPORT_JOURNAL_KAFKA_HANDLER_UUID), anyString(), eq(TENANT_ID)))
       .thenReturn(Future.succeededFuture());
   }
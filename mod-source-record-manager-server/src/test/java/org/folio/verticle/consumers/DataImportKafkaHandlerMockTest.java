@@ -16,6 +16,7 @@ import org.folio.rest.jaxrs.model.Event;
 import org.folio.services.EventHandlingService;
 import org.folio.services.EventProcessedService;
 import org.folio.services.flowcontrol.RawRecordsFlowControlService;
+import org.folio.services.util.RecordProcessedEvent;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,7 +37,6 @@ import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TENANT_HEADER;
 import static org.folio.rest.util.OkapiConnectionParams.OKAPI_TOKEN_HEADER;
 import static org.folio.services.mappers.processor.MappingParametersProviderTest.SYSTEM_USER_ENABLED;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -92,7 +92,7 @@ public class DataImportKafkaHandlerMockTest {
     // then
     Assert.assertTrue(future.succeeded());
     Assert.assertTrue(future.isComplete());
-    verify(eventHandlingService, never()).handle(anyString(), any(OkapiConnectionParams.class));
+    verify(eventHandlingService, never()).handle(any(RecordProcessedEvent.class), any(OkapiConnectionParams.class));
   }
 
   @Test
@@ -100,7 +100,7 @@ public class DataImportKafkaHandlerMockTest {
     // given
     System.setProperty(SYSTEM_USER_ENABLED, "false");
     // given
-    Mockito.when(eventHandlingService.handle(anyString(), any(OkapiConnectionParams.class))).thenReturn(Future.succeededFuture());
+    Mockito.when(eventHandlingService.handle(any(RecordProcessedEvent.class), any(OkapiConnectionParams.class))).thenReturn(Future.succeededFuture());
     Mockito.when(eventProcessedService.collectData(eq(DI_KAFKA_HANDLER_ID),eq("c9d09a5e-73ba-11ec-90d6-0242ac120003"), eq(TENANT_ID)))
       .thenReturn(Future.succeededFuture());
 
@@ -127,13 +127,13 @@ public class DataImportKafkaHandlerMockTest {
     Assert.assertTrue(future.succeeded());
     Assert.assertTrue(future.isComplete());
 
-    verify(eventHandlingService, times(1)).handle(anyString(), argThat(params -> StringUtils.isEmpty(params.getToken())));
+    verify(eventHandlingService, times(1)).handle(any(RecordProcessedEvent.class), argThat(params -> StringUtils.isEmpty(params.getToken())));
   }
 
   @Test
   public void shouldHandleWhenThereIsNoRecordIdInTheKafkaRecord() {
     // given
-    Mockito.when(eventHandlingService.handle(anyString(), any(OkapiConnectionParams.class))).thenReturn(Future.succeededFuture());
+    Mockito.when(eventHandlingService.handle(any(RecordProcessedEvent.class), any(OkapiConnectionParams.class))).thenReturn(Future.succeededFuture());
     Mockito.when(eventProcessedService.collectData(eq(DI_KAFKA_HANDLER_ID),eq("c9d09a5e-73ba-11ec-90d6-0242ac120003"), eq(TENANT_ID)))
       .thenReturn(Future.succeededFuture());
 
@@ -159,7 +159,7 @@ public class DataImportKafkaHandlerMockTest {
     Assert.assertTrue(future.succeeded());
     Assert.assertTrue(future.isComplete());
 
-    verify(eventHandlingService, times(1)).handle(anyString(), argThat(params -> StringUtils.isNotEmpty(params.getToken())));
+    verify(eventHandlingService, times(1)).handle(any(RecordProcessedEvent.class), argThat(params -> StringUtils.isNotEmpty(params.getToken())));
   }
 
   @Test
@@ -189,6 +189,6 @@ public class DataImportKafkaHandlerMockTest {
     Assert.assertTrue(future.failed());
     Assert.assertTrue(future.cause() instanceof SQLException);
     Assert.assertTrue(future.isComplete());
-    verify(eventHandlingService, never()).handle(anyString(), any(OkapiConnectionParams.class));
+    verify(eventHandlingService, never()).handle(any(RecordProcessedEvent.class), any(OkapiConnectionParams.class));
   }
 }
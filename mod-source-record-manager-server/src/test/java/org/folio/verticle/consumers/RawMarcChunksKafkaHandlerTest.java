@@ -79,7 +79,7 @@ public class RawMarcChunksKafkaHandlerTest {
   @Test
   public void shouldNotHandleEventWhenJobExecutionWasCancelled() {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID)));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.CANCELLED))));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.CANCELLED))));
 
     // when
     Future<String> future = rawMarcChunksKafkaHandler.handle(kafkaRecord);
@@ -100,7 +100,7 @@ public class RawMarcChunksKafkaHandlerTest {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID),
       KafkaHeader.header(OKAPI_HEADER_TOKEN.toLowerCase(), TOKEN),
       KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
     when(eventDrivenChunkProcessingService.processChunk(any(), any(), any())).thenReturn(Future.succeededFuture(true));
 
     // when
@@ -123,7 +123,7 @@ public class RawMarcChunksKafkaHandlerTest {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID),
       KafkaHeader.header(OKAPI_HEADER_TOKEN.toLowerCase(), TOKEN),
       KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
     when(eventDrivenChunkProcessingService.processChunk(any(), any(), any())).thenReturn(Future.succeededFuture(true));
 
     // when
@@ -141,7 +141,7 @@ public class RawMarcChunksKafkaHandlerTest {
   public void shouldNotHandleEventWhenIncorrectJobProfileIsPickedForUploadedFile() {
     var jobExecId = UUID.randomUUID().toString();
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID)));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withId(jobExecId).withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withId(jobExecId).withStatus(JobExecution.Status.PARSING_IN_PROGRESS))));
     // when error status is cached due to incorrect job profile is selected for uploaded file
     JobExecutionUtils.cache.put(jobExecId, JobExecution.Status.ERROR);
     // when
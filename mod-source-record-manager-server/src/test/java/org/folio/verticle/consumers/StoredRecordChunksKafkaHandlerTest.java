@@ -24,6 +24,7 @@ import org.folio.services.RecordsPublishingService;
 import org.folio.services.entity.MappingRuleCacheKey;
 import org.folio.services.journal.BatchableJournalRecord;
 import org.folio.services.journal.JournalUtil;
+import org.folio.services.util.RecordTitleExtractor;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -90,7 +91,7 @@ public class StoredRecordChunksKafkaHandlerTest {
   @Before
   public void setUp() {
     storedRecordChunksKafkaHandler = new StoredRecordChunksKafkaHandler(recordsPublishingService, eventProcessedService,jobExecutionService, mappingRuleCache,  vertx);
-    when(jobExecutionService.getJobExecutionById(anyString(), anyString()))
+    when(jobExecutionService.getCachedJobExecutionById(anyString(), anyString()))
       .thenReturn(Future.succeededFuture(Optional.of(new JobExecution())));
     ReflectionTestUtils.setField(storedRecordChunksKafkaHandler, "journalRecordProducer", messageProducer);
   }
@@ -110,7 +111,7 @@ public class StoredRecordChunksKafkaHandlerTest {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID)));
     when(eventProcessedService.collectData(STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID, event.getId(), TENANT_ID))
       .thenReturn(Future.failedFuture(new DuplicateEventException("Constraint Violation Occurs")));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution())));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution())));
 
     // when
     Future<String> future = storedRecordChunksKafkaHandler.handle(kafkaRecord);
@@ -161,7 +162,7 @@ public class StoredRecordChunksKafkaHandlerTest {
       KafkaHeader.header(OKAPI_HEADER_TOKEN.toLowerCase(), TOKEN),
       KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));
     when(eventProcessedService.collectData(STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID, event.getId(), TENANT_ID)).thenReturn(Future.succeededFuture());
-    when(mappingRuleCache.get(new MappingRuleCacheKey(TENANT_ID, EntityType.MARC_BIBLIOGRAPHIC))).thenReturn(Future.succeededFuture(Optional.of(mappingRules)));
+    when(mappingRuleCache.getTitleExtractor(new MappingRuleCacheKey(TENANT_ID, EntityType.MARC_BIBLIOGRAPHIC))).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(mappingRules))));
 
     when(recordsPublishingService
       .sendEventsWithRecords(anyList(), anyString(), any(OkapiConnectionParams.class), anyString(), any()))
@@ -195,7 +196,7 @@ public class StoredRecordChunksKafkaHandlerTest {
     when(kafkaRecord.value()).thenReturn(Json.encode(event).getBytes(StandardCharsets.UTF_8));
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID), KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));
     when(eventProcessedService.collectData(STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID, event.getId(), TENANT_ID)).thenReturn(Future.succeededFuture());
-    when(mappingRuleCache.get(new MappingRuleCacheKey(TENANT_ID, EntityType.MARC_AUTHORITY))).thenReturn(Future.succeededFuture(Optional.of(mappingRulesCopy)));
+    when(mappingRuleCache.getTitleExtractor(new MappingRuleCacheKey(TENANT_ID, EntityType.MARC_AUTHORITY))).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(mappingRulesCopy))));
     when(recordsPublishingService
       .sendEventsWithRecords(anyList(), anyString(), any(OkapiConnectionParams.class), anyString(), any()))
       .thenReturn(Future.succeededFuture(true));
@@ -244,7 +245,7 @@ public class StoredRecordChunksKafkaHandlerTest {
     when(kafkaRecord.value()).thenReturn(Json.encode(event).getBytes(StandardCharsets.UTF_8));
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID), KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));
     when(eventProcessedService.collectData(STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID, event.getId(), TENANT_ID)).thenReturn(Future.succeededFuture());
-    when(mappingRuleCache.get(new MappingRuleCacheKey(TENANT_ID, EntityType.EDIFACT))).thenReturn(Future.failedFuture(new Exception()));
+    when(mappingRuleCache.getTitleExtractor(new MappingRuleCacheKey(TENANT_ID, EntityType.EDIFACT))).thenReturn(Future.failedFuture(new Exception()));
 
     // when
     Future<String> future = storedRecordChunksKafkaHandler.handle(kafkaRecord);
@@ -266,7 +267,7 @@ public class StoredRecordChunksKafkaHandlerTest {
       .withEventPayload(Json.encode(savedRecordsBatch));
 
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID)));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.empty()));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.empty()));
 
     // when
     Future<String> future = storedRecordChunksKafkaHandler.handle(kafkaRecord);
@@ -292,7 +293,7 @@ public class StoredRecordChunksKafkaHandlerTest {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID),
       KafkaHeader.header(OKAPI_HEADER_TOKEN.toLowerCase(), TOKEN),
       KafkaHeader.header("jobExecutionId", UUID.randomUUID().toString())));    when(eventProcessedService.collectData(STORED_RECORD_CHUNKS_KAFKA_HANDLER_UUID, event.getId(), TENANT_ID)).thenReturn(Future.succeededFuture());
-    when(mappingRuleCache.get(new MappingRuleCacheKey(TENANT_ID, entityType))).thenReturn(Future.succeededFuture(Optional.of(mappingRules)));
+    when(mappingRuleCache.getTitleExtractor(new MappingRuleCacheKey(TENANT_ID, entityType))).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(mappingRules))));
     when(recordsPublishingService
       .sendEventsWithRecords(anyList(), anyString(), any(OkapiConnectionParams.class), anyString(), any()))
       .thenReturn(Future.succeededFuture(true));
@@ -309,7 +310,7 @@ public class StoredRecordChunksKafkaHandlerTest {
   @Test
   public void shouldNotHandleEventWhenJobExecutionWasCancelled() {
     when(kafkaRecord.headers()).thenReturn(List.of(KafkaHeader.header(OKAPI_HEADER_TENANT.toLowerCase(), TENANT_ID)));
-    when(jobExecutionService.getJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.CANCELLED))));
+    when(jobExecutionService.getCachedJobExecutionById(any(), any())).thenReturn(Future.succeededFuture(Optional.of(new JobExecution().withStatus(JobExecution.Status.CANCELLED))));
 
     // when
     Future<String> future = storedRecordChunksKafkaHandler.handle(kafkaRecord);
@@ -68,7 +68,7 @@ public class ParsedRecordsDiErrorProviderTest {
       .withRecordsMetadata(new RecordsMetadata().withContentType(RecordsMetadata.ContentType.MARC_JSON));
     when(changeEngineService.getParsedRecordsFromInitialRecords(eq(rawRecordsDto.getInitialRecords()),
       eq(rawRecordsDto.getRecordsMetadata().getContentType()), eq(jobExecution), eq(false), anyString()))
-        .thenReturn(Lists.newArrayList(new Record().withParsedRecord(new ParsedRecord())));
+        .thenReturn(Future.succeededFuture(Lists.newArrayList(new Record().withParsedRecord(new ParsedRecord()))));
     Future<List<Record>> parserRecordsFuture = diErrorProvider.getParsedRecordsFromInitialRecords(getOkapiParams(), JOB_EXECUTION_ID, rawRecordsDto);
     parserRecordsFuture.onComplete(ar -> {
       List<Record> parsedRecords = ar.result();
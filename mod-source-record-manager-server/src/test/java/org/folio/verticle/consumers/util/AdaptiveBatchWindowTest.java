@@ -0,0 +1,92 @@
+package org.folio.verticle.consumers.util;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.processors.PublishProcessor;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class AdaptiveBatchWindowTest {
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private final PublishProcessor<Integer> source = PublishProcessor.create();
+  private AdaptiveBatchWindow<Integer> batchWindow;
+  private TestSubscriber<List<Integer>> batches;
+
+  @Before
+  public void setUp() {
+    batchWindow = new AdaptiveBatchWindow<>(10, 80, 100, 800, scheduler, item -> item);
+    batches = batchWindow.window(source)
+      .flatMapSingle(Flowable::toList)
+      .test();
+  }
+
+  @Test
+  public void shouldFlushBatchWhenLatencyElapsed() {
+    source.onNext(1);
+    source.onNext(1);
+    source.onNext(1);
+    scheduler.advanceTimeBy(99, TimeUnit.MILLISECONDS);
+    batches.assertValueCount(0);
+
+    scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+    batches.assertValues(List.of(1, 1, 1));
+    assertEquals(10, batchWindow.getBatchSizeLimit());
+    assertEquals(100, batchWindow.getLatencyMs());
+    assertEquals(3, batchWindow.getPendingItems());
+  }
+
+  @Test
+  public void shouldGrowBatchWhenItIsFilledBeforeLatencyElapsed() {
+    for (int i = 0; i < 11; i++) {
+      source.onNext(1);
+    }
+
+    batches.assertValueCount(1);
+    assertEquals(10, batches.values().get(0).size());
+    assertEquals(20, batchWindow.getBatchSizeLimit());
+    assertEquals(200, batchWindow.getLatencyMs());
+  }
+
+  @Test
+  public void shouldGrowBatchWhenBacklogExceedsLimitAndShrinkWhenItIsSaved() {
+    source.onNext(8);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+    source.onNext(8);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+    batches.assertValues(List.of(8), List.of(8));
+    assertEquals(16, batchWindow.getPendingItems());
+    assertEquals(20, batchWindow.getBatchSizeLimit());
+    assertEquals(200, batchWindow.getLatencyMs());
+
+    batchWindow.onBatchCompleted(16, 50);
+    for (int i = 0; i < 2; i++) {
+      source.onNext(1);
+      scheduler.advanceTimeBy(200, TimeUnit.MILLISECONDS);
+    }
+
+    assertEquals(10, batchWindow.getBatchSizeLimit());
+    assertEquals(100, batchWindow.getLatencyMs());
+    assertEquals(2, batchWindow.getPendingItems());
+  }
+
+  @Test
+  public void shouldNotSetLatencyLowerThanCommitLatency() {
+    batchWindow.onBatchCompleted(0, 300);
+    source.onNext(1);
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+    assertEquals(300, batchWindow.getLatencyMs());
+  }
+}
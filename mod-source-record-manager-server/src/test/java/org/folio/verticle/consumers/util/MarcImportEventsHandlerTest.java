@@ -59,6 +59,7 @@ import org.folio.rest.jaxrs.model.JournalRecord;
 import org.folio.services.MappingRuleCache;
 import org.folio.services.journal.JournalRecordMapperException;
 import org.folio.services.journal.JournalService;
+import org.folio.services.util.RecordTitleExtractor;
 
 @RunWith(VertxUnitRunner.class)
 public class MarcImportEventsHandlerTest {
@@ -92,7 +93,7 @@ public class MarcImportEventsHandlerTest {
 
   @Test
   public void testSaveAuthorityJournalRecordWithTitleFrom1XXField() throws JournalRecordMapperException {
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject())));
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject()))));
 
     var marcRecord = marcFactory.newRecord();
     var expectedTitleStart = "Title start";
@@ -112,7 +113,7 @@ public class MarcImportEventsHandlerTest {
 
   @Test
   public void testSaveAuthorityJournalRecordWithoutTitleWhen1XXFieldIsNotExist() throws JournalRecordMapperException {
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject())));
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject()))));
 
     var marcRecord = marcFactory.newRecord();
     var expectedTitleStart = "Title start";
@@ -134,12 +135,12 @@ public class MarcImportEventsHandlerTest {
   public void testSaveItemWithTitle() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
     String incomingRecordId = UUID.randomUUID().toString();
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -157,12 +158,12 @@ public class MarcImportEventsHandlerTest {
   @Test
   public void testSaveUpdateHoldingsWithTitle() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -177,7 +178,7 @@ public class MarcImportEventsHandlerTest {
 
   @Test
   public void testDoNotSaveJournalRecordWhenEventOrderReadyForPostprocessingAndLastEventIsNotInventoryEntitiesCreated() throws JournalRecordMapperException {
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject())));
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject()))));
 
     var payload = new DataImportEventPayload()
       .withEventType(DI_ORDER_CREATED_READY_FOR_POST_PROCESSING.value())
@@ -191,12 +192,12 @@ public class MarcImportEventsHandlerTest {
   @Test
   public void testShouldNotUpdateJournalRecordsIfPOLineWithErrorAndWithoutOrderId() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -214,12 +215,12 @@ public class MarcImportEventsHandlerTest {
   public void testShouldUpdateJournalRecordsIfPOLineWithErrorAndWithOrderId() throws JournalRecordMapperException {
     when(journalRecordService.updateErrorJournalRecordsByOrderIdAndJobExecution(any(String.class), any(String.class), any(String.class), eq(TEST_TENANT))).thenReturn(Future.succeededFuture(1));
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -240,12 +241,12 @@ public class MarcImportEventsHandlerTest {
     Async async = context.async();
     when(journalRecordService.updateErrorJournalRecordsByOrderIdAndJobExecution(any(String.class), any(String.class), any(String.class), eq(TEST_TENANT))).thenReturn(Future.succeededFuture(1));
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -279,12 +280,12 @@ public class MarcImportEventsHandlerTest {
   @Test
   public void testSaveNonMatchHoldings() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -300,12 +301,12 @@ public class MarcImportEventsHandlerTest {
   @Test
   public void testSaveNonMatchItems() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -321,12 +322,12 @@ public class MarcImportEventsHandlerTest {
   @Test
   public void testSaveUpdateInstanceWithTitle() throws JournalRecordMapperException {
     String title = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject(
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject(
       Map.of("245", List.of(
         Map.of("target", "title",
           "subfield", List.of("a"))
       ))
-    ))));
+    )))));
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", title));
 
@@ -344,11 +345,11 @@ public class MarcImportEventsHandlerTest {
     String subfieldATitleValue = "The Journal";
     String subfieldBTitleValue = "of ecclesiastical history.";
     String expectedTitle = "The Journal of ecclesiastical history.";
-    when(mappingRuleCache.get(any())).thenReturn(Future.succeededFuture(Optional.of(new JsonObject()
+    when(mappingRuleCache.getTitleExtractor(any())).thenReturn(Future.succeededFuture(Optional.of(RecordTitleExtractor.compile(new JsonObject()
       .put("245", JsonArray.of(new JsonObject()
         .put("target", "title")
         .put("subfield", JsonArray.of("a", "b")))))
-    ));
+    )));
 
     var marcRecord = marcFactory.newRecord();
     marcRecord.addVariableField(marcFactory.newDataField("245", '0', '0', "a", subfieldATitleValue));
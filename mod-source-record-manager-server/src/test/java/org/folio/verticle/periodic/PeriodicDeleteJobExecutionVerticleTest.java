@@ -2,6 +2,7 @@ package org.folio.verticle.periodic;
 
 import com.google.common.collect.Lists;
 import io.vertx.core.Future;
+import org.folio.dao.EventProcessedDao;
 import org.folio.dao.JobExecutionDao;
 import org.folio.services.TenantDataProvider;
 import org.junit.Before;
@@ -22,11 +23,14 @@ import static org.mockito.Mockito.when;
 public class PeriodicDeleteJobExecutionVerticleTest {
   private static final String TENANT_ID = "diku";
   private static final int DIFF_NUMBER_OF_DAYS = 2;
+  private static final int PROCESSED_EVENTS_RETENTION_DAYS = 7;
 
   @Mock
   private TenantDataProvider tenantDataProvider;
   @Mock
   private JobExecutionDao jobExecutionDao;
+  @Mock
+  private EventProcessedDao eventProcessedDao;
 
   @InjectMocks
   private PeriodicDeleteJobExecutionVerticle verticle = new PeriodicDeleteJobExecutionVerticle();
@@ -34,16 +38,19 @@ public class PeriodicDeleteJobExecutionVerticleTest {
   @Before
   public void setUp() {
     ReflectionTestUtils.setField(verticle,"diffNumberOfDays", DIFF_NUMBER_OF_DAYS);
+    ReflectionTestUtils.setField(verticle,"processedEventsRetentionDays", PROCESSED_EVENTS_RETENTION_DAYS);
   }
 
   @Test
   public void shouldDeleteJobExecutions() {
     when(tenantDataProvider.getModuleTenants()).thenReturn(Future.succeededFuture(Lists.newArrayList(TENANT_ID)));
     when(jobExecutionDao.hardDeleteJobExecutions(DIFF_NUMBER_OF_DAYS, TENANT_ID)).thenReturn(Future.succeededFuture(true));
+    when(eventProcessedDao.deleteProcessedBefore(PROCESSED_EVENTS_RETENTION_DAYS, TENANT_ID)).thenReturn(Future.succeededFuture(1));
 
     verticle.executePeriodicJob();
 
     verify(jobExecutionDao).hardDeleteJobExecutions(DIFF_NUMBER_OF_DAYS,TENANT_ID);
+    verify(eventProcessedDao).deleteProcessedBefore(PROCESSED_EVENTS_RETENTION_DAYS, TENANT_ID);
   }
 
   @Test